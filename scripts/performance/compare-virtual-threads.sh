@@ -0,0 +1,226 @@
+#!/bin/bash
+
+# Virtual Thread Comparison Script
+# Runs HighLoadStressTest against the application on platform threads and on
+# virtual threads with the same heap, then compares throughput and latency
+
+set -e
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Script configuration
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(dirname "$(dirname "$SCRIPT_DIR")")"
+LOG_DIR="$PROJECT_ROOT/target/load-test-logs"
+REPORT_DIR="$PROJECT_ROOT/target/load-test-reports"
+RESULTS_DIR="$PROJECT_ROOT/target/gatling/results"
+
+# Comparison configuration
+HEAP=${COMPARE_HEAP:-"1g"}
+PORT=${COMPARE_PORT:-8080}
+CONCURRENT_USERS=${LOAD_TEST_CONCURRENT_USERS:-1000}
+RAMP_UP_SECONDS=${LOAD_TEST_RAMP_UP_SECONDS:-60}
+DURATION_SECONDS=${LOAD_TEST_DURATION_SECONDS:-300}
+PROFILE=${LOAD_TEST_PROFILE:-"dev"}
+BASE_URL="http://localhost:$PORT"
+APP_PID=""
+
+# Create necessary directories
+mkdir -p "$LOG_DIR"
+mkdir -p "$REPORT_DIR"
+
+# Logging function
+log() {
+    echo -e "${BLUE}[$(date '+%Y-%m-%d %H:%M:%S')]${NC} $1"
+}
+
+log_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+log_warning() {
+    echo -e "${YELLOW}[WARNING]${NC} $1"
+}
+
+log_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+# Virtual threads need Java 21 or later
+check_java_version() {
+    local version=$(java -version 2>&1 | head -1 | sed -E 's/.*version "([0-9]+).*/\1/')
+    if [ "$version" -lt 21 ]; then
+        log_error "Java $version found; virtual threads need Java 21 or later"
+        exit 1
+    fi
+}
+
+wait_for_application() {
+    local max_attempts=60
+    local attempt=1
+
+    while [ $attempt -le $max_attempts ]; do
+        if curl -s -f "$BASE_URL/api/health" > /dev/null 2>&1; then
+            return 0
+        fi
+        sleep 2
+        ((attempt++))
+    done
+    return 1
+}
+
+start_application() {
+    local mode=$1
+    local virtual=$2
+    local jar=$(ls "$PROJECT_ROOT"/target/memorize-words-*.jar | grep -v original | head -1)
+
+    log "Starting application with $mode threads (heap $HEAP)..."
+    java -Xms"$HEAP" -Xmx"$HEAP" -XX:+UseG1GC \
+        -jar "$jar" \
+        --server.port="$PORT" \
+        --spring.profiles.active="$PROFILE" \
+        --spring.threads.virtual.enabled="$virtual" \
+        > "$LOG_DIR/app-$mode.log" 2>&1 &
+    APP_PID=$!
+
+    if ! wait_for_application; then
+        log_error "Application did not become healthy, see $LOG_DIR/app-$mode.log"
+        stop_application
+        exit 1
+    fi
+    log_success "Application is healthy"
+}
+
+stop_application() {
+    if [ -n "$APP_PID" ]; then
+        kill "$APP_PID" 2>/dev/null || true
+        wait "$APP_PID" 2>/dev/null || true
+        APP_PID=""
+    fi
+}
+
+run_stress_test() {
+    local mode=$1
+
+    log "Running HighLoadStressTest on $mode threads..."
+    mvn gatling:test \
+        -Dgatling.simulationClass=com.memorizewords.load.HighLoadStressTest \
+        -Dload.test.baseUrl="$BASE_URL" \
+        -Dload.test.concurrentUsers="$CONCURRENT_USERS" \
+        -Dload.test.rampUpSeconds="$RAMP_UP_SECONDS" \
+        -Dload.test.durationSeconds="$DURATION_SECONDS" \
+        > "$LOG_DIR/gatling-$mode.log" 2>&1 || log_warning "Gatling assertions failed on $mode threads"
+
+    # Gatling writes one directory per run; keep track of this one
+    ls -td "$RESULTS_DIR"/highloadstresstest-* | head -1 > "$LOG_DIR/gatling-$mode.dir"
+}
+
+# Reads a total from Gatling's global_stats.json, e.g. meanNumberOfRequestsPerSecond
+stat() {
+    local mode=$1
+    local name=$2
+    local stats="$(cat "$LOG_DIR/gatling-$mode.dir")/js/global_stats.json"
+    grep -A3 "\"$name\"" "$stats" | grep '"total"' | head -1 | sed -E 's/.*"total": *"?([0-9.]+)"?.*/\1/'
+}
+
+print_comparison() {
+    local report_file="$REPORT_DIR/virtual-threads-$(date +%Y%m%d_%H%M%S).txt"
+
+    {
+        echo "HighLoadStressTest: $CONCURRENT_USERS users, ${DURATION_SECONDS}s, heap $HEAP"
+        printf "%-10s %12s %12s %12s %10s\n" "threads" "req/s" "p95 (ms)" "p99 (ms)" "KO"
+        for mode in platform virtual; do
+            printf "%-10s %12s %12s %12s %10s\n" "$mode" \
+                "$(stat $mode meanNumberOfRequestsPerSecond)" \
+                "$(stat $mode percentiles3)" \
+                "$(stat $mode percentiles4)" \
+                "$(grep -A3 '"numberOfRequests"' "$(cat "$LOG_DIR/gatling-$mode.dir")/js/global_stats.json" | grep '"ko"' | head -1 | sed -E 's/.*"ko": *"?([0-9]+)"?.*/\1/')"
+        done
+    } | tee "$report_file"
+
+    log_success "Comparison written to $report_file"
+}
+
+cleanup() {
+    stop_application
+}
+
+main() {
+    trap cleanup EXIT
+
+    check_java_version
+
+    log "Building application..."
+    (cd "$PROJECT_ROOT" && mvn -q -DskipTests package)
+
+    cd "$PROJECT_ROOT"
+    for mode in platform virtual; do
+        local virtual=false
+        if [ "$mode" = "virtual" ]; then
+            virtual=true
+        fi
+        start_application "$mode" "$virtual"
+        run_stress_test "$mode"
+        stop_application
+
+        # Let the database settle between runs
+        sleep 30
+    done
+
+    print_comparison
+}
+
+# Parse command line arguments
+while [[ $# -gt 0 ]]; do
+    case $1 in
+        --heap)
+            HEAP="$2"
+            shift 2
+            ;;
+        --users)
+            CONCURRENT_USERS="$2"
+            shift 2
+            ;;
+        --rampup)
+            RAMP_UP_SECONDS="$2"
+            shift 2
+            ;;
+        --duration)
+            DURATION_SECONDS="$2"
+            shift 2
+            ;;
+        --port)
+            PORT="$2"
+            BASE_URL="http://localhost:$PORT"
+            shift 2
+            ;;
+        --profile)
+            PROFILE="$2"
+            shift 2
+            ;;
+        --help)
+            echo "Usage: $0 [OPTIONS]"
+            echo "Options:"
+            echo "  --heap SIZE          Heap for both runs, passed as -Xms and -Xmx (default: 1g)"
+            echo "  --users USERS        Number of concurrent users (default: 1000)"
+            echo "  --rampup SECONDS     Ramp up time in seconds (default: 60)"
+            echo "  --duration SECONDS   Test duration in seconds (default: 300)"
+            echo "  --port PORT          Port the application listens on (default: 8080)"
+            echo "  --profile PROFILE    Spring profile for the application (default: dev)"
+            echo "  --help               Show this help message"
+            exit 0
+            ;;
+        *)
+            log_error "Unknown option: $1"
+            exit 1
+            ;;
+    esac
+done
+
+# Execute main function
+main
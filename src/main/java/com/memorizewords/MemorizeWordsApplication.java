@@ -2,12 +2,14 @@ package com.memorizewords;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for Memorize Words application.
  * This class serves as the entry point for the Spring Boot application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class MemorizeWordsApplication {
 
     public static void main(String[] args) {
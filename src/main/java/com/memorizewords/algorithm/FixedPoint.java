@@ -0,0 +1,79 @@
+package com.memorizewords.algorithm;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between {@link BigDecimal} columns and fixed-point hundredths.
+ *
+ * Values between 0.00 and 100.00 map to shared, interned {@link BigDecimal}
+ * instances in both directions, so converting an ease factor, rating or
+ * percentage does not allocate.
+ */
+public final class FixedPoint {
+
+    public static final int SCALE = 2;
+    public static final long ONE = 100;
+
+    private static final int CACHE_SIZE = 10_001;
+    private static final BigDecimal[] CACHE = new BigDecimal[CACHE_SIZE];
+
+    static {
+        for (int i = 0; i < CACHE_SIZE; i++) {
+            CACHE[i] = BigDecimal.valueOf(i, SCALE);
+        }
+    }
+
+    private FixedPoint() {
+    }
+
+    public static BigDecimal toBigDecimal(long hundredths) {
+        if (hundredths >= 0 && hundredths < CACHE_SIZE) {
+            return CACHE[(int) hundredths];
+        }
+        return BigDecimal.valueOf(hundredths, SCALE);
+    }
+
+    /**
+     * Returns {@code value} in hundredths, rounding half up if it has more
+     * than two decimal places.
+     */
+    public static long toHundredths(BigDecimal value) {
+        if (value.signum() >= 0 && value.scale() <= SCALE && value.compareTo(CACHE[CACHE_SIZE - 1]) <= 0) {
+            // compareTo on compact values does not allocate, unlike unscaledValue() or longValue()
+            int low = 0;
+            int high = CACHE_SIZE - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = CACHE[mid].compareTo(value);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+        }
+        return value.movePointRight(SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Rounds a non-negative double to hundredths exactly as
+     * {@code new BigDecimal(value).setScale(2, RoundingMode.HALF_UP)} does.
+     *
+     * The fused multiply-adds evaluate {@code value * 100 - n} without an
+     * intermediate rounding step, so every comparison against a boundary is
+     * made on the exact binary value of {@code value}.
+     */
+    public static long roundHalfUp(double value) {
+        long floor = (long) Math.floor(value * 100);
+        while (Math.fma(value, 100, -floor) < 0) {
+            floor--;
+        }
+        while (Math.fma(value, 100, -(floor + 1)) >= 0) {
+            floor++;
+        }
+        return Math.fma(value, 200, -(2 * floor + 1)) >= 0 ? floor + 1 : floor;
+    }
+}
@@ -0,0 +1,133 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * FSRS-4.5 style scheduler: each card carries a memory stability (days until
+ * recall probability falls to 90%) and a difficulty from 1 to 10, and the
+ * next interval is the time at which predicted recall reaches the desired
+ * retention. Uses the published default weights.
+ *
+ * Cards first reviewed under SM-2 have no FSRS state; it is seeded from their
+ * current interval and ease factor on the first FSRS review.
+ */
+@Component
+public class FsrsReviewScheduler implements ReviewScheduler {
+
+    public static final String NAME = "fsrs";
+
+    private static final double[] W = {
+        0.4872, 1.4003, 3.7145, 13.8206, 5.1618, 1.2298, 0.8975, 0.031, 1.6474,
+        0.1367, 1.0461, 2.1072, 0.0793, 0.3246, 1.587, 0.2272, 2.8755
+    };
+    private static final double DECAY = -0.5;
+    private static final double FACTOR = 19.0 / 81.0;
+    private static final double MINIMUM_STABILITY = 0.01;
+    private static final double MINIMUM_DIFFICULTY = 1.0;
+    private static final double MAXIMUM_DIFFICULTY = 10.0;
+
+    private final double intervalPerStability;
+
+    public FsrsReviewScheduler(@Value("${review.scheduler.fsrs.desired-retention:0.9}") double desiredRetention) {
+        if (desiredRetention <= 0.0 || desiredRetention >= 1.0) {
+            throw new IllegalArgumentException("Desired retention must be between 0 and 1: " + desiredRetention);
+        }
+        this.intervalPerStability = (Math.pow(desiredRetention, 1.0 / DECAY) - 1.0) / FACTOR;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void review(SchedulingState state, ReviewOutcome outcome, int elapsedDays) {
+        int grade = grade(outcome);
+        double stability;
+        double difficulty;
+
+        if (state.memoryStabilityHundredths <= 0 && state.previousReviews == 0) {
+            stability = W[grade - 1];
+            difficulty = clampDifficulty(initialDifficulty(grade));
+        } else {
+            double currentStability;
+            double currentDifficulty;
+            if (state.memoryStabilityHundredths <= 0) {
+                // Seed from SM-2: the current interval approximates stability, lower ease means harder
+                currentStability = Math.max(state.intervalDays, 1);
+                currentDifficulty = clampDifficulty(initialDifficulty(3)
+                    + (Sm2Scheduler.INITIAL_EASE - state.easeHundredths) / 20.0);
+            } else {
+                currentStability = state.memoryStabilityHundredths / 100.0;
+                currentDifficulty = state.memoryDifficultyHundredths / 100.0;
+            }
+
+            double retrievability = retrievability(Math.max(elapsedDays, 0), currentStability);
+            stability = grade == 1
+                ? stabilityAfterLapse(currentDifficulty, currentStability, retrievability)
+                : stabilityAfterRecall(currentDifficulty, currentStability, retrievability, grade);
+            difficulty = nextDifficulty(currentDifficulty, grade);
+        }
+
+        stability = Math.max(stability, MINIMUM_STABILITY);
+        state.memoryStabilityHundredths = Math.max(Math.round(stability * 100.0), 1L);
+        state.memoryDifficultyHundredths = (int) Math.round(difficulty * 100.0);
+        state.intervalDays = nextInterval(stability);
+    }
+
+    /**
+     * Predicted probability of recall {@code elapsedDays} after a review.
+     */
+    public static double retrievability(double elapsedDays, double stability) {
+        return Math.pow(1.0 + FACTOR * elapsedDays / stability, DECAY);
+    }
+
+    int nextInterval(double stability) {
+        long interval = Math.round(stability * intervalPerStability);
+        return (int) Math.max(1L, Math.min(interval, MAXIMUM_INTERVAL));
+    }
+
+    private static int grade(ReviewOutcome outcome) {
+        return switch (outcome) {
+            case AGAIN -> 1;
+            case HARD -> 2;
+            case GOOD -> 3;
+            case EASY -> 4;
+        };
+    }
+
+    private static double initialDifficulty(int grade) {
+        return W[4] - (grade - 3) * W[5];
+    }
+
+    private static double nextDifficulty(double difficulty, int grade) {
+        double next = difficulty - W[6] * (grade - 3);
+        // Mean reversion towards the initial difficulty of an easy card
+        return clampDifficulty(W[7] * initialDifficulty(4) + (1.0 - W[7]) * next);
+    }
+
+    private static double stabilityAfterRecall(double difficulty, double stability, double retrievability, int grade) {
+        double hardPenalty = grade == 2 ? W[15] : 1.0;
+        double easyBonus = grade == 4 ? W[16] : 1.0;
+        return stability * (1.0 + Math.exp(W[8])
+            * (11.0 - difficulty)
+            * Math.pow(stability, -W[9])
+            * (Math.exp((1.0 - retrievability) * W[10]) - 1.0)
+            * hardPenalty
+            * easyBonus);
+    }
+
+    private static double stabilityAfterLapse(double difficulty, double stability, double retrievability) {
+        double next = W[11]
+            * Math.pow(difficulty, -W[12])
+            * (Math.pow(stability + 1.0, W[13]) - 1.0)
+            * Math.exp((1.0 - retrievability) * W[14]);
+        return Math.min(next, stability);
+    }
+
+    private static double clampDifficulty(double difficulty) {
+        return Math.min(Math.max(difficulty, MINIMUM_DIFFICULTY), MAXIMUM_DIFFICULTY);
+    }
+}
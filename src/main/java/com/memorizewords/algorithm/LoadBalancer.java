@@ -0,0 +1,77 @@
+package com.memorizewords.algorithm;
+
+/**
+ * Fuzz and balance placement of a scheduled interval.
+ *
+ * An interval of {@code n} days may move to any day within
+ * {@link #fuzzRange} of {@code n}. Among those days the one with the fewest
+ * cards already due is chosen, ties broken at random, so cards learned
+ * together drift apart and each day's load evens out. Short intervals are
+ * left alone.
+ */
+public final class LoadBalancer {
+
+    /** Intervals shorter than this are placed exactly. */
+    public static final int MINIMUM_FUZZED_INTERVAL = 3;
+
+    private LoadBalancer() {
+    }
+
+    /**
+     * Days an interval may move either way: 15% of the part between 2.5 and
+     * 7 days, 10% of the part up to 20 days and 5% beyond, plus one day.
+     */
+    public static int fuzzRange(int intervalDays) {
+        if (intervalDays < MINIMUM_FUZZED_INTERVAL) {
+            return 0;
+        }
+        double range = 1.0
+            + 0.15 * (Math.min(intervalDays, 7) - 2.5)
+            + 0.10 * Math.max(Math.min(intervalDays, 20) - 7, 0)
+            + 0.05 * Math.max(intervalDays - 20, 0);
+        return (int) Math.round(range);
+    }
+
+    public static int earliest(int intervalDays) {
+        return Math.max(intervalDays - fuzzRange(intervalDays), 1);
+    }
+
+    public static int latest(int intervalDays) {
+        return Math.min(intervalDays + fuzzRange(intervalDays), Math.max(intervalDays, ReviewScheduler.MAXIMUM_INTERVAL));
+    }
+
+    /**
+     * Picks the interval within the window of {@code intervalDays} with the
+     * smallest load. {@code loads[i]} is the number of cards due on day
+     * {@code earliest(intervalDays) + i}; {@code roll} is any non-negative
+     * random number used to break ties.
+     */
+    public static int place(int intervalDays, int[] loads, int roll) {
+        int earliest = earliest(intervalDays);
+        int days = latest(intervalDays) - earliest + 1;
+        if (days <= 1) {
+            return intervalDays;
+        }
+        if (loads.length < days) {
+            throw new IllegalArgumentException("Expected " + days + " daily loads, got " + loads.length);
+        }
+
+        int minimum = Integer.MAX_VALUE;
+        int ties = 0;
+        for (int i = 0; i < days; i++) {
+            if (loads[i] < minimum) {
+                minimum = loads[i];
+                ties = 1;
+            } else if (loads[i] == minimum) {
+                ties++;
+            }
+        }
+        int pick = Math.floorMod(roll, ties);
+        for (int i = 0; i < days; i++) {
+            if (loads[i] == minimum && pick-- == 0) {
+                return earliest + i;
+            }
+        }
+        return intervalDays;
+    }
+}
@@ -0,0 +1,138 @@
+package com.memorizewords.algorithm;
+
+import java.nio.ByteBuffer;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Review performance of one user bucketed by day of week and hour of day.
+ *
+ * Each of the 168 buckets holds the number of sessions started in it, the
+ * reviews and correct answers of those sessions and the summed response
+ * time. Recording a session touches one bucket, and every query reads a
+ * fixed number of buckets, so both are constant time regardless of how
+ * much history the user has. The histogram serializes to a fixed-size
+ * byte array for storage in a single column.
+ */
+public final class PerformanceHistogram {
+
+    public static final int HOURS_PER_DAY = 24;
+    public static final int DAYS_PER_WEEK = 7;
+    static final int BUCKETS = HOURS_PER_DAY * DAYS_PER_WEEK;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int BUCKET_BYTES = 3 * Integer.BYTES + Long.BYTES;
+    public static final int ENCODED_SIZE = 1 + BUCKETS * BUCKET_BYTES;
+
+    private final int[] sessions = new int[BUCKETS];
+    private final int[] reviews = new int[BUCKETS];
+    private final int[] correctAnswers = new int[BUCKETS];
+    private final long[] responseTimeSum = new long[BUCKETS];
+
+    /**
+     * Adds a session that started at {@code startTime}. The response time
+     * is the total over all of its answers, in milliseconds.
+     */
+    public void record(LocalDateTime startTime, int sessionReviews, int sessionCorrectAnswers, long sessionResponseTime) {
+        int bucket = bucket(startTime.getDayOfWeek(), startTime.getHour());
+        sessions[bucket]++;
+        reviews[bucket] += sessionReviews;
+        correctAnswers[bucket] += sessionCorrectAnswers;
+        responseTimeSum[bucket] += sessionResponseTime;
+    }
+
+    public boolean isEmpty() {
+        for (int count : reviews) {
+            if (count > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getSessions(DayOfWeek day, int hour) {
+        return sessions[bucket(day, hour)];
+    }
+
+    public int getReviews(DayOfWeek day, int hour) {
+        return reviews[bucket(day, hour)];
+    }
+
+    /**
+     * Share of correct answers in the bucket as a percentage, or NaN when
+     * the bucket has no reviews.
+     */
+    public double getAccuracy(DayOfWeek day, int hour) {
+        int bucket = bucket(day, hour);
+        return reviews[bucket] > 0 ? correctAnswers[bucket] * 100.0 / reviews[bucket] : Double.NaN;
+    }
+
+    /**
+     * Mean response time per answer in the bucket, or NaN when the bucket
+     * has no reviews.
+     */
+    public double getAverageResponseTime(DayOfWeek day, int hour) {
+        int bucket = bucket(day, hour);
+        return reviews[bucket] > 0 ? (double) responseTimeSum[bucket] / reviews[bucket] : Double.NaN;
+    }
+
+    /**
+     * Accuracy percentage per hour of day over all days of the week, for the
+     * hours that have any reviews, ordered by hour.
+     */
+    public Map<Integer, Double> accuracyByHour() {
+        Map<Integer, Double> byHour = new TreeMap<>();
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            long hourReviews = 0;
+            long hourCorrect = 0;
+            for (int day = 0; day < DAYS_PER_WEEK; day++) {
+                hourReviews += reviews[day * HOURS_PER_DAY + hour];
+                hourCorrect += correctAnswers[day * HOURS_PER_DAY + hour];
+            }
+            if (hourReviews > 0) {
+                byHour.put(hour, hourCorrect * 100.0 / hourReviews);
+            }
+        }
+        return byHour;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_SIZE);
+        buffer.put(FORMAT_VERSION);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buffer.putInt(sessions[bucket]);
+            buffer.putInt(reviews[bucket]);
+            buffer.putInt(correctAnswers[bucket]);
+            buffer.putLong(responseTimeSum[bucket]);
+        }
+        return buffer.array();
+    }
+
+    public static PerformanceHistogram fromBytes(byte[] bytes) {
+        PerformanceHistogram histogram = new PerformanceHistogram();
+        if (bytes == null || bytes.length == 0) {
+            return histogram;
+        }
+        if (bytes.length != ENCODED_SIZE || bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported performance histogram encoding of " + bytes.length + " bytes");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            histogram.sessions[bucket] = buffer.getInt();
+            histogram.reviews[bucket] = buffer.getInt();
+            histogram.correctAnswers[bucket] = buffer.getInt();
+            histogram.responseTimeSum[bucket] = buffer.getLong();
+        }
+        return histogram;
+    }
+
+    private static int bucket(DayOfWeek day, int hour) {
+        if (hour < 0 || hour >= HOURS_PER_DAY) {
+            throw new IllegalArgumentException("Hour must be between 0 and 23: " + hour);
+        }
+        return (day.getValue() - 1) * HOURS_PER_DAY + hour;
+    }
+}
@@ -0,0 +1,34 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+
+/**
+ * Service provider interface for spaced repetition scheduling engines.
+ *
+ * Implementations are Spring beans selected per user by name and must not
+ * allocate in {@link #review}, which runs once for every answered card.
+ */
+public interface ReviewScheduler {
+
+    int MAXIMUM_INTERVAL = 365;
+
+    /**
+     * Stable identifier used in configuration, for example {@code sm2}.
+     */
+    String name();
+
+    /**
+     * Updates {@code state} for a review answered with {@code outcome},
+     * {@code elapsedDays} after the previous review, and sets the next
+     * interval.
+     */
+    void review(SchedulingState state, ReviewOutcome outcome, int elapsedDays);
+
+    /**
+     * Runs this engine against a synthetic learner for {@code days} days and
+     * reports the resulting review load and retention.
+     */
+    default SimulationResult simulate(int cards, int newCardsPerDay, int days, long seed) {
+        return ReviewSimulator.simulate(this, cards, newCardsPerDay, days, seed);
+    }
+}
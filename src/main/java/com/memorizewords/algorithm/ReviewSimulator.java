@@ -0,0 +1,172 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+
+import java.util.SplittableRandom;
+
+/**
+ * Day-by-day simulation of one engine against a synthetic learner.
+ *
+ * The learner is independent of any engine: each word has a hidden
+ * stability, recall probability after {@code t} days is
+ * {@code 0.9^(t / stability)}, successful recalls grow stability more the
+ * lower recall probability was, and lapses cut it. The same seed produces the
+ * same words for every engine, so results are directly comparable.
+ *
+ * With {@code balance} set, each scheduled interval is placed with
+ * {@link LoadBalancer} against the number of cards already due per day.
+ */
+public final class ReviewSimulator {
+
+    private static final double INITIAL_STABILITY = 1.0;
+    private static final double RECALL_GAIN = 20.0;
+    private static final double STABILITY_DECAY = 0.15;
+    private static final double LAPSE_FACTOR = 0.25;
+    private static final double MINIMUM_STABILITY = 0.3;
+
+    private ReviewSimulator() {
+    }
+
+    public static SimulationResult simulate(ReviewScheduler scheduler, int cards, int newCardsPerDay, int days, long seed) {
+        return simulate(scheduler, cards, newCardsPerDay, days, seed, false);
+    }
+
+    public static SimulationResult simulate(ReviewScheduler scheduler, int cards, int newCardsPerDay, int days, long seed,
+                                            boolean balance) {
+        if (cards < 0 || newCardsPerDay <= 0 || days <= 0) {
+            throw new IllegalArgumentException("cards must be non-negative, newCardsPerDay and days positive");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+
+        // Hidden learner state, drawn up front so every engine sees the same words
+        double[] aptitude = new double[cards];
+        double[] learnerStability = new double[cards];
+        for (int card = 0; card < cards; card++) {
+            aptitude[card] = Math.exp(gaussian(random) * 0.4);
+            learnerStability[card] = INITIAL_STABILITY * aptitude[card];
+        }
+        SplittableRandom outcomes = random.split();
+        SplittableRandom placement = random.split();
+
+        int[] dueDay = new int[cards];
+        int[] lastReviewDay = new int[cards];
+        int[] reviewCount = new int[cards];
+        int[] intervalDays = new int[cards];
+        int[] ease = new int[cards];
+        long[] stability = new long[cards];
+        long[] memoryStability = new long[cards];
+        int[] memoryDifficulty = new int[cards];
+        int[] reviewsPerDay = new int[days];
+        int[] dueLoad = new int[days + ReviewScheduler.MAXIMUM_INTERVAL + 1];
+        int[] window = new int[2 * LoadBalancer.fuzzRange(ReviewScheduler.MAXIMUM_INTERVAL) + 1];
+
+        SchedulingState state = new SchedulingState();
+        long reviews = 0;
+        long lapses = 0;
+        int introduced = 0;
+
+        for (int day = 0; day < days; day++) {
+            int newToday = Math.min(newCardsPerDay, cards - introduced);
+            for (int i = 0; i < newToday; i++) {
+                int card = introduced++;
+                state.reset();
+                // First exposure: the word is shown and answered from short-term memory
+                scheduler.review(state, ReviewOutcome.GOOD, 0);
+                if (balance) {
+                    state.intervalDays = place(state.intervalDays, day, dueLoad, window, placement);
+                }
+                store(state, card, intervalDays, ease, stability, memoryStability, memoryDifficulty);
+                reviewCount[card] = 1;
+                lastReviewDay[card] = day;
+                dueDay[card] = day + state.intervalDays;
+                dueLoad[dueDay[card]]++;
+                reviewsPerDay[day]++;
+            }
+
+            for (int card = 0; card < introduced; card++) {
+                if (dueDay[card] > day || lastReviewDay[card] == day) {
+                    continue;
+                }
+                int elapsed = day - lastReviewDay[card];
+                double recall = Math.pow(0.9, elapsed / learnerStability[card]);
+                ReviewOutcome outcome;
+                if (outcomes.nextDouble() < recall) {
+                    outcome = gradeRecall(recall, outcomes.nextDouble());
+                    double gain = RECALL_GAIN * aptitude[card]
+                        * Math.pow(learnerStability[card], -STABILITY_DECAY)
+                        * (Math.exp(1.0 - recall) - 1.0);
+                    learnerStability[card] *= 1.0 + gain;
+                } else {
+                    outcome = ReviewOutcome.AGAIN;
+                    learnerStability[card] = Math.max(MINIMUM_STABILITY, learnerStability[card] * LAPSE_FACTOR);
+                    lapses++;
+                }
+
+                load(state, card, reviewCount, intervalDays, ease, stability, memoryStability, memoryDifficulty);
+                scheduler.review(state, outcome, elapsed);
+                if (balance) {
+                    state.intervalDays = place(state.intervalDays, day, dueLoad, window, placement);
+                }
+                store(state, card, intervalDays, ease, stability, memoryStability, memoryDifficulty);
+                reviewCount[card]++;
+                lastReviewDay[card] = day;
+                dueLoad[dueDay[card]]--;
+                dueDay[card] = day + state.intervalDays;
+                dueLoad[dueDay[card]]++;
+                reviewsPerDay[day]++;
+                reviews++;
+            }
+        }
+
+        double retained = 0.0;
+        for (int card = 0; card < introduced; card++) {
+            retained += Math.pow(0.9, (days - lastReviewDay[card]) / learnerStability[card]);
+        }
+        return new SimulationResult(scheduler.name(), days, introduced, reviews + introduced, lapses,
+            retained, reviewsPerDay);
+    }
+
+    private static int place(int intervalDays, int day, int[] dueLoad, int[] window, SplittableRandom random) {
+        int earliest = LoadBalancer.earliest(intervalDays);
+        int latest = LoadBalancer.latest(intervalDays);
+        for (int offset = earliest; offset <= latest; offset++) {
+            window[offset - earliest] = dueLoad[day + offset];
+        }
+        return LoadBalancer.place(intervalDays, window, random.nextInt(Integer.MAX_VALUE));
+    }
+
+    private static ReviewOutcome gradeRecall(double recall, double roll) {
+        if (recall > 0.95 && roll < 0.5) {
+            return ReviewOutcome.EASY;
+        }
+        if (recall < 0.8 && roll < 0.5) {
+            return ReviewOutcome.HARD;
+        }
+        return ReviewOutcome.GOOD;
+    }
+
+    private static void load(SchedulingState state, int card, int[] reviewCount, int[] intervalDays, int[] ease,
+                             long[] stability, long[] memoryStability, int[] memoryDifficulty) {
+        state.previousReviews = reviewCount[card];
+        state.intervalDays = intervalDays[card];
+        state.easeHundredths = ease[card];
+        state.stabilityHundredths = stability[card];
+        state.memoryStabilityHundredths = memoryStability[card];
+        state.memoryDifficultyHundredths = memoryDifficulty[card];
+    }
+
+    private static void store(SchedulingState state, int card, int[] intervalDays, int[] ease,
+                              long[] stability, long[] memoryStability, int[] memoryDifficulty) {
+        intervalDays[card] = state.intervalDays;
+        ease[card] = state.easeHundredths;
+        stability[card] = state.stabilityHundredths;
+        memoryStability[card] = state.memoryStabilityHundredths;
+        memoryDifficulty[card] = state.memoryDifficultyHundredths;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * random.nextDouble());
+    }
+}
@@ -0,0 +1,31 @@
+package com.memorizewords.algorithm;
+
+/**
+ * Mutable, primitive scheduling state of one card, read and updated in place
+ * by a {@link ReviewScheduler}. Decimal quantities are fixed-point hundredths
+ * as in {@link FixedPoint}.
+ *
+ * SM-2 uses the interval, ease and stability factor; FSRS uses the interval
+ * and its own memory stability (in days) and difficulty (1 to 10). A memory
+ * stability of zero means the card has no FSRS state yet.
+ */
+public final class SchedulingState {
+
+    /** Reviews completed before the one being scheduled. */
+    public int previousReviews;
+    public int intervalDays = Sm2Scheduler.INITIAL_INTERVAL;
+    public int easeHundredths = Sm2Scheduler.INITIAL_EASE;
+    public long stabilityHundredths = FixedPoint.ONE;
+    public long memoryStabilityHundredths;
+    public int memoryDifficultyHundredths;
+
+    public SchedulingState reset() {
+        previousReviews = 0;
+        intervalDays = Sm2Scheduler.INITIAL_INTERVAL;
+        easeHundredths = Sm2Scheduler.INITIAL_EASE;
+        stabilityHundredths = FixedPoint.ONE;
+        memoryStabilityHundredths = 0;
+        memoryDifficultyHundredths = 0;
+        return this;
+    }
+}
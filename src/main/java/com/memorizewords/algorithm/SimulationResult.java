@@ -0,0 +1,28 @@
+package com.memorizewords.algorithm;
+
+/**
+ * Outcome of {@link ReviewScheduler#simulate}: how many reviews an engine
+ * asked for and how many words the synthetic learner still knew at the end.
+ *
+ * @param retainedWords expected number of introduced words recalled on the
+ *                      last day, the sum of their recall probabilities
+ */
+public record SimulationResult(String scheduler, int days, int cards, long reviews, long lapses,
+                               double retainedWords, int[] reviewsPerDay) {
+
+    public double reviewsPerRetainedWord() {
+        return retainedWords > 0 ? reviews / retainedWords : Double.POSITIVE_INFINITY;
+    }
+
+    public double retentionRate() {
+        return cards > 0 ? retainedWords / cards : 0.0;
+    }
+
+    public int peakDailyReviews() {
+        int peak = 0;
+        for (int reviewsOnDay : reviewsPerDay) {
+            peak = Math.max(peak, reviewsOnDay);
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,27 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+import org.springframework.stereotype.Component;
+
+/**
+ * The SM-2 variant the application has always used, on top of
+ * {@link Sm2Scheduler}. Elapsed time is ignored.
+ */
+@Component
+public class Sm2ReviewScheduler implements ReviewScheduler {
+
+    public static final String NAME = "sm2";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void review(SchedulingState state, ReviewOutcome outcome, int elapsedDays) {
+        int ease = state.easeHundredths;
+        state.intervalDays = Sm2Scheduler.nextInterval(outcome, state.intervalDays, ease);
+        state.easeHundredths = Sm2Scheduler.nextEase(outcome, ease);
+        state.stabilityHundredths = Sm2Scheduler.nextStability(outcome, state.stabilityHundredths);
+    }
+}
@@ -0,0 +1,77 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+
+/**
+ * SM-2 scheduling arithmetic on primitives.
+ *
+ * Ease and stability factors are fixed-point hundredths (2.50 is 250).
+ * Callers convert with {@link FixedPoint} at the persistence boundary;
+ * nothing here allocates. Results match the original {@code BigDecimal}
+ * implementation exactly, including the truncation of interval products
+ * computed in double precision.
+ */
+public final class Sm2Scheduler {
+
+    public static final int INITIAL_INTERVAL = 1;
+    public static final int MAXIMUM_INTERVAL = ReviewScheduler.MAXIMUM_INTERVAL;
+    public static final int INITIAL_EASE = 250;
+    public static final int MINIMUM_EASE = 130;
+    public static final int MAXIMUM_EASE = 250;
+    public static final long MINIMUM_STABILITY = 10;
+
+    private Sm2Scheduler() {
+    }
+
+    /**
+     * Interval in days after answering with {@code outcome}, using the ease
+     * factor from before the review.
+     */
+    public static int nextInterval(ReviewOutcome outcome, int intervalDays, int easeHundredths) {
+        // The ease product stays in double so its truncation matches the previous implementation
+        double ease = easeHundredths / 100.0;
+        int next = switch (outcome) {
+            case AGAIN -> 1;
+            case HARD -> (int) (intervalDays * 1.2);
+            case GOOD -> (int) (intervalDays * ease);
+            case EASY -> (int) (intervalDays * ease * 1.3);
+        };
+        return Math.max(Math.min(next, MAXIMUM_INTERVAL), 1);
+    }
+
+    public static int nextEase(ReviewOutcome outcome, int easeHundredths) {
+        int next = switch (outcome) {
+            case AGAIN -> easeHundredths - 20;
+            case HARD -> easeHundredths - 15;
+            case GOOD -> easeHundredths;
+            case EASY -> easeHundredths + 10;
+        };
+        return Math.min(Math.max(next, MINIMUM_EASE), MAXIMUM_EASE);
+    }
+
+    public static long nextStability(ReviewOutcome outcome, long stabilityHundredths) {
+        int tenths = switch (outcome) {
+            case AGAIN -> 5;
+            case HARD -> 8;
+            case GOOD -> 11;
+            case EASY -> 13;
+        };
+        // Hundredths times tenths gives thousandths; round half up back to hundredths
+        long thousandths = Math.max(stabilityHundredths * tenths, MINIMUM_STABILITY * 10);
+        return (thousandths + 5) / 10;
+    }
+
+    /**
+     * Ease factor after a periodic performance adjustment: lowered for cards
+     * below 30.00, raised for cards above 80.00.
+     */
+    public static int adjustedEase(long performanceHundredths, int easeHundredths) {
+        if (performanceHundredths < 3000) {
+            return Math.max(easeHundredths - 10, MINIMUM_EASE);
+        }
+        if (performanceHundredths > 8000) {
+            return Math.min(easeHundredths + 5, MAXIMUM_EASE);
+        }
+        return easeHundredths;
+    }
+}
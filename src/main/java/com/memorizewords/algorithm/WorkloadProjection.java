@@ -0,0 +1,141 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expected number of reviews per day over a short horizon, rolled forward
+ * from groups of cards that share a due day, interval and ease factor.
+ *
+ * Each review is split by the lapse rate observed in the cards' history:
+ * the recalled share is rescheduled with SM-2 as if answered GOOD, the
+ * lapsed share comes back the next day with a reset interval. Counts are
+ * fractional expectations. Cards scheduled by other engines are projected
+ * with the same SM-2 model.
+ */
+public final class WorkloadProjection {
+
+    public static final int MAXIMUM_DAYS = 90;
+
+    /** Used until a group of cards has any review history. */
+    static final double DEFAULT_LAPSE_RATE = 0.1;
+    private static final double MAXIMUM_LAPSE_RATE = 0.9;
+    private static final double NEGLIGIBLE_CARDS = 1e-6;
+
+    private final int days;
+    private final double[] scheduled;
+    private final List<Map<Long, double[]>> pending;
+    private long lapses;
+    private long reviews;
+
+    public WorkloadProjection(int days) {
+        if (days < 1 || days > MAXIMUM_DAYS) {
+            throw new IllegalArgumentException("Forecast days must be between 1 and " + MAXIMUM_DAYS + ": " + days);
+        }
+        this.days = days;
+        this.scheduled = new double[days];
+        this.pending = emptyDays(days);
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Adds {@code cards} cards currently due {@code dayOffset} days from the
+     * first forecast day. Overdue cards, with a negative offset, count on day 0.
+     */
+    public void addCards(int dayOffset, int intervalDays, int easeHundredths, long cards) {
+        int day = Math.max(dayOffset, 0);
+        if (day >= days || cards <= 0) {
+            return;
+        }
+        scheduled[day] += cards;
+        enqueue(pending, day, intervalDays, easeHundredths, cards);
+    }
+
+    /**
+     * Records past review outcomes that determine the projected lapse rate.
+     */
+    public void addHistory(long lapses, long reviews) {
+        this.lapses += lapses;
+        this.reviews += reviews;
+    }
+
+    public double getLapseRate() {
+        if (reviews <= 0) {
+            return DEFAULT_LAPSE_RATE;
+        }
+        return Math.min((double) lapses / reviews, MAXIMUM_LAPSE_RATE);
+    }
+
+    /**
+     * Cards whose current due date falls on each day, overdue cards on day 0.
+     */
+    public double[] getScheduled() {
+        return scheduled.clone();
+    }
+
+    /**
+     * Expected reviews on each day, including reviews of cards that come due
+     * again within the horizon.
+     */
+    public double[] project() {
+        double lapseRate = getLapseRate();
+        double[] load = new double[days];
+        List<Map<Long, double[]>> queue = emptyDays(days);
+        for (int day = 0; day < days; day++) {
+            Map<Long, double[]> cardsOfDay = pending.get(day);
+            if (cardsOfDay != null) {
+                Map<Long, double[]> groups = new HashMap<>(cardsOfDay.size() * 2);
+                cardsOfDay.forEach((key, cards) -> groups.put(key, new double[] {cards[0]}));
+                queue.set(day, groups);
+            }
+        }
+        for (int day = 0; day < days; day++) {
+            Map<Long, double[]> cardsOfDay = queue.get(day);
+            if (cardsOfDay == null) {
+                continue;
+            }
+            for (Map.Entry<Long, double[]> entry : cardsOfDay.entrySet()) {
+                int interval = (int) (entry.getKey() >>> 32);
+                int ease = (int) (long) entry.getKey();
+                double cards = entry.getValue()[0];
+                load[day] += cards;
+
+                int nextInterval = Sm2Scheduler.nextInterval(ReviewOutcome.GOOD, interval, ease);
+                enqueue(queue, day + nextInterval, nextInterval, Sm2Scheduler.nextEase(ReviewOutcome.GOOD, ease),
+                    cards * (1.0 - lapseRate));
+                enqueue(queue, day + 1, Sm2Scheduler.nextInterval(ReviewOutcome.AGAIN, interval, ease),
+                    Sm2Scheduler.nextEase(ReviewOutcome.AGAIN, ease), cards * lapseRate);
+            }
+            queue.set(day, null);
+        }
+        return load;
+    }
+
+    private static void enqueue(List<Map<Long, double[]>> queue, int day, int intervalDays, int easeHundredths, double cards) {
+        if (day >= queue.size() || cards < NEGLIGIBLE_CARDS) {
+            return;
+        }
+        Map<Long, double[]> cardsOfDay = queue.get(day);
+        if (cardsOfDay == null) {
+            cardsOfDay = new HashMap<>();
+            queue.set(day, cardsOfDay);
+        }
+        long key = ((long) Math.max(intervalDays, 1) << 32) | (easeHundredths & 0xFFFFFFFFL);
+        cardsOfDay.computeIfAbsent(key, k -> new double[1])[0] += cards;
+    }
+
+    /**
+     * One slot per forecast day, each empty until a card is queued on it.
+     */
+    private static List<Map<Long, double[]>> emptyDays(int days) {
+        return new ArrayList<>(Collections.nCopies(days, null));
+    }
+}
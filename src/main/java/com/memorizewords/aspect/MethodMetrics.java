@@ -0,0 +1,105 @@
+package com.memorizewords.aspect;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Meters of one advised method, resolved once and reused for every call.
+ *
+ * The success timer is registered up front; error timers (one per exception
+ * type), the slow-call counter and the result size summary are registered on
+ * first use so methods that never fail or return collections do not publish
+ * empty series.
+ */
+final class MethodMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final String label;
+    private final String timerName;
+    private final String description;
+    private final Tags tags;
+    private final double[] percentiles;
+    private final boolean percentileHistogram;
+    private final Timer successTimer;
+    private final Map<Class<?>, Timer> errorTimers = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile Counter slowCounter;
+    private volatile DistributionSummary resultSize;
+
+    MethodMetrics(MeterRegistry meterRegistry, String label, String timerName, String description,
+                  Tags tags, double[] percentiles, boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.label = label;
+        this.timerName = timerName;
+        this.description = description;
+        this.tags = tags;
+        this.percentiles = percentiles;
+        this.percentileHistogram = percentileHistogram;
+        this.successTimer = timerName != null ? timer(tags.and("status", "success")) : null;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    long getCallCount() {
+        return calls.sum();
+    }
+
+    long getErrorCount() {
+        return errors.sum();
+    }
+
+    void recordSuccess(long elapsedNanos) {
+        calls.increment();
+        if (successTimer != null) {
+            successTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void recordError(Throwable error, long elapsedNanos) {
+        calls.increment();
+        errors.increment();
+        if (timerName != null) {
+            errorTimers.computeIfAbsent(error.getClass(), type -> timer(tags.and("status", "error")
+                    .and("exception", type.getSimpleName())))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    void recordSlow(String counterName) {
+        Counter counter = slowCounter;
+        if (counter == null) {
+            counter = Counter.builder(counterName).tags(tags).register(meterRegistry);
+            slowCounter = counter;
+        }
+        counter.increment();
+    }
+
+    void recordResultSize(String summaryName, int size) {
+        DistributionSummary summary = resultSize;
+        if (summary == null) {
+            summary = DistributionSummary.builder(summaryName).tags(tags).register(meterRegistry);
+            resultSize = summary;
+        }
+        summary.record(size);
+    }
+
+    private Timer timer(Tags timerTags) {
+        return Timer.builder(timerName)
+            .description(description)
+            .tags(timerTags)
+            .publishPercentiles(percentiles)
+            .publishPercentileHistogram(percentileHistogram)
+            .register(meterRegistry);
+    }
+}
@@ -1,40 +1,94 @@
 package com.memorizewords.aspect;
 
 import com.memorizewords.service.PerformanceMonitoringService;
+import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
 import java.time.Duration;
-import java.time.Instant;
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Times controller, service and repository calls.
+ *
+ * Meters are resolved once per advised method and cached, calls are timed
+ * with {@link System#nanoTime()}, and every pointcut has its own sample rate
+ * ({@code monitoring.aspect.sample-rate.*}) so hot paths can be measured on a
+ * fraction of their calls. Call and error counts only cover sampled calls.
+ */
 @Aspect
 @Component
 @Slf4j
 public class PerformanceAspect {
 
+    private static final long SLOW_CONTROLLER_NANOS = TimeUnit.MILLISECONDS.toNanos(1000);
+    private static final long SLOW_SERVICE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long SLOW_REPOSITORY_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long SLOW_DATABASE_NANOS = TimeUnit.MILLISECONDS.toNanos(1000);
+
     private final PerformanceMonitoringService monitoringService;
     private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+    private final boolean percentileHistogram;
 
-    private final ConcurrentHashMap<String, AtomicLong> methodCallCounts = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, AtomicLong> methodErrorCounts = new ConcurrentHashMap<>();
+    private final Probe controllerProbe;
+    private final Probe serviceProbe;
+    private final Probe repositoryProbe;
+    private final Probe timedProbe;
+    private final Probe databaseProbe;
+    private final Probe businessProbe;
+
+    // Controller and service metrics by label, backing the call and error getters
+    private final Map<String, MethodMetrics> metricsByLabel = new ConcurrentHashMap<>();
 
     @Autowired
-    public PerformanceAspect(PerformanceMonitoringService monitoringService, MeterRegistry meterRegistry) {
+    public PerformanceAspect(PerformanceMonitoringService monitoringService, MeterRegistry meterRegistry,
+                             @Value("${monitoring.aspect.percentiles:0.5,0.99,0.999}") double[] percentiles,
+                             @Value("${monitoring.aspect.percentile-histogram:false}") boolean percentileHistogram,
+                             @Value("${monitoring.aspect.sample-rate.controller:1.0}") double controllerSampleRate,
+                             @Value("${monitoring.aspect.sample-rate.service:1.0}") double serviceSampleRate,
+                             @Value("${monitoring.aspect.sample-rate.repository:1.0}") double repositorySampleRate,
+                             @Value("${monitoring.aspect.sample-rate.timed:1.0}") double timedSampleRate,
+                             @Value("${monitoring.aspect.sample-rate.database:1.0}") double databaseSampleRate,
+                             @Value("${monitoring.aspect.sample-rate.business:1.0}") double businessSampleRate) {
         this.monitoringService = monitoringService;
         this.meterRegistry = meterRegistry;
+        this.percentiles = percentiles;
+        this.percentileHistogram = percentileHistogram;
+
+        this.controllerProbe = new Probe(controllerSampleRate, (type, method) ->
+            indexed(metrics(shortString(method), null, null, Tags.empty())));
+        this.serviceProbe = new Probe(serviceSampleRate, (type, method) ->
+            indexed(metrics(type.getSimpleName() + "." + method.getName(), "service.method.execution", null,
+                Tags.of("class", type.getSimpleName(), "method", method.getName()))));
+        this.repositoryProbe = new Probe(repositorySampleRate, (type, method) ->
+            metrics(type.getSimpleName() + "." + method.getName(), "repository.query.execution", null,
+                Tags.of("class", type.getSimpleName(), "method", method.getName())));
+        this.timedProbe = new Probe(timedSampleRate, this::timedMetrics);
+        this.databaseProbe = new Probe(databaseSampleRate, (type, method) ->
+            metrics(shortString(method), "database.operation.duration", null,
+                Tags.of("operation", shortString(method))));
+        this.businessProbe = new Probe(businessSampleRate, (type, method) ->
+            metrics(method.getName(), "business.operation.duration", null,
+                Tags.of("operation", method.getName())));
     }
 
     // Pointcut for all controller methods
@@ -61,34 +115,34 @@ public class PerformanceAspect {
     // Monitor all controller methods
     @Around("controllerMethods()")
     public Object monitorControllerMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        Instant startTime = Instant.now();
+        if (!controllerProbe.sample()) {
+            return joinPoint.proceed();
+        }
+        MethodMetrics metrics = controllerProbe.metricsFor(joinPoint);
+        long startTime = System.nanoTime();
 
         try {
             Object result = joinPoint.proceed();
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
+            long elapsed = System.nanoTime() - startTime;
+            metrics.recordSuccess(elapsed);
 
             // Record successful API call
-            recordApiCall(methodName, "success", duration);
+            recordApiCall("success", elapsed);
 
             // Log slow controller methods
-            if (duration.toMillis() > 1000) {
-                log.warn("Slow controller method: {} took {}ms", methodName, duration.toMillis());
+            if (elapsed > SLOW_CONTROLLER_NANOS) {
+                log.warn("Slow controller method: {} took {}ms", metrics.getLabel(), toMillis(elapsed));
             }
 
             return result;
         } catch (Exception e) {
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
+            long elapsed = System.nanoTime() - startTime;
+            metrics.recordError(e, elapsed);
 
             // Record failed API call
-            recordApiCall(methodName, "error", duration);
+            recordApiCall("error", elapsed);
 
-            // Increment error counter
-            methodErrorCounts.computeIfAbsent(methodName, k -> new AtomicLong(0)).incrementAndGet();
-
-            log.error("Controller method failed: {} after {}ms", methodName, duration.toMillis(), e);
+            log.error("Controller method failed: {} after {}ms", metrics.getLabel(), toMillis(elapsed), e);
             throw e;
         }
     }
@@ -96,73 +150,41 @@ public class PerformanceAspect {
     // Monitor service methods with detailed metrics
     @Around("serviceMethods()")
     public Object monitorServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String fullMethodName = className + "." + methodName;
-
-        Timer.Sample sample = Timer.start();
-        Instant startTime = Instant.now();
+        if (!serviceProbe.sample()) {
+            return joinPoint.proceed();
+        }
+        MethodMetrics metrics = serviceProbe.metricsFor(joinPoint);
+        long startTime = System.nanoTime();
 
         try {
             Object result = joinPoint.proceed();
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            // Stop timer with tags
-            sample.stop(Timer.builder("service.method.execution")
-                .tag("class", className)
-                .tag("method", methodName)
-                .tag("status", "success")
-                .register(meterRegistry));
-
-            // Record method call count
-            methodCallCounts.computeIfAbsent(fullMethodName, k -> new AtomicLong(0)).incrementAndGet();
+            long elapsed = System.nanoTime() - startTime;
+            metrics.recordSuccess(elapsed);
 
             // Log slow service methods
-            if (duration.toMillis() > 500) {
-                log.warn("Slow service method: {} took {}ms", fullMethodName, duration.toMillis());
-
-                // Record slow service method metric
-                Counter.builder("service.methods.slow")
-                    .tag("class", className)
-                    .tag("method", methodName)
-                    .register(meterRegistry)
-                    .increment();
+            if (elapsed > SLOW_SERVICE_NANOS) {
+                log.warn("Slow service method: {} took {}ms", metrics.getLabel(), toMillis(elapsed));
+                metrics.recordSlow("service.methods.slow");
             }
 
             // Record result size metrics for collections
-            if (result instanceof Collection) {
-                int resultSize = ((Collection<?>) result).size();
-                Gauge.builder("service.method.result.size")
-                    .tag("class", className)
-                    .tag("method", methodName)
-                    .register(meterRegistry)
-                    .set(resultSize);
+            if (result instanceof Collection<?> collection) {
+                int resultSize = collection.size();
+                metrics.recordResultSize("service.method.result.size", resultSize);
 
                 // Log large result sets
                 if (resultSize > 1000) {
                     log.warn("Large result set from service method: {} returned {} items",
-                        fullMethodName, resultSize);
+                        metrics.getLabel(), resultSize);
                 }
             }
 
             return result;
         } catch (Exception e) {
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            // Stop timer with error tag
-            sample.stop(Timer.builder("service.method.execution")
-                .tag("class", className)
-                .tag("method", methodName)
-                .tag("status", "error")
-                .tag("exception", e.getClass().getSimpleName())
-                .register(meterRegistry));
-
-            // Record error
-            methodErrorCounts.computeIfAbsent(fullMethodName, k -> new AtomicLong(0)).incrementAndGet();
+            long elapsed = System.nanoTime() - startTime;
+            metrics.recordError(e, elapsed);
 
-            log.error("Service method failed: {} after {}ms", fullMethodName, duration.toMillis(), e);
+            log.error("Service method failed: {} after {}ms", metrics.getLabel(), toMillis(elapsed), e);
             throw e;
         }
     }
@@ -170,61 +192,34 @@ public class PerformanceAspect {
     // Monitor repository methods for database performance
     @Around("repositoryMethods()")
     public Object monitorRepositoryMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-
-        Timer.Sample sample = Timer.start();
-        Instant startTime = Instant.now();
+        if (!repositoryProbe.sample()) {
+            return joinPoint.proceed();
+        }
+        MethodMetrics metrics = repositoryProbe.metricsFor(joinPoint);
+        long startTime = System.nanoTime();
 
         try {
             Object result = joinPoint.proceed();
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            // Stop timer
-            sample.stop(Timer.builder("repository.query.execution")
-                .tag("class", className)
-                .tag("method", methodName)
-                .tag("status", "success")
-                .register(meterRegistry));
+            long elapsed = System.nanoTime() - startTime;
+            metrics.recordSuccess(elapsed);
 
             // Check for slow queries
-            if (duration.toMillis() > 200) {
-                log.warn("Slow repository query: {} took {}ms",
-                    className + "." + methodName, duration.toMillis());
-
-                // Record slow query
-                monitoringService.recordSlowQuery(
-                    className + "." + methodName,
-                    getQueryString(joinPoint),
-                    duration
-                );
+            if (elapsed > SLOW_REPOSITORY_NANOS) {
+                log.warn("Slow repository query: {} took {}ms", metrics.getLabel(), toMillis(elapsed));
+                monitoringService.recordSlowQuery(metrics.getLabel(), getQueryString(joinPoint), Duration.ofNanos(elapsed));
             }
 
             // Record result size for collections
-            if (result instanceof Collection) {
-                int resultSize = ((Collection<?>) result).size();
-                Gauge.builder("repository.query.result.size")
-                    .tag("method", methodName)
-                    .register(meterRegistry)
-                    .set(resultSize);
+            if (result instanceof Collection<?> collection) {
+                metrics.recordResultSize("repository.query.result.size", collection.size());
             }
 
             return result;
         } catch (Exception e) {
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            // Stop timer with error
-            sample.stop(Timer.builder("repository.query.execution")
-                .tag("class", className)
-                .tag("method", methodName)
-                .tag("status", "error")
-                .tag("exception", e.getClass().getSimpleName())
-                .register(meterRegistry));
-
-            log.error("Repository query failed: {} after {}ms",
-                className + "." + methodName, duration.toMillis(), e);
+            long elapsed = System.nanoTime() - startTime;
+            metrics.recordError(e, elapsed);
+
+            log.error("Repository query failed: {} after {}ms", metrics.getLabel(), toMillis(elapsed), e);
             throw e;
         }
     }
@@ -232,47 +227,18 @@ public class PerformanceAspect {
     // Monitor methods annotated with @Timed
     @Around("timedMethods()")
     public Object monitorTimedMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        io.micrometer.core.annotation.Timed timed =
-            ((io.micrometer.core.annotation.Timed) joinPoint.getSignature().getAnnotations()[0]);
-
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String description = timed.description().isEmpty() ?
-            "Execution time for " + className + "." + methodName : timed.description();
-
-        Timer.Sample sample = Timer.start();
-        Instant startTime = Instant.now();
+        if (!timedProbe.sample()) {
+            return joinPoint.proceed();
+        }
+        MethodMetrics metrics = timedProbe.metricsFor(joinPoint);
+        long startTime = System.nanoTime();
 
         try {
             Object result = joinPoint.proceed();
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            // Create timer with custom tags
-            Timer.Builder timerBuilder = Timer.builder(description)
-                .tag("class", className)
-                .tag("method", methodName);
-
-            // Add extra tags from annotation
-            if (timed.extraTags().length > 0) {
-                for (int i = 0; i < timed.extraTags().length; i += 2) {
-                    if (i + 1 < timed.extraTags().length) {
-                        timerBuilder.tag(timed.extraTags()[i], timed.extraTags()[i + 1]);
-                    }
-                }
-            }
-
-            sample.stop(timerBuilder.register(meterRegistry));
-
+            metrics.recordSuccess(System.nanoTime() - startTime);
             return result;
         } catch (Exception e) {
-            sample.stop(Timer.builder(description)
-                .tag("class", className)
-                .tag("method", methodName)
-                .tag("status", "error")
-                .tag("exception", e.getClass().getSimpleName())
-                .register(meterRegistry));
-
+            metrics.recordError(e, System.nanoTime() - startTime);
             throw e;
         }
     }
@@ -280,43 +246,26 @@ public class PerformanceAspect {
     // Monitor all database operations for performance
     @Around("databaseOperations()")
     public Object monitorDatabaseOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        String operationName = joinPoint.getSignature().toShortString();
-        Instant startTime = Instant.now();
+        if (!databaseProbe.sample()) {
+            return joinPoint.proceed();
+        }
+        MethodMetrics metrics = databaseProbe.metricsFor(joinPoint);
+        long startTime = System.nanoTime();
 
         try {
             Object result = joinPoint.proceed();
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            // Record database operation duration
-            Timer.builder("database.operation.duration")
-                .tag("operation", operationName)
-                .tag("status", "success")
-                .register(meterRegistry)
-                .record(duration);
+            long elapsed = System.nanoTime() - startTime;
+            metrics.recordSuccess(elapsed);
 
             // Check for very slow database operations
-            if (duration.toMillis() > 1000) {
-                log.warn("Very slow database operation: {} took {}ms", operationName, duration.toMillis());
-
-                // Record slow database operation
-                Counter.builder("database.operations.slow")
-                    .tag("operation", operationName)
-                    .register(meterRegistry)
-                    .increment();
+            if (elapsed > SLOW_DATABASE_NANOS) {
+                log.warn("Very slow database operation: {} took {}ms", metrics.getLabel(), toMillis(elapsed));
+                metrics.recordSlow("database.operations.slow");
             }
 
             return result;
         } catch (Exception e) {
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            Timer.builder("database.operation.duration")
-                .tag("operation", operationName)
-                .tag("status", "error")
-                .register(meterRegistry)
-                .record(duration);
-
+            metrics.recordError(e, System.nanoTime() - startTime);
             throw e;
         }
     }
@@ -326,34 +275,23 @@ public class PerformanceAspect {
             "execution(* com.memorizewords.service..*submitReview(..)) || " +
             "execution(* com.memorizewords.service..*calculateProgress(..))")
     public Object monitorBusinessOperations(ProceedingJoinPoint joinPoint) throws Throwable {
-        String operationName = joinPoint.getSignature().getName();
-        Timer.Sample sample = Timer.start();
-        Instant startTime = Instant.now();
+        if (!businessProbe.sample()) {
+            return joinPoint.proceed();
+        }
+        MethodMetrics metrics = businessProbe.metricsFor(joinPoint);
+        long startTime = System.nanoTime();
 
         try {
             Object result = joinPoint.proceed();
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            // Record business operation metrics
-            sample.stop(Timer.builder("business.operation.duration")
-                .tag("operation", operationName)
-                .tag("status", "success")
-                .register(meterRegistry));
+            long elapsed = System.nanoTime() - startTime;
+            metrics.recordSuccess(elapsed);
 
             // Record business event
-            monitoringService.recordReviewSessionEvent(operationName + "_completed", duration);
+            monitoringService.recordReviewSessionEvent(metrics.getLabel() + "_completed", Duration.ofNanos(elapsed));
 
             return result;
         } catch (Exception e) {
-            Instant endTime = Instant.now();
-            Duration duration = Duration.between(startTime, endTime);
-
-            sample.stop(Timer.builder("business.operation.duration")
-                .tag("operation", operationName)
-                .tag("status", "error")
-                .register(meterRegistry));
-
+            metrics.recordError(e, System.nanoTime() - startTime);
             throw e;
         }
     }
@@ -369,14 +307,14 @@ public class PerformanceAspect {
     }
 
     // Helper method to record API calls
-    private void recordApiCall(String methodName, String status, Duration duration) {
+    private void recordApiCall(String status, long elapsedNanos) {
         HttpServletRequest request = getCurrentRequest();
         if (request != null) {
             String endpoint = request.getRequestURI();
             String method = request.getMethod();
             int statusCode = status.equals("success") ? 200 : 500;
 
-            monitoringService.recordApiCall(endpoint, method, statusCode, duration);
+            monitoringService.recordApiCall(endpoint, method, statusCode, Duration.ofNanos(elapsedNanos));
         }
     }
 
@@ -389,13 +327,49 @@ public class PerformanceAspect {
         }
     }
 
+    private MethodMetrics timedMetrics(Class<?> type, Method method) {
+        Timed timed = method.getAnnotation(Timed.class);
+        String name = timed != null && !timed.value().isEmpty() ? timed.value() : "method.timed";
+        String description = timed != null && !timed.description().isEmpty() ? timed.description()
+            : "Execution time for " + type.getSimpleName() + "." + method.getName();
+
+        Tags tags = Tags.of("class", type.getSimpleName(), "method", method.getName());
+        if (timed != null) {
+            // Extra tags are declared as key/value pairs
+            String[] extraTags = timed.extraTags();
+            for (int i = 0; i + 1 < extraTags.length; i += 2) {
+                tags = tags.and(extraTags[i], extraTags[i + 1]);
+            }
+        }
+        return metrics(type.getSimpleName() + "." + method.getName(), name, description, tags);
+    }
+
+    private MethodMetrics metrics(String label, String timerName, String description, Tags tags) {
+        return new MethodMetrics(meterRegistry, label, timerName, description, tags, percentiles, percentileHistogram);
+    }
+
+    private MethodMetrics indexed(MethodMetrics metrics) {
+        metricsByLabel.put(metrics.getLabel(), metrics);
+        return metrics;
+    }
+
+    private static String shortString(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + "(..)";
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
     // Get performance statistics
     public long getMethodCallCount(String methodName) {
-        return methodCallCounts.getOrDefault(methodName, new AtomicLong(0)).get();
+        MethodMetrics metrics = metricsByLabel.get(methodName);
+        return metrics != null ? metrics.getCallCount() : 0;
     }
 
     public long getMethodErrorCount(String methodName) {
-        return methodErrorCounts.getOrDefault(methodName, new AtomicLong(0)).get();
+        MethodMetrics metrics = metricsByLabel.get(methodName);
+        return metrics != null ? metrics.getErrorCount() : 0;
     }
 
     public double getMethodErrorRate(String methodName) {
@@ -403,4 +377,44 @@ public class PerformanceAspect {
         long errors = getMethodErrorCount(methodName);
         return calls > 0 ? (double) errors / calls * 100 : 0.0;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sampling decision and per-method meter cache for one pointcut. Meters
+     * are keyed by target class and method, because inherited repository
+     * methods share a {@link Method} across repositories.
+     */
+    private static final class Probe {
+
+        private final double sampleRate;
+        private final BiFunction<Class<?>, Method, MethodMetrics> factory;
+        private final Map<Class<?>, Map<Method, MethodMetrics>> metrics = new ConcurrentHashMap<>();
+
+        Probe(double sampleRate, BiFunction<Class<?>, Method, MethodMetrics> factory) {
+            this.sampleRate = sampleRate;
+            this.factory = factory;
+        }
+
+        boolean sample() {
+            return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        }
+
+        MethodMetrics metricsFor(ProceedingJoinPoint joinPoint) {
+            Object target = joinPoint.getTarget();
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            Class<?> type = target != null ? target.getClass() : method.getDeclaringClass();
+            return metricsFor(type, method);
+        }
+
+        MethodMetrics metricsFor(Class<?> type, Method method) {
+            Map<Method, MethodMetrics> byMethod = metrics.get(type);
+            if (byMethod == null) {
+                byMethod = metrics.computeIfAbsent(type, key -> new ConcurrentHashMap<>());
+            }
+            MethodMetrics found = byMethod.get(method);
+            if (found == null) {
+                found = byMethod.computeIfAbsent(method, key -> factory.apply(type, method));
+            }
+            return found;
+        }
+    }
+}
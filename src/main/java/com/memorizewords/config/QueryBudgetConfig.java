@@ -0,0 +1,52 @@
+package com.memorizewords.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Arrays;
+
+/**
+ * Per-request SQL statement budget, enabled in the dev profile with
+ * {@code query-budget.enabled}.
+ *
+ * Every statement Hibernate prepares is counted on the request thread and
+ * requests over {@code query-budget.max-statements} are reported by
+ * {@link QueryBudgetFilter}. Listing endpoints load their associations
+ * through entity graphs and batch fetching, so they stay within a small
+ * constant number of statements whatever the page size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "query-budget.enabled", havingValue = "true")
+@Slf4j
+public class QueryBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${query-budget.max-statements:10}") int maxStatements,
+            @Value("${query-budget.fail-on-exceed:false}") boolean failOnExceed,
+            @Value("${query-budget.excluded-paths:/actuator}") String excludedPaths) {
+
+        log.info("Query budget enabled: at most {} SQL statements per request ({})",
+            maxStatements, failOnExceed ? "failing" : "logging");
+
+        FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(new QueryBudgetFilter(
+            maxStatements, failOnExceed, Arrays.asList(excludedPaths.split(",")), meterRegistry));
+        // Outermost, so statements run by security and other filters count too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,87 @@
+package com.memorizewords.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reports requests that run more SQL statements than the budget allows,
+ * which is how N+1 loads in DTO mapping show up.
+ *
+ * Statements are counted by {@link StatementCounter} on the request thread,
+ * so work handed to other threads is not included. Requests over budget are
+ * logged. With {@code failOnExceed} set, responses are buffered and one
+ * over budget is replaced by a 500 carrying the same message, so tests
+ * driving the endpoints catch it; a response the handler already committed
+ * itself, such as a redirect, can only be logged.
+ * Paths under the excluded prefixes, such as bulk imports, are not counted.
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final int maxStatements;
+    private final boolean failOnExceed;
+    private final List<String> excludedPaths;
+    private final Counter exceededCounter;
+
+    public QueryBudgetFilter(int maxStatements, boolean failOnExceed, List<String> excludedPaths,
+                             MeterRegistry meterRegistry) {
+        if (maxStatements < 1) {
+            throw new IllegalArgumentException("maxStatements must be positive: " + maxStatements);
+        }
+        this.maxStatements = maxStatements;
+        this.failOnExceed = failOnExceed;
+        this.excludedPaths = List.copyOf(excludedPaths);
+
+        this.exceededCounter = Counter.builder("http.server.requests.query_budget_exceeded")
+            .description("Requests that ran more SQL statements than the query budget")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Failing needs the response still unwritten, so its body is held back until the count is known
+        ContentCachingResponseWrapper buffered = failOnExceed ? new ContentCachingResponseWrapper(response) : null;
+        StatementCounter.start();
+        int statements;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            statements = StatementCounter.stop();
+        }
+
+        if (statements > maxStatements) {
+            exceededCounter.increment();
+            String message = String.format("%s %s ran %d SQL statements, over the budget of %d",
+                request.getMethod(), request.getRequestURI(), statements, maxStatements);
+            log.warn(message);
+            if (buffered != null && !response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, message);
+                return;
+            }
+        } else {
+            log.debug("{} {} ran {} SQL statements", request.getMethod(), request.getRequestURI(), statements);
+        }
+
+        if (buffered != null) {
+            buffered.copyBodyToResponse();
+        }
+    }
+}
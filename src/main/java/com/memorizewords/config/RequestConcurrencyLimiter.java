@@ -0,0 +1,98 @@
+package com.memorizewords.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.memorizewords.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests handled at once.
+ *
+ * Requests wait up to {@code acquireTimeoutMillis} for a slot and are
+ * answered with 503 when none frees up, instead of queueing on the
+ * connection pool until its own timeout fails them. Health and actuator
+ * requests are never limited so probes keep working under load.
+ */
+@Slf4j
+public class RequestConcurrencyLimiter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutMillis;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedCounter;
+
+    public RequestConcurrencyLimiter(int maxConcurrentRequests, long acquireTimeoutMillis,
+                                     ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive: " + maxConcurrentRequests);
+        }
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.objectMapper = objectMapper;
+
+        this.rejectedCounter = Counter.builder("http.server.requests.rejected")
+            .description("Requests rejected because the concurrency limit was reached")
+            .register(meterRegistry);
+        Gauge.builder("http.server.requests.in_flight", this, RequestConcurrencyLimiter::inFlight)
+            .description("Requests currently holding a concurrency slot")
+            .register(meterRegistry);
+    }
+
+    public int inFlight() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/actuator") || path.startsWith("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        rejectedCounter.increment();
+        log.debug("Rejected request: {} requests already in flight", maxConcurrentRequests);
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+            ApiResponse.error("Server is busy, please retry shortly", null));
+    }
+}
@@ -0,0 +1,110 @@
+package com.memorizewords.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual-thread execution mode.
+ *
+ * Setting {@code spring.threads.virtual.enabled} on Java 21 or later runs
+ * Tomcat request handling, {@code @Scheduled} jobs and the application task
+ * executor on virtual threads; the import and session sweeper workers follow
+ * through {@link #threadFactory}. Tomcat then no longer caps concurrent
+ * requests at its worker count, so this configuration adds a request limit
+ * sized from the connection pool, keeping waits for a connection short,
+ * and a monitor for virtual threads pinned inside {@code synchronized}
+ * blocks.
+ */
+@Configuration
+@Slf4j
+public class VirtualThreadConfig {
+
+    static final int DEFAULT_POOL_SIZE = 10;
+
+    /**
+     * Creates worker threads for an executor owned by a service: virtual when
+     * {@code virtualThreads} is set and the runtime supports them, platform
+     * threads otherwise.
+     */
+    public static ThreadFactory threadFactory(String prefix, boolean virtualThreads) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+        return new CustomizableThreadFactory(prefix);
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public FilterRegistrationBean<RequestConcurrencyLimiter> requestConcurrencyLimiter(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${virtual-threads.requests-per-connection:2}") int requestsPerConnection,
+            @Value("${virtual-threads.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+
+        HikariDataSource hikari = unwrapHikari(dataSource);
+        int poolSize = hikari != null ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : poolSize * requestsPerConnection;
+
+        if (limit < poolSize) {
+            log.warn("Request limit {} is below the connection pool size {}; connections will sit idle", limit, poolSize);
+        }
+        if (hikari != null && acquireTimeoutMillis >= hikari.getConnectionTimeout()) {
+            log.warn("virtual-threads.acquire-timeout-ms ({}) should be below the pool's connection timeout ({} ms)",
+                acquireTimeoutMillis, hikari.getConnectionTimeout());
+        }
+        log.info("Virtual threads enabled: at most {} concurrent requests for a pool of {} connections", limit, poolSize);
+
+        FilterRegistrationBean<RequestConcurrencyLimiter> registration = new FilterRegistrationBean<>(
+            new RequestConcurrencyLimiter(limit, acquireTimeoutMillis, objectMapper, meterRegistry));
+        // Ahead of security so authentication lookups are limited too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinned-threshold-ms:20}") long thresholdMillis) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMillis), meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (requested && !Threading.VIRTUAL.isActive(environment)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                Runtime.version().feature());
+        }
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.memorizewords.controller;
 
+import com.memorizewords.algorithm.WorkloadProjection;
+import com.memorizewords.dto.request.BatchSubmitReviewRequest;
 import com.memorizewords.dto.request.StartReviewSessionRequest;
 import com.memorizewords.dto.request.SubmitReviewRequest;
 import com.memorizewords.dto.request.UpdatePreferencesRequest;
@@ -13,9 +15,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -33,6 +38,7 @@ public class SpacedRepetitionController {
     private final ReviewStatisticsService statisticsService;
     private final UserReviewPreferencesService preferencesService;
     private final SpacedRepetitionService spacedRepetitionService;
+    private final WorkloadForecastService forecastService;
 
     // Review Session Management
 
@@ -69,6 +75,20 @@ public class SpacedRepetitionController {
         return ResponseEntity.ok(ApiResponse.success(sessionDTO));
     }
 
+    @PostMapping("/sessions/{sessionId}/submit-batch")
+    public ResponseEntity<ApiResponse<ReviewSessionDTO>> submitReviews(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long sessionId,
+            @Valid @RequestBody BatchSubmitReviewRequest request) {
+
+        log.info("Submitting {} reviews for session {}", request.getAnswers().size(), sessionId);
+
+        ReviewSession updatedSession = sessionService.submitReviews(sessionId, request.getAnswers(), user);
+        ReviewSessionDTO sessionDTO = convertToReviewSessionDTO(updatedSession);
+
+        return ResponseEntity.ok(ApiResponse.success("Reviews submitted successfully", sessionDTO));
+    }
+
     @PostMapping("/sessions/{sessionId}/complete")
     public ResponseEntity<ApiResponse<ReviewSessionDTO>> completeSession(
             @AuthenticationPrincipal User user,
@@ -268,6 +288,41 @@ public class SpacedRepetitionController {
         return ResponseEntity.ok(ApiResponse.success(insight));
     }
 
+    // Workload Forecast
+
+    @GetMapping("/forecast")
+    public ResponseEntity<ApiResponse<ReviewForecastDTO>> getReviewForecast(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "30") int days) {
+
+        ReviewForecastDTO forecast = forecastService.forecastForUser(user, days);
+        return ResponseEntity.ok(ApiResponse.success("Review forecast retrieved successfully", forecast));
+    }
+
+    @GetMapping("/forecast/system")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ReviewForecastDTO>> getSystemReviewForecast(
+            @RequestParam(defaultValue = "30") int days) {
+
+        ReviewForecastDTO forecast = forecastService.forecastSystem(days);
+        return ResponseEntity.ok(ApiResponse.success("System review forecast retrieved successfully", forecast));
+    }
+
+    @GetMapping("/forecast/system/stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamSystemReviewForecast(
+            @RequestParam(defaultValue = "30") int days) {
+
+        if (days < 1 || days > WorkloadProjection.MAXIMUM_DAYS) {
+            throw new IllegalArgumentException("Forecast days must be between 1 and " + WorkloadProjection.MAXIMUM_DAYS);
+        }
+
+        StreamingResponseBody body = output -> forecastService.streamSystemForecast(days, output);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
     // User Preferences
 
     @GetMapping("/preferences")
@@ -324,6 +379,20 @@ public class SpacedRepetitionController {
 
     // Card Operations
 
+    @GetMapping("/cards/{cardId}/history")
+    public ResponseEntity<ApiResponse<List<String>>> getCardReviewHistory(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long cardId) {
+
+        List<String> history = spacedRepetitionService.getReviewHistory(user, cardId).stream()
+            .map(event -> String.format("%d: %s (%dms)",
+                event.getReviewNumber(),
+                event.getOutcome(),
+                event.getResponseTime()))
+            .toList();
+        return ResponseEntity.ok(ApiResponse.success("Review history retrieved successfully", history));
+    }
+
     @PostMapping("/cards/{cardId}/suspend")
     public ResponseEntity<ApiResponse<String>> suspendCard(
             @AuthenticationPrincipal User user,
@@ -492,7 +561,6 @@ public class SpacedRepetitionController {
             .isNew(card.getTotalReviews() == 0)
             .isDifficult(card.getDifficultyRating() != null && card.getDifficultyRating() > 0.5)
             .difficultyRating(card.getDifficultyRating())
-            .reviewHistory(card.getReviewHistory())
             .build();
     }
 
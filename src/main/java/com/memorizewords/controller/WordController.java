@@ -6,14 +6,17 @@ import com.memorizewords.dto.request.UpdateWordRequest;
 import com.memorizewords.dto.request.WordSearchCriteria;
 import com.memorizewords.dto.response.ApiResponse;
 import com.memorizewords.dto.response.BulkImportResult;
+import com.memorizewords.dto.response.DuplicateCheckDto;
+import com.memorizewords.dto.response.ImportJobDto;
 import com.memorizewords.dto.response.WordDto;
 import com.memorizewords.entity.User;
+import com.memorizewords.exception.ImportException;
 import com.memorizewords.service.DuplicateDetectionService;
 import com.memorizewords.service.ImportExportService;
+import com.memorizewords.service.ImportJobService;
 import com.memorizewords.service.WordService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
@@ -25,6 +28,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
@@ -44,6 +48,7 @@ public class WordController {
 
     private final WordService wordService;
     private final ImportExportService importExportService;
+    private final ImportJobService importJobService;
     private final DuplicateDetectionService duplicateDetectionService;
 
     @PostMapping
@@ -116,20 +121,60 @@ public class WordController {
         return ResponseEntity.ok(ApiResponse.success("Bulk import completed", result));
     }
 
+    @PostMapping("/import-jobs")
+    public ResponseEntity<ApiResponse<ImportJobDto>> submitImportJob(
+            @RequestParam("file") MultipartFile file,
+            @ModelAttribute BulkImportOptions options,
+            Authentication authentication) {
+
+        User user = getCurrentUser(authentication);
+        ImportJobDto job = importJobService.submit(file, options, user);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(ApiResponse.success("Import job submitted", job));
+    }
+
+    @GetMapping("/import-jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ImportJobDto>> getImportJob(
+            @PathVariable String jobId,
+            Authentication authentication) {
+
+        User user = getCurrentUser(authentication);
+        ImportJobDto job = importJobService.getJob(jobId, user);
+
+        return ResponseEntity.ok(ApiResponse.success("Import job retrieved successfully", job));
+    }
+
+    @PostMapping("/import-jobs/{jobId}/cancel")
+    public ResponseEntity<ApiResponse<ImportJobDto>> cancelImportJob(
+            @PathVariable String jobId,
+            Authentication authentication) {
+
+        User user = getCurrentUser(authentication);
+        ImportJobDto job = importJobService.cancel(jobId, user);
+
+        return ResponseEntity.ok(ApiResponse.success("Import job cancellation requested", job));
+    }
+
     @GetMapping("/export")
-    public ResponseEntity<Resource> exportWords(
+    public ResponseEntity<StreamingResponseBody> exportWords(
             @RequestParam(defaultValue = "csv") String format,
             @RequestParam(required = false) Set<Long> wordIds,
+            @RequestParam(defaultValue = "false") boolean gzip,
             Authentication authentication) {
 
         User user = getCurrentUser(authentication);
-        Resource resource = importExportService.exportWords(format, wordIds, user);
+        if (!importExportService.supportsExportFormat(format)) {
+            throw new ImportException("Unsupported export format: " + format);
+        }
+
+        StreamingResponseBody body = output -> importExportService.streamExport(format, wordIds, user, output, gzip);
 
-        String filename = "words." + format.toLowerCase();
+        String filename = "words." + format.toLowerCase() + (gzip ? ".gz" : "");
         return ResponseEntity.ok()
             .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-            .contentType(MediaType.APPLICATION_OCTET_STREAM)
-            .body(resource);
+            .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_OCTET_STREAM)
+            .body(body);
     }
 
     @GetMapping("/similar")
@@ -156,16 +201,16 @@ public class WordController {
     }
 
     @PostMapping("/{id}/duplicate-check")
-    public ResponseEntity<ApiResponse<Boolean>> checkForDuplicates(
+    public ResponseEntity<ApiResponse<DuplicateCheckDto>> checkForDuplicates(
             @PathVariable Long id,
             @RequestParam String word,
             @RequestParam(required = false, defaultValue = "en") String language,
             Authentication authentication) {
 
         User user = getCurrentUser(authentication);
-        boolean isDuplicate = duplicateDetectionService.isDuplicateWordForUser(word, language, user.getId());
+        DuplicateCheckDto check = duplicateDetectionService.checkDuplicates(id, word, language, user);
 
-        return ResponseEntity.ok(ApiResponse.success("Duplicate check completed", isDuplicate));
+        return ResponseEntity.ok(ApiResponse.success("Duplicate check completed", check));
     }
 
     @GetMapping("/my-words")
@@ -0,0 +1,47 @@
+package com.memorizewords.dto.request;
+
+import com.memorizewords.enums.ReviewOutcome;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for submitting several review answers of one session at once.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSubmitReviewRequest {
+
+    @NotEmpty(message = "At least one answer is required")
+    @Size(max = 100, message = "Cannot submit more than 100 answers at once")
+    @Valid
+    private List<ReviewAnswer> answers;
+
+    /**
+     * A single queued answer, applied in list order.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReviewAnswer {
+
+        @NotNull(message = "Card ID is required")
+        private Long cardId;
+
+        @NotNull(message = "Review outcome is required")
+        private ReviewOutcome outcome;
+
+        @Min(value = 100, message = "Response time must be at least 100ms")
+        @Max(value = 300000, message = "Response time cannot exceed 5 minutes")
+        @NotNull(message = "Response time is required")
+        private Integer responseTime;
+    }
+}
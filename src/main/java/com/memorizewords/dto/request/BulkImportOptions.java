@@ -18,5 +18,11 @@ public class BulkImportOptions {
 
     private Boolean overwriteExisting = false;
 
+    /**
+     * Skip words within a small edit distance of an existing word or of an
+     * earlier word in the same chunk, such as "recieve" next to "receive".
+     */
+    private Boolean skipNearDuplicates = false;
+
     private String delimiter = ",";
 }
\ No newline at end of file
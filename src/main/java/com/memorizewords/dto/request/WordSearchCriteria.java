@@ -9,6 +9,11 @@ import lombok.Data;
 @Data
 public class WordSearchCriteria {
 
+    /**
+     * Free text matched against word, definition, example, tags and categories.
+     */
+    private String searchTerm;
+
     private String word;
 
     private String language;
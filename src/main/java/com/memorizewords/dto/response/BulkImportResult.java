@@ -11,6 +11,12 @@ import java.util.List;
 @Data
 public class BulkImportResult {
 
+    /**
+     * Upper bound on recorded skipped/error details, so a large import keeps
+     * constant memory. Counts are always exact.
+     */
+    public static final int MAX_DETAILS = 1000;
+
     private int totalWords = 0;
 
     private int successCount = 0;
@@ -25,21 +31,52 @@ public class BulkImportResult {
 
     private List<ImportError> errors = new ArrayList<>();
 
+    private int chunksCommitted = 0;
+
+    private long elapsedMillis = 0;
+
+    private boolean detailsTruncated = false;
+
+    private boolean cancelled = false;
+
     public void addSuccess(WordDto word) {
         successes.add(new ImportSuccess(word));
         successCount++;
     }
 
+    /**
+     * Counts imported words without recording per-word details.
+     */
+    public void addSuccesses(int count) {
+        successCount += count;
+    }
+
     public void addSkipped(String word, String reason) {
-        skipped.add(new ImportSkipped(word, reason));
+        if (skipped.size() < MAX_DETAILS) {
+            skipped.add(new ImportSkipped(word, reason));
+        } else {
+            detailsTruncated = true;
+        }
         skippedCount++;
     }
 
     public void addError(String word, String error) {
-        errors.add(new ImportError(word, error));
+        if (errors.size() < MAX_DETAILS) {
+            errors.add(new ImportError(word, error));
+        } else {
+            detailsTruncated = true;
+        }
         errorCount++;
     }
 
+    public void chunkCommitted() {
+        chunksCommitted++;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? totalWords * 1000.0 / elapsedMillis : 0.0;
+    }
+
     @Data
     public static class ImportSuccess {
         private WordDto word;
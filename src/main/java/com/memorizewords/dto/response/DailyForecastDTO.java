@@ -0,0 +1,24 @@
+package com.memorizewords.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO for the predicted review load of one day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyForecastDTO {
+
+    private LocalDate date;
+
+    private Integer scheduledCards; // Cards currently due that day, overdue cards on the first day
+
+    private Double predictedReviews; // Including cards that come due again within the forecast
+}
@@ -0,0 +1,33 @@
+package com.memorizewords.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response DTO for a duplicate check of a word.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCheckDto {
+
+    private boolean duplicate;
+
+    private List<NearDuplicate> nearDuplicates = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NearDuplicate {
+
+        private Long wordId;
+
+        private String word;
+
+        private int distance;
+    }
+}
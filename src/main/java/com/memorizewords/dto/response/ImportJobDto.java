@@ -0,0 +1,48 @@
+package com.memorizewords.dto.response;
+
+import com.memorizewords.enums.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for the progress of an asynchronous import job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDto {
+
+    private String jobId;
+
+    private ImportJobStatus status;
+
+    private String fileName;
+
+    private int rowsParsed;
+
+    private int inserted;
+
+    private int skipped;
+
+    private int errored;
+
+    private double rowsPerSecond;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    private String error;
+
+    /**
+     * Full import result, present once the job has finished.
+     */
+    private BulkImportResult result;
+}
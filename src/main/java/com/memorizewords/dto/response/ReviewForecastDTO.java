@@ -0,0 +1,41 @@
+package com.memorizewords.dto.response;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Response DTO for a review workload forecast, for one user or system-wide.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewForecastDTO {
+
+    private Long userId; // Null for a system-wide forecast
+
+    private Integer users;
+
+    private LocalDate startDate;
+
+    private Integer days;
+
+    private Double lapseRate;
+
+    private Double totalPredictedReviews;
+
+    private Double averageDailyReviews;
+
+    private Double peakDailyReviews;
+
+    private LocalDate peakDate;
+
+    private Integer suggestedDailyReviewLimit; // Clears the predicted load at an even pace
+
+    private List<DailyForecastDTO> dailyForecast;
+}
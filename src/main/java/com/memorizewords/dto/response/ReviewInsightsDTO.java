@@ -50,4 +50,8 @@ public class ReviewInsightsDTO {
     private String nextMilestone;
 
     private Integer daysToMilestone;
+
+    private Boolean partial; // true when some sections could not be computed in time
+
+    private List<String> unavailableSections;
 }
\ No newline at end of file
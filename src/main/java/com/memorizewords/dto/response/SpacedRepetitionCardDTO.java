@@ -9,7 +9,6 @@ import lombok.AllArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
 
 /**
  * Response DTO for spaced repetition card information.
@@ -79,6 +78,4 @@ public class SpacedRepetitionCardDTO {
     private Boolean isDifficult;
 
     private Double difficultyRating;
-
-    private List<String> reviewHistory;
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.memorizewords.entity;
+
+import com.memorizewords.enums.ReviewOutcome;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of a single card review. Rows are inserted once per
+ * answer and never updated, so they are not loaded on the review path.
+ */
+@Entity
+@Table(name = "card_review_events", indexes = {
+    @Index(name = "idx_card_review_events_card_number", columnList = "card_id, review_number"),
+    @Index(name = "idx_card_review_events_user_reviewed", columnList = "user_id, reviewed_at")
+})
+@Data
+public class CardReviewEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "card_id", nullable = false, updatable = false)
+    private SpacedRepetitionCard card;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false, updatable = false)
+    private User user;
+
+    @Column(name = "review_number", nullable = false, updatable = false)
+    private Integer reviewNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome", nullable = false, updatable = false)
+    private ReviewOutcome outcome;
+
+    @Column(name = "response_time", updatable = false)
+    private Integer responseTime;
+
+    @Column(name = "reviewed_at", nullable = false, updatable = false)
+    private LocalDateTime reviewedAt;
+
+    @Column(name = "interval_before_review", updatable = false)
+    private Integer intervalBeforeReview;
+
+    @Column(name = "ease_factor_before_review", precision = 10, scale = 2, updatable = false)
+    private BigDecimal easeFactorBeforeReview;
+}
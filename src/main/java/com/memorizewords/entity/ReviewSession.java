@@ -15,7 +15,10 @@ import java.util.List;
  * Entity representing a review session for spaced repetition.
  */
 @Entity
-@Table(name = "review_sessions")
+@Table(name = "review_sessions", indexes = {
+    @Index(name = "idx_review_sessions_completed_start", columnList = "is_completed, start_time"),
+    @Index(name = "idx_review_sessions_user_completed_start", columnList = "user_id, is_completed, start_time")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class ReviewSession extends BaseEntity {
@@ -174,6 +177,30 @@ public class ReviewSession extends BaseEntity {
         updatePerformanceMetrics();
     }
 
+    /**
+     * Counts several reviewed cards and recomputes the derived metrics once,
+     * instead of once per card as {@link #updateStatistics} does.
+     */
+    public void updateStatistics(List<ReviewSessionCard> reviewedCards) {
+        if (reviewedCards.isEmpty()) {
+            return;
+        }
+
+        for (ReviewSessionCard card : reviewedCards) {
+            completedCards++;
+            if (card.getOutcome() == ReviewOutcome.GOOD ||
+                card.getOutcome() == ReviewOutcome.EASY) {
+                correctAnswers++;
+            }
+        }
+
+        updateAverageResponseTime();
+        sessionAccuracy = new BigDecimal(getAccuracyPercentage())
+            .setScale(2, BigDecimal.ROUND_HALF_UP);
+        updateCardsPerMinute();
+        updatePerformanceMetrics();
+    }
+
     private void updateAverageResponseTime() {
         int totalTime = cards.stream()
             .filter(c -> c.getResponseTime() != null && c.getResponseTime() > 0)
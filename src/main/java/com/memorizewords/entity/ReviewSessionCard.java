@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
  * Entity representing a card within a review session.
  */
 @Entity
-@Table(name = "review_session_cards")
+@Table(name = "review_session_cards", indexes = {
+    @Index(name = "idx_review_session_cards_session_card", columnList = "session_id, card_id")
+})
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class ReviewSessionCard extends BaseEntity {
@@ -1,5 +1,7 @@
 package com.memorizewords.entity;
 
+import com.memorizewords.algorithm.FixedPoint;
+import com.memorizewords.algorithm.Sm2Scheduler;
 import com.memorizewords.enums.ReviewOutcome;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -7,18 +9,29 @@ import lombok.EqualsAndHashCode;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Entity representing a word card with spaced repetition data.
+ *
+ * Card listings load the word through the {@value #WITH_WORD} graph.
  */
 @Entity
-@Table(name = "spaced_repetition_cards")
+@Table(name = "spaced_repetition_cards", indexes = {
+    @Index(name = "idx_src_user_active_due", columnList = "user_id, is_active, is_suspended, due_date"),
+    @Index(name = "idx_src_user_total_reviews", columnList = "user_id, total_reviews, is_active, is_suspended"),
+    @Index(name = "idx_src_user_last_reviewed", columnList = "user_id, last_reviewed"),
+    @Index(name = "idx_src_user_word", columnList = "user_id, word_id")
+})
+@NamedEntityGraph(name = SpacedRepetitionCard.WITH_WORD, attributeNodes = @NamedAttributeNode("word"))
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class SpacedRepetitionCard extends BaseEntity {
 
+    public static final String WITH_WORD = "SpacedRepetitionCard.withWord";
+    public static final int RECENT_OUTCOME_WINDOW = 10;
+    private static final int RECENT_OUTCOME_MASK = (1 << RECENT_OUTCOME_WINDOW) - 1;
+    private static final BigDecimal DIFFICULT_THRESHOLD = FixedPoint.toBigDecimal(50);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,7 +48,7 @@ public class SpacedRepetitionCard extends BaseEntity {
     private Integer intervalDays = 1;
 
     @Column(name = "ease_factor", precision = 10, scale = 2, nullable = false)
-    private BigDecimal easeFactor = new BigDecimal("2.5");
+    private BigDecimal easeFactor = FixedPoint.toBigDecimal(Sm2Scheduler.INITIAL_EASE);
 
     @Column(name = "due_date", nullable = false)
     private LocalDateTime dueDate = LocalDateTime.now();
@@ -70,6 +83,15 @@ public class SpacedRepetitionCard extends BaseEntity {
     @Column(name = "stability_factor", precision = 10, scale = 2)
     private BigDecimal stabilityFactor = BigDecimal.ONE;
 
+    /**
+     * FSRS memory state, null until the card is first scheduled by FSRS.
+     */
+    @Column(name = "memory_stability", precision = 10, scale = 2)
+    private BigDecimal memoryStability;
+
+    @Column(name = "memory_difficulty", precision = 4, scale = 2)
+    private BigDecimal memoryDifficulty;
+
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
@@ -101,11 +123,15 @@ public class SpacedRepetitionCard extends BaseEntity {
     @Column(name = "retention_rate", precision = 5, scale = 2)
     private BigDecimal retentionRate;
 
-    @ElementCollection
-    @CollectionTable(name = "spaced_repetition_review_history",
-                    joinColumns = @JoinColumn(name = "card_id"))
-    @OrderColumn(name = "review_number")
-    private List<ReviewHistory> reviewHistory = new ArrayList<>();
+    /**
+     * Ring of the last {@value #RECENT_OUTCOME_WINDOW} outcomes, one bit per
+     * review with the newest in bit 0; a set bit is a correct answer.
+     */
+    @Column(name = "recent_outcomes", nullable = false)
+    private Integer recentOutcomes = 0;
+
+    @Column(name = "recent_outcome_count", nullable = false)
+    private Integer recentOutcomeCount = 0;
 
     @PrePersist
     public void prePersist() {
@@ -113,7 +139,7 @@ public class SpacedRepetitionCard extends BaseEntity {
             dueDate = LocalDateTime.now();
         }
         if (easeFactor == null) {
-            easeFactor = new BigDecimal("2.5");
+            easeFactor = FixedPoint.toBigDecimal(Sm2Scheduler.INITIAL_EASE);
         }
         if (intervalDays == null) {
             intervalDays = 1;
@@ -161,18 +187,13 @@ public class SpacedRepetitionCard extends BaseEntity {
         lastReviewOutcome = outcome;
         lastReviewed = LocalDateTime.now();
 
+        // Push the outcome into the recent-outcome ring
+        int correctBit = outcome != ReviewOutcome.AGAIN ? 1 : 0;
+        recentOutcomes = ((recentOutcomes << 1) | correctBit) & RECENT_OUTCOME_MASK;
+        recentOutcomeCount = Math.min(recentOutcomeCount + 1, RECENT_OUTCOME_WINDOW);
+
         // Update performance metrics
         updatePerformanceMetrics();
-
-        // Add to review history
-        ReviewHistory history = new ReviewHistory();
-        history.setReviewNumber(totalReviews);
-        history.setOutcome(outcome);
-        history.setResponseTime(responseTime);
-        history.setReviewedAt(lastReviewed);
-        history.setIntervalBeforeReview(intervalDays);
-        history.setEaseFactorBeforeReview(easeFactor);
-        reviewHistory.add(history);
     }
 
     public void updatePerformanceMetrics() {
@@ -187,8 +208,7 @@ public class SpacedRepetitionCard extends BaseEntity {
             difficultyScore = (difficultyScore + responseTimeScore) / 2.0;
         }
 
-        this.difficultyRating = new BigDecimal(difficultyScore)
-            .setScale(2, BigDecimal.ROUND_HALF_UP);
+        this.difficultyRating = FixedPoint.toBigDecimal(FixedPoint.roundHalfUp(difficultyScore));
 
         // Calculate performance index (0-100)
         double performanceScore = accuracy * 100.0;
@@ -200,20 +220,14 @@ public class SpacedRepetitionCard extends BaseEntity {
         }
         performanceScore = Math.max(0.0, Math.min(100.0, performanceScore));
 
-        this.performanceIndex = new BigDecimal(performanceScore)
-            .setScale(2, BigDecimal.ROUND_HALF_UP);
+        this.performanceIndex = FixedPoint.toBigDecimal(FixedPoint.roundHalfUp(performanceScore));
 
         // Calculate retention rate
-        if (totalReviews > 3) {
-            // Retention rate based on recent performance
-            int recentReviews = Math.min(10, totalReviews);
-            double recentCorrect = reviewHistory.stream()
-                .skip(Math.max(0, reviewHistory.size() - recentReviews))
-                .filter(h -> h.getOutcome() != ReviewOutcome.AGAIN)
-                .count();
-            double retention = recentCorrect / recentReviews;
-            this.retentionRate = new BigDecimal(retention)
-                .setScale(2, BigDecimal.ROUND_HALF_UP);
+        if (totalReviews > 3 && recentOutcomeCount > 0) {
+            // Retention rate based on the recent-outcome ring
+            double recentCorrect = Integer.bitCount(recentOutcomes);
+            double retention = recentCorrect / recentOutcomeCount;
+            this.retentionRate = FixedPoint.toBigDecimal(FixedPoint.roundHalfUp(retention));
         }
     }
 
@@ -263,38 +277,6 @@ public class SpacedRepetitionCard extends BaseEntity {
     }
 
     public Boolean getIsDifficult() {
-        return difficultyRating != null && difficultyRating.compareTo(new BigDecimal("0.5")) > 0;
-    }
-
-    public List<String> getReviewHistory() {
-        return reviewHistory.stream()
-            .map(history -> String.format("%d: %s (%dms)",
-                history.getReviewNumber(),
-                history.getOutcome(),
-                history.getResponseTime()))
-            .toList();
-    }
-
-    @Embeddable
-    @Data
-    public static class ReviewHistory {
-        @Column(name = "review_number")
-        private Integer reviewNumber;
-
-        @Enumerated(EnumType.STRING)
-        @Column(name = "outcome")
-        private ReviewOutcome outcome;
-
-        @Column(name = "response_time")
-        private Integer responseTime;
-
-        @Column(name = "reviewed_at")
-        private LocalDateTime reviewedAt;
-
-        @Column(name = "interval_before_review")
-        private Integer intervalBeforeReview;
-
-        @Column(name = "ease_factor_before_review")
-        private BigDecimal easeFactorBeforeReview;
+        return difficultyRating != null && difficultyRating.compareTo(DIFFICULT_THRESHOLD) > 0;
     }
-}
\ No newline at end of file
+}
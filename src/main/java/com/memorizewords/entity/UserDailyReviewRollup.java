@@ -0,0 +1,112 @@
+package com.memorizewords.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Review activity of one user on one day, summed over that day's sessions.
+ *
+ * Rows are kept current by {@code ReviewRollupService} as answers are
+ * submitted and sessions complete, and can be recomputed from session
+ * history. Activity is attributed to the day its session started, matching
+ * how streaks count days.
+ */
+@Entity
+@Table(name = "user_daily_review_rollup")
+@IdClass(UserDailyReviewRollup.Key.class)
+@Data
+@NoArgsConstructor
+public class UserDailyReviewRollup implements Persistable<UserDailyReviewRollup.Key> {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "review_date", nullable = false)
+    private LocalDate reviewDate;
+
+    @Column(name = "sessions", nullable = false)
+    private Integer sessions = 0; // completed sessions
+
+    @Column(name = "reviews", nullable = false)
+    private Integer reviews = 0;
+
+    @Column(name = "correct_answers", nullable = false)
+    private Integer correctAnswers = 0;
+
+    @Column(name = "new_cards", nullable = false)
+    private Integer newCards = 0; // first reviews of a card
+
+    @Column(name = "study_seconds", nullable = false)
+    private Long studySeconds = 0L;
+
+    @Column(name = "response_time_sum", nullable = false)
+    private Long responseTimeSum = 0L; // milliseconds, over answers with a response time
+
+    @Column(name = "response_count", nullable = false)
+    private Integer responseCount = 0;
+
+    @Column(name = "session_score_sum", nullable = false, precision = 12, scale = 2)
+    private BigDecimal sessionScoreSum = BigDecimal.ZERO;
+
+    @Column(name = "best_session_accuracy", nullable = false, precision = 5, scale = 2)
+    private BigDecimal bestSessionAccuracy = BigDecimal.ZERO;
+
+    @Column(name = "difficult_cards_mastered", nullable = false)
+    private Integer difficultCardsMastered = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Rows built by a rebuild are inserted without a lookup by key first
+    @Transient
+    private boolean newRow = true;
+
+    public UserDailyReviewRollup(Long userId, LocalDate reviewDate) {
+        this.userId = userId;
+        this.reviewDate = reviewDate;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isActive() {
+        return sessions > 0 || reviews > 0;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(userId, reviewDate);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newRow = false;
+    }
+
+    /**
+     * Composite primary key: one row per user per day.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long userId;
+        private LocalDate reviewDate;
+    }
+}
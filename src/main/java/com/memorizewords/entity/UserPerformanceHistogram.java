@@ -0,0 +1,65 @@
+package com.memorizewords.entity;
+
+import com.memorizewords.algorithm.PerformanceHistogram;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's review performance by day of week and hour of day, stored as one
+ * fixed-size {@link PerformanceHistogram} encoding.
+ */
+@Entity
+@Table(name = "user_performance_histograms")
+@Data
+@NoArgsConstructor
+public class UserPerformanceHistogram implements Persistable<Long> {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "buckets", nullable = false, length = PerformanceHistogram.ENCODED_SIZE)
+    private byte[] buckets;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Rows created by the backfill are inserted without a lookup by key first
+    @Transient
+    private boolean newRow = true;
+
+    public UserPerformanceHistogram(Long userId) {
+        this.userId = userId;
+        this.buckets = new PerformanceHistogram().toBytes();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public PerformanceHistogram getHistogram() {
+        return PerformanceHistogram.fromBytes(buckets);
+    }
+
+    public void setHistogram(PerformanceHistogram histogram) {
+        this.buckets = histogram.toBytes();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public Long getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newRow = false;
+    }
+}
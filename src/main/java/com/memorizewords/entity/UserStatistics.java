@@ -93,25 +93,43 @@ public class UserStatistics {
     }
 
     public void updateStreak() {
-        LocalDate today = LocalDate.now();
+        recordActivityOn(LocalDate.now());
+    }
 
+    /**
+     * Folds one active day into the streak. Days at or before the last
+     * recorded activity are ignored, so repeated or late updates are safe.
+     */
+    public void recordActivityOn(LocalDate day) {
         if (lastActivityDate == null) {
             // First activity
             currentStreak = 1;
-            longestStreak = 1;
-        } else if (lastActivityDate.equals(today.minusDays(1))) {
+        } else if (!day.isAfter(lastActivityDate)) {
+            // Already counted
+            return;
+        } else if (lastActivityDate.equals(day.minusDays(1))) {
             // Consecutive day
             currentStreak++;
-            if (currentStreak > longestStreak) {
-                longestStreak = currentStreak;
-            }
-        } else if (lastActivityDate.isBefore(today.minusDays(1))) {
+        } else {
             // Streak broken
             currentStreak = 1;
         }
-        // If last activity was today, streak remains unchanged
 
-        lastActivityDate = today;
+        if (longestStreak == null || currentStreak > longestStreak) {
+            longestStreak = currentStreak;
+        }
+        lastActivityDate = day;
+    }
+
+    /**
+     * Current streak as seen on the given day; a streak survives until the
+     * end of the day after the last activity.
+     */
+    public int getCurrentStreakAsOf(LocalDate day) {
+        if (lastActivityDate == null || lastActivityDate.isBefore(day.minusDays(1))) {
+            return 0;
+        }
+        return currentStreak;
     }
 
     public long getStudyTimeInMinutes() {
@@ -4,19 +4,26 @@ import com.memorizewords.enums.ListType;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Vocabulary list entity for organizing words into collections.
+ *
+ * Listings load the owner through the {@value #WITH_OWNER} graph; words and
+ * tags are loaded in batches for all lists of the persistence context.
  */
 @Entity
 @Table(name = "vocabulary_lists")
+@NamedEntityGraph(name = VocabularyList.WITH_OWNER, attributeNodes = @NamedAttributeNode("owner"))
 @Data
 @EqualsAndHashCode(callSuper = true)
 public class VocabularyList extends BaseEntity {
 
+    public static final String WITH_OWNER = "VocabularyList.withOwner";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,6 +39,7 @@ public class VocabularyList extends BaseEntity {
     private User owner;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(
         name = "vocabulary_list_words",
         joinColumns = @JoinColumn(name = "list_id"),
@@ -46,6 +54,7 @@ public class VocabularyList extends BaseEntity {
     private Boolean isShared = false;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "vocabulary_list_tags", joinColumns = @JoinColumn(name = "list_id"))
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
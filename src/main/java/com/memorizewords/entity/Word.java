@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -15,15 +16,23 @@ import java.util.Set;
 
 /**
  * Word entity representing vocabulary words.
+ *
+ * Listings load the creator through the {@value #WITH_CREATOR} graph. Tags
+ * and categories, and words reached through lazy references, are loaded in
+ * batches for all words of the persistence context instead of one by one.
  */
 @Entity
 @Table(name = "words")
+@NamedEntityGraph(name = Word.WITH_CREATOR, attributeNodes = @NamedAttributeNode("createdBy"))
+@BatchSize(size = 100)
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Word extends BaseEntity {
 
+    public static final String WITH_CREATOR = "Word.withCreator";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,12 +56,14 @@ public class Word extends BaseEntity {
     private DifficultyLevel difficulty;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @Enumerated(EnumType.STRING)
     @CollectionTable(name = "word_categories", joinColumns = @JoinColumn(name = "word_id"))
     @Column(name = "category")
     private Set<WordCategory> categories = new HashSet<>();
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "word_tags", joinColumns = @JoinColumn(name = "word_id"))
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
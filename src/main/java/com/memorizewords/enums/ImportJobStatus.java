@@ -0,0 +1,12 @@
+package com.memorizewords.enums;
+
+/**
+ * Lifecycle status of an asynchronous word import job.
+ */
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
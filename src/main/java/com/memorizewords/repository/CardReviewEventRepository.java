@@ -0,0 +1,68 @@
+package com.memorizewords.repository;
+
+import com.memorizewords.entity.CardReviewEvent;
+import com.memorizewords.entity.SpacedRepetitionCard;
+import com.memorizewords.entity.User;
+import com.memorizewords.enums.ReviewOutcome;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for CardReviewEvent entity.
+ */
+@Repository
+public interface CardReviewEventRepository extends JpaRepository<CardReviewEvent, Long> {
+
+    @Query("SELECT e FROM CardReviewEvent e WHERE e.card.id = :cardId AND e.user = :user ORDER BY e.reviewNumber ASC")
+    List<CardReviewEvent> findHistoryForCard(@Param("user") User user, @Param("cardId") Long cardId);
+
+    @Modifying
+    @Query("DELETE FROM CardReviewEvent e WHERE e.card = :card")
+    int deleteByCard(@Param("card") SpacedRepetitionCard card);
+
+    @Query("SELECT e.card.id AS cardId, e.outcome AS outcome FROM CardReviewEvent e " +
+           "WHERE e.card.id IN :cardIds ORDER BY e.card.id ASC, e.reviewNumber DESC")
+    List<CardOutcomeRow> findOutcomesNewestFirst(@Param("cardIds") Collection<Long> cardIds);
+
+    /**
+     * Ids of cards that still have rows in the legacy
+     * {@code spaced_repetition_review_history} table, in id order.
+     */
+    @Query(value = "SELECT DISTINCT h.card_id FROM spaced_repetition_review_history h " +
+                   "WHERE h.card_id > :afterId ORDER BY h.card_id",
+           nativeQuery = true)
+    List<Long> findLegacyHistoryCardIds(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Copies the legacy history of the given cards in review order. Cards
+     * that already have events are skipped, so a copy cut short can be run
+     * again.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO card_review_events (card_id, user_id, review_number, outcome, response_time, reviewed_at, " +
+                   "interval_before_review, ease_factor_before_review) " +
+                   "SELECT h.card_id, c.user_id, h.review_number, h.outcome, h.response_time, " +
+                   "COALESCE(h.reviewed_at, c.last_reviewed, c.created_at), h.interval_before_review, h.ease_factor_before_review " +
+                   "FROM spaced_repetition_review_history h JOIN spaced_repetition_cards c ON c.id = h.card_id " +
+                   "WHERE h.card_id IN (:cardIds) " +
+                   "AND NOT EXISTS (SELECT 1 FROM card_review_events e WHERE e.card_id = h.card_id) " +
+                   "ORDER BY h.card_id, h.review_number",
+           nativeQuery = true)
+    int copyLegacyHistory(@Param("cardIds") Collection<Long> cardIds);
+
+    @Modifying
+    @Query(value = "DROP TABLE spaced_repetition_review_history", nativeQuery = true)
+    void dropLegacyHistory();
+
+    interface CardOutcomeRow {
+        Long getCardId();
+        ReviewOutcome getOutcome();
+    }
+}
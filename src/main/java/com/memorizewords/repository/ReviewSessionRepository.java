@@ -2,16 +2,22 @@ package com.memorizewords.repository;
 
 import com.memorizewords.entity.ReviewSession;
 import com.memorizewords.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for ReviewSession entity.
@@ -29,6 +35,9 @@ public interface ReviewSessionRepository extends JpaRepository<ReviewSession, Lo
 
     Optional<ReviewSession> findByUserAndIsCompletedFalse(User user);
 
+    @Query("SELECT DISTINCT s FROM ReviewSession s LEFT JOIN FETCH s.cards sc LEFT JOIN FETCH sc.card WHERE s.id = :id")
+    Optional<ReviewSession> findByIdWithCards(@Param("id") Long id);
+
     @Query("SELECT s FROM ReviewSession s WHERE s.user = :user AND s.isCompleted = false ORDER BY s.startTime DESC")
     List<ReviewSession> findActiveSessionsByUser(@Param("user") User user);
 
@@ -95,6 +104,22 @@ public interface ReviewSessionRepository extends JpaRepository<ReviewSession, Lo
     @Query("SELECT s FROM ReviewSession s WHERE s.user = :user AND s.isCompleted = false AND s.startTime < :timeoutDate")
     List<ReviewSession> findExpiredSessions(@Param("user") User user, @Param("timeoutDate") LocalDateTime timeoutDate);
 
+    @Query("SELECT s.id AS id, s.startTime AS startTime FROM ReviewSession s " +
+           "WHERE s.isCompleted = false AND s.startTime < :timeoutDate ORDER BY s.startTime, s.id")
+    List<ExpiredSessionKey> findExpiredSessionKeys(@Param("timeoutDate") LocalDateTime timeoutDate, Pageable pageable);
+
+    @Query("SELECT s.id AS id, s.startTime AS startTime FROM ReviewSession s " +
+           "WHERE s.isCompleted = false AND s.startTime < :timeoutDate " +
+           "AND (s.startTime > :afterStartTime OR (s.startTime = :afterStartTime AND s.id > :afterId)) " +
+           "ORDER BY s.startTime, s.id")
+    List<ExpiredSessionKey> findExpiredSessionKeysAfter(@Param("timeoutDate") LocalDateTime timeoutDate,
+                                                        @Param("afterStartTime") LocalDateTime afterStartTime,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+
+    @Query("SELECT COUNT(s) FROM ReviewSession s WHERE s.isCompleted = false AND s.startTime < :timeoutDate")
+    long countExpiredSessions(@Param("timeoutDate") LocalDateTime timeoutDate);
+
     @Query("SELECT s FROM ReviewSession s WHERE s.user = :user AND s.isCompleted = true AND s.startTime >= :date ORDER BY s.learningVelocity DESC")
     List<ReviewSession> findSessionsWithHighestLearningVelocity(@Param("user") User user, @Param("date") LocalDateTime date);
 
@@ -112,4 +137,78 @@ public interface ReviewSessionRepository extends JpaRepository<ReviewSession, Lo
 
     @Query("SELECT s FROM ReviewSession s WHERE s.user = :user AND s.mode = :mode ORDER BY s.startTime DESC")
     Page<ReviewSession> findByUserAndModeOrderByStartTimeDesc(@Param("user") User user, @Param("mode") com.memorizewords.enums.ReviewMode mode, Pageable pageable);
+
+    @Query("SELECT s.user.id AS userId, CAST(s.startTime AS LocalDate) AS day, " +
+           "SUM(CASE WHEN s.isCompleted = true THEN 1 ELSE 0 END) AS sessions, " +
+           "SUM(s.completedCards) AS reviews, SUM(s.correctAnswers) AS correctAnswers, " +
+           "SUM(CASE WHEN s.isCompleted = true THEN COALESCE(s.sessionDuration, 0) ELSE 0 END) AS studySeconds, " +
+           "SUM(CASE WHEN s.isCompleted = true THEN COALESCE(s.totalSessionScore, 0) ELSE 0 END) AS sessionScoreSum, " +
+           "MAX(CASE WHEN s.isCompleted = true THEN COALESCE(s.sessionAccuracy, 0) ELSE 0 END) AS bestSessionAccuracy, " +
+           "SUM(CASE WHEN s.isCompleted = true THEN COALESCE(s.difficultCardsMastered, 0) ELSE 0 END) AS difficultCardsMastered " +
+           "FROM ReviewSession s WHERE s.startTime >= :startDate AND s.startTime < :endDate " +
+           "GROUP BY s.user.id, CAST(s.startTime AS LocalDate)")
+    List<DailySessionTotals> aggregateDailySessionTotals(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT s.user.id AS userId, CAST(s.startTime AS LocalDate) AS day, " +
+           "SUM(CASE WHEN sc.reviewNumber = 1 THEN 1 ELSE 0 END) AS newCards, " +
+           "SUM(CASE WHEN sc.responseTime > 0 THEN sc.responseTime ELSE 0 END) AS responseTimeSum, " +
+           "SUM(CASE WHEN sc.responseTime > 0 THEN 1 ELSE 0 END) AS responseCount " +
+           "FROM ReviewSessionCard sc JOIN sc.session s " +
+           "WHERE sc.outcome IS NOT NULL AND s.startTime >= :startDate AND s.startTime < :endDate " +
+           "GROUP BY s.user.id, CAST(s.startTime AS LocalDate)")
+    List<DailyAnswerTotals> aggregateDailyAnswerTotals(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT MIN(s.startTime) FROM ReviewSession s")
+    LocalDateTime findEarliestStartTime();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT s.user.id AS userId, s.startTime AS startTime, s.completedCards AS reviews, " +
+           "s.correctAnswers AS correctAnswers, s.averageResponseTime AS averageResponseTime " +
+           "FROM ReviewSession s WHERE s.isCompleted = true AND s.completedCards > 0 ORDER BY s.user.id")
+    Stream<SessionPerformance> streamCompletedSessionPerformance();
+
+    /**
+     * Per-user, per-day session totals produced by {@link #aggregateDailySessionTotals}.
+     */
+    interface DailySessionTotals {
+        Long getUserId();
+        LocalDate getDay();
+        Long getSessions();
+        Long getReviews();
+        Long getCorrectAnswers();
+        Long getStudySeconds();
+        BigDecimal getSessionScoreSum();
+        BigDecimal getBestSessionAccuracy();
+        Long getDifficultCardsMastered();
+    }
+
+    /**
+     * Per-user, per-day answer totals produced by {@link #aggregateDailyAnswerTotals}.
+     */
+    interface DailyAnswerTotals {
+        Long getUserId();
+        LocalDate getDay();
+        Long getNewCards();
+        Long getResponseTimeSum();
+        Long getResponseCount();
+    }
+
+    /**
+     * Keyset position of an unfinished session, ordered by (startTime, id).
+     */
+    interface ExpiredSessionKey {
+        Long getId();
+        LocalDateTime getStartTime();
+    }
+
+    /**
+     * Start time and answer totals of one completed session.
+     */
+    interface SessionPerformance {
+        Long getUserId();
+        LocalDateTime getStartTime();
+        Integer getReviews();
+        Integer getCorrectAnswers();
+        Integer getAverageResponseTime();
+    }
 }
\ No newline at end of file
@@ -4,12 +4,17 @@ import com.memorizewords.entity.SpacedRepetitionCard;
 import com.memorizewords.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,21 +37,38 @@ public interface SpacedRepetitionCardRepository extends JpaRepository<SpacedRepe
 
     List<SpacedRepetitionCard> findByUserAndWordId(User user, Long wordId);
 
+    @EntityGraph(SpacedRepetitionCard.WITH_WORD)
     @Query("SELECT c FROM SpacedRepetitionCard c WHERE c.user = :user AND c.isActive = true AND c.isSuspended = false ORDER BY c.dueDate ASC")
     List<SpacedRepetitionCard> findActiveCardsForUser(@Param("user") User user);
 
     @Query("SELECT c FROM SpacedRepetitionCard c WHERE c.user = :user AND c.dueDate <= :dueDate AND c.isActive = true AND c.isSuspended = false")
     List<SpacedRepetitionCard> findDueCardsForUser(@Param("user") User user, @Param("dueDate") LocalDateTime dueDate);
 
+    @EntityGraph(SpacedRepetitionCard.WITH_WORD)
     @Query("SELECT c FROM SpacedRepetitionCard c WHERE c.user = :user AND c.dueDate <= :dueDate AND c.isActive = true AND c.isSuspended = false ORDER BY c.dueDate ASC")
     Page<SpacedRepetitionCard> findDueCardsForUser(@Param("user") User user, @Param("dueDate") LocalDateTime dueDate, Pageable pageable);
 
+    List<SpacedRepetitionCard> findByUserAndIdIn(User user, Collection<Long> ids);
+
+    /**
+     * Cards by id, in no particular order, with their words. Used to load
+     * the cards picked by the due-card index.
+     */
+    @EntityGraph(SpacedRepetitionCard.WITH_WORD)
+    List<SpacedRepetitionCard> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT c.id, c.dueDate FROM SpacedRepetitionCard c WHERE c.user = :user AND c.isActive = true AND c.isSuspended = false")
+    List<Object[]> findDueIndexEntriesForUser(@Param("user") User user);
+
+    @EntityGraph(SpacedRepetitionCard.WITH_WORD)
     @Query("SELECT c FROM SpacedRepetitionCard c WHERE c.user = :user AND (c.difficultyRating IS NOT NULL AND c.difficultyRating > 0.5) AND c.isActive = true AND c.isSuspended = false ORDER BY c.difficultyRating DESC")
     Page<SpacedRepetitionCard> findDifficultCardsForUser(@Param("user") User user, Pageable pageable);
 
+    @EntityGraph(SpacedRepetitionCard.WITH_WORD)
     @Query("SELECT c FROM SpacedRepetitionCard c WHERE c.user = :user AND c.totalReviews = 0 AND c.isActive = true AND c.isSuspended = false")
     List<SpacedRepetitionCard> findNewCardsForUser(@Param("user") User user);
 
+    @EntityGraph(SpacedRepetitionCard.WITH_WORD)
     @Query("SELECT c FROM SpacedRepetitionCard c WHERE c.user = :user AND c.totalReviews > 0 AND c.isActive = true AND c.isSuspended = false ORDER BY FUNCTION('RANDOM')")
     Page<SpacedRepetitionCard> findRandomCardsForUser(@Param("user") User user, Pageable pageable);
 
@@ -98,12 +120,21 @@ public interface SpacedRepetitionCardRepository extends JpaRepository<SpacedRepe
     @Query("SELECT c FROM SpacedRepetitionCard c WHERE c.user = :user AND c.isActive = true AND c.isSuspended = false ORDER BY c.dueDate ASC")
     Page<SpacedRepetitionCard> findActiveCardsByUserPaged(@Param("user") User user, Pageable pageable);
 
+    @Query("SELECT c.word.id AS wordId, COUNT(c) AS cards FROM SpacedRepetitionCard c WHERE c.word.id IN :wordIds GROUP BY c.word.id")
+    List<WordCardCount> countCardsByWordIdIn(@Param("wordIds") Collection<Long> wordIds);
+
     @Query("SELECT c FROM SpacedRepetitionCard c WHERE c.user = :user AND c.word.id = :wordId")
     SpacedRepetitionCard findByUserAndWordId(@Param("user") User user, @Param("wordId") Long wordId);
 
     @Query("SELECT COUNT(c) FROM SpacedRepetitionCard c WHERE c.user = :user AND c.isActive = true AND c.isSuspended = false AND c.dueDate <= :dueDate")
     Long countDueCardsForUserWithSuspended(@Param("user") User user, @Param("dueDate") LocalDateTime dueDate);
 
+    @Query("SELECT SUM(CASE WHEN c.performanceIndex >= 80 THEN 1 ELSE 0 END) AS easyCards, " +
+           "SUM(CASE WHEN c.performanceIndex >= 50 AND c.performanceIndex < 80 THEN 1 ELSE 0 END) AS mediumCards, " +
+           "SUM(CASE WHEN c.performanceIndex < 50 THEN 1 ELSE 0 END) AS hardCards " +
+           "FROM SpacedRepetitionCard c WHERE c.user = :user AND c.isActive = true AND c.isSuspended = false")
+    PerformanceBandCounts countActiveCardsByPerformanceBand(@Param("user") User user);
+
     @Query("SELECT AVG(c.averageResponseTime) FROM SpacedRepetitionCard c WHERE c.user = :user AND c.averageResponseTime IS NOT NULL AND c.isActive = true")
     Double getAverageResponseTime(@Param("user") User user);
 
@@ -112,4 +143,65 @@ public interface SpacedRepetitionCardRepository extends JpaRepository<SpacedRepe
 
     @Query("SELECT SUM(c.correctReviews) FROM SpacedRepetitionCard c WHERE c.user = :user AND c.isActive = true")
     Long getTotalCorrectReviews(@Param("user") User user);
-}
\ No newline at end of file
+
+    @Query("SELECT CAST(c.dueDate AS LocalDate) AS dueDay, c.intervalDays AS intervalDays, c.easeFactor AS easeFactor, " +
+           "COUNT(c) AS cards, SUM(c.reviewCountAgain) AS lapses, SUM(c.totalReviews) AS reviews " +
+           "FROM SpacedRepetitionCard c WHERE c.user = :user AND c.isActive = true AND c.isSuspended = false AND c.dueDate < :horizon " +
+           "GROUP BY CAST(c.dueDate AS LocalDate), c.intervalDays, c.easeFactor")
+    List<ForecastGroup> aggregateForecastGroups(@Param("user") User user, @Param("horizon") LocalDateTime horizon);
+
+    /**
+     * Ids of users with active cards due before {@code horizon}, after
+     * {@code afterUserId} in id order.
+     */
+    @Query("SELECT DISTINCT c.user.id FROM SpacedRepetitionCard c WHERE c.user.id > :afterUserId " +
+           "AND c.isActive = true AND c.isSuspended = false AND c.dueDate < :horizon ORDER BY c.user.id")
+    List<Long> findForecastUserIds(@Param("afterUserId") Long afterUserId, @Param("horizon") LocalDateTime horizon, Pageable pageable);
+
+    @Query("SELECT c.user.id AS userId, CAST(c.dueDate AS LocalDate) AS dueDay, c.intervalDays AS intervalDays, c.easeFactor AS easeFactor, " +
+           "COUNT(c) AS cards, SUM(c.reviewCountAgain) AS lapses, SUM(c.totalReviews) AS reviews " +
+           "FROM SpacedRepetitionCard c WHERE c.user.id IN :userIds AND c.isActive = true AND c.isSuspended = false AND c.dueDate < :horizon " +
+           "GROUP BY c.user.id, CAST(c.dueDate AS LocalDate), c.intervalDays, c.easeFactor ORDER BY c.user.id")
+    List<UserForecastGroup> aggregateForecastGroupsForUsers(@Param("userIds") Collection<Long> userIds, @Param("horizon") LocalDateTime horizon);
+
+    @Modifying
+    @Query("UPDATE SpacedRepetitionCard c SET c.recentOutcomes = :outcomes, c.recentOutcomeCount = :count WHERE c.id = :cardId")
+    int updateRecentOutcomes(@Param("cardId") Long cardId, @Param("outcomes") int outcomes, @Param("count") int count);
+
+    /**
+     * Number of cards created for a word, across all users.
+     */
+    interface WordCardCount {
+        Long getWordId();
+        Long getCards();
+    }
+
+    /**
+     * Active card counts by performance index band.
+     */
+    interface PerformanceBandCounts {
+        Long getEasyCards();
+        Long getMediumCards();
+        Long getHardCards();
+    }
+
+    /**
+     * Active cards sharing a due day, interval and ease factor, with their
+     * combined review history.
+     */
+    interface ForecastGroup {
+        LocalDate getDueDay();
+        Integer getIntervalDays();
+        BigDecimal getEaseFactor();
+        Long getCards();
+        Long getLapses();
+        Long getReviews();
+    }
+
+    /**
+     * A {@link ForecastGroup} of one user's cards.
+     */
+    interface UserForecastGroup extends ForecastGroup {
+        Long getUserId();
+    }
+}
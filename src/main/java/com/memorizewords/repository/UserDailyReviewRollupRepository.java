@@ -0,0 +1,95 @@
+package com.memorizewords.repository;
+
+import com.memorizewords.entity.UserDailyReviewRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository for UserDailyReviewRollup entity.
+ *
+ * The increment queries update a row in place in a single statement, so
+ * concurrent writers never lose each other's counts.
+ */
+@Repository
+public interface UserDailyReviewRollupRepository
+        extends JpaRepository<UserDailyReviewRollup, UserDailyReviewRollup.Key> {
+
+    @Query("SELECT r FROM UserDailyReviewRollup r WHERE r.userId = :userId " +
+           "AND r.reviewDate >= :from AND r.reviewDate <= :to ORDER BY r.reviewDate")
+    List<UserDailyReviewRollup> findByUserIdAndDateRange(@Param("userId") Long userId,
+                                                         @Param("from") LocalDate from,
+                                                         @Param("to") LocalDate to);
+
+    /**
+     * Creates an empty row for the day. Issued as a statement rather than
+     * through the persistence context, so later increments in the same
+     * transaction never leave a stale managed copy behind.
+     */
+    @Modifying
+    @Query("INSERT INTO UserDailyReviewRollup (userId, reviewDate, sessions, reviews, correctAnswers, newCards, " +
+           "studySeconds, responseTimeSum, responseCount, sessionScoreSum, bestSessionAccuracy, difficultCardsMastered, " +
+           "updatedAt) VALUES (:userId, :reviewDate, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, :now)")
+    int insertEmptyDay(@Param("userId") Long userId, @Param("reviewDate") LocalDate reviewDate, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE UserDailyReviewRollup r SET r.reviews = r.reviews + :reviews, " +
+           "r.correctAnswers = r.correctAnswers + :correctAnswers, r.newCards = r.newCards + :newCards, " +
+           "r.responseTimeSum = r.responseTimeSum + :responseTimeSum, r.responseCount = r.responseCount + :responseCount, " +
+           "r.updatedAt = :now WHERE r.userId = :userId AND r.reviewDate = :reviewDate")
+    int addReviews(@Param("userId") Long userId,
+                   @Param("reviewDate") LocalDate reviewDate,
+                   @Param("reviews") int reviews,
+                   @Param("correctAnswers") int correctAnswers,
+                   @Param("newCards") int newCards,
+                   @Param("responseTimeSum") long responseTimeSum,
+                   @Param("responseCount") int responseCount,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE UserDailyReviewRollup r SET r.sessions = r.sessions + 1, " +
+           "r.studySeconds = r.studySeconds + :studySeconds, r.sessionScoreSum = r.sessionScoreSum + :sessionScore, " +
+           "r.bestSessionAccuracy = CASE WHEN r.bestSessionAccuracy < :accuracy THEN :accuracy ELSE r.bestSessionAccuracy END, " +
+           "r.difficultCardsMastered = r.difficultCardsMastered + :difficultCardsMastered, " +
+           "r.updatedAt = :now WHERE r.userId = :userId AND r.reviewDate = :reviewDate")
+    int addCompletedSession(@Param("userId") Long userId,
+                            @Param("reviewDate") LocalDate reviewDate,
+                            @Param("studySeconds") long studySeconds,
+                            @Param("sessionScore") BigDecimal sessionScore,
+                            @Param("accuracy") BigDecimal accuracy,
+                            @Param("difficultCardsMastered") int difficultCardsMastered,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * Whether any rollup row exists, without counting the table.
+     */
+    boolean existsByUserIdNotNull();
+
+    @Modifying
+    @Query("DELETE FROM UserDailyReviewRollup r WHERE r.reviewDate >= :from AND r.reviewDate <= :to")
+    int deleteByDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r.userId AS userId, r.reviewDate AS day FROM UserDailyReviewRollup r " +
+           "WHERE r.sessions > 0 AND r.reviews > 0 ORDER BY r.userId, r.reviewDate")
+    Stream<ActiveDay> streamActiveDays();
+
+    /**
+     * A day on which a user completed a session with at least one review.
+     */
+    interface ActiveDay {
+        Long getUserId();
+        LocalDate getDay();
+    }
+}
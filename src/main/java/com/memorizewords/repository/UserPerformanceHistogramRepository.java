@@ -0,0 +1,30 @@
+package com.memorizewords.repository;
+
+import com.memorizewords.entity.UserPerformanceHistogram;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for UserPerformanceHistogram entity.
+ */
+@Repository
+public interface UserPerformanceHistogramRepository extends JpaRepository<UserPerformanceHistogram, Long> {
+
+    /**
+     * Loads the histogram locked for update, so that concurrent session
+     * completions for one user apply their buckets one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM UserPerformanceHistogram h WHERE h.userId = :userId")
+    Optional<UserPerformanceHistogram> findByIdForUpdate(@Param("userId") Long userId);
+
+    List<UserPerformanceHistogram> findByUserIdIn(Collection<Long> userIds);
+}
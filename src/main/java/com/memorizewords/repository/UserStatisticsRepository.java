@@ -0,0 +1,29 @@
+package com.memorizewords.repository;
+
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.UserStatistics;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for UserStatistics entity.
+ */
+@Repository
+public interface UserStatisticsRepository extends JpaRepository<UserStatistics, Long> {
+
+    Optional<UserStatistics> findByUser(User user);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStatistics s WHERE s.user = :user")
+    Optional<UserStatistics> findByUserForUpdate(@Param("user") User user);
+
+    List<UserStatistics> findByUserIdIn(Collection<Long> userIds);
+}
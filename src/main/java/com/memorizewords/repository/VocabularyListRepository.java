@@ -2,6 +2,7 @@ package com.memorizewords.repository;
 
 import com.memorizewords.entity.User;
 import com.memorizewords.entity.VocabularyList;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,12 +17,15 @@ import java.util.Optional;
 @Repository
 public interface VocabularyListRepository extends JpaRepository<VocabularyList, Long> {
 
+    @EntityGraph(VocabularyList.WITH_OWNER)
     List<VocabularyList> findByOwnerOrderByCreatedAtDesc(User owner);
 
+    @EntityGraph(VocabularyList.WITH_OWNER)
     List<VocabularyList> findByIsPublicTrueOrderByCreatedAtDesc();
 
     List<VocabularyList> findByOwnerAndNameContainingIgnoreCase(User owner, String name);
 
+    @EntityGraph(VocabularyList.WITH_OWNER)
     @Query("SELECT vl FROM VocabularyList vl WHERE vl.owner = :user OR vl.isShared = true")
     List<VocabularyList> findAccessibleLists(@Param("user") User user);
 
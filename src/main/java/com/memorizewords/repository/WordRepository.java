@@ -6,12 +6,16 @@ import com.memorizewords.enums.DifficultyLevel;
 import com.memorizewords.enums.WordCategory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -22,7 +26,25 @@ import java.util.Set;
 @Repository
 public interface WordRepository extends JpaRepository<Word, Long>, JpaSpecificationExecutor<Word> {
 
-    List<Word> findByWordContainingIgnoreCase(String word);
+    /**
+     * Search listing; loads each word's creator in the same query.
+     */
+    @Override
+    @EntityGraph(Word.WITH_CREATOR)
+    Page<Word> findAll(Specification<Word> spec, Pageable pageable);
+
+    /**
+     * Words by id, in no particular order, with their creators. Used to
+     * load pages of ids ranked by the in-memory indexes.
+     */
+    @EntityGraph(Word.WITH_CREATOR)
+    List<Word> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(Word.WITH_CREATOR)
+    List<Word> findByWordStartingWithAndLanguageOrderByWord(String prefix, String language, Pageable pageable);
+
+    @EntityGraph(Word.WITH_CREATOR)
+    List<Word> findByWordStartingWithOrderByWord(String prefix, Pageable pageable);
 
     List<Word> findByCreatedByAndIsPublicTrue(User user);
 
@@ -37,12 +59,110 @@ public interface WordRepository extends JpaRepository<Word, Long>, JpaSpecificat
     @Query("SELECT w FROM Word w WHERE w.createdBy = :user OR w.isPublic = true")
     Page<Word> findAccessibleWords(@Param("user") User user, Pageable pageable);
 
-    @Query("SELECT DISTINCT w FROM Word w LEFT JOIN w.tags t WHERE w.word LIKE %:searchTerm% OR w.definition LIKE %:searchTerm% OR w.example LIKE %:searchTerm% OR t LIKE %:searchTerm%")
-    Page<Word> searchByTerm(@Param("searchTerm") String searchTerm, Pageable pageable);
-
     boolean existsByWordAndLanguage(String word, String language);
 
+    /**
+     * Returns the (word, language) pairs that already exist among the given
+     * candidates. Callers match exact pairs, since the IN lists form a cross product.
+     */
+    @Query("SELECT w.word AS word, w.language AS language FROM Word w WHERE w.word IN :words AND w.language IN :languages")
+    List<WordKey> findExistingKeys(@Param("words") Collection<String> words, @Param("languages") Collection<String> languages);
+
+    /**
+     * Keyset page of accessible words for export, ordered by id. Rows are
+     * projections, so reading many pages does not grow the persistence context.
+     */
+    @Query("SELECT w.id AS id, w.word AS word, w.language AS language, w.definition AS definition, " +
+           "w.pronunciation AS pronunciation, w.example AS example, w.difficulty AS difficulty, " +
+           "w.isPublic AS isPublic, u.username AS createdBy, w.createdAt AS createdAt " +
+           "FROM Word w LEFT JOIN w.createdBy u " +
+           "WHERE (w.createdBy = :user OR w.isPublic = true) AND w.id > :afterId ORDER BY w.id")
+    List<WordExportRow> findAccessibleExportRows(@Param("user") User user, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT w.id AS id, w.word AS word, w.language AS language, w.definition AS definition, " +
+           "w.pronunciation AS pronunciation, w.example AS example, w.difficulty AS difficulty, " +
+           "w.isPublic AS isPublic, u.username AS createdBy, w.createdAt AS createdAt " +
+           "FROM Word w LEFT JOIN w.createdBy u " +
+           "WHERE w.id IN :ids AND w.id > :afterId ORDER BY w.id")
+    List<WordExportRow> findExportRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of the searchable fields of all words, ordered by id, used
+     * to build the in-memory search index.
+     */
+    @Query("SELECT w.id AS id, w.word AS word, w.language AS language, w.definition AS definition, " +
+           "w.example AS example, w.difficulty AS difficulty, w.isPublic AS isPublic, u.id AS createdById " +
+           "FROM Word w LEFT JOIN w.createdBy u WHERE w.id > :afterId ORDER BY w.id")
+    List<WordSearchRow> findSearchRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of word keys, ordered by id, used to build the in-memory
+     * word indexes and the existence filter.
+     */
+    @Query("SELECT w.id AS id, w.word AS word, w.language AS language FROM Word w WHERE w.id > :afterId ORDER BY w.id")
+    List<WordPrefixRow> findPrefixRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT w.id AS wordId, t AS tag FROM Word w JOIN w.tags t WHERE w.id IN :ids")
+    List<WordTagRow> findTagsByWordIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT w.id AS wordId, c AS category FROM Word w JOIN w.categories c WHERE w.id IN :ids")
+    List<WordCategoryRow> findCategoriesByWordIdIn(@Param("ids") Collection<Long> ids);
+
     long countByCreatedBy(User user);
 
     long countByLanguageAndIsPublicTrue(String language);
+
+    /**
+     * Natural key of a word.
+     */
+    interface WordKey {
+        String getWord();
+        String getLanguage();
+    }
+
+    /**
+     * Flat word row used by streaming exports.
+     */
+    interface WordExportRow {
+        Long getId();
+        String getWord();
+        String getLanguage();
+        String getDefinition();
+        String getPronunciation();
+        String getExample();
+        DifficultyLevel getDifficulty();
+        Boolean getIsPublic();
+        String getCreatedBy();
+        LocalDateTime getCreatedAt();
+    }
+
+    interface WordPrefixRow {
+        Long getId();
+        String getWord();
+        String getLanguage();
+    }
+
+    /**
+     * Searchable fields of a word, without its tags and categories.
+     */
+    interface WordSearchRow {
+        Long getId();
+        String getWord();
+        String getLanguage();
+        String getDefinition();
+        String getExample();
+        DifficultyLevel getDifficulty();
+        Boolean getIsPublic();
+        Long getCreatedById();
+    }
+
+    interface WordTagRow {
+        Long getWordId();
+        String getTag();
+    }
+
+    interface WordCategoryRow {
+        Long getWordId();
+        WordCategory getCategory();
+    }
 }
\ No newline at end of file
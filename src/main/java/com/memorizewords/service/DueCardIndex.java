@@ -0,0 +1,425 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.SpacedRepetitionCard;
+import com.memorizewords.entity.User;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory per-user index of active cards ordered by due date.
+ *
+ * Each user's cards are loaded lazily into a primitive min-heap keyed by
+ * (due epoch-second, card id), alongside a count of cards due on each day
+ * for interval load balancing. Least recently used users are evicted once
+ * the configured capacity is reached. Mutations are applied after the
+ * surrounding transaction commits so a rollback never leaves the index ahead
+ * of the database. A user's cards are read in a transaction of their own, so
+ * the index never starts from the caller's snapshot or its uncommitted rows.
+ */
+@Component
+@Slf4j
+public class DueCardIndex {
+
+    private final SpacedRepetitionCardRepository cardRepository;
+    private final TransactionTemplate loadTransaction;
+    private final boolean enabled;
+    private final Map<Long, UserDueHeap> heaps;
+
+    public DueCardIndex(SpacedRepetitionCardRepository cardRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Value("${review.due-index.enabled:true}") boolean enabled,
+                        @Value("${review.due-index.max-users:256}") int maxUsers) {
+        this.cardRepository = cardRepository;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.heaps = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserDueHeap> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns up to {@code limit} ids of the user's cards due at {@code now},
+     * earliest due first.
+     */
+    public List<Long> findDueCardIds(User user, LocalDateTime now, int limit) {
+        UserDueHeap heap = heapFor(user);
+        heap.lock.lock();
+        try {
+            return heap.peekDue(toEpochSecond(now), limit);
+        } finally {
+            heap.lock.unlock();
+        }
+    }
+
+    public long countDue(User user, LocalDateTime now) {
+        UserDueHeap heap = heapFor(user);
+        heap.lock.lock();
+        try {
+            return heap.countDue(toEpochSecond(now));
+        } finally {
+            heap.lock.unlock();
+        }
+    }
+
+    /**
+     * Number of the user's active cards due on each of {@code days} days
+     * starting at {@code firstDay}. Costs O(days) once the user is loaded.
+     */
+    public int[] countDueByDay(User user, LocalDate firstDay, int days) {
+        UserDueHeap heap = heapFor(user);
+        heap.lock.lock();
+        try {
+            return heap.countByDay(firstDay.toEpochDay(), days);
+        } finally {
+            heap.lock.unlock();
+        }
+    }
+
+    /**
+     * Reflects the card's current due date and active/suspended state once
+     * the current transaction commits.
+     */
+    public void update(SpacedRepetitionCard card) {
+        if (!enabled || card.getId() == null || card.getUser() == null) {
+            return;
+        }
+        Long userId = card.getUser().getId();
+        Long cardId = card.getId();
+        boolean indexed = Boolean.TRUE.equals(card.getIsActive()) && !Boolean.TRUE.equals(card.getIsSuspended());
+        long due = toEpochSecond(card.getDueDate());
+
+        TransactionCallbacks.afterCommit(() -> apply(userId, new Change(cardId, due, !indexed)));
+    }
+
+    public void remove(SpacedRepetitionCard card) {
+        if (!enabled || card.getId() == null || card.getUser() == null) {
+            return;
+        }
+        Long userId = card.getUser().getId();
+        Long cardId = card.getId();
+
+        TransactionCallbacks.afterCommit(() -> apply(userId, new Change(cardId, 0L, true)));
+    }
+
+    public void invalidate(Long userId) {
+        synchronized (heaps) {
+            heaps.remove(userId);
+        }
+    }
+
+    public int cachedUserCount() {
+        synchronized (heaps) {
+            return heaps.size();
+        }
+    }
+
+    private UserDueHeap existingHeap(Long userId) {
+        synchronized (heaps) {
+            return heaps.get(userId);
+        }
+    }
+
+    /**
+     * Applies a committed change to the user's heap. A heap still loading
+     * records it and replays it over the loaded cards; a heap not loading
+     * yet skips it, as its load starts after this commit and reads it.
+     */
+    private void apply(Long userId, Change change) {
+        UserDueHeap heap = existingHeap(userId);
+        if (heap == null) {
+            return;
+        }
+        heap.lock.lock();
+        try {
+            if (heap.loaded) {
+                heap.apply(change);
+            } else if (heap.pendingChanges != null) {
+                heap.pendingChanges.add(change);
+            }
+        } finally {
+            heap.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the user's heap, loading it on first access. Readers of the
+     * same user wait on the heap's load lock while other users are
+     * unaffected; post-commit changes do not wait for the query and are
+     * replayed once it returns. The locks are {@link ReentrantLock}s rather
+     * than monitors so a virtual thread waiting on the query does not pin
+     * its carrier.
+     */
+    private UserDueHeap heapFor(User user) {
+        UserDueHeap heap;
+        synchronized (heaps) {
+            heap = heaps.computeIfAbsent(user.getId(), id -> new UserDueHeap());
+        }
+        heap.loadLock.lock();
+        try {
+            if (!heap.loaded) {
+                load(user, heap);
+            }
+        } finally {
+            heap.loadLock.unlock();
+        }
+        return heap;
+    }
+
+    private void load(User user, UserDueHeap heap) {
+        heap.lock.lock();
+        try {
+            heap.pendingChanges = new ArrayList<>();
+        } finally {
+            heap.lock.unlock();
+        }
+
+        List<Object[]> entries;
+        try {
+            entries = loadTransaction.execute(status -> cardRepository.findDueIndexEntriesForUser(user));
+        } catch (RuntimeException e) {
+            heap.lock.lock();
+            try {
+                heap.pendingChanges = null;
+            } finally {
+                heap.lock.unlock();
+            }
+            throw e;
+        }
+
+        heap.lock.lock();
+        try {
+            for (Object[] entry : entries) {
+                heap.upsert((Long) entry[0], toEpochSecond((LocalDateTime) entry[1]));
+            }
+            heap.pendingChanges.forEach(heap::apply);
+            heap.pendingChanges = null;
+            heap.loaded = true;
+        } finally {
+            heap.lock.unlock();
+        }
+        log.debug("Loaded due-card index for user {} with {} cards", user.getId(), heap.size());
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+    }
+
+    private record Change(long cardId, long due, boolean removed) {
+    }
+
+    /**
+     * Binary min-heap over parallel primitive arrays, ordered by due second
+     * then card id, with a position map for O(log n) update and removal and
+     * per-day due counts kept in step with it.
+     */
+    static final class UserDueHeap {
+
+        private long[] dues = new long[16];
+        private long[] ids = new long[16];
+        private int size;
+        private boolean loaded;
+        // Changes committed while the cards are being read, replayed onto them
+        private List<Change> pendingChanges;
+        private final ReentrantLock loadLock = new ReentrantLock();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private final Map<Long, int[]> dayCounts = new HashMap<>();
+
+        int size() {
+            return size;
+        }
+
+        void apply(Change change) {
+            if (change.removed()) {
+                remove(change.cardId());
+            } else {
+                upsert(change.cardId(), change.due());
+            }
+        }
+
+        void upsert(long cardId, long due) {
+            Integer pos = positions.get(cardId);
+            if (pos != null) {
+                long previous = dues[pos];
+                dues[pos] = due;
+                if (epochDay(previous) != epochDay(due)) {
+                    countDay(previous, -1);
+                    countDay(due, 1);
+                }
+                if (due < previous) {
+                    siftUp(pos);
+                } else {
+                    siftDown(pos);
+                }
+                return;
+            }
+            if (size == dues.length) {
+                dues = Arrays.copyOf(dues, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            dues[size] = due;
+            ids[size] = cardId;
+            positions.put(cardId, size);
+            countDay(due, 1);
+            siftUp(size++);
+        }
+
+        void remove(long cardId) {
+            Integer pos = positions.remove(cardId);
+            if (pos == null) {
+                return;
+            }
+            countDay(dues[pos], -1);
+            int last = --size;
+            if (pos == last) {
+                return;
+            }
+            long movedId = ids[last];
+            dues[pos] = dues[last];
+            ids[pos] = movedId;
+            positions.put(movedId, pos);
+            siftDown(pos);
+            siftUp(positions.get(movedId));
+        }
+
+        /**
+         * Walks the heap best-first without mutating it, visiting only the
+         * nodes needed to produce the result.
+         */
+        List<Long> peekDue(long now, int limit) {
+            List<Long> result = new ArrayList<>(Math.min(limit, size));
+            if (size == 0 || limit <= 0 || dues[0] > now) {
+                return result;
+            }
+            PriorityQueue<Integer> frontier = new PriorityQueue<>(this::compare);
+            frontier.add(0);
+            while (!frontier.isEmpty() && result.size() < limit) {
+                int i = frontier.poll();
+                result.add(ids[i]);
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (dues[child] <= now) {
+                        frontier.add(child);
+                    }
+                }
+            }
+            return result;
+        }
+
+        long countDue(long now) {
+            if (size == 0 || dues[0] > now) {
+                return 0;
+            }
+            long count = 0;
+            int[] stack = new int[32];
+            int top = 0;
+            stack[top++] = 0;
+            while (top > 0) {
+                int i = stack[--top];
+                count++;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (dues[child] <= now) {
+                        if (top == stack.length) {
+                            stack = Arrays.copyOf(stack, top * 2);
+                        }
+                        stack[top++] = child;
+                    }
+                }
+            }
+            return count;
+        }
+
+        int[] countByDay(long firstEpochDay, int days) {
+            int[] counts = new int[days];
+            for (int i = 0; i < days; i++) {
+                int[] count = dayCounts.get(firstEpochDay + i);
+                counts[i] = count != null ? count[0] : 0;
+            }
+            return counts;
+        }
+
+        private void countDay(long due, int delta) {
+            long day = epochDay(due);
+            int[] count = dayCounts.computeIfAbsent(day, d -> new int[1]);
+            count[0] += delta;
+            if (count[0] <= 0) {
+                dayCounts.remove(day);
+            }
+        }
+
+        private static long epochDay(long due) {
+            return Math.floorDiv(due, 86_400L);
+        }
+
+        private int compare(int a, int b) {
+            int byDue = Long.compare(dues[a], dues[b]);
+            return byDue != 0 ? byDue : Long.compare(ids[a], ids[b]);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (compare(i, parent) >= 0) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && compare(left, smallest) < 0) {
+                    smallest = left;
+                }
+                if (right < size && compare(right, smallest) < 0) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long due = dues[a];
+            dues[a] = dues[b];
+            dues[b] = due;
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            positions.put(ids[a], a);
+            positions.put(ids[b], b);
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.memorizewords.service;
 
+import com.memorizewords.dto.response.DuplicateCheckDto;
 import com.memorizewords.entity.User;
 import com.memorizewords.entity.Word;
 import com.memorizewords.repository.WordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for detecting duplicate words and providing suggestions.
@@ -20,33 +26,69 @@ import java.util.Optional;
 @Slf4j
 public class DuplicateDetectionService {
 
+    private static final int SUGGESTION_PREFIX_LENGTH = 3;
+    private static final int NEAR_DUPLICATE_LIMIT = 10;
+
     private final WordRepository wordRepository;
+    private final WordPrefixIndex prefixIndex;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final WordExistenceFilter existenceFilter;
 
     /**
      * Check if a word already exists for the given language.
      */
     public boolean isDuplicateWord(String word, String language) {
-        return wordRepository.findByWordAndLanguage(word, language).isPresent();
+        return findExisting(word, language).isPresent();
     }
 
     /**
      * Check if a word exists and was created by a specific user.
      */
     public boolean isDuplicateWordForUser(String word, String language, User user) {
-        Optional<Word> existingWord = wordRepository.findByWordAndLanguage(word, language);
+        Optional<Word> existingWord = findExisting(word, language);
         return existingWord.isPresent() && existingWord.get().getCreatedBy().getId().equals(user.getId());
     }
 
     /**
-     * Find similar words based on partial matches.
+     * Check a word for an exact duplicate created by the user and for near
+     * duplicates in the same language, such as "recieve" for "receive". The
+     * word with {@code wordId} itself is never reported, and near duplicates
+     * are only reported once the near-duplicate index has been built.
      */
-    public List<Word> findSimilarWords(String partialWord, String language, int limit) {
-        List<Word> similarWords = wordRepository.findByWordContainingIgnoreCase(partialWord);
+    public DuplicateCheckDto checkDuplicates(Long wordId, String word, String language, User user) {
+        List<DuplicateCheckDto.NearDuplicate> nearDuplicates = nearDuplicateIndex.find(word, language, NEAR_DUPLICATE_LIMIT + 1)
+            .stream()
+            .filter(match -> !Objects.equals(match.wordId(), wordId))
+            .limit(NEAR_DUPLICATE_LIMIT)
+            .map(match -> new DuplicateCheckDto.NearDuplicate(match.wordId(), match.word(), match.distance()))
+            .toList();
+        return new DuplicateCheckDto(isDuplicateWordForUser(word, language, user), nearDuplicates);
+    }
 
-        // Filter by language and limit results
-        return similarWords.stream()
-            .filter(word -> language == null || language.equals(word.getLanguage()))
-            .limit(limit)
+    /**
+     * Find words starting with the given prefix, most popular first. Served
+     * by the prefix index, or alphabetically from the database until the
+     * index has been built.
+     */
+    public List<Word> findSimilarWords(String partialWord, String requestedLanguage, int limit) {
+        String language = WordNormalizer.normalizeLanguage(requestedLanguage);
+        if (!prefixIndex.isReady()) {
+            String prefix = WordNormalizer.normalize(partialWord);
+            PageRequest page = PageRequest.of(0, limit);
+            return language != null
+                ? wordRepository.findByWordStartingWithAndLanguageOrderByWord(prefix, language, page)
+                : wordRepository.findByWordStartingWithOrderByWord(prefix, page);
+        }
+
+        List<Long> ids = prefixIndex.complete(partialWord, language, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Word> words = wordRepository.findByIdIn(ids).stream()
+            .collect(Collectors.toMap(Word::getId, Function.identity()));
+        return ids.stream()
+            .map(words::get)
+            .filter(Objects::nonNull)
             .toList();
     }
 
@@ -74,7 +116,10 @@ public class DuplicateDetectionService {
      * Suggest alternative words if duplicate is found.
      */
     public List<String> suggestAlternativeWords(String word, String language) {
-        List<Word> similarWords = findSimilarWords(word.substring(0, Math.min(3, word.length())), language, 5);
+        if (word.length() < SUGGESTION_PREFIX_LENGTH) {
+            return List.of();
+        }
+        List<Word> similarWords = findSimilarWords(word.substring(0, SUGGESTION_PREFIX_LENGTH), language, 5);
 
         return similarWords.stream()
             .map(Word::getWord)
@@ -84,6 +129,24 @@ public class DuplicateDetectionService {
             .toList();
     }
 
+    /**
+     * Looks the word up by its stored, normalized form, unless the existence
+     * filter rules it out. The filter folds case and accents like the
+     * database collation, so it never rules out a word the database would
+     * match.
+     */
+    private Optional<Word> findExisting(String word, String language) {
+        if (!existenceFilter.mightContain(word, language)) {
+            return Optional.empty();
+        }
+        Optional<Word> existing = wordRepository.findByWordAndLanguage(
+            WordNormalizer.normalize(word), WordNormalizer.normalizeLanguage(language));
+        if (existing.isEmpty()) {
+            existenceFilter.recordFalsePositives(1);
+        }
+        return existing;
+    }
+
     /**
      * Statistics class for duplicate detection.
      */
@@ -0,0 +1,163 @@
+package com.memorizewords.service;
+
+import com.memorizewords.config.VirtualThreadConfig;
+import com.memorizewords.repository.ReviewSessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically completes review sessions that were abandoned for longer than
+ * the session timeout.
+ *
+ * Expired sessions are read with a keyset scan over (is_completed, start_time)
+ * and handed out in fixed-size batches. Each batch commits in its own
+ * transaction and at most {@code parallelism} batches are in flight, so memory
+ * use does not depend on the number of users or sessions.
+ */
+@Component
+@Slf4j
+public class ExpiredSessionSweeper {
+
+    private final ReviewSessionRepository sessionRepository;
+    private final ReviewSessionService sessionService;
+    private final int batchSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter timedOutCounter;
+    private final Counter failedBatchCounter;
+    private final Timer batchTimer;
+
+    public ExpiredSessionSweeper(ReviewSessionRepository sessionRepository,
+                                 ReviewSessionService sessionService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${review.session-sweeper.batch-size:500}") int batchSize,
+                                 @Value("${review.session-sweeper.parallelism:2}") int parallelism,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.sessionRepository = sessionRepository;
+        this.sessionService = sessionService;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.executor = Executors.newFixedThreadPool(parallelism, VirtualThreadConfig.threadFactory("session-sweeper-", virtualThreads));
+
+        this.timedOutCounter = Counter.builder("review.sessions.timed_out.total")
+            .description("Review sessions completed by the expired session sweeper")
+            .register(meterRegistry);
+        this.failedBatchCounter = Counter.builder("review.session_sweeper.failed_batches.total")
+            .description("Sweeper batches rolled back because of an error")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("review.session_sweeper.batch.duration")
+            .description("Time to time out one batch of expired sessions")
+            .register(meterRegistry);
+        Gauge.builder("review.session_sweeper.backlog", backlog, AtomicLong::get)
+            .description("Expired sessions not yet processed by the running sweep")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${review.session-sweeper.interval-ms:300000}",
+               initialDelayString = "${review.session-sweeper.initial-delay-ms:60000}")
+    public void scheduledSweep() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.error("Expired session sweep failed", e);
+        }
+    }
+
+    /**
+     * Times out every session that expired before the sweep started. Returns
+     * immediately with 0 when another sweep is already running.
+     *
+     * @return the number of sessions timed out
+     */
+    public int sweep() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Expired session sweep already running, skipping");
+            return 0;
+        }
+
+        LocalDateTime timeoutDate = sessionService.getSessionTimeoutDate();
+        AtomicInteger timedOut = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(parallelism);
+        try {
+            backlog.set(sessionRepository.countExpiredSessions(timeoutDate));
+            if (backlog.get() == 0) {
+                return 0;
+            }
+
+            PageRequest page = PageRequest.of(0, batchSize);
+            List<ReviewSessionRepository.ExpiredSessionKey> keys = sessionRepository.findExpiredSessionKeys(timeoutDate, page);
+            while (!keys.isEmpty()) {
+                List<Long> ids = keys.stream().map(ReviewSessionRepository.ExpiredSessionKey::getId).toList();
+                inFlight.acquireUninterruptibly();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            timedOut.addAndGet(processBatch(ids, timeoutDate));
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+
+                if (keys.size() < batchSize) {
+                    break;
+                }
+                ReviewSessionRepository.ExpiredSessionKey last = keys.get(keys.size() - 1);
+                keys = sessionRepository.findExpiredSessionKeysAfter(timeoutDate, last.getStartTime(), last.getId(), page);
+            }
+        } finally {
+            inFlight.acquireUninterruptibly(parallelism);
+            backlog.set(0);
+            running.set(false);
+        }
+
+        if (timedOut.get() > 0) {
+            log.info("Timed out {} expired review sessions", timedOut.get());
+        }
+        return timedOut.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int processBatch(List<Long> ids, LocalDateTime timeoutDate) {
+        Timer.Sample sample = Timer.start();
+        try {
+            int count = sessionService.timeoutSessions(ids, timeoutDate);
+            timedOutCounter.increment(count);
+            return count;
+        } catch (RuntimeException e) {
+            failedBatchCounter.increment();
+            log.warn("Failed to time out a batch of {} expired sessions starting at id {}", ids.size(), ids.get(0), e);
+            return 0;
+        } finally {
+            sample.stop(batchTimer);
+            backlog.updateAndGet(remaining -> Math.max(0, remaining - ids.size()));
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.memorizewords.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.memorizewords.dto.request.BulkImportOptions;
 import com.memorizewords.dto.request.CreateWordRequest;
 import com.memorizewords.dto.response.BulkImportResult;
-import com.memorizewords.dto.response.WordDto;
 import com.memorizewords.dto.response.WordImportDto;
 import com.memorizewords.entity.User;
 import com.memorizewords.entity.Word;
@@ -18,20 +21,35 @@ import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Service for importing and exporting words in various formats.
@@ -43,44 +61,141 @@ import java.util.Map;
 public class ImportExportService {
 
     private final WordRepository wordRepository;
-    private final WordService wordService;
+    private final WordImportWriter importWriter;
+    private final NearDuplicateIndex nearDuplicateIndex;
     private final ObjectMapper objectMapper;
 
+    @Value("${import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${export.page-size:1000}")
+    private int exportPageSize = 1000;
+
+    /**
+     * Imports words from a CSV or JSON upload.
+     *
+     * Rows are read incrementally and written in chunks of {@code import.chunk-size},
+     * each committed in its own transaction, so memory stays constant regardless
+     * of file size and a failure only affects the chunk it occurred in.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BulkImportResult bulkImportWords(MultipartFile file, BulkImportOptions options, User user) {
         log.info("Starting bulk import for user: {} with format: {}", user.getUsername(), options.getFormat());
 
-        try {
-            List<WordImportDto> importWords = parseImportFile(file, options.getFormat());
-            BulkImportResult result = new BulkImportResult();
-            result.setTotalWords(importWords.size());
+        BulkImportResult result = new BulkImportResult();
+        try (InputStream input = file.getInputStream()) {
+            importWords(input, options, user, result, ImportListener.NONE);
+            return result;
+        } catch (Exception e) {
+            log.error("Bulk import failed", e);
+            throw new ImportException("Failed to import words: " + e.getMessage());
+        }
+    }
 
-            for (WordImportDto importWord : importWords) {
+    /**
+     * Streams rows from {@code input} into the database, updating {@code result}
+     * as each chunk commits. The listener is notified after every chunk and is
+     * polled for cancellation between rows; rows committed before a
+     * cancellation are kept.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void importWords(InputStream input, BulkImportOptions options, User user, BulkImportResult result,
+                            ImportListener listener) throws IOException, CsvValidationException {
+        long startNanos = System.nanoTime();
+
+        try (ImportRowReader reader = openReader(input, options.getFormat())) {
+            List<CreateWordRequest> chunk = new ArrayList<>(chunkSize);
+            WordImportDto importWord;
+            while (!listener.isCancelled() && (importWord = reader.next()) != null) {
+                result.setTotalWords(result.getTotalWords() + 1);
                 try {
-                    CreateWordRequest request = mapImportToRequest(importWord);
-                    WordDto created = wordService.createWord(request, user);
-                    result.addSuccess(created);
-                } catch (DuplicateWordException e) {
-                    if (options.getSkipDuplicates()) {
-                        result.addSkipped(importWord.getWord(), "Duplicate word");
-                    } else {
-                        result.addError(importWord.getWord(), e.getMessage());
-                    }
-                } catch (Exception e) {
-                    log.error("Error importing word: {}", importWord.getWord(), e);
+                    chunk.add(mapImportToRequest(importWord));
+                } catch (IllegalArgumentException e) {
                     result.addError(importWord.getWord(), e.getMessage());
                 }
+
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(chunk, options, user, result);
+                    chunk = new ArrayList<>(chunkSize);
+                    result.setElapsedMillis(elapsedMillis(startNanos));
+                    listener.chunkCompleted(result);
+                    log.debug("Bulk import progress: {} rows read, {} imported ({} rows/s)",
+                        result.getTotalWords(), result.getSuccessCount(), Math.round(result.getRowsPerSecond()));
+                }
             }
 
-            log.info("Bulk import completed. Success: {}, Skipped: {}, Errors: {}",
-                result.getSuccessCount(), result.getSkippedCount(), result.getErrorCount());
+            if (listener.isCancelled()) {
+                result.setCancelled(true);
+            } else {
+                writeChunk(chunk, options, user, result);
+            }
+        }
 
-            return result;
-        } catch (Exception e) {
-            log.error("Bulk import failed", e);
-            throw new ImportException("Failed to import words: " + e.getMessage());
+        result.setElapsedMillis(elapsedMillis(startNanos));
+        listener.chunkCompleted(result);
+        log.info("Bulk import completed. Success: {}, Skipped: {}, Errors: {} in {} ms",
+            result.getSuccessCount(), result.getSkippedCount(), result.getErrorCount(), result.getElapsedMillis());
+    }
+
+    public boolean supportsImportFormat(String format) {
+        return "csv".equalsIgnoreCase(format) || "json".equalsIgnoreCase(format);
+    }
+
+    private void writeChunk(List<CreateWordRequest> chunk, BulkImportOptions options, User user, BulkImportResult result) {
+        if (Boolean.TRUE.equals(options.getSkipNearDuplicates())) {
+            chunk = skipNearDuplicates(chunk, result);
+        }
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<CreateWordRequest> duplicates = importWriter.writeChunk(chunk, user);
+            result.addSuccesses(chunk.size() - duplicates.size());
+            for (CreateWordRequest duplicate : duplicates) {
+                if (Boolean.TRUE.equals(options.getSkipDuplicates())) {
+                    result.addSkipped(duplicate.getWord(), "Duplicate word");
+                } else {
+                    result.addError(duplicate.getWord(),
+                        new DuplicateWordException(duplicate.getWord(), duplicate.getLanguage()).getMessage());
+                }
+            }
+            result.chunkCommitted();
+        } catch (RuntimeException e) {
+            log.error("Error importing chunk of {} words", chunk.size(), e);
+            for (CreateWordRequest request : chunk) {
+                result.addError(request.getWord(), e.getMessage());
+            }
         }
     }
 
+    /**
+     * Drops the words that are near duplicates of an existing word or of an
+     * earlier word in the chunk and records them as skipped. Screening only
+     * reads the in-memory index, so it adds no queries per row.
+     */
+    private List<CreateWordRequest> skipNearDuplicates(List<CreateWordRequest> chunk, BulkImportResult result) {
+        NearDuplicateIndex.Screen screen = nearDuplicateIndex.screen();
+        List<CreateWordRequest> kept = new ArrayList<>(chunk.size());
+        for (CreateWordRequest request : chunk) {
+            Optional<NearDuplicateIndex.Match> match = screen.check(request.getWord(), request.getLanguage());
+            if (match.isPresent()) {
+                result.addSkipped(request.getWord(), "Near duplicate of '" + match.get().word() + "'");
+            } else {
+                kept.add(request);
+            }
+        }
+        return kept;
+    }
+
+    private long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Builds the whole export in memory. Prefer {@link #streamExport} for
+     * anything but small selections.
+     */
     public Resource exportWords(String format, java.util.Set<Long> wordIds, User user) {
         log.info("Exporting words in {} format for user: {}", format, user.getUsername());
 
@@ -106,83 +221,92 @@ public class ImportExportService {
         }
     }
 
-    private List<WordImportDto> parseImportFile(MultipartFile file, String format) throws IOException, CsvValidationException {
-        List<WordImportDto> words = new ArrayList<>();
+    public boolean supportsExportFormat(String format) {
+        return "csv".equalsIgnoreCase(format) || "json".equalsIgnoreCase(format)
+            || "ndjson".equalsIgnoreCase(format);
+    }
 
-        if ("csv".equalsIgnoreCase(format)) {
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
-                 CSVReader csvReader = new CSVReader(reader)) {
-
-                String[] headers = csvReader.readNext();
-                String[] line;
-                while ((line = csvReader.readNext()) != null) {
-                    WordImportDto word = new WordImportDto();
-                    for (int i = 0; i < Math.min(headers.length, line.length); i++) {
-                        String header = headers[i].toLowerCase().trim();
-                        String value = line[i].trim();
-
-                        switch (header) {
-                            case "word":
-                                word.setWord(value);
-                                break;
-                            case "language":
-                                word.setLanguage(value);
-                                break;
-                            case "definition":
-                                word.setDefinition(value);
-                                break;
-                            case "pronunciation":
-                                word.setPronunciation(value);
-                                break;
-                            case "example":
-                                word.setExample(value);
-                                break;
-                            case "difficulty":
-                                word.setDifficulty(value);
-                                break;
-                            case "categories":
-                                word.setCategories(value);
-                                break;
-                            case "tags":
-                                word.setTags(value);
-                                break;
-                            case "ispublic":
-                                word.setIsPublic(value);
-                                break;
-                        }
-                    }
-                    words.add(word);
+    /**
+     * Writes words straight to {@code output} while reading them in keyset
+     * pages of {@code export.page-size}. Tags and categories are fetched once
+     * per page, and each page is flushed before the next is read, so heap use
+     * does not depend on the export size. No transaction is held open between
+     * pages, which keeps slow downloads from pinning a connection.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamExport(String format, Set<Long> wordIds, User user, OutputStream output, boolean gzip)
+            throws IOException {
+        if (!supportsExportFormat(format)) {
+            throw new ImportException("Unsupported export format: " + format);
+        }
+        log.info("Streaming {} export for user: {}", format, user.getUsername());
+
+        OutputStream target = gzip ? new GZIPOutputStream(output, 8192) : output;
+        int exported = 0;
+
+        try (ExportWriter writer = openExportWriter(format, target)) {
+            Long afterId = 0L;
+            List<WordRepository.WordExportRow> page;
+            do {
+                page = nextExportPage(wordIds, user, afterId);
+                if (page.isEmpty()) {
+                    break;
                 }
-            }
-        } else if ("json".equalsIgnoreCase(format)) {
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-                List<Map<String, Object>> jsonData = objectMapper.readValue(reader, new TypeReference<List<Map<String, Object>>>() {});
-
-                for (Map<String, Object> wordData : jsonData) {
-                    WordImportDto word = new WordImportDto();
-
-                    // Map JSON fields to WordImportDto
-                    word.setWord(getStringValue(wordData, "word"));
-                    word.setLanguage(getStringValue(wordData, "language"));
-                    word.setDefinition(getStringValue(wordData, "definition"));
-                    word.setPronunciation(getStringValue(wordData, "pronunciation"));
-                    word.setExample(getStringValue(wordData, "example"));
-                    word.setDifficulty(getStringValue(wordData, "difficulty"));
-                    word.setCategories(getStringValue(wordData, "categories"));
-                    word.setTags(getStringValue(wordData, "tags"));
-                    word.setIsPublic(getStringValue(wordData, "isPublic"));
-
-                    words.add(word);
+
+                List<Long> ids = page.stream().map(WordRepository.WordExportRow::getId).toList();
+                Map<Long, List<String>> categories = new HashMap<>();
+                for (WordRepository.WordCategoryRow row : wordRepository.findCategoriesByWordIdIn(ids)) {
+                    categories.computeIfAbsent(row.getWordId(), id -> new ArrayList<>()).add(row.getCategory().toString());
                 }
-            }
+                Map<Long, List<String>> tags = new HashMap<>();
+                for (WordRepository.WordTagRow row : wordRepository.findTagsByWordIdIn(ids)) {
+                    tags.computeIfAbsent(row.getWordId(), id -> new ArrayList<>()).add(row.getTag());
+                }
+
+                for (WordRepository.WordExportRow row : page) {
+                    writer.write(row, categories.getOrDefault(row.getId(), List.of()), tags.getOrDefault(row.getId(), List.of()));
+                }
+                writer.flush();
+
+                exported += page.size();
+                afterId = page.get(page.size() - 1).getId();
+            } while (page.size() == exportPageSize);
+        }
+
+        log.info("Exported {} words in {} format", exported, format);
+    }
+
+    private List<WordRepository.WordExportRow> nextExportPage(Set<Long> wordIds, User user, Long afterId) {
+        Pageable pageable = PageRequest.of(0, exportPageSize);
+        if (wordIds != null && !wordIds.isEmpty()) {
+            return wordRepository.findExportRowsByIdIn(wordIds, afterId, pageable);
+        }
+        return wordRepository.findAccessibleExportRows(user, afterId, pageable);
+    }
+
+    private ExportWriter openExportWriter(String format, OutputStream output) throws IOException {
+        if ("csv".equalsIgnoreCase(format)) {
+            return new CsvExportWriter(new CSVWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))));
+        }
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+        return new JsonExportWriter(generator, "ndjson".equalsIgnoreCase(format));
+    }
+
+    private ImportRowReader openReader(InputStream input, String format) throws IOException, CsvValidationException {
+        if ("csv".equalsIgnoreCase(format)) {
+            return new CsvRowReader(new CSVReader(utf8Reader(input)));
+        } else if ("json".equalsIgnoreCase(format)) {
+            return new JsonRowReader(objectMapper.createParser(utf8Reader(input)));
         } else {
             throw new ImportException("Unsupported import format: " + format);
         }
+    }
 
-        return words;
+    private Reader utf8Reader(InputStream input) {
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
     }
 
-    private CreateWordRequest mapImportToRequest(WordImportDto importWord) {
+    CreateWordRequest mapImportToRequest(WordImportDto importWord) {
         CreateWordRequest request = new CreateWordRequest();
 
         if (!java.util.Objects.toString(importWord.getWord(), "").trim().isEmpty()) {
@@ -275,8 +399,254 @@ public class ImportExportService {
         return new ByteArrayResource(jsonString.getBytes(StandardCharsets.UTF_8));
     }
 
-    private String getStringValue(Map<String, Object> data, String key) {
-        Object value = data.get(key);
-        return value != null ? value.toString() : null;
+    /**
+     * Observes a running import and allows it to be cancelled.
+     */
+    public interface ImportListener {
+
+        ImportListener NONE = new ImportListener() {
+        };
+
+        default boolean isCancelled() {
+            return false;
+        }
+
+        default void chunkCompleted(BulkImportResult result) {
+        }
+    }
+
+    /**
+     * Sink for streamed export rows.
+     */
+    private interface ExportWriter extends Closeable {
+        void write(WordRepository.WordExportRow row, List<String> categories, List<String> tags) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class CsvExportWriter implements ExportWriter {
+
+        private final CSVWriter csvWriter;
+
+        CsvExportWriter(CSVWriter csvWriter) {
+            this.csvWriter = csvWriter;
+            csvWriter.writeNext(new String[]{"ID", "Word", "Language", "Definition", "Pronunciation", "Example",
+                "Difficulty", "Categories", "Tags", "IsPublic", "CreatedBy", "CreatedAt"});
+        }
+
+        @Override
+        public void write(WordRepository.WordExportRow row, List<String> categories, List<String> tags) {
+            csvWriter.writeNext(new String[]{
+                row.getId().toString(),
+                row.getWord(),
+                row.getLanguage(),
+                Objects.toString(row.getDefinition(), ""),
+                Objects.toString(row.getPronunciation(), ""),
+                Objects.toString(row.getExample(), ""),
+                Objects.toString(row.getDifficulty(), ""),
+                String.join(",", categories),
+                String.join(",", tags),
+                Objects.toString(row.getIsPublic(), "false"),
+                Objects.toString(row.getCreatedBy(), ""),
+                Objects.toString(row.getCreatedAt(), "")
+            });
+        }
+
+        @Override
+        public void flush() throws IOException {
+            csvWriter.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvWriter.close();
+        }
+    }
+
+    /**
+     * Writes a JSON array, or one object per line for NDJSON.
+     */
+    private static final class JsonExportWriter implements ExportWriter {
+
+        private final JsonGenerator generator;
+        private final boolean ndjson;
+
+        JsonExportWriter(JsonGenerator generator, boolean ndjson) throws IOException {
+            this.generator = generator;
+            this.ndjson = ndjson;
+            if (ndjson) {
+                generator.setRootValueSeparator(null);
+            } else {
+                generator.writeStartArray();
+            }
+        }
+
+        @Override
+        public void write(WordRepository.WordExportRow row, List<String> categories, List<String> tags) throws IOException {
+            generator.writeStartObject();
+            generator.writeObjectField("id", row.getId());
+            generator.writeStringField("word", row.getWord());
+            generator.writeStringField("language", row.getLanguage());
+            generator.writeStringField("definition", row.getDefinition());
+            generator.writeStringField("pronunciation", row.getPronunciation());
+            generator.writeStringField("example", row.getExample());
+            generator.writeStringField("difficulty", Objects.toString(row.getDifficulty(), null));
+            writeStringArray("categories", categories);
+            writeStringArray("tags", tags);
+            generator.writeObjectField("isPublic", row.getIsPublic());
+            generator.writeStringField("createdBy", row.getCreatedBy());
+            generator.writeStringField("createdAt", Objects.toString(row.getCreatedAt(), null));
+            generator.writeEndObject();
+            if (ndjson) {
+                generator.writeRaw('\n');
+            }
+        }
+
+        private void writeStringArray(String field, List<String> values) throws IOException {
+            generator.writeArrayFieldStart(field);
+            for (String value : values) {
+                generator.writeString(value);
+            }
+            generator.writeEndArray();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+            generator.close();
+        }
+    }
+
+    /**
+     * Forward-only source of import rows; {@link #next()} returns null at the end.
+     */
+    private interface ImportRowReader extends Closeable {
+        WordImportDto next() throws IOException, CsvValidationException;
+    }
+
+    private static final class CsvRowReader implements ImportRowReader {
+
+        private final CSVReader csvReader;
+        private final String[] headers;
+
+        CsvRowReader(CSVReader csvReader) throws IOException, CsvValidationException {
+            this.csvReader = csvReader;
+            String[] headerLine = csvReader.readNext();
+            this.headers = headerLine != null ? headerLine : new String[0];
+            for (int i = 0; i < headers.length; i++) {
+                headers[i] = headers[i].toLowerCase().trim();
+            }
+        }
+
+        @Override
+        public WordImportDto next() throws IOException, CsvValidationException {
+            String[] line = csvReader.readNext();
+            if (line == null) {
+                return null;
+            }
+
+            WordImportDto word = new WordImportDto();
+            for (int i = 0; i < Math.min(headers.length, line.length); i++) {
+                String value = line[i].trim();
+
+                switch (headers[i]) {
+                    case "word":
+                        word.setWord(value);
+                        break;
+                    case "language":
+                        word.setLanguage(value);
+                        break;
+                    case "definition":
+                        word.setDefinition(value);
+                        break;
+                    case "pronunciation":
+                        word.setPronunciation(value);
+                        break;
+                    case "example":
+                        word.setExample(value);
+                        break;
+                    case "difficulty":
+                        word.setDifficulty(value);
+                        break;
+                    case "categories":
+                        word.setCategories(value);
+                        break;
+                    case "tags":
+                        word.setTags(value);
+                        break;
+                    case "ispublic":
+                        word.setIsPublic(value);
+                        break;
+                }
+            }
+            return word;
+        }
+
+        @Override
+        public void close() throws IOException {
+            csvReader.close();
+        }
+    }
+
+    /**
+     * Reads a top-level JSON array one object at a time.
+     */
+    private static final class JsonRowReader implements ImportRowReader {
+
+        private final JsonParser parser;
+
+        JsonRowReader(JsonParser parser) throws IOException {
+            this.parser = parser;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ImportException("JSON import must be an array of word objects");
+            }
+        }
+
+        @Override
+        public WordImportDto next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new ImportException("Expected a word object but found " + token);
+            }
+
+            JsonNode wordData = parser.readValueAsTree();
+            WordImportDto word = new WordImportDto();
+
+            // Map JSON fields to WordImportDto
+            word.setWord(getStringValue(wordData, "word"));
+            word.setLanguage(getStringValue(wordData, "language"));
+            word.setDefinition(getStringValue(wordData, "definition"));
+            word.setPronunciation(getStringValue(wordData, "pronunciation"));
+            word.setExample(getStringValue(wordData, "example"));
+            word.setDifficulty(getStringValue(wordData, "difficulty"));
+            word.setCategories(getStringValue(wordData, "categories"));
+            word.setTags(getStringValue(wordData, "tags"));
+            word.setIsPublic(getStringValue(wordData, "isPublic"));
+
+            return word;
+        }
+
+        private static String getStringValue(JsonNode data, String key) {
+            JsonNode value = data.get(key);
+            if (value == null || value.isNull()) {
+                return null;
+            }
+            return value.isValueNode() ? value.asText() : value.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
     }
-}
\ No newline at end of file
+}
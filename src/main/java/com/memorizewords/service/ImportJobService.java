@@ -0,0 +1,266 @@
+package com.memorizewords.service;
+
+import com.memorizewords.config.VirtualThreadConfig;
+import com.memorizewords.dto.request.BulkImportOptions;
+import com.memorizewords.dto.response.BulkImportResult;
+import com.memorizewords.dto.response.ImportJobDto;
+import com.memorizewords.entity.User;
+import com.memorizewords.enums.ImportJobStatus;
+import com.memorizewords.exception.ImportException;
+import com.memorizewords.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs bulk word imports in the background.
+ *
+ * Uploads are spooled to a temporary file and imported by a dedicated,
+ * bounded worker pool, so request threads return immediately and import
+ * concurrency is capped independently of interactive traffic. Finished jobs
+ * are kept for {@code import.jobs.retention-minutes} and then evicted, on
+ * access and every {@code import.jobs.eviction-interval-ms}.
+ */
+@Service
+@Slf4j
+public class ImportJobService {
+
+    private final ImportExportService importExportService;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(ImportExportService importExportService,
+                            @Value("${import.jobs.workers:2}") int workers,
+                            @Value("${import.jobs.queue-capacity:20}") int queueCapacity,
+                            @Value("${import.jobs.retention-minutes:60}") long retentionMinutes,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.importExportService = importExportService;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), VirtualThreadConfig.threadFactory("word-import-", virtualThreads));
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    public ImportJobDto submit(MultipartFile file, BulkImportOptions options, User user) {
+        if (!importExportService.supportsImportFormat(options.getFormat())) {
+            throw new ImportException("Unsupported import format: " + options.getFormat());
+        }
+        evictExpiredJobs();
+
+        Path upload = spoolUpload(file);
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), user.getId(), file.getOriginalFilename(), upload);
+        jobs.put(job.id, job);
+
+        try {
+            job.future = executor.submit(() -> run(job, upload, options, user));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(upload);
+            throw new ImportException("Too many imports in progress, please try again later");
+        }
+
+        log.info("Submitted import job {} for user: {}", job.id, user.getUsername());
+        return job.toDto();
+    }
+
+    public ImportJobDto getJob(String jobId, User user) {
+        evictExpiredJobs();
+        return findJob(jobId, user).toDto();
+    }
+
+    /**
+     * Requests cancellation. A queued job never starts and its upload is
+     * deleted here, since its worker never runs; a running job stops after
+     * its current row and keeps the chunks it already committed.
+     */
+    public ImportJobDto cancel(String jobId, User user) {
+        ImportJob job = findJob(jobId, user);
+        job.cancelled = true;
+
+        synchronized (job) {
+            if (job.status == ImportJobStatus.QUEUED) {
+                if (job.future != null) {
+                    job.future.cancel(false);
+                }
+                job.finish(ImportJobStatus.CANCELLED, null);
+                deleteQuietly(job.upload);
+            }
+        }
+
+        log.info("Cancellation requested for import job {}", jobId);
+        return job.toDto();
+    }
+
+    public int activeJobCount() {
+        return executor.getActiveCount() + executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Evicts expired jobs even when no import requests arrive, so results
+     * are not kept forever on an idle server.
+     */
+    @Scheduled(fixedDelayString = "${import.jobs.eviction-interval-ms:300000}")
+    public void scheduledEviction() {
+        int evicted = evictExpiredJobs();
+        if (evicted > 0) {
+            log.debug("Evicted {} finished import jobs", evicted);
+        }
+    }
+
+    int evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+        return before - jobs.size();
+    }
+
+    private void run(ImportJob job, Path upload, BulkImportOptions options, User user) {
+        try {
+            synchronized (job) {
+                if (job.status != ImportJobStatus.QUEUED) {
+                    return;
+                }
+                job.status = ImportJobStatus.RUNNING;
+                job.startedAt = LocalDateTime.now();
+            }
+
+            try (InputStream input = Files.newInputStream(upload)) {
+                importExportService.importWords(input, options, user, job.result, job);
+                job.finish(job.result.isCancelled() ? ImportJobStatus.CANCELLED : ImportJobStatus.COMPLETED, null);
+            } catch (Exception e) {
+                log.error("Import job {} failed", job.id, e);
+                job.finish(ImportJobStatus.FAILED, e.getMessage());
+            }
+        } finally {
+            deleteQuietly(upload);
+        }
+    }
+
+    private ImportJob findJob(String jobId, User user) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(user.getId())) {
+            throw new ResourceNotFoundException("ImportJob", "id", jobId);
+        }
+        return job;
+    }
+
+    private Path spoolUpload(MultipartFile file) {
+        try {
+            Path upload = Files.createTempFile("word-import-", ".upload");
+            try (InputStream input = file.getInputStream()) {
+                Files.copy(input, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return upload;
+        } catch (IOException e) {
+            throw new ImportException("Failed to store uploaded file: " + e.getMessage(), e);
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import upload {}", path, e);
+        }
+    }
+
+    /**
+     * Mutable job state. Progress counters are copied from the worker's
+     * {@link BulkImportResult} after every chunk and published through
+     * volatile fields, so readers never touch the result while it is being
+     * written.
+     */
+    static final class ImportJob implements ImportExportService.ImportListener {
+
+        private final String id;
+        private final Long userId;
+        private final String fileName;
+        private final Path upload;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final BulkImportResult result = new BulkImportResult();
+        private volatile Future<?> future;
+
+        private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+        private volatile boolean cancelled;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private volatile int rowsParsed;
+        private volatile int inserted;
+        private volatile int skipped;
+        private volatile int errored;
+        private volatile double rowsPerSecond;
+
+        ImportJob(String id, Long userId, String fileName, Path upload) {
+            this.id = id;
+            this.userId = userId;
+            this.fileName = fileName;
+            this.upload = upload;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled || Thread.currentThread().isInterrupted();
+        }
+
+        @Override
+        public void chunkCompleted(BulkImportResult progress) {
+            rowsParsed = progress.getTotalWords();
+            inserted = progress.getSuccessCount();
+            skipped = progress.getSkippedCount();
+            errored = progress.getErrorCount();
+            rowsPerSecond = progress.getRowsPerSecond();
+        }
+
+        synchronized void finish(ImportJobStatus finalStatus, String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        ImportJobDto toDto() {
+            ImportJobStatus current = status;
+            boolean finished = current != ImportJobStatus.QUEUED && current != ImportJobStatus.RUNNING;
+            return ImportJobDto.builder()
+                .jobId(id)
+                .status(current)
+                .fileName(fileName)
+                .rowsParsed(rowsParsed)
+                .inserted(inserted)
+                .skipped(skipped)
+                .errored(errored)
+                .rowsPerSecond(rowsPerSecond)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .error(error)
+                .result(finished ? result : null)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.Word;
+import com.memorizewords.repository.WordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typo-tolerant lookup of words, one symmetric deletion
+ * dictionary per language.
+ *
+ * Every indexed word is stored under each string reachable by deleting a
+ * few characters from its first {@link #PREFIX_LENGTH} characters. Two
+ * words within the accepted edit distance always share one of these
+ * variants, so a lookup generates the variants of the query, reads the
+ * words stored under them and confirms each candidate with a bounded edit
+ * distance. The cost depends on the length of the query, not on the
+ * number of words.
+ *
+ * The accepted distance grows with the length of the word, so short words
+ * such as "cat" and "car" are not reported as typos of each other.
+ */
+@Component
+@Slf4j
+public class NearDuplicateIndex {
+
+    /**
+     * Only this many leading characters produce deletion variants, which
+     * bounds the variants per word without losing matches.
+     */
+    static final int PREFIX_LENGTH = 7;
+
+    private final WordRepository wordRepository;
+    private final boolean enabled;
+    private final int maxDistance;
+    private final int loadPageSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Dictionary dictionary;
+    // Changes committed while a rebuild is loading, replayed onto its result
+    private List<Change> pendingChanges;
+
+    public NearDuplicateIndex(WordRepository wordRepository,
+                              @Value("${search.near-duplicates.enabled:true}") boolean enabled,
+                              @Value("${search.near-duplicates.max-distance:2}") int maxDistance,
+                              @Value("${search.near-duplicates.load-page-size:1000}") int loadPageSize) {
+        this.wordRepository = wordRepository;
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.loadPageSize = loadPageSize;
+    }
+
+    /**
+     * An indexed word close to the one looked up. The word id is null for
+     * matches against words screened earlier in the same {@link Screen}.
+     */
+    public record Match(Long wordId, String word, int distance) {
+
+        static final Comparator<Match> CLOSEST_FIRST = Comparator
+            .comparingInt(Match::distance)
+            .thenComparing(Match::word)
+            .thenComparing(Match::wordId, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return enabled && dictionary != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} words within the accepted edit distance of
+     * {@code word}, closest first. Exact matches are included with distance
+     * zero. A null language looks in all languages.
+     */
+    public List<Match> find(String word, String language, int limit) {
+        String term = WordNormalizer.normalize(word);
+        int distance = allowedDistance(term.length());
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (dictionary == null || limit <= 0) {
+                return List.of();
+            }
+            if (language != null) {
+                DeletionDictionary languageDictionary = dictionary.languages.get(WordNormalizer.normalizeLanguage(language));
+                if (languageDictionary != null) {
+                    languageDictionary.lookup(term, distance, matches);
+                }
+            } else {
+                for (DeletionDictionary languageDictionary : dictionary.languages.values()) {
+                    languageDictionary.lookup(term, distance, matches);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Match.CLOSEST_FIRST);
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * A screen for a batch of new words that reports near duplicates of
+     * indexed words and of words screened before in the same batch, without
+     * touching the database.
+     */
+    public Screen screen() {
+        return new Screen();
+    }
+
+    /**
+     * Adds the word once the current transaction commits.
+     */
+    public void add(Word word) {
+        if (!enabled || word.getId() == null) {
+            return;
+        }
+        Change change = new Change(word.getId(), word.getWord(), WordNormalizer.normalizeLanguage(word.getLanguage()), false);
+        TransactionCallbacks.afterCommit(() -> apply(List.of(change)));
+    }
+
+    public void addAll(Collection<Word> words) {
+        if (!enabled) {
+            return;
+        }
+        List<Change> changes = new ArrayList<>(words.size());
+        for (Word word : words) {
+            if (word.getId() != null) {
+                changes.add(new Change(word.getId(), word.getWord(), WordNormalizer.normalizeLanguage(word.getLanguage()), false));
+            }
+        }
+        TransactionCallbacks.afterCommit(() -> apply(changes));
+    }
+
+    public void remove(Long wordId) {
+        if (!enabled) {
+            return;
+        }
+        Change change = new Change(wordId, null, null, true);
+        TransactionCallbacks.afterCommit(() -> apply(List.of(change)));
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rebuilds every dictionary from the database. The previous dictionaries
+     * keep serving until the new ones replace them.
+     */
+    public int rebuild() {
+        Rebuild rebuild = startRebuild();
+        WordIndexLoader.scan(wordRepository, loadPageSize, List.of(rebuild));
+        return rebuild.rebuilt.entries.size();
+    }
+
+    /**
+     * Starts a rebuild for {@link WordIndexLoader} to feed; words added or
+     * removed meanwhile are replayed onto it when it finishes.
+     */
+    Rebuild startRebuild() {
+        log.info("Building near-duplicate index");
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Rebuild(new Dictionary());
+    }
+
+    /**
+     * The edit distance accepted for a word of the given length: none up to
+     * four characters, one up to eight and {@code max-distance} beyond.
+     */
+    int allowedDistance(int length) {
+        return allowedDistance(length, maxDistance);
+    }
+
+    static int allowedDistance(int length, int maxDistance) {
+        if (length <= 4) {
+            return 0;
+        }
+        return Math.min(maxDistance, length <= 8 ? 1 : 2);
+    }
+
+    private void apply(List<Change> changes) {
+        lock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                if (dictionary != null) {
+                    dictionary.apply(change);
+                }
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Optimal string alignment distance, where swapping two adjacent
+     * characters counts as one edit. Returns {@code max + 1} as soon as the
+     * distance is known to exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previousRow = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        int[] nextRow = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            row[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            nextRow[0] = i;
+            int rowMinimum = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(row[j] + 1, nextRow[j - 1] + 1), row[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previousRow[j - 2] + 1);
+                }
+                nextRow[j] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (rowMinimum > max) {
+                return max + 1;
+            }
+            int[] recycled = previousRow;
+            previousRow = row;
+            row = nextRow;
+            nextRow = recycled;
+        }
+        return Math.min(row[b.length()], max + 1);
+    }
+
+    private record Change(long id, String word, String language, boolean removed) {
+    }
+
+    /**
+     * The dictionaries of a rebuild.
+     */
+    final class Rebuild implements WordIndexLoader.Load {
+
+        private final Dictionary rebuilt;
+
+        private Rebuild(Dictionary rebuilt) {
+            this.rebuilt = rebuilt;
+        }
+
+        @Override
+        public void load(List<WordRepository.WordPrefixRow> rows) {
+            for (WordRepository.WordPrefixRow row : rows) {
+                rebuilt.apply(new Change(row.getId(), row.getWord(), WordNormalizer.normalizeLanguage(row.getLanguage()), false));
+            }
+        }
+
+        @Override
+        public void finish() {
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(rebuilt::apply);
+                pendingChanges = null;
+                dictionary = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Built near-duplicate index with {} words", rebuilt.entries.size());
+        }
+
+        @Override
+        public void abort() {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Near-duplicate checks for one batch of new words.
+     */
+    public final class Screen {
+
+        private final Map<String, DeletionDictionary> screened = new HashMap<>();
+
+        /**
+         * The closest near duplicate of {@code word}, if any. Words with an
+         * exact indexed match are left to the exact duplicate check. Words
+         * without a near duplicate are remembered for later checks.
+         */
+        public Optional<Match> check(String word, String language) {
+            String term = WordNormalizer.normalize(word);
+            List<Match> indexed = find(term, language, 1);
+            if (!indexed.isEmpty()) {
+                Match closest = indexed.get(0);
+                return closest.distance() > 0 ? Optional.of(closest) : Optional.empty();
+            }
+
+            DeletionDictionary batch = screened.computeIfAbsent(WordNormalizer.normalizeLanguage(language), l -> new DeletionDictionary(maxDistance));
+            List<Match> matches = new ArrayList<>();
+            batch.lookup(term, allowedDistance(term.length()), matches);
+            Optional<Match> closest = matches.stream()
+                .map(match -> new Match(null, match.word(), match.distance()))
+                .min(Match.CLOSEST_FIRST);
+            if (closest.isEmpty()) {
+                batch.add(term, 0L);
+            }
+            return closest.filter(match -> match.distance() > 0);
+        }
+    }
+
+    /**
+     * The dictionaries of all languages and the term of every indexed word,
+     * so a removal by id finds its entry.
+     */
+    final class Dictionary {
+
+        final Map<String, DeletionDictionary> languages = new HashMap<>();
+        final Map<Long, Entry> entries = new HashMap<>();
+
+        void apply(Change change) {
+            Entry existing = entries.remove(change.id());
+            if (existing != null) {
+                DeletionDictionary languageDictionary = languages.get(existing.language);
+                languageDictionary.remove(existing.term, change.id());
+                if (languageDictionary.isEmpty()) {
+                    languages.remove(existing.language);
+                }
+            }
+            if (!change.removed()) {
+                String term = WordNormalizer.normalize(change.word());
+                languages.computeIfAbsent(change.language(), l -> new DeletionDictionary(maxDistance))
+                    .add(term, change.id());
+                entries.put(change.id(), new Entry(term, change.language()));
+            }
+        }
+
+        private record Entry(String term, String language) {
+        }
+    }
+
+    /**
+     * Terms of one language keyed by their deletion variants.
+     *
+     * Variants are stored as 64-bit hashes in an open-addressing table that
+     * may hold a hash several times, once per term producing it. A hash
+     * collision only adds a candidate that the distance check then rejects.
+     * Removed terms keep their variants until the next rebuild and are
+     * skipped while they have no ids, so re-adding one adds nothing.
+     */
+    static final class DeletionDictionary {
+
+        private static final long[] NO_IDS = new long[0];
+
+        private final int maxDistance;
+        private final Map<String, Integer> termIndexes = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+        private final List<long[]> idsByTerm = new ArrayList<>();
+        private int liveTerms;
+        private long[] variantHashes = new long[1024];
+        private int[] variantTerms = new int[1024];
+        private int variantCount;
+
+        DeletionDictionary(int maxDistance) {
+            this.maxDistance = maxDistance;
+        }
+
+        boolean isEmpty() {
+            return liveTerms == 0;
+        }
+
+        void add(String term, long id) {
+            Integer index = termIndexes.get(term);
+            if (index == null) {
+                index = terms.size();
+                termIndexes.put(term, index);
+                terms.add(term);
+                idsByTerm.add(NO_IDS);
+                for (String variant : variants(term, indexedDeletes(term.length(), maxDistance))) {
+                    putVariant(hash(variant), index);
+                }
+            }
+            long[] ids = idsByTerm.get(index);
+            if (ids.length == 0) {
+                liveTerms++;
+            }
+            long[] updated = Arrays.copyOf(ids, ids.length + 1);
+            updated[ids.length] = id;
+            idsByTerm.set(index, updated);
+        }
+
+        void remove(String term, long id) {
+            Integer index = termIndexes.get(term);
+            if (index == null) {
+                return;
+            }
+            long[] ids = idsByTerm.get(index);
+            long[] remaining = Arrays.stream(ids).filter(existing -> existing != id).toArray();
+            idsByTerm.set(index, remaining.length > 0 ? remaining : NO_IDS);
+            if (ids.length > 0 && remaining.length == 0) {
+                liveTerms--;
+            }
+        }
+
+        /**
+         * Adds a match for every id of every term within {@code distance} of
+         * {@code term}.
+         */
+        void lookup(String term, int distance, List<Match> into) {
+            Set<Integer> candidates = new HashSet<>();
+            int mask = variantHashes.length - 1;
+            for (String variant : variants(term, Math.min(distance, maxDistance))) {
+                long hash = hash(variant);
+                for (int slot = (int) hash & mask; variantHashes[slot] != 0; slot = (slot + 1) & mask) {
+                    if (variantHashes[slot] == hash) {
+                        candidates.add(variantTerms[slot]);
+                    }
+                }
+            }
+            for (int candidate : candidates) {
+                long[] ids = idsByTerm.get(candidate);
+                if (ids.length == 0) {
+                    continue;
+                }
+                String candidateTerm = terms.get(candidate);
+                int candidateDistance = distance(term, candidateTerm, distance);
+                if (candidateDistance <= distance) {
+                    for (long id : ids) {
+                        into.add(new Match(id, candidateTerm, candidateDistance));
+                    }
+                }
+            }
+        }
+
+        private void putVariant(long hash, int termIndex) {
+            if ((variantCount + 1) * 3 > variantHashes.length * 2) {
+                long[] oldHashes = variantHashes;
+                int[] oldTerms = variantTerms;
+                variantHashes = new long[oldHashes.length * 2];
+                variantTerms = new int[oldTerms.length * 2];
+                for (int slot = 0; slot < oldHashes.length; slot++) {
+                    if (oldHashes[slot] != 0) {
+                        insert(oldHashes[slot], oldTerms[slot]);
+                    }
+                }
+            }
+            insert(hash, termIndex);
+            variantCount++;
+        }
+
+        private void insert(long hash, int termIndex) {
+            int mask = variantHashes.length - 1;
+            int slot = (int) hash & mask;
+            while (variantHashes[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            variantHashes[slot] = hash;
+            variantTerms[slot] = termIndex;
+        }
+
+        /**
+         * The deletions to index for a term of the given length: the largest
+         * distance accepted for any query length within that distance of it.
+         */
+        static int indexedDeletes(int length, int maxDistance) {
+            int deletes = 0;
+            for (int queryLength = Math.max(0, length - maxDistance); queryLength <= length + maxDistance; queryLength++) {
+                int accepted = allowedDistance(queryLength, maxDistance);
+                if (Math.abs(queryLength - length) <= accepted) {
+                    deletes = Math.max(deletes, accepted);
+                }
+            }
+            return deletes;
+        }
+
+        /**
+         * The strings reachable by deleting up to {@code deletes} characters
+         * from the first {@link #PREFIX_LENGTH} characters of the term,
+         * including that prefix itself.
+         */
+        static Set<String> variants(String term, int deletes) {
+            String prefix = term.length() > PREFIX_LENGTH ? term.substring(0, PREFIX_LENGTH) : term;
+            Set<String> variants = new HashSet<>();
+            variants.add(prefix);
+            List<String> level = List.of(prefix);
+            for (int depth = 0; depth < deletes; depth++) {
+                List<String> next = new ArrayList<>();
+                for (String variant : level) {
+                    for (int i = 0; i < variant.length(); i++) {
+                        String deleted = variant.substring(0, i) + variant.substring(i + 1);
+                        if (variants.add(deleted)) {
+                            next.add(deleted);
+                        }
+                    }
+                }
+                level = next;
+            }
+            return variants;
+        }
+
+        /**
+         * 64-bit FNV-1a hash of the variant, never zero since zero marks an
+         * empty slot.
+         */
+        private static long hash(String variant) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < variant.length(); i++) {
+                hash ^= variant.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 32;
+            return hash != 0 ? hash : 1;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.memorizewords.service;
+
+import com.memorizewords.algorithm.PerformanceHistogram;
+import com.memorizewords.entity.ReviewSession;
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.UserPerformanceHistogram;
+import com.memorizewords.repository.ReviewSessionRepository;
+import com.memorizewords.repository.UserPerformanceHistogramRepository;
+import com.memorizewords.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service maintaining per-user {@link PerformanceHistogram}s of review
+ * performance by day of week and hour of day.
+ *
+ * A completed session adds itself to one bucket of its user's histogram, so
+ * time-of-day insights read one fixed-size row regardless of history length.
+ * {@link #backfill()} builds histograms for all users from session history
+ * in one pass.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class PerformanceHistogramService {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final UserPerformanceHistogramRepository histogramRepository;
+    private final ReviewSessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    @Value("${review.histograms.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    public void recordSession(ReviewSession session) {
+        if (session.getCompletedCards() == null || session.getCompletedCards() == 0) {
+            return;
+        }
+
+        Long userId = session.getUser().getId();
+        UserPerformanceHistogram row = histogramRepository.findByIdForUpdate(userId)
+            .orElseGet(() -> {
+                // First session of the user. With the user locked, a concurrent
+                // completion waits here and then finds the row this one creates.
+                userRepository.findByIdForUpdate(userId);
+                return histogramRepository.findByIdForUpdate(userId).orElseGet(() -> new UserPerformanceHistogram(userId));
+            });
+        PerformanceHistogram histogram = row.getHistogram();
+        histogram.record(session.getStartTime(), session.getCompletedCards(), correctAnswers(session.getCorrectAnswers()),
+            responseTimeSum(session.getAverageResponseTime(), session.getCompletedCards()));
+        row.setHistogram(histogram);
+        histogramRepository.save(row);
+    }
+
+    @Transactional(readOnly = true)
+    public PerformanceHistogram getHistogram(User user) {
+        return histogramRepository.findById(user.getId())
+            .map(UserPerformanceHistogram::getHistogram)
+            .orElseGet(PerformanceHistogram::new);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    /**
+     * Rebuilds every user's histogram from their completed sessions. Sessions
+     * arrive ordered by user, so each histogram is folded in a single pass
+     * and written in batches, each detached once flushed so the persistence
+     * context stays bounded.
+     *
+     * @return the number of users with a histogram
+     */
+    public int backfill() {
+        log.info("Backfilling performance histograms from review sessions");
+
+        Map<Long, PerformanceHistogram> pending = new HashMap<>();
+        int users = 0;
+
+        try (Stream<ReviewSessionRepository.SessionPerformance> sessions = sessionRepository.streamCompletedSessionPerformance()) {
+            Iterator<ReviewSessionRepository.SessionPerformance> iterator = sessions.iterator();
+            Long currentUserId = null;
+            PerformanceHistogram current = null;
+
+            while (iterator.hasNext()) {
+                ReviewSessionRepository.SessionPerformance session = iterator.next();
+                if (!session.getUserId().equals(currentUserId)) {
+                    if (pending.size() >= BACKFILL_BATCH_SIZE) {
+                        writeHistograms(pending);
+                    }
+                    currentUserId = session.getUserId();
+                    current = new PerformanceHistogram();
+                    pending.put(currentUserId, current);
+                    users++;
+                }
+                current.record(session.getStartTime(), session.getReviews(), correctAnswers(session.getCorrectAnswers()),
+                    responseTimeSum(session.getAverageResponseTime(), session.getReviews()));
+            }
+        }
+        writeHistograms(pending);
+
+        log.info("Backfilled performance histograms for {} users", users);
+        return users;
+    }
+
+    private void writeHistograms(Map<Long, PerformanceHistogram> computed) {
+        if (computed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, UserPerformanceHistogram> existing = histogramRepository.findByUserIdIn(computed.keySet()).stream()
+            .collect(Collectors.toMap(UserPerformanceHistogram::getUserId, Function.identity()));
+
+        List<UserPerformanceHistogram> toSave = new ArrayList<>(computed.size());
+        computed.forEach((userId, histogram) -> {
+            UserPerformanceHistogram row = existing.getOrDefault(userId, new UserPerformanceHistogram(userId));
+            row.setHistogram(histogram);
+            toSave.add(row);
+        });
+
+        histogramRepository.saveAll(toSave);
+        entityManager.flush();
+        entityManager.clear();
+        computed.clear();
+    }
+
+    private static int correctAnswers(Integer correctAnswers) {
+        return correctAnswers != null ? correctAnswers : 0;
+    }
+
+    private static long responseTimeSum(Integer averageResponseTime, int reviews) {
+        return averageResponseTime != null ? (long) averageResponseTime * reviews : 0L;
+    }
+}
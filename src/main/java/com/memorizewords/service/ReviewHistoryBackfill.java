@@ -0,0 +1,124 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.SpacedRepetitionCard;
+import com.memorizewords.enums.ReviewOutcome;
+import com.memorizewords.repository.CardReviewEventRepository;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Moves review history left in the legacy
+ * {@code spaced_repetition_review_history} table into
+ * {@code card_review_events} and seeds each card's recent-outcome ring.
+ *
+ * The schema is managed by Hibernate, so the V7 migration script never runs.
+ * At startup the legacy table is copied window by window of cards, each
+ * window in its own transaction, and dropped once every card is copied.
+ * Nothing runs when the table does not exist.
+ */
+@Component
+@Slf4j
+public class ReviewHistoryBackfill {
+
+    static final String LEGACY_TABLE = "spaced_repetition_review_history";
+
+    private final CardReviewEventRepository eventRepository;
+    private final SpacedRepetitionCardRepository cardRepository;
+    private final DataSource dataSource;
+    private final TransactionTemplate windowTransaction;
+    private final int windowSize;
+
+    public ReviewHistoryBackfill(CardReviewEventRepository eventRepository,
+                                 SpacedRepetitionCardRepository cardRepository,
+                                 DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${review.history-backfill.window-size:500}") int windowSize) {
+        this.eventRepository = eventRepository;
+        this.cardRepository = cardRepository;
+        this.dataSource = dataSource;
+        this.windowTransaction = new TransactionTemplate(transactionManager);
+        this.windowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.windowSize = windowSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (legacyTableExists()) {
+            backfill();
+        }
+    }
+
+    /**
+     * Copies the legacy history of every card and then drops the legacy
+     * table.
+     *
+     * @return the number of events copied
+     */
+    public int backfill() {
+        long started = System.currentTimeMillis();
+        int copied = 0;
+        long afterId = 0L;
+        while (true) {
+            List<Long> cardIds = eventRepository.findLegacyHistoryCardIds(afterId, PageRequest.of(0, windowSize));
+            if (cardIds.isEmpty()) {
+                break;
+            }
+            Integer windowCopied = windowTransaction.execute(status -> copyWindow(cardIds));
+            copied += windowCopied != null ? windowCopied : 0;
+            afterId = cardIds.get(cardIds.size() - 1);
+        }
+        windowTransaction.executeWithoutResult(status -> eventRepository.dropLegacyHistory());
+        log.info("Copied {} legacy review history rows into card_review_events in {}ms",
+            copied, System.currentTimeMillis() - started);
+        return copied;
+    }
+
+    private int copyWindow(List<Long> cardIds) {
+        int copied = eventRepository.copyLegacyHistory(cardIds);
+
+        // Rebuild each card's ring from its newest events, as recordReview would have
+        Map<Long, int[]> rings = new LinkedHashMap<>();
+        for (CardReviewEventRepository.CardOutcomeRow row : eventRepository.findOutcomesNewestFirst(cardIds)) {
+            int[] ring = rings.computeIfAbsent(row.getCardId(), id -> new int[2]);
+            if (ring[1] < SpacedRepetitionCard.RECENT_OUTCOME_WINDOW) {
+                if (row.getOutcome() != ReviewOutcome.AGAIN) {
+                    ring[0] |= 1 << ring[1];
+                }
+                ring[1]++;
+            }
+        }
+        rings.forEach((cardId, ring) -> cardRepository.updateRecentOutcomes(cardId, ring[0], ring[1]));
+        return copied;
+    }
+
+    boolean legacyTableExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? LEGACY_TABLE.toUpperCase(Locale.ROOT) : LEGACY_TABLE;
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[] {"TABLE"})) {
+                return tables.next();
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not look up " + LEGACY_TABLE, e);
+        }
+    }
+}
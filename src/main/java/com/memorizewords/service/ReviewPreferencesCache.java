@@ -0,0 +1,188 @@
+package com.memorizewords.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, in-process cache of {@link ReviewPreferencesSnapshot}s keyed by user id.
+ *
+ * Entries expire after {@code review.preferences-cache.ttl-seconds} and the
+ * least recently used users are evicted beyond {@code max-users}. When
+ * {@code refresh-after-seconds} is set, a hit on an older entry is still
+ * served while a background thread reloads it. Hits, misses and evictions
+ * are reported as {@code CacheEvent}s.
+ */
+@Component
+@Slf4j
+public class ReviewPreferencesCache {
+
+    static final String CACHE_NAME = "reviewPreferences";
+
+    private final PerformanceMonitoringService monitoringService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final Map<Long, Entry> entries;
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * Bumped on every invalidation; a load that started before an
+     * invalidation must not store its possibly stale result.
+     */
+    private long generation;
+
+    public ReviewPreferencesCache(PerformanceMonitoringService monitoringService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${review.preferences-cache.enabled:true}") boolean enabled,
+                                  @Value("${review.preferences-cache.max-users:1024}") int maxUsers,
+                                  @Value("${review.preferences-cache.ttl-seconds:600}") long ttlSeconds,
+                                  @Value("${review.preferences-cache.refresh-after-seconds:0}") long refreshAfterSeconds) {
+        this.monitoringService = monitoringService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.refreshAfterNanos = TimeUnit.SECONDS.toNanos(refreshAfterSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        };
+        this.refreshExecutor = refreshAfterSeconds > 0 && refreshAfterSeconds < ttlSeconds
+            ? new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(64),
+                new CustomizableThreadFactory("preferences-refresh-"))
+            : null;
+    }
+
+    /**
+     * Returns the cached snapshot for the user, calling {@code loader} on a
+     * miss. The loader runs in the caller's transaction.
+     */
+    public ReviewPreferencesSnapshot get(Long userId, Supplier<ReviewPreferencesSnapshot> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(userId);
+        }
+
+        long now = System.nanoTime();
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            monitoringService.recordCacheOperation(CACHE_NAME, "hit");
+            if (refreshExecutor != null && now - entry.loadedAt >= refreshAfterNanos) {
+                scheduleRefresh(userId, loader);
+            }
+            return entry.snapshot;
+        }
+
+        monitoringService.recordCacheOperation(CACHE_NAME, "miss");
+        return load(userId, loader);
+    }
+
+    /**
+     * Drops the user's entry now and again once the current transaction
+     * commits, so a concurrent reader cannot re-cache the pre-commit state.
+     */
+    public void invalidate(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+        monitoringService.recordCacheOperation(CACHE_NAME, "evict");
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor != null) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    private ReviewPreferencesSnapshot load(Long userId, Supplier<ReviewPreferencesSnapshot> loader) {
+        long startGeneration;
+        synchronized (entries) {
+            startGeneration = generation;
+        }
+
+        ReviewPreferencesSnapshot snapshot = loader.get();
+
+        synchronized (entries) {
+            if (generation == startGeneration) {
+                entries.put(userId, new Entry(snapshot, System.nanoTime()));
+            }
+        }
+        return snapshot;
+    }
+
+    private void evict(Long userId) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(userId);
+        }
+    }
+
+    private void scheduleRefresh(Long userId, Supplier<ReviewPreferencesSnapshot> loader) {
+        if (!refreshing.add(userId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> load(userId, loader));
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of review preferences failed for user {}", userId, e);
+                } finally {
+                    refreshing.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(userId);
+        }
+    }
+
+    private static final class Entry {
+
+        private final ReviewPreferencesSnapshot snapshot;
+        private final long loadedAt;
+
+        Entry(ReviewPreferencesSnapshot snapshot, long loadedAt) {
+            this.snapshot = snapshot;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
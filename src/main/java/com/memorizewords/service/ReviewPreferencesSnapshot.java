@@ -0,0 +1,120 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.UserReviewPreferences;
+import com.memorizewords.enums.ReviewMode;
+import com.memorizewords.enums.WordType;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable copy of a user's review preferences, safe to share between
+ * threads and to keep in {@link ReviewPreferencesCache}.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReviewPreferencesSnapshot {
+
+    int dailyReviewLimit;
+    int dailyNewCardLimit;
+    int sessionGoal;
+    ReviewMode defaultReviewMode;
+    Set<ReviewMode> preferredModes;
+    Set<WordType> includedCardTypes;
+    Set<WordType> excludedCardTypes;
+    List<LocalTime> notificationTimes;
+    boolean enableNotifications;
+    boolean useAdvancedAlgorithm;
+    BigDecimal easeFactorBonus;
+    BigDecimal intervalModifier;
+    boolean adaptiveDifficulty;
+    boolean enableStreakProtection;
+    boolean enableLearningInsights;
+    boolean enableAchievements;
+    String weekendReviewMode;
+    boolean vacationMode;
+    LocalDate vacationStartDate;
+    LocalDate vacationEndDate;
+
+    public static ReviewPreferencesSnapshot from(UserReviewPreferences preferences) {
+        return new ReviewPreferencesSnapshot(
+            valueOrDefault(preferences.getDailyReviewLimit(), 50),
+            valueOrDefault(preferences.getDailyNewCardLimit(), 10),
+            valueOrDefault(preferences.getSessionGoal(), 20),
+            preferences.getDefaultReviewMode(),
+            copyOf(preferences.getPreferredModes()),
+            copyOf(preferences.getIncludedCardTypes()),
+            copyOf(preferences.getExcludedCardTypes()),
+            preferences.getNotificationTimes() != null ? List.copyOf(preferences.getNotificationTimes()) : List.of(),
+            Boolean.TRUE.equals(preferences.getEnableNotifications()),
+            Boolean.TRUE.equals(preferences.getUseAdvancedAlgorithm()),
+            preferences.getEaseFactorBonus(),
+            preferences.getIntervalModifier(),
+            Boolean.TRUE.equals(preferences.getAdaptiveDifficulty()),
+            Boolean.TRUE.equals(preferences.getEnableStreakProtection()),
+            Boolean.TRUE.equals(preferences.getEnableLearningInsights()),
+            Boolean.TRUE.equals(preferences.getEnableAchievements()),
+            preferences.getWeekendReviewMode(),
+            Boolean.TRUE.equals(preferences.getVacationMode()),
+            preferences.getVacationStartDate(),
+            preferences.getVacationEndDate()
+        );
+    }
+
+    public boolean isCardTypeIncluded(WordType type) {
+        return includedCardTypes.contains(type) && !excludedCardTypes.contains(type);
+    }
+
+    public boolean isInVacationMode() {
+        if (!vacationMode) return false;
+
+        LocalDate today = LocalDate.now();
+        if (vacationStartDate != null && vacationEndDate != null) {
+            return !today.isBefore(vacationStartDate) && !today.isAfter(vacationEndDate);
+        }
+        return true;
+    }
+
+    public boolean shouldShowNotification(LocalTime currentTime) {
+        if (!enableNotifications || isInVacationMode()) {
+            return false;
+        }
+
+        // Check if current time is within any notification time window (±30 minutes)
+        return notificationTimes.stream()
+            .anyMatch(notificationTime -> {
+                LocalTime windowStart = notificationTime.minusMinutes(30);
+                LocalTime windowEnd = notificationTime.plusMinutes(30);
+                return !currentTime.isBefore(windowStart) && !currentTime.isAfter(windowEnd);
+            });
+    }
+
+    public boolean isWeekendReviewRestricted() {
+        return "RESTRICTED".equals(weekendReviewMode) ||
+               "MINIMAL".equals(weekendReviewMode);
+    }
+
+    public int getWeekendReviewLimit() {
+        if ("RESTRICTED".equals(weekendReviewMode)) {
+            return dailyReviewLimit / 2;
+        } else if ("MINIMAL".equals(weekendReviewMode)) {
+            return Math.max(10, dailyReviewLimit / 3);
+        }
+        return dailyReviewLimit;
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static <T> Set<T> copyOf(Collection<T> values) {
+        return values != null ? Set.copyOf(values) : Set.of();
+    }
+}
@@ -0,0 +1,185 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.ReviewSession;
+import com.memorizewords.entity.ReviewSessionCard;
+import com.memorizewords.entity.UserDailyReviewRollup;
+import com.memorizewords.enums.ReviewOutcome;
+import com.memorizewords.repository.ReviewSessionRepository;
+import com.memorizewords.repository.UserDailyReviewRollupRepository;
+import com.memorizewords.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Service maintaining {@link UserDailyReviewRollup} rows, the per-user daily
+ * totals that review statistics are read from.
+ *
+ * Rows are incremented as answers are submitted and sessions complete, so
+ * dashboards read one small row per day instead of scanning sessions.
+ * {@link #rebuild} recomputes a range of days from session history; a
+ * nightly catch-up repairs the most recent days in case an increment was
+ * lost.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewRollupService {
+
+    private static final int REBUILD_WINDOW_DAYS = 7;
+
+    private final UserDailyReviewRollupRepository rollupRepository;
+    private final ReviewSessionRepository sessionRepository;
+    private final ReviewRollupWriter rollupWriter;
+    private final UserRepository userRepository;
+
+    @Value("${review.rollups.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${review.rollups.catch-up-days:2}")
+    private int catchUpDays;
+
+    public void recordReview(ReviewSession session, ReviewSessionCard reviewed) {
+        recordReviews(session, List.of(reviewed));
+    }
+
+    public void recordReviews(ReviewSession session, List<ReviewSessionCard> reviewed) {
+        if (reviewed.isEmpty()) {
+            return;
+        }
+
+        int correctAnswers = 0;
+        int newCards = 0;
+        long responseTimeSum = 0;
+        int responseCount = 0;
+        for (ReviewSessionCard sessionCard : reviewed) {
+            // Same rule as ReviewSession.updateStatistics
+            if (sessionCard.getOutcome() == ReviewOutcome.GOOD || sessionCard.getOutcome() == ReviewOutcome.EASY) {
+                correctAnswers++;
+            }
+            if (Integer.valueOf(1).equals(sessionCard.getReviewNumber())) {
+                newCards++;
+            }
+            if (sessionCard.getResponseTime() != null && sessionCard.getResponseTime() > 0) {
+                responseTimeSum += sessionCard.getResponseTime();
+                responseCount++;
+            }
+        }
+
+        Long userId = session.getUser().getId();
+        LocalDate day = session.getStartTime().toLocalDate();
+        int reviews = reviewed.size();
+        int correct = correctAnswers;
+        int learned = newCards;
+        long responseTime = responseTimeSum;
+        int responses = responseCount;
+        increment(userId, day, () -> rollupRepository.addReviews(
+            userId, day, reviews, correct, learned, responseTime, responses, LocalDateTime.now()));
+    }
+
+    public void recordCompletedSession(ReviewSession session) {
+        Long userId = session.getUser().getId();
+        LocalDate day = session.getStartTime().toLocalDate();
+        long studySeconds = session.getSessionDuration() != null ? session.getSessionDuration() : 0L;
+        BigDecimal score = session.getTotalSessionScore() != null ? session.getTotalSessionScore() : BigDecimal.ZERO;
+        BigDecimal accuracy = session.getSessionAccuracy() != null ? session.getSessionAccuracy() : BigDecimal.ZERO;
+        int mastered = session.getDifficultCardsMastered() != null ? session.getDifficultCardsMastered() : 0;
+
+        increment(userId, day, () -> rollupRepository.addCompletedSession(
+            userId, day, studySeconds, score, accuracy, mastered, LocalDateTime.now()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0) // before streaks, which are rebuilt from rollups
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAll();
+        } else if (!rollupRepository.existsByUserIdNotNull()) {
+            // Nothing has been rolled up yet, e.g. right after the table was created
+            rebuildAll();
+        }
+    }
+
+    @Scheduled(cron = "${review.rollups.catch-up-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void scheduledCatchUp() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.error("Daily review rollup catch-up failed", e);
+        }
+    }
+
+    /**
+     * Recomputes the last {@code review.rollups.catch-up-days} complete days.
+     * Today is left to the incremental updates, which are still arriving.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int catchUp() {
+        LocalDate today = LocalDate.now();
+        return rebuild(today.minusDays(catchUpDays), today.minusDays(1));
+    }
+
+    /**
+     * Recomputes every rollup from the first review session up to yesterday.
+     * Like {@link #catchUp}, today is left to the incremental updates.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        LocalDateTime earliest = sessionRepository.findEarliestStartTime();
+        if (earliest == null) {
+            rollupRepository.deleteAllInBatch();
+            return 0;
+        }
+        return rebuild(earliest.toLocalDate(), LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * Replaces the rollups of the given days with totals recomputed from
+     * review sessions and their answers. Days are processed a week at a
+     * time, each week in its own transaction, so each grouped query covers
+     * a bounded range and nothing is held across the whole rebuild.
+     *
+     * @return the number of rollup rows written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild(LocalDate from, LocalDate to) {
+        log.info("Rebuilding daily review rollups from {} to {}", from, to);
+
+        int rows = 0;
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(REBUILD_WINDOW_DAYS)) {
+            LocalDate end = start.plusDays(REBUILD_WINDOW_DAYS - 1);
+            rows += rollupWriter.rebuildWindow(start, end.isAfter(to) ? to : end);
+        }
+
+        log.info("Rebuilt {} daily review rollups", rows);
+        return rows;
+    }
+
+    private void increment(Long userId, LocalDate day, IntSupplier update) {
+        if (update.getAsInt() == 0) {
+            // First activity of the day. With the user locked, a concurrent
+            // first submit waits here and then updates the row this one creates.
+            userRepository.findByIdForUpdate(userId);
+            if (update.getAsInt() == 0) {
+                rollupRepository.insertEmptyDay(userId, day, LocalDateTime.now());
+                update.getAsInt();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.UserDailyReviewRollup;
+import com.memorizewords.repository.ReviewSessionRepository;
+import com.memorizewords.repository.UserDailyReviewRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Recomputes one window of daily review rollups in its own transaction.
+ *
+ * A rebuild over the whole session history commits window by window, so it
+ * never holds a long-running transaction, row locks on every rollup, or a
+ * persistence context that grows with the history.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReviewRollupWriter {
+
+    private final UserDailyReviewRollupRepository rollupRepository;
+    private final ReviewSessionRepository sessionRepository;
+
+    /**
+     * Replaces the rollups of the given days with totals recomputed from
+     * review sessions and their answers.
+     *
+     * @return the number of rollup rows written
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int rebuildWindow(LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        Map<UserDailyReviewRollup.Key, UserDailyReviewRollup> rollups = new HashMap<>();
+
+        for (ReviewSessionRepository.DailySessionTotals totals : sessionRepository.aggregateDailySessionTotals(start, end)) {
+            UserDailyReviewRollup rollup = rollupFor(rollups, totals.getUserId(), totals.getDay());
+            rollup.setSessions(toInt(totals.getSessions()));
+            rollup.setReviews(toInt(totals.getReviews()));
+            rollup.setCorrectAnswers(toInt(totals.getCorrectAnswers()));
+            rollup.setStudySeconds(toLong(totals.getStudySeconds()));
+            rollup.setSessionScoreSum(totals.getSessionScoreSum() != null ? totals.getSessionScoreSum() : BigDecimal.ZERO);
+            rollup.setBestSessionAccuracy(totals.getBestSessionAccuracy() != null ? totals.getBestSessionAccuracy() : BigDecimal.ZERO);
+            rollup.setDifficultCardsMastered(toInt(totals.getDifficultCardsMastered()));
+        }
+        for (ReviewSessionRepository.DailyAnswerTotals totals : sessionRepository.aggregateDailyAnswerTotals(start, end)) {
+            UserDailyReviewRollup rollup = rollupFor(rollups, totals.getUserId(), totals.getDay());
+            rollup.setNewCards(toInt(totals.getNewCards()));
+            rollup.setResponseTimeSum(toLong(totals.getResponseTimeSum()));
+            rollup.setResponseCount(toInt(totals.getResponseCount()));
+        }
+
+        rollupRepository.deleteByDateRange(from, to);
+        rollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+
+    private static UserDailyReviewRollup rollupFor(Map<UserDailyReviewRollup.Key, UserDailyReviewRollup> rollups,
+                                                   Long userId, LocalDate day) {
+        return rollups.computeIfAbsent(new UserDailyReviewRollup.Key(userId, day),
+            key -> new UserDailyReviewRollup(userId, day));
+    }
+
+    private static int toInt(Long value) {
+        return value != null ? value.intValue() : 0;
+    }
+
+    private static long toLong(Long value) {
+        return value != null ? value : 0L;
+    }
+}
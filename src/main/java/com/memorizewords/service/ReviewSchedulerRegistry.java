@@ -0,0 +1,53 @@
+package com.memorizewords.service;
+
+import com.memorizewords.algorithm.ReviewScheduler;
+import com.memorizewords.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the {@link ReviewScheduler} for a user. Users with
+ * {@code useAdvancedAlgorithm} get {@code review.scheduler.advanced},
+ * everyone else {@code review.scheduler.default}.
+ */
+@Component
+public class ReviewSchedulerRegistry {
+
+    private final Map<String, ReviewScheduler> schedulers;
+    private final UserReviewPreferencesService preferencesService;
+    private final ReviewScheduler defaultScheduler;
+    private final ReviewScheduler advancedScheduler;
+
+    public ReviewSchedulerRegistry(List<ReviewScheduler> schedulers,
+                                   UserReviewPreferencesService preferencesService,
+                                   @Value("${review.scheduler.default:sm2}") String defaultScheduler,
+                                   @Value("${review.scheduler.advanced:fsrs}") String advancedScheduler) {
+        this.schedulers = schedulers.stream()
+            .collect(Collectors.toUnmodifiableMap(ReviewScheduler::name, Function.identity()));
+        this.preferencesService = preferencesService;
+        this.defaultScheduler = get(defaultScheduler);
+        this.advancedScheduler = get(advancedScheduler);
+    }
+
+    public ReviewScheduler get(String name) {
+        ReviewScheduler scheduler = schedulers.get(name);
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Unknown review scheduler '" + name + "', available: " + schedulers.keySet());
+        }
+        return scheduler;
+    }
+
+    public ReviewScheduler forUser(User user) {
+        return preferencesService.isAdvancedAlgorithmEnabled(user) ? advancedScheduler : defaultScheduler;
+    }
+
+    public Collection<ReviewScheduler> getAll() {
+        return schedulers.values();
+    }
+}
@@ -1,18 +1,17 @@
 package com.memorizewords.service;
 
+import com.memorizewords.dto.request.BatchSubmitReviewRequest;
 import com.memorizewords.dto.request.StartReviewSessionRequest;
 import com.memorizewords.dto.request.SubmitReviewRequest;
 import com.memorizewords.entity.ReviewSession;
 import com.memorizewords.entity.ReviewSessionCard;
 import com.memorizewords.entity.SpacedRepetitionCard;
 import com.memorizewords.entity.User;
-import com.memorizewords.entity.UserReviewPreferences;
 import com.memorizewords.enums.ReviewMode;
 import com.memorizewords.enums.ReviewOutcome;
 import com.memorizewords.exception.ResourceNotFoundException;
 import com.memorizewords.repository.ReviewSessionRepository;
 import com.memorizewords.repository.SpacedRepetitionCardRepository;
-import com.memorizewords.repository.UserRepository;
 import com.memorizewords.repository.UserReviewPreferencesRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +22,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing review sessions with spaced repetition.
@@ -41,7 +46,9 @@ public class ReviewSessionService {
     private final ReviewStatisticsService statisticsService;
     private final UserReviewPreferencesService preferencesService;
     private final UserReviewPreferencesRepository userReviewPreferencesRepository;
-    private final UserRepository userRepository;
+    private final UserStreakService streakService;
+    private final ReviewRollupService rollupService;
+    private final PerformanceHistogramService histogramService;
 
     private static final int DEFAULT_SESSION_LIMIT = 20;
     private static final int MAX_SESSION_LIMIT = 100;
@@ -95,6 +102,7 @@ public class ReviewSessionService {
 
         // Update session statistics
         updateSessionStatistics(session, sessionCard);
+        rollupService.recordReview(session, sessionCard);
 
         // Check if session is complete
         checkSessionCompletion(session);
@@ -115,6 +123,75 @@ public class ReviewSessionService {
         return submitReview(session, card, request.getOutcome(), request.getResponseTime());
     }
 
+    /**
+     * Applies queued answers for one session in a single transaction. The
+     * session and its cards are loaded once, reviewed cards are fetched with a
+     * single IN query, and statistics are recomputed once at the end; the
+     * resulting card and session-card updates are flushed as JDBC batches.
+     */
+    public ReviewSession submitReviews(Long sessionId, List<BatchSubmitReviewRequest.ReviewAnswer> answers, User user) {
+        ReviewSession session = sessionRepository.findByIdWithCards(sessionId)
+            .orElseThrow(() -> new ResourceNotFoundException("ReviewSession", "id", sessionId));
+        if (!session.getUser().getId().equals(user.getId())) {
+            throw new ResourceNotFoundException("ReviewSession", "id", sessionId);
+        }
+        if (session.getIsCompleted()) {
+            throw new IllegalStateException("Session is already completed");
+        }
+        if (session.getCompletedCards() + answers.size() > session.getTotalCards()) {
+            throw new IllegalStateException("Submitted answers exceed the cards remaining in the session");
+        }
+
+        Set<Long> cardIds = answers.stream()
+            .map(BatchSubmitReviewRequest.ReviewAnswer::getCardId)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (cardIds.size() < answers.size()) {
+            throw new IllegalArgumentException("Each card can be answered only once per batch");
+        }
+        Map<Long, SpacedRepetitionCard> cardsById = spacedRepetitionService.getCardsForReview(user, cardIds).stream()
+            .collect(Collectors.toMap(SpacedRepetitionCard::getId, Function.identity()));
+        Map<Long, ReviewSessionCard> sessionCardsByCardId = session.getCards().stream()
+            .collect(Collectors.toMap(sc -> sc.getCard().getId(), Function.identity(), (a, b) -> a));
+
+        // Validate the whole batch before any card is rescheduled
+        for (Long cardId : cardIds) {
+            if (!cardsById.containsKey(cardId)) {
+                throw new ResourceNotFoundException("SpacedRepetitionCard", "id", cardId);
+            }
+            ReviewSessionCard sessionCard = sessionCardsByCardId.get(cardId);
+            if (sessionCard == null) {
+                throw new ResourceNotFoundException("ReviewSessionCard", "cardId", cardId);
+            }
+            if (sessionCard.getOutcome() != null) {
+                throw new IllegalStateException("Card " + cardId + " has already been answered in this session");
+            }
+        }
+
+        List<ReviewSessionCard> reviewed = new ArrayList<>(answers.size());
+        for (BatchSubmitReviewRequest.ReviewAnswer answer : answers) {
+            SpacedRepetitionCard card = cardsById.get(answer.getCardId());
+            ReviewSessionCard sessionCard = sessionCardsByCardId.get(card.getId());
+
+            spacedRepetitionService.applyOutcome(card, answer.getOutcome(), answer.getResponseTime());
+            sessionCard.setReviewOutcome(answer.getOutcome(), answer.getResponseTime());
+            sessionCard.setIntervalAfterReview(card.getIntervalDays());
+            sessionCard.setEaseFactorAfterReview(card.getEaseFactor());
+            reviewed.add(sessionCard);
+
+            logReviewOutcome(session, card, answer.getOutcome(), answer.getResponseTime());
+        }
+
+        spacedRepetitionService.saveReviewedCards(new ArrayList<>(cardsById.values()));
+        session.updateStatistics(reviewed);
+        rollupService.recordReviews(session, reviewed);
+        checkSessionCompletion(session);
+
+        ReviewSession savedSession = sessionRepository.save(session);
+        log.debug("Submitted {} reviews for session {}", answers.size(), session.getId());
+
+        return savedSession;
+    }
+
     public ReviewSession completeSession(ReviewSession session) {
         log.info("Completing review session {}", session.getId());
 
@@ -127,10 +204,17 @@ public class ReviewSessionService {
 
         // Calculate final statistics
         calculateFinalSessionStatistics(session);
+        rollupService.recordCompletedSession(session);
+        histogramService.recordSession(session);
 
         // Update user achievements
         updateUserAchievements(session.getUser(), session);
 
+        // Extend the user's review streak
+        if (session.getCompletedCards() > 0) {
+            streakService.recordActivity(session.getUser(), session.getStartTime().toLocalDate());
+        }
+
         // Log session completion for analytics
         logSessionCompletion(session);
 
@@ -205,7 +289,7 @@ public class ReviewSessionService {
     }
 
     public int getRecommendedDailyLimit(User user) {
-        UserReviewPreferences preferences = preferencesService.getPreferences(user);
+        ReviewPreferencesSnapshot preferences = preferencesService.getPreferencesSnapshot(user);
         return preferences != null ? preferences.getDailyReviewLimit() : DEFAULT_SESSION_LIMIT;
     }
 
@@ -234,20 +318,29 @@ public class ReviewSessionService {
         return availableModes;
     }
 
-    public void timeoutExpiredSessions() {
-        LocalDateTime timeoutDate = LocalDateTime.now().minusHours(SESSION_TIMEOUT_HOURS);
-        List<User> users = userRepository.findAll(); // You'll need to inject UserRepository
-
-        for (User user : users) {
-            List<ReviewSession> expiredSessions = sessionRepository.findExpiredSessions(user, timeoutDate);
-            for (ReviewSession session : expiredSessions) {
+    /**
+     * Completes one batch of expired sessions in a single transaction.
+     * Sessions finished or resumed since they were selected are skipped.
+     *
+     * @return the number of sessions timed out
+     */
+    public int timeoutSessions(Collection<Long> sessionIds, LocalDateTime timeoutDate) {
+        int timedOut = 0;
+        for (ReviewSession session : sessionRepository.findAllById(sessionIds)) {
+            if (!session.getIsCompleted() && session.getStartTime().isBefore(timeoutDate)) {
                 completeSession(session);
+                timedOut++;
             }
         }
+        return timedOut;
+    }
+
+    public LocalDateTime getSessionTimeoutDate() {
+        return LocalDateTime.now().minusHours(SESSION_TIMEOUT_HOURS);
     }
 
     private List<SpacedRepetitionCard> selectCardsForReview(User user, ReviewMode mode, int limit) {
-        UserReviewPreferences preferences = preferencesService.getPreferences(user);
+        ReviewPreferencesSnapshot preferences = preferencesService.getPreferencesSnapshot(user);
 
         switch (mode) {
             case DUE_CARDS:
@@ -265,12 +358,9 @@ public class ReviewSessionService {
         }
     }
 
-    private List<SpacedRepetitionCard> selectDueCards(User user, int limit, UserReviewPreferences preferences) {
-        LocalDateTime now = LocalDateTime.now();
-
-        // Get due cards, prioritized by due date
-        List<SpacedRepetitionCard> dueCards = cardRepository
-            .findDueCardsForUser(user, now, PageRequest.of(0, limit * 2));
+    private List<SpacedRepetitionCard> selectDueCards(User user, int limit, ReviewPreferencesSnapshot preferences) {
+        // Get due cards, prioritized by due date (served from the due-card index when warm)
+        List<SpacedRepetitionCard> dueCards = spacedRepetitionService.getDueCards(user, limit * 2);
 
         // Apply user preferences for daily limits
         int dailyLimit = preferences != null ? preferences.getDailyReviewLimit() : DEFAULT_SESSION_LIMIT;
@@ -292,7 +382,7 @@ public class ReviewSessionService {
             .toList();
     }
 
-    private List<SpacedRepetitionCard> selectDifficultCards(User user, int limit, UserReviewPreferences preferences) {
+    private List<SpacedRepetitionCard> selectDifficultCards(User user, int limit, ReviewPreferencesSnapshot preferences) {
         // Find cards with low performance or high difficulty
         List<SpacedRepetitionCard> difficultCards = cardRepository
             .findDifficultCardsForUser(user, PageRequest.of(0, limit * 2))
@@ -311,11 +401,11 @@ public class ReviewSessionService {
             .toList();
     }
 
-    private List<SpacedRepetitionCard> selectRandomCards(User user, int limit, UserReviewPreferences preferences) {
+    private List<SpacedRepetitionCard> selectRandomCards(User user, int limit, ReviewPreferencesSnapshot preferences) {
         return spacedRepetitionService.getRandomCards(user, limit);
     }
 
-    private List<SpacedRepetitionCard> selectNewCards(User user, int limit, UserReviewPreferences preferences) {
+    private List<SpacedRepetitionCard> selectNewCards(User user, int limit, ReviewPreferencesSnapshot preferences) {
         // Apply daily new card limit
         int newCardLimit = preferences != null ? preferences.getDailyNewCardLimit() : 10;
         int actualLimit = Math.min(limit, newCardLimit);
@@ -323,7 +413,7 @@ public class ReviewSessionService {
         return spacedRepetitionService.getNewCards(user, actualLimit);
     }
 
-    private List<SpacedRepetitionCard> selectAllCards(User user, int limit, UserReviewPreferences preferences) {
+    private List<SpacedRepetitionCard> selectAllCards(User user, int limit, ReviewPreferencesSnapshot preferences) {
         // Get a mix of cards from different categories
         List<SpacedRepetitionCard> allCards = new ArrayList<>();
 
@@ -341,7 +431,7 @@ public class ReviewSessionService {
             .toList();
     }
 
-    private List<SpacedRepetitionCard> selectTargetedCards(User user, int limit, UserReviewPreferences preferences) {
+    private List<SpacedRepetitionCard> selectTargetedCards(User user, int limit, ReviewPreferencesSnapshot preferences) {
         // For now, fall back to due cards with user preferences applied
         List<SpacedRepetitionCard> cards = selectDueCards(user, limit, preferences);
 
@@ -457,7 +547,7 @@ public class ReviewSessionService {
     }
 
     private int getSessionLimit(User user) {
-        UserReviewPreferences preferences = preferencesService.getPreferences(user);
+        ReviewPreferencesSnapshot preferences = preferencesService.getPreferencesSnapshot(user);
         return preferences != null ? preferences.getSessionGoal() : DEFAULT_SESSION_LIMIT;
     }
 
@@ -1,15 +1,21 @@
 package com.memorizewords.service;
 
+import com.memorizewords.algorithm.PerformanceHistogram;
+import com.memorizewords.config.VirtualThreadConfig;
 import com.memorizewords.dto.response.*;
-import com.memorizewords.entity.ReviewSession;
 import com.memorizewords.entity.SpacedRepetitionCard;
 import com.memorizewords.entity.User;
+import com.memorizewords.entity.UserDailyReviewRollup;
+import com.memorizewords.entity.UserPerformanceHistogram;
 import com.memorizewords.enums.ReviewMode;
-import com.memorizewords.repository.ReviewSessionRepository;
 import com.memorizewords.repository.SpacedRepetitionCardRepository;
-import lombok.RequiredArgsConstructor;
+import com.memorizewords.repository.UserDailyReviewRollupRepository;
+import com.memorizewords.repository.UserPerformanceHistogramRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -17,27 +23,76 @@ import java.math.RoundingMode;
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Service for calculating review statistics and generating insights.
+ *
+ * Session totals, daily metrics and trends are read from the per-user daily
+ * rollups maintained by {@link ReviewRollupService}, so their cost grows with
+ * the number of days requested rather than the number of sessions and cards.
+ * Time-of-day insights come from the fixed-size histogram maintained by
+ * {@link PerformanceHistogramService}.
  */
 @Service
 @Transactional(readOnly = true)
-@RequiredArgsConstructor
 @Slf4j
 public class ReviewStatisticsService {
 
-    private final ReviewSessionRepository sessionRepository;
     private final SpacedRepetitionCardRepository cardRepository;
+    private final UserDailyReviewRollupRepository rollupRepository;
+    private final UserPerformanceHistogramRepository histogramRepository;
+    private final UserStreakService streakService;
+    private final ThreadPoolExecutor insightsExecutor;
+    private final long sectionTimeoutMillis;
+
+    public ReviewStatisticsService(SpacedRepetitionCardRepository cardRepository,
+                                   UserDailyReviewRollupRepository rollupRepository,
+                                   UserPerformanceHistogramRepository histogramRepository,
+                                   UserStreakService streakService,
+                                   @Value("${review.insights.workers:8}") int workers,
+                                   @Value("${review.insights.queue-capacity:100}") int queueCapacity,
+                                   @Value("${review.insights.section-timeout-ms:2000}") long sectionTimeoutMillis,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.cardRepository = cardRepository;
+        this.rollupRepository = rollupRepository;
+        this.histogramRepository = histogramRepository;
+        this.streakService = streakService;
+        this.sectionTimeoutMillis = sectionTimeoutMillis;
+        // Bounded so a burst of insight requests degrades sections instead of queueing queries
+        this.insightsExecutor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), VirtualThreadConfig.threadFactory("review-insights-", virtualThreads));
+    }
 
     public ReviewStatisticsDTO calculateReviewStatistics(User user, LocalDate from, LocalDate to) {
+        return calculateReviewStatistics(user, from, to, loadPerformanceByHour(user));
+    }
+
+    private ReviewStatisticsDTO calculateReviewStatistics(User user, LocalDate from, LocalDate to,
+                                                          Map<Integer, Double> performanceByHour) {
         log.info("Calculating review statistics for user {} from {} to {}", user.getId(), from, to);
 
-        // Get all review activity in the period
-        List<ReviewSession> sessions = sessionRepository
-            .findByUserAndStartTimeBetween(
-                user, from.atStartOfDay(), to.atTime(23, 59, 59));
+        // One rollup row per active day, read together with the preceding period of the same
+        // length for the trend; card-level metrics still come from the cards
+        long periodDays = ChronoUnit.DAYS.between(from, to) + 1;
+        List<UserDailyReviewRollup> rollups = rollupRepository
+            .findByUserIdAndDateRange(user.getId(), from.minusDays(periodDays), to);
+        List<UserDailyReviewRollup> days = rollups.stream()
+            .filter(rollup -> !rollup.getReviewDate().isBefore(from))
+            .toList();
+        List<UserDailyReviewRollup> previousDays = rollups.stream()
+            .filter(rollup -> rollup.getReviewDate().isBefore(from))
+            .toList();
+        ActivityTotals totals = ActivityTotals.of(days);
 
         List<SpacedRepetitionCard> cards = cardRepository
             .findByUserAndLastReviewedBetween(
@@ -47,57 +102,180 @@ public class ReviewStatisticsService {
             .userId(user.getId())
             .periodStart(from)
             .periodEnd(to)
-            .totalReviews(calculateTotalReviews(sessions))
-            .correctReviews(calculateCorrectReviews(sessions))
-            .averageAccuracy(calculateAverageAccuracy(sessions))
-            .totalStudyTime(calculateTotalStudyTime(sessions))
-            .streakDays(calculateStreakDays(user, to))
-            .longestStreak(calculateLongestStreak(user))
+            .totalReviews(totals.reviews())
+            .correctReviews(totals.correctAnswers())
+            .averageAccuracy(totals.accuracy())
+            .totalStudyTime(Duration.ofSeconds(totals.studySeconds()))
+            .streakDays(streakService.getCurrentStreak(user))
+            .longestStreak(streakService.getLongestStreak(user))
             .learningVelocity(calculateLearningVelocity(cards, from, to))
             .retentionRate(calculateRetentionRate(cards))
-            .dailyMetrics(calculateDailyMetrics(user, from, to))
-            .achievements(calculateAchievements(sessions))
-            .totalSessions((int) sessions.stream().filter(ReviewSession::getIsCompleted).count())
-            .averageSessionScore(calculateAverageSessionScore(sessions))
-            .bestSessionAccuracy(calculateBestSessionAccuracy(sessions))
-            .newCardsLearned(calculateNewCardsLearned(sessions))
-            .difficultCardsMastered(calculateDifficultCardsMastered(sessions))
-            .cardsPerMinuteAverage(calculateCardsPerMinuteAverage(sessions))
-            .efficiencyScore(calculateEfficiencyScore(sessions))
-            .reviewTrend(calculateReviewTrend(user, from, to))
-            .performanceInsight(generatePerformanceInsight(user, sessions, from, to))
+            .dailyMetrics(calculateDailyMetrics(days, from, to))
+            .achievements(calculateAchievements(totals))
+            .totalSessions(totals.sessions())
+            .averageSessionScore(calculateAverageSessionScore(totals))
+            .bestSessionAccuracy(totals.bestSessionAccuracy().setScale(0, RoundingMode.HALF_UP).intValue())
+            .newCardsLearned(totals.newCards())
+            .difficultCardsMastered(totals.difficultCardsMastered())
+            .cardsPerMinuteAverage(calculateCardsPerMinuteAverage(totals))
+            .efficiencyScore(calculateEfficiencyScore(totals))
+            .reviewTrend(calculateReviewTrend(totals, ActivityTotals.of(previousDays), (int) periodDays))
+            .performanceInsight(generatePerformanceInsight(user, days, totals, performanceByHour))
             .build();
     }
 
+    /**
+     * Builds the insights from one snapshot of the user's data. The datasets
+     * load concurrently on the insights executor and every section waits at
+     * most the section timeout, so latency is bounded by the slowest section
+     * rather than the sum of all queries. Sections whose data failed or timed
+     * out are left empty and listed in {@code unavailableSections}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ReviewInsightsDTO generateReviewInsights(User user) {
         log.info("Generating review insights for user {}", user.getId());
 
-        // Get recent performance data
-        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-        ReviewStatisticsDTO recentStats = calculateReviewStatistics(user, thirtyDaysAgo, LocalDate.now());
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(30);
+        InsightsSnapshot snapshot = loadInsightsSnapshot(user, from, to);
+
+        // Start every section before waiting on any, so their timeouts run concurrently
+        CompletableFuture<String> learningVelocity = section(snapshot.cards
+            .thenApply(cards -> calculateLearningVelocityInsight(calculateLearningVelocity(cards, from, to))));
+        CompletableFuture<List<LocalTime>> optimalTimes = section(snapshot.performanceByHour
+            .thenApply(this::findOptimalStudyTimes));
+        CompletableFuture<String> worstTime = section(snapshot.performanceByHour
+            .thenApply(this::getWorstPerformanceTime));
+        CompletableFuture<String> difficultyDistribution = section(snapshot.performanceBands
+            .thenApply(this::analyzeDifficultyDistribution));
+        CompletableFuture<Double> averageAccuracy = section(snapshot.days
+            .thenApply(days -> ActivityTotals.of(days).accuracy()));
+        CompletableFuture<Integer> averageDailyReviews = section(snapshot.days
+            .thenApply(days -> calculateAverageDailyReviews(ActivityTotals.of(days), from, to)));
+        CompletableFuture<List<String>> recommendations = section(snapshot.days
+            .thenCombine(snapshot.cards, (days, cards) -> ReviewStatisticsDTO.builder()
+                .averageAccuracy(ActivityTotals.of(days).accuracy())
+                .retentionRate(calculateRetentionRate(cards)))
+            .thenCombine(snapshot.streaks, (stats, streaks) -> stats.streakDays(streaks[0]).build())
+            .thenCombine(snapshot.performanceByHour,
+                (stats, byHour) -> generateRecommendations(stats, findOptimalStudyTimes(byHour))));
+        CompletableFuture<int[]> streaks = section(snapshot.streaks);
+
+        List<String> unavailable = new ArrayList<>();
+        List<LocalTime> optimal = awaitSection("optimalStudyTimes", optimalTimes, List.of(), unavailable);
+        Double accuracy = awaitSection("averageAccuracy", averageAccuracy, null, unavailable);
+        int[] streakDays = awaitSection("streaks", streaks, null, unavailable);
 
-        // Analyze patterns and generate insights
         return ReviewInsightsDTO.builder()
-            .learningVelocity(calculateLearningVelocityInsight(recentStats))
+            .learningVelocity(awaitSection("learningVelocity", learningVelocity, null, unavailable))
             .retentionTrend(calculateRetentionTrend(user))
-            .optimalStudyTimes(findOptimalStudyTimes(user))
-            .difficultyDistribution(analyzeDifficultyDistribution(user))
-            .recommendations(generateRecommendations(user, recentStats))
+            .optimalStudyTimes(optimal)
+            .difficultyDistribution(awaitSection("difficultyDistribution", difficultyDistribution, null, unavailable))
+            .recommendations(awaitSection("recommendations", recommendations, List.of(), unavailable))
             .performanceTrend(calculatePerformanceTrend(user))
-            .bestPerformanceTime(getBestPerformanceTime(user))
-            .worstPerformanceTime(getWorstPerformanceTime(user))
-            .averageDailyReviews(calculateAverageDailyReviews(user))
-            .averageAccuracy(recentStats.getAverageAccuracy())
-            .currentStreak(recentStats.getStreakDays())
-            .longestStreak(recentStats.getLongestStreak())
-            .overallPerformance(calculateOverallPerformance(recentStats))
+            .bestPerformanceTime(unavailable.contains("optimalStudyTimes") ? null : getBestPerformanceTime(optimal))
+            .worstPerformanceTime(awaitSection("worstPerformanceTime", worstTime, null, unavailable))
+            .averageDailyReviews(awaitSection("averageDailyReviews", averageDailyReviews, null, unavailable))
+            .averageAccuracy(accuracy)
+            .currentStreak(streakDays != null ? streakDays[0] : null)
+            .longestStreak(streakDays != null ? streakDays[1] : null)
+            .overallPerformance(accuracy != null ? calculateOverallPerformance(accuracy) : null)
             .achievements(calculateRecentAchievements(user))
             .areasForImprovement(calculateAreasForImprovement(user))
             .nextMilestone(calculateNextMilestone(user))
             .daysToMilestone(calculateDaysToMilestone(user))
+            .partial(!unavailable.isEmpty())
+            .unavailableSections(unavailable)
             .build();
     }
 
+    @PreDestroy
+    public void shutdown() {
+        insightsExecutor.shutdownNow();
+    }
+
+    /**
+     * Starts one query per dataset the insights read. Each dataset is loaded
+     * once and shared by every section that needs it.
+     */
+    private InsightsSnapshot loadInsightsSnapshot(User user, LocalDate from, LocalDate to) {
+        return new InsightsSnapshot(
+            load(() -> rollupRepository.findByUserIdAndDateRange(user.getId(), from, to)),
+            load(() -> cardRepository.findByUserAndLastReviewedBetween(user, from.atStartOfDay(), to.atTime(23, 59, 59))),
+            load(() -> loadPerformanceByHour(user)),
+            load(() -> cardRepository.countActiveCardsByPerformanceBand(user)),
+            load(() -> new int[] {streakService.getCurrentStreak(user), streakService.getLongestStreak(user)}));
+    }
+
+    private <T> CompletableFuture<T> load(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, insightsExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> section(CompletableFuture<T> computation) {
+        return computation.copy().orTimeout(sectionTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> T awaitSection(String name, CompletableFuture<T> section, T fallback, List<String> unavailable) {
+        try {
+            return section.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                log.warn("Insights section {} timed out after {} ms", name, sectionTimeoutMillis);
+            } else {
+                log.warn("Insights section {} failed: {}", name, cause.toString());
+            }
+            unavailable.add(name);
+            return fallback;
+        }
+    }
+
+    /**
+     * Datasets shared by the insight sections of one request.
+     */
+    private record InsightsSnapshot(CompletableFuture<List<UserDailyReviewRollup>> days,
+                                    CompletableFuture<List<SpacedRepetitionCard>> cards,
+                                    CompletableFuture<Map<Integer, Double>> performanceByHour,
+                                    CompletableFuture<SpacedRepetitionCardRepository.PerformanceBandCounts> performanceBands,
+                                    CompletableFuture<int[]> streaks) {
+    }
+
+    /**
+     * Review activity summed over a range of daily rollups.
+     */
+    private record ActivityTotals(int activeDays, int sessions, int reviews, int correctAnswers, int newCards,
+                                  long studySeconds, BigDecimal sessionScoreSum, BigDecimal bestSessionAccuracy,
+                                  int difficultCardsMastered) {
+
+        static ActivityTotals of(List<UserDailyReviewRollup> days) {
+            int activeDays = 0, sessions = 0, reviews = 0, correctAnswers = 0, newCards = 0, difficultCardsMastered = 0;
+            long studySeconds = 0;
+            BigDecimal sessionScoreSum = BigDecimal.ZERO;
+            BigDecimal bestSessionAccuracy = BigDecimal.ZERO;
+            for (UserDailyReviewRollup day : days) {
+                activeDays += day.isActive() ? 1 : 0;
+                sessions += day.getSessions();
+                reviews += day.getReviews();
+                correctAnswers += day.getCorrectAnswers();
+                newCards += day.getNewCards();
+                studySeconds += day.getStudySeconds();
+                sessionScoreSum = sessionScoreSum.add(day.getSessionScoreSum());
+                bestSessionAccuracy = bestSessionAccuracy.max(day.getBestSessionAccuracy());
+                difficultCardsMastered += day.getDifficultCardsMastered();
+            }
+            return new ActivityTotals(activeDays, sessions, reviews, correctAnswers, newCards, studySeconds,
+                sessionScoreSum, bestSessionAccuracy, difficultCardsMastered);
+        }
+
+        double accuracy() {
+            return reviews > 0 ? (double) correctAnswers / reviews * 100 : 0.0;
+        }
+    }
+
     public List<ReviewModeInfoDTO> getAvailableReviewModes(User user) {
         List<ReviewModeInfoDTO> modes = new ArrayList<>();
 
@@ -160,67 +338,6 @@ public class ReviewStatisticsService {
         return modes;
     }
 
-    private Integer calculateTotalReviews(List<ReviewSession> sessions) {
-        return sessions.stream()
-            .mapToInt(ReviewSession::getCompletedCards)
-            .sum();
-    }
-
-    private Integer calculateCorrectReviews(List<ReviewSession> sessions) {
-        return sessions.stream()
-            .mapToInt(ReviewSession::getCorrectAnswers)
-            .sum();
-    }
-
-    private Double calculateAverageAccuracy(List<ReviewSession> sessions) {
-        if (sessions.isEmpty()) return 0.0;
-
-        int totalReviews = sessions.stream()
-            .mapToInt(ReviewSession::getCompletedCards)
-            .sum();
-
-        int correctReviews = sessions.stream()
-            .mapToInt(ReviewSession::getCorrectAnswers)
-            .sum();
-
-        return totalReviews > 0 ? (double) correctReviews / totalReviews * 100 : 0.0;
-    }
-
-    private Duration calculateTotalStudyTime(List<ReviewSession> sessions) {
-        long totalSeconds = sessions.stream()
-            .filter(session -> session.getSessionDuration() != null)
-            .mapToLong(ReviewSession::getSessionDuration)
-            .sum();
-
-        return Duration.ofSeconds(totalSeconds);
-    }
-
-    private Integer calculateStreakDays(User user, LocalDate endDate) {
-        LocalDate currentDate = endDate;
-        int streak = 0;
-
-        while (currentDate.isAfter(LocalDate.now().minusYears(1))) { // Check up to 1 year back
-            List<ReviewSession> daySessions = sessionRepository
-                .findSessionsByUserAndDate(user, currentDate.atStartOfDay());
-
-            if (!daySessions.isEmpty() && daySessions.stream()
-                .anyMatch(session -> session.getCompletedCards() > 0)) {
-                streak++;
-                currentDate = currentDate.minusDays(1);
-            } else {
-                break;
-            }
-        }
-
-        return streak;
-    }
-
-    private Integer calculateLongestStreak(User user) {
-        // This would require more complex logic to find the longest streak in history
-        // For now, return current streak as a placeholder
-        return calculateStreakDays(user, LocalDate.now());
-    }
-
     private LearningVelocityDTO calculateLearningVelocity(List<SpacedRepetitionCard> cards, LocalDate from, LocalDate to) {
         if (cards.isEmpty()) {
             return LearningVelocityDTO.builder()
@@ -268,52 +385,71 @@ public class ReviewStatisticsService {
             .orElse(0.0);
     }
 
-    private List<DailyMetricDTO> calculateDailyMetrics(User user, LocalDate from, LocalDate to) {
+    private List<DailyMetricDTO> calculateDailyMetrics(List<UserDailyReviewRollup> days, LocalDate from, LocalDate to) {
+        // Rollups exist only for active days; the others are filled in below
+        Map<LocalDate, UserDailyReviewRollup> rollupsByDay = days.stream()
+            .collect(Collectors.toMap(UserDailyReviewRollup::getReviewDate, rollup -> rollup));
+
         List<DailyMetricDTO> metrics = new ArrayList<>();
 
         for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
-            List<ReviewSession> daySessions = sessionRepository
-                .findSessionsByUserAndDate(user, date.atStartOfDay());
+            UserDailyReviewRollup rollup = rollupsByDay.get(date);
+            int streakDay = (int) ChronoUnit.DAYS.between(from, date) + 1;
 
-            DailyMetricDTO metric = DailyMetricDTO.builder()
-                .date(date)
-                .reviewsCompleted(daySessions.stream()
-                    .mapToInt(ReviewSession::getCompletedCards)
-                    .sum())
-                .correctAnswers(daySessions.stream()
-                    .mapToInt(ReviewSession::getCorrectAnswers)
-                    .sum())
-                .accuracy(calculateDayAccuracy(daySessions))
-                .studyTimeMinutes(daySessions.stream()
-                    .filter(session -> session.getSessionDuration() != null)
-                    .mapToLong(session -> session.getSessionDuration() / 60)
-                    .sum())
-                .newCardsLearned(daySessions.stream()
-                    .mapToInt(session -> session.getNewCardsLearned() != null ? session.getNewCardsLearned() : 0)
-                    .sum())
-                .sessionScore(daySessions.stream()
-                    .mapToDouble(session -> session.getTotalSessionScore() != null ? session.getTotalSessionScore() : 0.0)
-                    .average()
-                    .orElse(0.0))
-                .streakDay((int) ChronoUnit.DAYS.between(from, date) + 1)
-                .isActiveDay(!daySessions.isEmpty())
-                .efficiencyScore(calculateDayEfficiencyScore(daySessions))
-                .averageResponseTime(calculateDayAverageResponseTime(daySessions))
-                .performanceRate(calculateDayPerformanceRating(daySessions))
-                .build();
+            if (rollup == null) {
+                metrics.add(emptyDailyMetric(date, streakDay));
+                continue;
+            }
+
+            int reviews = rollup.getReviews();
+            int correct = rollup.getCorrectAnswers();
+            int studyMinutes = (int) (rollup.getStudySeconds() / 60);
+            double accuracy = reviews > 0 ? (double) correct / reviews * 100 : 0.0;
+            double cardsPerMinute = studyMinutes > 0 ? (double) reviews / studyMinutes : 0.0;
+            double sessionScore = rollup.getSessions() > 0 ? rollup.getSessionScoreSum().doubleValue() / rollup.getSessions() : 0.0;
 
-            metrics.add(metric);
+            metrics.add(DailyMetricDTO.builder()
+                .date(date)
+                .reviewsCompleted(reviews)
+                .correctAnswers(correct)
+                .accuracy(accuracy)
+                .studyTimeMinutes(studyMinutes)
+                .newCardsLearned(rollup.getNewCards())
+                .sessionScore(sessionScore)
+                .streakDay(streakDay)
+                .isActiveDay(rollup.isActive())
+                .efficiencyScore((accuracy * cardsPerMinute) / 100.0)
+                .averageResponseTime(rollup.getResponseCount() > 0 ? (int) (rollup.getResponseTimeSum() / rollup.getResponseCount()) : 0)
+                .performanceRating(calculateDayPerformanceRating(accuracy))
+                .build());
         }
 
         return metrics;
     }
 
-    private List<AchievementDTO> calculateAchievements(List<ReviewSession> sessions) {
+    private DailyMetricDTO emptyDailyMetric(LocalDate date, int streakDay) {
+        return DailyMetricDTO.builder()
+            .date(date)
+            .reviewsCompleted(0)
+            .correctAnswers(0)
+            .accuracy(0.0)
+            .studyTimeMinutes(0)
+            .newCardsLearned(0)
+            .sessionScore(0.0)
+            .streakDay(streakDay)
+            .isActiveDay(false)
+            .efficiencyScore(0.0)
+            .averageResponseTime(0)
+            .performanceRating(calculateDayPerformanceRating(0.0))
+            .build();
+    }
+
+    private List<AchievementDTO> calculateAchievements(ActivityTotals totals) {
         List<AchievementDTO> achievements = new ArrayList<>();
 
         // Calculate various achievement metrics
-        int totalReviews = sessions.stream().mapToInt(ReviewSession::getCompletedCards).sum();
-        int totalSessions = (int) sessions.stream().filter(ReviewSession::getIsCompleted).count();
+        int totalReviews = totals.reviews();
+        int totalSessions = totals.sessions();
 
         // Add milestone achievements
         if (totalReviews >= 100) {
@@ -351,80 +487,69 @@ public class ReviewStatisticsService {
         return achievements;
     }
 
-    private Double calculateAverageSessionScore(List<ReviewSession> sessions) {
-        return sessions.stream()
-            .filter(session -> session.getTotalSessionScore() != null)
-            .mapToDouble(ReviewSession::getTotalSessionScore)
-            .average()
-            .orElse(0.0);
-    }
-
-    private Integer calculateBestSessionAccuracy(List<ReviewSession> sessions) {
-        return sessions.stream()
-            .filter(session -> session.getSessionAccuracy() != null)
-            .mapToInt(session -> (int) Math.round(session.getSessionAccuracy()))
-            .max()
-            .orElse(0);
+    private Double calculateAverageSessionScore(ActivityTotals totals) {
+        return totals.sessions() > 0 ? totals.sessionScoreSum().doubleValue() / totals.sessions() : 0.0;
     }
 
-    private Integer calculateNewCardsLearned(List<ReviewSession> sessions) {
-        return sessions.stream()
-            .filter(session -> session.getNewCardsLearned() != null)
-            .mapToInt(ReviewSession::getNewCardsLearned)
-            .sum();
+    private Integer calculateCardsPerMinuteAverage(ActivityTotals totals) {
+        long totalMinutes = totals.studySeconds() / 60;
+        return totalMinutes > 0 ? (int) (totals.reviews() / totalMinutes) : 0;
     }
 
-    private Integer calculateDifficultCardsMastered(List<ReviewSession> sessions) {
-        return sessions.stream()
-            .filter(session -> session.getDifficultCardsMastered() != null)
-            .mapToInt(ReviewSession::getDifficultCardsMastered)
-            .sum();
-    }
-
-    private Integer calculateCardsPerMinuteAverage(List<ReviewSession> sessions) {
-        if (sessions.isEmpty()) return 0;
-
-        long totalCards = sessions.stream().mapToLong(ReviewSession::getCompletedCards).sum();
-        long totalMinutes = sessions.stream()
-            .filter(session -> session.getSessionDuration() != null)
-            .mapToLong(session -> session.getSessionDuration() / 60)
-            .sum();
+    private Double calculateEfficiencyScore(ActivityTotals totals) {
+        if (totals.reviews() == 0) return 0.0;
 
-        return totalMinutes > 0 ? (int) (totalCards / totalMinutes) : 0;
+        // Efficiency = (Accuracy * CardsPerMinute) / 100
+        return (totals.accuracy() * calculateCardsPerMinuteAverage(totals)) / 100.0;
     }
 
-    private Double calculateEfficiencyScore(List<ReviewSession> sessions) {
-        if (sessions.isEmpty()) return 0.0;
+    private ReviewTrendDTO calculateReviewTrend(ActivityTotals current, ActivityTotals previous, int periodDays) {
+        if (current.reviews() == 0 || previous.reviews() == 0) {
+            // Nothing to compare against
+            return ReviewTrendDTO.builder()
+                .accuracyTrend(BigDecimal.ZERO)
+                .retentionTrend(BigDecimal.ZERO)
+                .speedTrend(BigDecimal.ZERO)
+                .consistencyTrend(BigDecimal.ZERO)
+                .overallTrend("STABLE")
+                .trendPeriodDays(periodDays)
+                .trendStrength(BigDecimal.ZERO)
+                .prediction("MAINTAIN")
+                .build();
+        }
 
-        Double avgAccuracy = calculateAverageAccuracy(sessions);
-        Integer cardsPerMinute = calculateCardsPerMinuteAverage(sessions);
+        // Percentage-point change in accuracy, and change in pace and active days between the two periods
+        double accuracyTrend = current.accuracy() - previous.accuracy();
+        double speedTrend = calculateCardsPerMinuteAverage(current) - calculateCardsPerMinuteAverage(previous);
+        double consistencyTrend = (double) (current.activeDays() - previous.activeDays()) / periodDays * 100;
 
-        // Efficiency = (Accuracy * CardsPerMinute) / 100
-        return (avgAccuracy * cardsPerMinute) / 100.0;
-    }
+        String overallTrend = accuracyTrend >= 2 ? "IMPROVING" : accuracyTrend <= -2 ? "DECLINING" : "STABLE";
+        String prediction = switch (overallTrend) {
+            case "IMPROVING" -> "CONTINUE_IMPROVE";
+            case "DECLINING" -> "NEEDS_ATTENTION";
+            default -> "MAINTAIN";
+        };
 
-    private ReviewTrendDTO calculateReviewTrend(User user, LocalDate from, LocalDate to) {
-        // This would require comparing with previous periods
-        // For now, return a basic trend
         return ReviewTrendDTO.builder()
-            .accuracyTrend(BigDecimal.ZERO)
-            .retentionTrend(BigDecimal.ZERO)
-            .speedTrend(BigDecimal.ZERO)
-            .consistencyTrend(BigDecimal.ZERO)
-            .overallTrend("STABLE")
-            .trendPeriodDays(30)
-            .trendStrength(BigDecimal.ONE)
-            .prediction("MAINTAIN")
+            .accuracyTrend(BigDecimal.valueOf(accuracyTrend).setScale(2, RoundingMode.HALF_UP))
+            .retentionTrend(BigDecimal.ZERO) // Retention is tracked per card, not per day
+            .speedTrend(BigDecimal.valueOf(speedTrend).setScale(2, RoundingMode.HALF_UP))
+            .consistencyTrend(BigDecimal.valueOf(consistencyTrend).setScale(2, RoundingMode.HALF_UP))
+            .overallTrend(overallTrend)
+            .trendPeriodDays(periodDays)
+            .trendStrength(BigDecimal.valueOf(Math.min(1.0, Math.abs(accuracyTrend) / 10)).setScale(2, RoundingMode.HALF_UP))
+            .prediction(prediction)
             .build();
     }
 
-    private PerformanceInsightDTO generatePerformanceInsight(User user, List<ReviewSession> sessions, LocalDate from, LocalDate to) {
+    private PerformanceInsightDTO generatePerformanceInsight(User user, List<UserDailyReviewRollup> days,
+                                                             ActivityTotals totals, Map<Integer, Double> performanceByHour) {
         List<String> recommendations = new ArrayList<>();
-        List<LocalTime> optimalTimes = findOptimalStudyTimes(user);
+        List<LocalTime> optimalTimes = findOptimalStudyTimes(performanceByHour);
 
         // Analyze performance
-        Double avgAccuracy = calculateAverageAccuracy(sessions);
-        Double retentionRate = calculateRetentionRateFromSessions(sessions);
+        Double avgAccuracy = totals.accuracy();
+        Double retentionRate = calculateRetentionRateFromAccuracy(avgAccuracy);
 
         // Generate recommendations
         if (avgAccuracy < 70) {
@@ -445,7 +570,7 @@ public class ReviewStatisticsService {
             .difficultyLevel(difficultyLevel)
             .weakAreas(calculateWeakAreas(user))
             .strongAreas(calculateStrongAreas(user))
-            .studyConsistency(calculateStudyConsistency(sessions))
+            .studyConsistency(calculateStudyConsistency(days))
             .retentionStatus(calculateRetentionStatus(retentionRate))
             .recommendedDailyReviews(calculateRecommendedDailyReviews(user))
             .recommendedNewCardsPerDay(calculateRecommendedNewCardsPerDay(user))
@@ -455,21 +580,14 @@ public class ReviewStatisticsService {
     }
 
     // Helper methods for insights and calculations
-    private List<LocalTime> findOptimalStudyTimes(User user) {
-        List<ReviewSession> sessions = sessionRepository.findByUserOrderByStartTime(user);
-
-        Map<Integer, Double> performanceByHour = sessions.stream()
-            .collect(Collectors.groupingBy(
-                session -> session.getStartTime().getHour(),
-                Collectors.averagingDouble(session -> {
-                    if (session.getSessionAccuracy() != null) {
-                        return session.getSessionAccuracy();
-                    }
-                    return session.getCompletedCards() > 0 ?
-                        (double) session.getCorrectAnswers() / session.getCompletedCards() * 100 : 0.0;
-                })
-            ));
+    private Map<Integer, Double> loadPerformanceByHour(User user) {
+        return histogramRepository.findById(user.getId())
+            .map(UserPerformanceHistogram::getHistogram)
+            .map(PerformanceHistogram::accuracyByHour)
+            .orElse(Map.of());
+    }
 
+    private List<LocalTime> findOptimalStudyTimes(Map<Integer, Double> performanceByHour) {
         return performanceByHour.entrySet().stream()
             .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
             .limit(3)
@@ -477,10 +595,8 @@ public class ReviewStatisticsService {
             .collect(Collectors.toList());
     }
 
-    private String calculateLearningVelocityInsight(ReviewStatisticsDTO recentStats) {
-        double cardsPerDay = recentStats.getLearningVelocity() != null &&
-                           recentStats.getLearningVelocity().getCardsPerDay() != null ?
-                           recentStats.getLearningVelocity().getCardsPerDay().doubleValue() : 0.0;
+    private String calculateLearningVelocityInsight(LearningVelocityDTO velocity) {
+        double cardsPerDay = velocity.getCardsPerDay() != null ? velocity.getCardsPerDay().doubleValue() : 0.0;
 
         if (cardsPerDay >= 20) return "VERY_FAST";
         if (cardsPerDay >= 10) return "FAST";
@@ -493,20 +609,16 @@ public class ReviewStatisticsService {
         return "STABLE";
     }
 
-    private String analyzeDifficultyDistribution(User user) {
-        List<SpacedRepetitionCard> cards = cardRepository.findActiveCardsForUser(user);
-
-        long easyCards = cards.stream().filter(card -> card.getPerformanceIndex() != null && card.getPerformanceIndex() >= 80).count();
-        long mediumCards = cards.stream().filter(card -> card.getPerformanceIndex() != null &&
-            card.getPerformanceIndex() >= 50 && card.getPerformanceIndex() < 80).count();
-        long hardCards = cards.stream().filter(card -> card.getPerformanceIndex() != null && card.getPerformanceIndex() < 50).count();
+    private String analyzeDifficultyDistribution(SpacedRepetitionCardRepository.PerformanceBandCounts bands) {
+        long easyCards = bands != null && bands.getEasyCards() != null ? bands.getEasyCards() : 0;
+        long hardCards = bands != null && bands.getHardCards() != null ? bands.getHardCards() : 0;
 
         if (hardCards > easyCards) return "HEAVILY_WEIGHTED_TOWARDS_DIFFICULT";
         if (easyCards > hardCards * 2) return "HEAVILY_WEIGHTED_TOWARDS_EASY";
         return "BALANCED";
     }
 
-    private List<String> generateRecommendations(User user, ReviewStatisticsDTO recentStats) {
+    private List<String> generateRecommendations(ReviewStatisticsDTO recentStats, List<LocalTime> optimalTimes) {
         List<String> recommendations = new ArrayList<>();
 
         if (recentStats.getAverageAccuracy() != null && recentStats.getAverageAccuracy() < 70) {
@@ -521,7 +633,6 @@ public class ReviewStatisticsService {
             recommendations.add("Try to maintain a consistent daily study routine for better results");
         }
 
-        List<LocalTime> optimalTimes = findOptimalStudyTimes(user);
         if (!optimalTimes.isEmpty()) {
             recommendations.add(String.format("Your best performance is around %s. Try studying at this time.",
                 optimalTimes.get(0).format(java.time.format.DateTimeFormatter.ofPattern("h a"))));
@@ -535,27 +646,12 @@ public class ReviewStatisticsService {
         return "STABLE";
     }
 
-    private String getBestPerformanceTime(User user) {
-        List<LocalTime> optimalTimes = findOptimalStudyTimes(user);
+    private String getBestPerformanceTime(List<LocalTime> optimalTimes) {
         return optimalTimes.isEmpty() ? "Not enough data" :
             optimalTimes.get(0).format(java.time.format.DateTimeFormatter.ofPattern("h a"));
     }
 
-    private String getWorstPerformanceTime(User user) {
-        List<ReviewSession> sessions = sessionRepository.findByUserOrderByStartTime(user);
-
-        Map<Integer, Double> performanceByHour = sessions.stream()
-            .collect(Collectors.groupingBy(
-                session -> session.getStartTime().getHour(),
-                Collectors.averagingDouble(session -> {
-                    if (session.getSessionAccuracy() != null) {
-                        return session.getSessionAccuracy();
-                    }
-                    return session.getCompletedCards() > 0 ?
-                        (double) session.getCorrectAnswers() / session.getCompletedCards() * 100 : 0.0;
-                })
-            ));
-
+    private String getWorstPerformanceTime(Map<Integer, Double> performanceByHour) {
         return performanceByHour.entrySet().stream()
             .sorted(Map.Entry.comparingByValue())
             .map(entry -> LocalTime.of(entry.getKey(), 0))
@@ -564,18 +660,12 @@ public class ReviewStatisticsService {
             .orElse("Not enough data");
     }
 
-    private Integer calculateAverageDailyReviews(User user) {
-        LocalDate thirtyDaysAgo = LocalDate.now().minusDays(30);
-        ReviewStatisticsDTO stats = calculateReviewStatistics(user, thirtyDaysAgo, LocalDate.now());
-
-        long periodDays = ChronoUnit.DAYS.between(thirtyDaysAgo, LocalDate.now()) + 1;
-        return periodDays > 0 ? (int) (stats.getTotalReviews() / periodDays) : 0;
+    private Integer calculateAverageDailyReviews(ActivityTotals totals, LocalDate from, LocalDate to) {
+        long periodDays = ChronoUnit.DAYS.between(from, to) + 1;
+        return periodDays > 0 ? (int) (totals.reviews() / periodDays) : 0;
     }
 
-    private String calculateOverallPerformance(ReviewStatisticsDTO recentStats) {
-        if (recentStats.getAverageAccuracy() == null) return "NEEDS_IMPROVEMENT";
-
-        double accuracy = recentStats.getAverageAccuracy();
+    private String calculateOverallPerformance(double accuracy) {
         if (accuracy >= 90) return "EXCELLENT";
         if (accuracy >= 80) return "GOOD";
         if (accuracy >= 70) return "AVERAGE";
@@ -722,51 +812,16 @@ public class ReviewStatisticsService {
         return BigDecimal.valueOf(Math.max(0, Math.min(1, consistency))).multiply(BigDecimal.valueOf(100));
     }
 
-    private double calculateDayAccuracy(List<ReviewSession> daySessions) {
-        if (daySessions.isEmpty()) return 0.0;
-
-        int totalCards = daySessions.stream().mapToInt(ReviewSession::getCompletedCards).sum();
-        int correctCards = daySessions.stream().mapToInt(ReviewSession::getCorrectAnswers).sum();
-
-        return totalCards > 0 ? (double) correctCards / totalCards * 100 : 0.0;
-    }
-
-    private Double calculateDayEfficiencyScore(List<ReviewSession> daySessions) {
-        if (daySessions.isEmpty()) return 0.0;
-
-        double accuracy = calculateDayAccuracy(daySessions);
-        long totalMinutes = daySessions.stream()
-            .filter(session -> session.getSessionDuration() != null)
-            .mapToLong(session -> session.getSessionDuration() / 60)
-            .sum();
-
-        int totalCards = daySessions.stream().mapToInt(ReviewSession::getCompletedCards).sum();
-        double cardsPerMinute = totalMinutes > 0 ? (double) totalCards / totalMinutes : 0.0;
-
-        return (accuracy * cardsPerMinute) / 100.0;
-    }
-
-    private Integer calculateDayAverageResponseTime(List<ReviewSession> daySessions) {
-        if (daySessions.isEmpty()) return 0;
-
-        return (int) daySessions.stream()
-            .filter(session -> session.getAverageResponseTime() != null)
-            .mapToInt(ReviewSession::getAverageResponseTime)
-            .average()
-            .orElse(0.0);
-    }
-
-    private String calculateDayPerformanceRating(List<ReviewSession> daySessions) {
-        double accuracy = calculateDayAccuracy(daySessions);
+    private String calculateDayPerformanceRating(double accuracy) {
         if (accuracy >= 90) return "EXCELLENT";
         if (accuracy >= 80) return "GOOD";
         if (accuracy >= 70) return "FAIR";
         return "POOR";
     }
 
-    private Double calculateRetentionRateFromSessions(List<ReviewSession> sessions) {
+    private Double calculateRetentionRateFromAccuracy(double accuracy) {
         // This is a simplified calculation
-        return calculateAverageAccuracy(sessions) / 100.0;
+        return accuracy / 100.0;
     }
 
     private List<String> calculateWeakAreas(User user) {
@@ -779,21 +834,17 @@ public class ReviewStatisticsService {
         return Arrays.asList("Basic vocabulary", "Common phrases");
     }
 
-    private String calculateStudyConsistency(List<ReviewSession> sessions) {
-        if (sessions.isEmpty()) return "NO_DATA";
-
-        // Calculate how consistently the user studies
-        long totalDays = sessions.stream()
-            .map(session -> session.getStartTime().toLocalDate())
-            .distinct()
-            .count();
+    private String calculateStudyConsistency(List<UserDailyReviewRollup> days) {
+        List<LocalDate> activeDays = days.stream()
+            .filter(UserDailyReviewRollup::isActive)
+            .map(UserDailyReviewRollup::getReviewDate)
+            .toList();
+        if (activeDays.isEmpty()) return "NO_DATA";
 
-        long periodDays = ChronoUnit.DAYS.between(
-            sessions.stream().map(ReviewSession::getStartTime).min(LocalDateTime::compareTo).get(),
-            sessions.stream().map(ReviewSession::getStartTime).max(LocalDateTime::compareTo).get()
-        ) + 1;
+        // Calculate how consistently the user studies; rollups arrive ordered by day
+        long periodDays = ChronoUnit.DAYS.between(activeDays.get(0), activeDays.get(activeDays.size() - 1)) + 1;
 
-        double consistency = (double) totalDays / periodDays;
+        double consistency = (double) activeDays.size() / periodDays;
 
         if (consistency >= 0.8) return "VERY_CONSISTENT";
         if (consistency >= 0.6) return "CONSISTENT";
@@ -1,23 +1,39 @@
 package com.memorizewords.service;
 
+import com.memorizewords.algorithm.FixedPoint;
+import com.memorizewords.algorithm.LoadBalancer;
+import com.memorizewords.algorithm.ReviewScheduler;
+import com.memorizewords.algorithm.SchedulingState;
+import com.memorizewords.algorithm.Sm2Scheduler;
+import com.memorizewords.entity.CardReviewEvent;
 import com.memorizewords.entity.SpacedRepetitionCard;
 import com.memorizewords.entity.User;
 import com.memorizewords.entity.Word;
 import com.memorizewords.enums.ReviewOutcome;
 import com.memorizewords.exception.ResourceNotFoundException;
+import com.memorizewords.repository.CardReviewEventRepository;
 import com.memorizewords.repository.SpacedRepetitionCardRepository;
 import com.memorizewords.repository.UserRepository;
 import com.memorizewords.repository.WordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service implementing the spaced repetition algorithm.
@@ -29,14 +45,18 @@ import java.util.Optional;
 public class SpacedRepetitionService {
 
     private final SpacedRepetitionCardRepository cardRepository;
+    private final CardReviewEventRepository reviewEventRepository;
     private final UserRepository userRepository;
     private final WordRepository wordRepository;
+    private final DueCardIndex dueCardIndex;
+    private final ReviewSchedulerRegistry schedulers;
+
+    @Value("${review.load-balance.enabled:true}")
+    private boolean loadBalanceEnabled = true;
 
     // Algorithm parameters
-    private static final BigDecimal MINIMUM_EASE_FACTOR = new BigDecimal("1.3");
-    private static final BigDecimal MAXIMUM_EASE_FACTOR = new BigDecimal("2.5");
-    private static final int INITIAL_INTERVAL = 1;
-    private static final int MAXIMUM_INTERVAL = 365;
+    private static final int INITIAL_INTERVAL = Sm2Scheduler.INITIAL_INTERVAL;
+    private static final BigDecimal INITIAL_EASE_FACTOR = FixedPoint.toBigDecimal(Sm2Scheduler.INITIAL_EASE);
 
     public SpacedRepetitionCard createCard(User user, Word word) {
         log.info("Creating spaced repetition card for user {} and word {}", user.getId(), word.getId());
@@ -45,11 +65,13 @@ public class SpacedRepetitionService {
         card.setUser(user);
         card.setWord(word);
         card.setIntervalDays(INITIAL_INTERVAL);
-        card.setEaseFactor(new BigDecimal("2.5"));
+        card.setEaseFactor(INITIAL_EASE_FACTOR);
         card.setDueDate(LocalDateTime.now());
         card.setActive(true);
 
-        return cardRepository.save(card);
+        SpacedRepetitionCard saved = cardRepository.save(card);
+        dueCardIndex.update(saved);
+        return saved;
     }
 
     public SpacedRepetitionCard getCard(Long cardId) {
@@ -63,21 +85,66 @@ public class SpacedRepetitionService {
     }
 
     public SpacedRepetitionCard updateCardWithOutcome(SpacedRepetitionCard card, ReviewOutcome outcome, int responseTime) {
+        applyOutcome(card, outcome, responseTime);
+
+        SpacedRepetitionCard saved = cardRepository.save(card);
+        dueCardIndex.update(saved);
+        return saved;
+    }
+
+    /**
+     * Applies a review outcome to a managed card without saving it, so callers
+     * reviewing many cards can flush them together. The review itself is
+     * appended to the event log; the card's earlier history is never loaded.
+     */
+    public void applyOutcome(SpacedRepetitionCard card, ReviewOutcome outcome, int responseTime) {
         log.debug("Updating card {} with outcome {} and response time {}", card.getId(), outcome, responseTime);
 
+        ReviewScheduler scheduler = schedulers.forUser(card.getUser());
+        int elapsedDays = card.getLastReviewed() != null
+            ? (int) Math.max(0, ChronoUnit.DAYS.between(card.getLastReviewed(), LocalDateTime.now()))
+            : 0;
+
         // Record the review
         card.recordReview(outcome, responseTime);
+        appendReviewEvent(card, outcome, responseTime);
 
         // Update spaced repetition parameters
-        updateSpacedRepetitionParameters(card, outcome);
+        updateSchedulingParameters(card, scheduler, outcome, elapsedDays);
 
         // Calculate next review date
         calculateNextReviewDate(card);
 
         // Update card age
         updateCardAge(card);
+    }
+
+    public List<SpacedRepetitionCard> saveReviewedCards(List<SpacedRepetitionCard> cards) {
+        List<SpacedRepetitionCard> saved = cardRepository.saveAll(cards);
+        saved.forEach(dueCardIndex::update);
+        return saved;
+    }
+
+    public List<SpacedRepetitionCard> getCardsForReview(User user, Collection<Long> cardIds) {
+        return cardRepository.findByUserAndIdIn(user, cardIds);
+    }
+
+    public List<CardReviewEvent> getReviewHistory(User user, Long cardId) {
+        return reviewEventRepository.findHistoryForCard(user, cardId);
+    }
 
-        return cardRepository.save(card);
+    private void appendReviewEvent(SpacedRepetitionCard card, ReviewOutcome outcome, int responseTime) {
+        // Interval and ease factor have not been rescheduled yet, so they are the pre-review values
+        CardReviewEvent event = new CardReviewEvent();
+        event.setCard(card);
+        event.setUser(card.getUser());
+        event.setReviewNumber(card.getTotalReviews());
+        event.setOutcome(outcome);
+        event.setResponseTime(responseTime);
+        event.setReviewedAt(card.getLastReviewed());
+        event.setIntervalBeforeReview(card.getIntervalDays());
+        event.setEaseFactorBeforeReview(card.getEaseFactor());
+        reviewEventRepository.save(event);
     }
 
     public List<SpacedRepetitionCard> getDueCards(User user) {
@@ -87,8 +154,20 @@ public class SpacedRepetitionService {
 
     public List<SpacedRepetitionCard> getDueCards(User user, int limit) {
         LocalDateTime now = LocalDateTime.now();
-        return cardRepository.findDueCardsForUser(user, now).stream()
-            .limit(limit)
+        if (!dueCardIndex.isEnabled()) {
+            return cardRepository.findDueCardsForUser(user, now, PageRequest.of(0, limit)).getContent();
+        }
+
+        // Resolve ids from the in-memory index and hydrate only those cards
+        List<Long> ids = dueCardIndex.findDueCardIds(user, now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SpacedRepetitionCard> byId = cardRepository.findByIdIn(ids).stream()
+            .collect(Collectors.toMap(SpacedRepetitionCard::getId, Function.identity()));
+        return ids.stream()
+            .map(byId::get)
+            .filter(Objects::nonNull)
             .toList();
     }
 
@@ -110,6 +189,9 @@ public class SpacedRepetitionService {
 
     public long countDueCards(User user) {
         LocalDateTime now = LocalDateTime.now();
+        if (dueCardIndex.isEnabled()) {
+            return dueCardIndex.countDue(user, now);
+        }
         return cardRepository.countDueCardsForUser(user, now);
     }
 
@@ -137,18 +219,20 @@ public class SpacedRepetitionService {
         SpacedRepetitionCard card = getCard(cardId);
         card.setSuspended(true);
         cardRepository.save(card);
+        dueCardIndex.remove(card);
     }
 
     public void unsuspendCard(Long cardId) {
         SpacedRepetitionCard card = getCard(cardId);
         card.setSuspended(false);
         cardRepository.save(card);
+        dueCardIndex.update(card);
     }
 
     public void resetCard(Long cardId) {
         SpacedRepetitionCard card = getCard(cardId);
         card.setIntervalDays(INITIAL_INTERVAL);
-        card.setEaseFactor(new BigDecimal("2.5"));
+        card.setEaseFactor(INITIAL_EASE_FACTOR);
         card.setDueDate(LocalDateTime.now());
         card.setTotalReviews(0);
         card.setCorrectReviews(0);
@@ -168,13 +252,20 @@ public class SpacedRepetitionService {
         card.setReviewCountEasy(0);
         card.setCardAgeDays(0);
         card.setRetentionRate(null);
-        card.getReviewHistory().clear();
+        card.setRecentOutcomes(0);
+        card.setRecentOutcomeCount(0);
+        card.setMemoryStability(null);
+        card.setMemoryDifficulty(null);
+        reviewEventRepository.deleteByCard(card);
         cardRepository.save(card);
+        dueCardIndex.update(card);
     }
 
     public void deleteCard(Long cardId) {
         SpacedRepetitionCard card = getCard(cardId);
+        reviewEventRepository.deleteByCard(card);
         cardRepository.delete(card);
+        dueCardIndex.remove(card);
     }
 
     public void bulkCreateCards(User user, List<Word> words) {
@@ -184,83 +275,61 @@ public class SpacedRepetitionService {
                 card.setUser(user);
                 card.setWord(word);
                 card.setIntervalDays(INITIAL_INTERVAL);
-                card.setEaseFactor(new BigDecimal("2.5"));
+                card.setEaseFactor(INITIAL_EASE_FACTOR);
                 card.setDueDate(LocalDateTime.now());
                 card.setActive(true);
                 return card;
             })
             .toList();
 
-        cardRepository.saveAll(cards);
+        cardRepository.saveAll(cards).forEach(dueCardIndex::update);
         log.info("Created {} spaced repetition cards for user {}", cards.size(), user.getId());
     }
 
-    private void updateSpacedRepetitionParameters(SpacedRepetitionCard card, ReviewOutcome outcome) {
-        BigDecimal currentEaseFactor = card.getEaseFactor();
-        BigDecimal newEaseFactor = currentEaseFactor;
-
-        switch (outcome) {
-            case AGAIN:
-                // Reset interval, decrease ease factor significantly
-                card.setIntervalDays(1);
-                newEaseFactor = currentEaseFactor.subtract(new BigDecimal("0.2"));
-                break;
-            case HARD:
-                // Small increase in interval, slight decrease in ease factor
-                card.setIntervalDays((int) (card.getIntervalDays() * 1.2));
-                newEaseFactor = currentEaseFactor.subtract(new BigDecimal("0.15"));
-                break;
-            case GOOD:
-                // Standard interval increase
-                card.setIntervalDays((int) (card.getIntervalDays() * currentEaseFactor.doubleValue()));
-                newEaseFactor = currentEaseFactor;
-                break;
-            case EASY:
-                // Large interval increase, slight increase in ease factor
-                card.setIntervalDays((int) (card.getIntervalDays() * currentEaseFactor.doubleValue() * 1.3));
-                newEaseFactor = currentEaseFactor.add(new BigDecimal("0.1"));
-                break;
+    private void updateSchedulingParameters(SpacedRepetitionCard card, ReviewScheduler scheduler,
+                                            ReviewOutcome outcome, int elapsedDays) {
+        // Work in fixed-point hundredths and convert back only when storing on the card
+        SchedulingState state = new SchedulingState();
+        state.previousReviews = card.getTotalReviews() - 1;
+        state.intervalDays = card.getIntervalDays();
+        state.easeHundredths = (int) FixedPoint.toHundredths(card.getEaseFactor());
+        state.stabilityHundredths = FixedPoint.toHundredths(card.getStabilityFactor());
+        if (card.getMemoryStability() != null && card.getMemoryDifficulty() != null) {
+            state.memoryStabilityHundredths = FixedPoint.toHundredths(card.getMemoryStability());
+            state.memoryDifficultyHundredths = (int) FixedPoint.toHundredths(card.getMemoryDifficulty());
         }
+        int ease = state.easeHundredths;
+        long stability = state.stabilityHundredths;
+        long memoryStability = state.memoryStabilityHundredths;
+        int memoryDifficulty = state.memoryDifficultyHundredths;
 
-        // Apply bounds to ease factor
-        newEaseFactor = newEaseFactor.max(MINIMUM_EASE_FACTOR);
-        newEaseFactor = newEaseFactor.min(MAXIMUM_EASE_FACTOR);
-        card.setEaseFactor(newEaseFactor);
-
-        // Apply bounds to interval
-        card.setIntervalDays(Math.min(card.getIntervalDays(), MAXIMUM_INTERVAL));
-        card.setIntervalDays(Math.max(card.getIntervalDays(), 1));
-
-        // Update stability factor
-        updateStabilityFactor(card, outcome);
-    }
-
-    private void updateStabilityFactor(SpacedRepetitionCard card, ReviewOutcome outcome) {
-        BigDecimal currentStability = card.getStabilityFactor();
-        BigDecimal newStability = currentStability;
-
-        switch (outcome) {
-            case AGAIN:
-                newStability = currentStability.multiply(new BigDecimal("0.5"));
-                break;
-            case HARD:
-                newStability = currentStability.multiply(new BigDecimal("0.8"));
-                break;
-            case GOOD:
-                newStability = currentStability.multiply(new BigDecimal("1.1"));
-                break;
-            case EASY:
-                newStability = currentStability.multiply(new BigDecimal("1.3"));
-                break;
-        }
+        scheduler.review(state, outcome, elapsedDays);
 
-        // Ensure stability doesn't go below minimum
-        newStability = newStability.max(new BigDecimal("0.1"));
-        card.setStabilityFactor(newStability.setScale(2, RoundingMode.HALF_UP));
+        card.setIntervalDays(state.intervalDays);
+        if (state.easeHundredths != ease) {
+            card.setEaseFactor(FixedPoint.toBigDecimal(state.easeHundredths));
+        }
+        if (state.stabilityHundredths != stability) {
+            card.setStabilityFactor(FixedPoint.toBigDecimal(state.stabilityHundredths));
+        }
+        if (state.memoryStabilityHundredths != memoryStability || state.memoryDifficultyHundredths != memoryDifficulty) {
+            card.setMemoryStability(FixedPoint.toBigDecimal(state.memoryStabilityHundredths));
+            card.setMemoryDifficulty(FixedPoint.toBigDecimal(state.memoryDifficultyHundredths));
+        }
     }
 
     private void calculateNextReviewDate(SpacedRepetitionCard card) {
-        LocalDateTime nextReview = LocalDateTime.now().plusDays(card.getIntervalDays());
+        LocalDateTime now = LocalDateTime.now();
+        int interval = card.getIntervalDays();
+        if (loadBalanceEnabled && dueCardIndex.isEnabled() && LoadBalancer.fuzzRange(interval) > 0) {
+            // Move the review to the least loaded day near the interval, using the index's per-day counts
+            int earliest = LoadBalancer.earliest(interval);
+            int[] loads = dueCardIndex.countDueByDay(card.getUser(), now.toLocalDate().plusDays(earliest),
+                LoadBalancer.latest(interval) - earliest + 1);
+            interval = LoadBalancer.place(interval, loads, ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE));
+            card.setIntervalDays(interval);
+        }
+        LocalDateTime nextReview = now.plusDays(interval);
         card.setNextReview(nextReview);
         card.setDueDate(nextReview);
     }
@@ -288,17 +357,11 @@ public class SpacedRepetitionService {
 
         for (SpacedRepetitionCard card : cards) {
             if (card.getPerformanceIndex() != null) {
-                double performance = card.getPerformanceIndex().doubleValue();
-
-                // Adjust ease factor based on performance
-                if (performance < 30.0) {
-                    // Poor performance - make reviews more frequent
-                    BigDecimal newEaseFactor = card.getEaseFactor().subtract(new BigDecimal("0.1"));
-                    card.setEaseFactor(newEaseFactor.max(MINIMUM_EASE_FACTOR));
-                } else if (performance > 80.0) {
-                    // Excellent performance - allow longer intervals
-                    BigDecimal newEaseFactor = card.getEaseFactor().add(new BigDecimal("0.05"));
-                    card.setEaseFactor(newEaseFactor.min(MAXIMUM_EASE_FACTOR));
+                // Poor performance makes reviews more frequent, excellent performance allows longer intervals
+                int ease = (int) FixedPoint.toHundredths(card.getEaseFactor());
+                int adjusted = Sm2Scheduler.adjustedEase(FixedPoint.toHundredths(card.getPerformanceIndex()), ease);
+                if (adjusted != ease) {
+                    card.setEaseFactor(FixedPoint.toBigDecimal(adjusted));
                 }
             }
         }
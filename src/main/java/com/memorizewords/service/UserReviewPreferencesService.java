@@ -30,6 +30,7 @@ public class UserReviewPreferencesService {
 
     private final UserReviewPreferencesRepository preferencesRepository;
     private final UserRepository userRepository;
+    private final ReviewPreferencesCache preferencesCache;
 
     private static final int DEFAULT_DAILY_REVIEW_LIMIT = 50;
     private static final int DEFAULT_DAILY_NEW_CARD_LIMIT = 10;
@@ -41,6 +42,14 @@ public class UserReviewPreferencesService {
             .orElseGet(() -> createDefaultPreferences(user));
     }
 
+    /**
+     * Cached, read-only view of the user's preferences for hot paths such as
+     * session start and card selection.
+     */
+    public ReviewPreferencesSnapshot getPreferencesSnapshot(User user) {
+        return preferencesCache.get(user.getId(), () -> ReviewPreferencesSnapshot.from(getPreferences(user)));
+    }
+
     public UserReviewPreferences getPreferences(Long userId) {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
@@ -138,6 +147,7 @@ public class UserReviewPreferencesService {
         }
 
         UserReviewPreferences saved = preferencesRepository.save(preferences);
+        preferencesCache.invalidate(user.getId());
         log.info("Successfully updated preferences for user {}", user.getId());
 
         return saved;
@@ -215,6 +225,7 @@ public class UserReviewPreferencesService {
         preferencesRepository.delete(preferences);
 
         createDefaultPreferences(user);
+        preferencesCache.invalidate(user.getId());
     }
 
     public void resetToDefaults(Long userId) {
@@ -224,12 +235,12 @@ public class UserReviewPreferencesService {
     }
 
     public boolean shouldShowNotification(User user, LocalTime currentTime) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
         return preferences.shouldShowNotification(currentTime);
     }
 
     public int getEffectiveDailyLimit(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
 
         if (preferences.isInVacationMode()) {
             return 0;
@@ -244,7 +255,7 @@ public class UserReviewPreferencesService {
     }
 
     public int getEffectiveNewCardLimit(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
 
         if (preferences.isInVacationMode()) {
             return 0;
@@ -254,18 +265,18 @@ public class UserReviewPreferencesService {
     }
 
     public ReviewMode getDefaultReviewMode(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
         return preferences.getDefaultReviewMode();
     }
 
     public List<ReviewMode> getPreferredReviewModes(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
         return preferences.getPreferredModes().stream()
             .collect(Collectors.toList());
     }
 
     public boolean isCardTypeIncluded(User user, WordType wordType) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
         return preferences.isCardTypeIncluded(wordType);
     }
 
@@ -273,24 +284,28 @@ public class UserReviewPreferencesService {
         UserReviewPreferences preferences = getPreferences(user);
         preferences.addPreferredMode(mode);
         preferencesRepository.save(preferences);
+        preferencesCache.invalidate(user.getId());
     }
 
     public void removePreferredReviewMode(User user, ReviewMode mode) {
         UserReviewPreferences preferences = getPreferences(user);
         preferences.removePreferredMode(mode);
         preferencesRepository.save(preferences);
+        preferencesCache.invalidate(user.getId());
     }
 
     public void setNotificationTime(User user, LocalTime time) {
         UserReviewPreferences preferences = getPreferences(user);
         preferences.addNotificationTime(time);
         preferencesRepository.save(preferences);
+        preferencesCache.invalidate(user.getId());
     }
 
     public void removeNotificationTime(User user, LocalTime time) {
         UserReviewPreferences preferences = getPreferences(user);
         preferences.removeNotificationTime(time);
         preferencesRepository.save(preferences);
+        preferencesCache.invalidate(user.getId());
     }
 
     public void setVacationMode(User user, boolean vacationMode) {
@@ -304,45 +319,46 @@ public class UserReviewPreferencesService {
         preferences.setVacationStartDate(startDate);
         preferences.setVacationEndDate(endDate);
         preferencesRepository.save(preferences);
+        preferencesCache.invalidate(user.getId());
     }
 
     public Set<WordType> getIncludedCardTypes(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
         return preferences.getIncludedCardTypes();
     }
 
     public Set<WordType> getExcludedCardTypes(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
         return preferences.getExcludedCardTypes();
     }
 
     public List<LocalTime> getNotificationTimes(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
         return preferences.getNotificationTimes();
     }
 
     public boolean isAdaptiveDifficultyEnabled(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
-        return preferences.getAdaptiveDifficulty() != null && preferences.getAdaptiveDifficulty();
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
+        return preferences.isAdaptiveDifficulty();
     }
 
     public boolean isStreakProtectionEnabled(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
-        return preferences.getEnableStreakProtection() != null && preferences.getEnableStreakProtection();
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
+        return preferences.isEnableStreakProtection();
     }
 
     public boolean areLearningInsightsEnabled(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
-        return preferences.getEnableLearningInsights() != null && preferences.getEnableLearningInsights();
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
+        return preferences.isEnableLearningInsights();
     }
 
     public boolean areAchievementsEnabled(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
-        return preferences.getEnableAchievements() != null && preferences.getEnableAchievements();
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
+        return preferences.isEnableAchievements();
     }
 
     public boolean isAdvancedAlgorithmEnabled(User user) {
-        UserReviewPreferences preferences = getPreferences(user);
-        return preferences.getUseAdvancedAlgorithm() != null && preferences.getUseAdvancedAlgorithm();
+        ReviewPreferencesSnapshot preferences = getPreferencesSnapshot(user);
+        return preferences.isUseAdvancedAlgorithm();
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.UserStatistics;
+import com.memorizewords.repository.UserDailyReviewRollupRepository;
+import com.memorizewords.repository.UserRepository;
+import com.memorizewords.repository.UserStatisticsRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service maintaining per-user review streaks in {@link UserStatistics}.
+ *
+ * Streaks are updated incrementally as sessions complete, so reads are a
+ * single row lookup. {@link #rebuildStreaks()} recomputes every user's streak
+ * from the daily review rollups in one pass.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class UserStreakService {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final UserStatisticsRepository statisticsRepository;
+    private final UserDailyReviewRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    @Value("${review.streaks.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    public void recordActivity(User user, LocalDate day) {
+        UserStatistics statistics = statisticsRepository.findByUserForUpdate(user)
+            .orElseGet(() -> {
+                // First activity of the user. With the user locked, a concurrent
+                // completion waits here and then finds the row this one creates.
+                userRepository.findByIdForUpdate(user.getId());
+                return statisticsRepository.findByUserForUpdate(user).orElseGet(() -> new UserStatistics(user));
+            });
+        statistics.recordActivityOn(day);
+        statisticsRepository.save(statistics);
+    }
+
+    @Transactional(readOnly = true)
+    public int getCurrentStreak(User user) {
+        return statisticsRepository.findByUser(user)
+            .map(statistics -> statistics.getCurrentStreakAsOf(LocalDate.now()))
+            .orElse(0);
+    }
+
+    @Transactional(readOnly = true)
+    public int getLongestStreak(User user) {
+        return statisticsRepository.findByUser(user)
+            .map(UserStatistics::getLongestStreak)
+            .orElse(0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildStreaksOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildStreaks();
+        }
+    }
+
+    /**
+     * Recomputes current and longest streaks for all users from the days
+     * with a completed review session in the daily rollups. Active days
+     * arrive ordered by user and day, so each user's streak is folded in a
+     * single pass and written in batches. Each batch is flushed and
+     * detached, so memory stays flat however many users there are; the
+     * streamed rows are projections and are not affected.
+     */
+    public int rebuildStreaks() {
+        log.info("Rebuilding review streaks from daily review rollups");
+
+        Map<Long, UserStatistics> pending = new HashMap<>();
+        int users = 0;
+
+        try (Stream<UserDailyReviewRollupRepository.ActiveDay> days = rollupRepository.streamActiveDays()) {
+            Iterator<UserDailyReviewRollupRepository.ActiveDay> iterator = days.iterator();
+            Long currentUserId = null;
+            UserStatistics current = null;
+
+            while (iterator.hasNext()) {
+                UserDailyReviewRollupRepository.ActiveDay activeDay = iterator.next();
+                if (!activeDay.getUserId().equals(currentUserId)) {
+                    if (pending.size() >= REBUILD_BATCH_SIZE) {
+                        writeStreaks(pending);
+                    }
+                    currentUserId = activeDay.getUserId();
+                    current = new UserStatistics();
+                    current.setCurrentStreak(0);
+                    current.setLongestStreak(0);
+                    pending.put(currentUserId, current);
+                    users++;
+                }
+                current.recordActivityOn(activeDay.getDay());
+            }
+        }
+        writeStreaks(pending);
+
+        log.info("Rebuilt review streaks for {} users", users);
+        return users;
+    }
+
+    private void writeStreaks(Map<Long, UserStatistics> computed) {
+        if (computed.isEmpty()) {
+            return;
+        }
+
+        Map<Long, UserStatistics> existing = statisticsRepository.findByUserIdIn(computed.keySet()).stream()
+            .collect(Collectors.toMap(statistics -> statistics.getUser().getId(), Function.identity()));
+
+        List<UserStatistics> toSave = new ArrayList<>(computed.size());
+        computed.forEach((userId, streak) -> {
+            UserStatistics statistics = existing.get(userId);
+            if (statistics == null) {
+                statistics = new UserStatistics(userRepository.getReferenceById(userId));
+            }
+            statistics.setCurrentStreak(streak.getCurrentStreak());
+            statistics.setLongestStreak(streak.getLongestStreak());
+            statistics.setLastActivityDate(streak.getLastActivityDate());
+            toSave.add(statistics);
+        });
+
+        statisticsRepository.saveAll(toSave);
+        entityManager.flush();
+        entityManager.clear();
+        computed.clear();
+    }
+}
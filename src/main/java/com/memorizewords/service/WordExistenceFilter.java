@@ -0,0 +1,363 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.Word;
+import com.memorizewords.repository.WordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bloom filter over the normalized (word, language) keys of all words, in
+ * front of the exact duplicate checks on the write paths.
+ *
+ * A negative answer means the word definitely does not exist, so creating
+ * a new word needs no lookup; only possible hits are checked against the
+ * database. Keys are added before the inserting transaction commits, so a
+ * committed word is always in the filter. Deleted and rolled-back words
+ * stay in the filter as false positives until the next rebuild, which
+ * also resizes it for the current number of words.
+ *
+ * The filter only answers once it has been built. Until then every word is
+ * a possible hit and the callers query as before.
+ */
+@Component
+@Slf4j
+public class WordExistenceFilter {
+
+    private final WordRepository wordRepository;
+    private final boolean enabled;
+    private final long expectedWords;
+    private final double falsePositiveRate;
+    private final int loadPageSize;
+    // Readers and writers of the bits share the read lock; a rebuild takes
+    // the write lock to start collecting keys for the new filter and to swap it in
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile BloomFilter filter;
+    private BloomFilter building;
+    private final AtomicBoolean overCapacityLogged = new AtomicBoolean();
+    private final AtomicLong definitelyNew = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private final Counter definitelyNewCounter;
+    private final Counter possibleHitCounter;
+    private final Counter falsePositiveCounter;
+
+    public WordExistenceFilter(WordRepository wordRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${search.existence-filter.enabled:true}") boolean enabled,
+                               @Value("${search.existence-filter.expected-words:1000000}") long expectedWords,
+                               @Value("${search.existence-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${search.existence-filter.load-page-size:1000}") int loadPageSize) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1: " + falsePositiveRate);
+        }
+        this.wordRepository = wordRepository;
+        this.enabled = enabled;
+        this.expectedWords = expectedWords;
+        this.falsePositiveRate = falsePositiveRate;
+        this.loadPageSize = loadPageSize;
+
+        this.definitelyNewCounter = Counter.builder("words.existence_filter.checks.total")
+            .tag("result", "definitely_new")
+            .description("Duplicate checks answered by the filter without a query")
+            .register(meterRegistry);
+        this.possibleHitCounter = Counter.builder("words.existence_filter.checks.total")
+            .tag("result", "possible_hit")
+            .description("Duplicate checks passed on to the database")
+            .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("words.existence_filter.false_positives.total")
+            .description("Possible hits for words the database did not contain")
+            .register(meterRegistry);
+        Gauge.builder("words.existence_filter.false_positive_rate", this, WordExistenceFilter::observedFalsePositiveRate)
+            .description("Share of checks for new words that the filter reported as possible hits")
+            .register(meterRegistry);
+        Gauge.builder("words.existence_filter.expected_false_positive_rate", this, WordExistenceFilter::expectedFalsePositiveRate)
+            .description("False positive rate implied by the bits currently set")
+            .register(meterRegistry);
+        Gauge.builder("words.existence_filter.words", this, WordExistenceFilter::size)
+            .description("Keys added to the filter since it was built")
+            .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return enabled && filter != null;
+    }
+
+    /**
+     * Whether the word may already exist. False means it definitely does
+     * not; true means the caller has to check the database and should
+     * report a miss with {@link #recordFalsePositives(int)}.
+     */
+    public boolean mightContain(String word, String language) {
+        BloomFilter current = filter;
+        if (!enabled || current == null) {
+            return true;
+        }
+        if (current.mightContain(key(word, language))) {
+            possibleHitCounter.increment();
+            return true;
+        }
+        definitelyNew.incrementAndGet();
+        definitelyNewCounter.increment();
+        return false;
+    }
+
+    /**
+     * Counts possible hits that the database showed to be new words.
+     */
+    public void recordFalsePositives(int count) {
+        if (count > 0) {
+            falsePositives.addAndGet(count);
+            falsePositiveCounter.increment(count);
+        }
+    }
+
+    /**
+     * Adds the word right away, before its transaction commits, so no
+     * committed word is ever missing from the filter.
+     */
+    public void put(Word word) {
+        if (!enabled) {
+            return;
+        }
+        put(key(word.getWord(), word.getLanguage()));
+    }
+
+    public void putAll(Collection<Word> words) {
+        if (!enabled) {
+            return;
+        }
+        for (Word word : words) {
+            put(key(word.getWord(), word.getLanguage()));
+        }
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rebuilds the filter from the database, sized for twice the current
+     * number of words or {@code expected-words}, whichever is larger. Keys
+     * added while loading go into both filters. The previous filter keeps
+     * answering until the new one replaces it. A word added before the
+     * rebuild started but committed after its scan is missed, which at worst
+     * lets one duplicate through, as a concurrent check-then-insert could.
+     */
+    public long rebuild() {
+        Rebuild rebuild = startRebuild();
+        WordIndexLoader.scan(wordRepository, loadPageSize, List.of(rebuild));
+        return rebuild.rebuilt.size();
+    }
+
+    /**
+     * Starts a rebuild to be fed from a scan of the words table. Keys added
+     * until it finishes go into the new filter too.
+     */
+    Rebuild startRebuild() {
+        long capacity = Math.max(expectedWords, 2 * wordRepository.count());
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        log.info("Building word existence filter for {} words: {} bits, {} hashes",
+            capacity, rebuilt.bitSize, rebuilt.hashCount);
+
+        lock.writeLock().lock();
+        try {
+            building = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Rebuild(rebuilt);
+    }
+
+    public long size() {
+        BloomFilter current = filter;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * False positives among the checks of words that turned out to be new,
+     * since the filter was built.
+     */
+    public double observedFalsePositiveRate() {
+        long positives = falsePositives.get();
+        long checksOfNewWords = definitelyNew.get() + positives;
+        return checksOfNewWords > 0 ? (double) positives / checksOfNewWords : 0.0;
+    }
+
+    public double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current != null ? current.expectedFalsePositiveRate() : 0.0;
+    }
+
+    private void put(String key) {
+        lock.readLock().lock();
+        try {
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(key);
+                if (current.size() > current.capacity && overCapacityLogged.compareAndSet(false, true)) {
+                    log.warn("Word existence filter holds {} words, more than the {} it was sized for; "
+                        + "false positives will rise until it is rebuilt", current.size(), current.capacity);
+                }
+            }
+            if (building != null) {
+                building.put(key);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The filter of a rebuild.
+     */
+    final class Rebuild implements WordIndexLoader.Load {
+
+        private final BloomFilter rebuilt;
+
+        private Rebuild(BloomFilter rebuilt) {
+            this.rebuilt = rebuilt;
+        }
+
+        @Override
+        public void load(List<WordRepository.WordPrefixRow> rows) {
+            for (WordRepository.WordPrefixRow row : rows) {
+                rebuilt.put(key(row.getWord(), row.getLanguage()));
+            }
+        }
+
+        @Override
+        public void finish() {
+            lock.writeLock().lock();
+            try {
+                filter = rebuilt;
+                building = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            overCapacityLogged.set(false);
+            definitelyNew.set(0);
+            falsePositives.set(0);
+            log.info("Built word existence filter with {} words", rebuilt.size());
+        }
+
+        @Override
+        public void abort() {
+            lock.writeLock().lock();
+            try {
+                building = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    static String key(String word, String language) {
+        return WordNormalizer.matchKey(word, language);
+    }
+
+    /**
+     * Fixed-size Bloom filter safe for concurrent use. The k bit positions
+     * of a key are derived from two 64-bit hashes by double hashing.
+     */
+    static final class BloomFilter {
+
+        final long capacity;
+        final long bitSize;
+        final int hashCount;
+        private final AtomicLongArray words;
+        private final AtomicLong bitsSet = new AtomicLong();
+        private final AtomicLong keys = new AtomicLong();
+
+        BloomFilter(long capacity, double falsePositiveRate) {
+            this.capacity = Math.max(1, capacity);
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-this.capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bitSize = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitSize / this.capacity * ln2));
+            this.words = new AtomicLongArray(Math.toIntExact(bitSize / Long.SIZE));
+        }
+
+        void put(String key) {
+            long hash = hash(key);
+            long first = mix(hash);
+            long second = mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+            boolean added = false;
+            for (int i = 0; i < hashCount; i++) {
+                if (set(Long.remainderUnsigned(first + i * second, bitSize))) {
+                    added = true;
+                }
+            }
+            if (added) {
+                keys.incrementAndGet();
+            }
+        }
+
+        boolean mightContain(String key) {
+            long hash = hash(key);
+            long first = mix(hash);
+            long second = mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Long.remainderUnsigned(first + i * second, bitSize);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Keys that set at least one new bit, a close lower bound of the
+         * distinct keys added.
+         */
+        long size() {
+            return keys.get();
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow((double) bitsSet.get() / bitSize, hashCount);
+        }
+
+        private boolean set(long bit) {
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            while (true) {
+                long current = words.get(index);
+                if ((current & mask) != 0) {
+                    return false;
+                }
+                if (words.compareAndSet(index, current, current | mask)) {
+                    bitsSet.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+
+        private static long hash(String key) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb53a2d4b3ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
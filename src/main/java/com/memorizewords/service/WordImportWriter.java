@@ -0,0 +1,101 @@
+package com.memorizewords.service;
+
+import com.memorizewords.dto.request.CreateWordRequest;
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.Word;
+import com.memorizewords.repository.WordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Persists one chunk of a bulk import in its own transaction.
+ *
+ * Duplicates are resolved with a single lookup per chunk instead of one
+ * query per word, restricted to the words the existence filter cannot rule
+ * out, and each chunk commits independently so a large import never holds
+ * a long-running transaction or a growing persistence context.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WordImportWriter {
+
+    private final WordRepository wordRepository;
+    private final WordSearchIndex searchIndex;
+    private final WordPrefixIndex prefixIndex;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final WordExistenceFilter existenceFilter;
+
+    /**
+     * Inserts the words of a chunk that do not exist yet.
+     *
+     * @return the requests skipped because the word already exists, either
+     *         in the database or earlier in the same chunk
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<CreateWordRequest> writeChunk(List<CreateWordRequest> requests, User user) {
+        Set<String> words = new HashSet<>();
+        Set<String> languages = new HashSet<>();
+        Set<String> possibleKeys = new HashSet<>();
+        for (CreateWordRequest request : requests) {
+            String word = WordNormalizer.normalize(request.getWord());
+            String language = WordNormalizer.normalizeLanguage(request.getLanguage());
+            if (existenceFilter.mightContain(word, language)) {
+                words.add(word);
+                languages.add(language);
+                possibleKeys.add(WordNormalizer.matchKey(word, language));
+            }
+        }
+
+        Set<String> seen = new HashSet<>();
+        if (!words.isEmpty()) {
+            for (WordRepository.WordKey existing : wordRepository.findExistingKeys(words, languages)) {
+                seen.add(WordNormalizer.matchKey(existing.getWord(), existing.getLanguage()));
+            }
+            possibleKeys.removeAll(seen);
+            existenceFilter.recordFalsePositives(possibleKeys.size());
+        }
+
+        List<Word> toInsert = new ArrayList<>(requests.size());
+        List<CreateWordRequest> duplicates = new ArrayList<>();
+        for (CreateWordRequest request : requests) {
+            if (seen.add(WordNormalizer.matchKey(request.getWord(), request.getLanguage()))) {
+                toInsert.add(toEntity(request, user));
+            } else {
+                duplicates.add(request);
+            }
+        }
+
+        List<Word> inserted = wordRepository.saveAll(toInsert);
+        existenceFilter.putAll(inserted);
+        searchIndex.indexAll(inserted);
+        prefixIndex.addAll(inserted);
+        nearDuplicateIndex.addAll(inserted);
+        log.debug("Imported chunk: {} inserted, {} duplicates", toInsert.size(), duplicates.size());
+
+        return duplicates;
+    }
+
+    private Word toEntity(CreateWordRequest request, User user) {
+        Word word = new Word();
+        word.setWord(WordNormalizer.normalize(request.getWord()));
+        word.setLanguage(WordNormalizer.normalizeLanguage(request.getLanguage()));
+        word.setDefinition(request.getDefinition());
+        word.setPronunciation(request.getPronunciation());
+        word.setExample(request.getExample());
+        word.setDifficulty(request.getDifficulty());
+        word.setCategories(new HashSet<>(request.getCategories()));
+        word.setTags(new HashSet<>(request.getTags()));
+        word.setCreatedBy(user);
+        word.setIsPublic(request.getIsPublic());
+        return word;
+    }
+}
@@ -0,0 +1,105 @@
+package com.memorizewords.service;
+
+import com.memorizewords.repository.WordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the in-memory word indexes at startup from a single keyset scan of
+ * the words table.
+ *
+ * {@link WordPrefixIndex}, {@link NearDuplicateIndex} and
+ * {@link WordExistenceFilter} all load the same (id, word, language) rows,
+ * so every page is handed to each enabled index instead of each index
+ * scanning the table on its own.
+ */
+@Component
+@Slf4j
+public class WordIndexLoader {
+
+    private final WordRepository wordRepository;
+    private final WordPrefixIndex prefixIndex;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final WordExistenceFilter existenceFilter;
+    private final int loadPageSize;
+
+    public WordIndexLoader(WordRepository wordRepository,
+                           WordPrefixIndex prefixIndex,
+                           NearDuplicateIndex nearDuplicateIndex,
+                           WordExistenceFilter existenceFilter,
+                           @Value("${search.word-indexes.load-page-size:1000}") int loadPageSize) {
+        this.wordRepository = wordRepository;
+        this.prefixIndex = prefixIndex;
+        this.nearDuplicateIndex = nearDuplicateIndex;
+        this.existenceFilter = existenceFilter;
+        this.loadPageSize = loadPageSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        List<Load> loads = new ArrayList<>();
+        if (prefixIndex.isEnabled()) {
+            loads.add(prefixIndex.startRebuild());
+        }
+        if (nearDuplicateIndex.isEnabled()) {
+            loads.add(nearDuplicateIndex.startRebuild());
+        }
+        if (existenceFilter.isEnabled()) {
+            loads.add(existenceFilter.startRebuild());
+        }
+        scan(wordRepository, loadPageSize, loads);
+    }
+
+    /**
+     * Feeds every page of word rows, in id order, to each load and then
+     * finishes them. If the scan or any load fails, every load is aborted
+     * and the indexes keep what they served before.
+     */
+    static void scan(WordRepository wordRepository, int pageSize, List<? extends Load> loads) {
+        if (loads.isEmpty()) {
+            return;
+        }
+        try {
+            long afterId = 0L;
+            while (true) {
+                List<WordRepository.WordPrefixRow> rows = wordRepository.findPrefixRows(afterId, PageRequest.of(0, pageSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Load load : loads) {
+                    load.load(rows);
+                }
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            loads.forEach(Load::abort);
+            throw e;
+        }
+        loads.forEach(Load::finish);
+    }
+
+    /**
+     * One rebuild of an index, fed the pages of a scan.
+     */
+    interface Load {
+
+        void load(List<WordRepository.WordPrefixRow> rows);
+
+        /**
+         * Replaces the index with the rebuilt one.
+         */
+        void finish();
+
+        /**
+         * Drops the rebuild; the index keeps serving as before.
+         */
+        void abort();
+    }
+}
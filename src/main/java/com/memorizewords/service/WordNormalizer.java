@@ -0,0 +1,48 @@
+package com.memorizewords.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The form a word is stored, indexed and looked up in. Every write path and
+ * every in-memory word index goes through it, so a word is never stored in
+ * one form and looked up in another.
+ */
+final class WordNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private WordNormalizer() {
+    }
+
+    /**
+     * Lower-cases the word independently of the default locale and trims it.
+     * A null word normalizes to the empty string.
+     */
+    static String normalize(String word) {
+        return word != null ? word.toLowerCase(Locale.ROOT).trim() : "";
+    }
+
+    /**
+     * Lower-cases and trims a language name the same way. A null language
+     * stays null, meaning any language on lookups.
+     */
+    static String normalizeLanguage(String language) {
+        return language != null ? language.toLowerCase(Locale.ROOT).trim() : null;
+    }
+
+    /**
+     * Key of a (word, language) pair with case and accents folded, the way
+     * the database collation compares them. Pairs the database treats as the
+     * same word, such as "Café" in "English" and "cafe" in "english", share
+     * a key.
+     */
+    static String matchKey(String word, String language) {
+        return fold(normalize(word)) + '\u0000' + fold(normalize(language));
+    }
+
+    private static String fold(String normalized) {
+        return COMBINING_MARKS.matcher(Normalizer.normalize(normalized, Normalizer.Form.NFD)).replaceAll("");
+    }
+}
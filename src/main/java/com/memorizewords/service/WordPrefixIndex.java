@@ -0,0 +1,527 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.Word;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import com.memorizewords.repository.WordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory autocomplete over words, one radix trie per language.
+ *
+ * Every node keeps the best {@code top-k} words of its subtree ranked by
+ * popularity, the number of cards created for the word, so completing a
+ * prefix is a walk down the prefix followed by a copy of that node's list.
+ * Words are added and removed after their transaction commits. Popularity
+ * is read when the index is built, at startup or through {@link #rebuild()};
+ * words added later start at zero until the next rebuild.
+ */
+@Component
+@Slf4j
+public class WordPrefixIndex {
+
+    private final WordRepository wordRepository;
+    private final SpacedRepetitionCardRepository cardRepository;
+    private final boolean enabled;
+    private final int topK;
+    private final int loadPageSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Dictionary dictionary;
+    // Changes committed while a rebuild is reading the database, replayed onto its result
+    private List<Change> pendingChanges;
+
+    public WordPrefixIndex(WordRepository wordRepository,
+                           SpacedRepetitionCardRepository cardRepository,
+                           @Value("${search.prefix-index.enabled:true}") boolean enabled,
+                           @Value("${search.prefix-index.top-k:10}") int topK,
+                           @Value("${search.prefix-index.load-page-size:1000}") int loadPageSize) {
+        this.wordRepository = wordRepository;
+        this.cardRepository = cardRepository;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.loadPageSize = loadPageSize;
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return enabled && dictionary != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of up to {@code limit} words starting with {@code prefix}, most
+     * popular first. A null language completes across all languages.
+     */
+    public List<Long> complete(String prefix, String language, int limit) {
+        String key = WordNormalizer.normalize(prefix);
+        lock.readLock().lock();
+        try {
+            if (dictionary == null || limit <= 0) {
+                return List.of();
+            }
+            List<Suggestion> suggestions;
+            if (language != null) {
+                PrefixTrie trie = dictionary.tries.get(WordNormalizer.normalizeLanguage(language));
+                suggestions = trie != null ? trie.complete(key, limit) : List.of();
+            } else {
+                suggestions = new ArrayList<>();
+                for (PrefixTrie trie : dictionary.tries.values()) {
+                    suggestions.addAll(trie.complete(key, limit));
+                }
+                suggestions.sort(Suggestion.BEST_FIRST);
+                if (suggestions.size() > limit) {
+                    suggestions = suggestions.subList(0, limit);
+                }
+            }
+            return suggestions.stream().map(suggestion -> suggestion.id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the word once the current transaction commits.
+     */
+    public void add(Word word) {
+        if (!enabled || word.getId() == null) {
+            return;
+        }
+        Change change = new Change(word.getId(), word.getWord(), WordNormalizer.normalizeLanguage(word.getLanguage()), false);
+        TransactionCallbacks.afterCommit(() -> apply(List.of(change)));
+    }
+
+    public void addAll(Collection<Word> words) {
+        if (!enabled) {
+            return;
+        }
+        List<Change> changes = new ArrayList<>(words.size());
+        for (Word word : words) {
+            if (word.getId() != null) {
+                changes.add(new Change(word.getId(), word.getWord(), WordNormalizer.normalizeLanguage(word.getLanguage()), false));
+            }
+        }
+        TransactionCallbacks.afterCommit(() -> apply(changes));
+    }
+
+    public void remove(Long wordId) {
+        if (!enabled) {
+            return;
+        }
+        Change change = new Change(wordId, null, null, true);
+        TransactionCallbacks.afterCommit(() -> apply(List.of(change)));
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rebuilds every trie from the database, with current popularity. The
+     * previous tries keep serving until the new ones replace them.
+     */
+    public int rebuild() {
+        Rebuild rebuild = startRebuild();
+        WordIndexLoader.scan(wordRepository, loadPageSize, List.of(rebuild));
+        return rebuild.rebuilt.entries.size();
+    }
+
+    /**
+     * Starts a rebuild to be fed from a scan of the words table. Changes
+     * applied until it finishes are replayed onto its result.
+     */
+    Rebuild startRebuild() {
+        log.info("Building word prefix index");
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return new Rebuild(new Dictionary(topK));
+    }
+
+    private void apply(List<Change> changes) {
+        lock.writeLock().lock();
+        try {
+            for (Change change : changes) {
+                if (dictionary != null) {
+                    dictionary.apply(change);
+                }
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record Change(long id, String word, String language, boolean removed) {
+    }
+
+    /**
+     * The tries of a rebuild, loaded with the popularity of each page.
+     */
+    final class Rebuild implements WordIndexLoader.Load {
+
+        private final Dictionary rebuilt;
+
+        private Rebuild(Dictionary rebuilt) {
+            this.rebuilt = rebuilt;
+        }
+
+        @Override
+        public void load(List<WordRepository.WordPrefixRow> rows) {
+            Map<Long, Integer> popularity = new HashMap<>();
+            List<Long> ids = rows.stream().map(WordRepository.WordPrefixRow::getId).toList();
+            for (SpacedRepetitionCardRepository.WordCardCount count : cardRepository.countCardsByWordIdIn(ids)) {
+                popularity.put(count.getWordId(), count.getCards().intValue());
+            }
+            for (WordRepository.WordPrefixRow row : rows) {
+                rebuilt.load(new Suggestion(row.getId(), WordNormalizer.normalize(row.getWord()),
+                    popularity.getOrDefault(row.getId(), 0)), WordNormalizer.normalizeLanguage(row.getLanguage()));
+            }
+        }
+
+        @Override
+        public void finish() {
+            rebuilt.finishLoading();
+            lock.writeLock().lock();
+            try {
+                pendingChanges.forEach(rebuilt::apply);
+                pendingChanges = null;
+                dictionary = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Built word prefix index with {} words", rebuilt.entries.size());
+        }
+
+        @Override
+        public void abort() {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * A completion candidate. Ranked by popularity, then alphabetically.
+     */
+    static final class Suggestion {
+
+        static final Comparator<Suggestion> BEST_FIRST = Comparator
+            .comparingInt((Suggestion suggestion) -> -suggestion.popularity)
+            .thenComparing(suggestion -> suggestion.word)
+            .thenComparingLong(suggestion -> suggestion.id);
+
+        final long id;
+        final String word;
+        final int popularity;
+
+        Suggestion(long id, String word, int popularity) {
+            this.id = id;
+            this.word = word;
+            this.popularity = popularity;
+        }
+    }
+
+    /**
+     * The tries of all languages and the language of every indexed word,
+     * so a removal by id finds its trie.
+     */
+    static final class Dictionary {
+
+        private final int topK;
+        final Map<String, PrefixTrie> tries = new HashMap<>();
+        final Map<Long, Entry> entries = new HashMap<>();
+
+        Dictionary(int topK) {
+            this.topK = topK;
+        }
+
+        void load(Suggestion suggestion, String language) {
+            trie(language).insert(suggestion, false);
+            entries.put(suggestion.id, new Entry(suggestion, language));
+        }
+
+        void finishLoading() {
+            tries.values().forEach(PrefixTrie::computeTops);
+        }
+
+        void apply(Change change) {
+            Entry existing = entries.remove(change.id());
+            int popularity = 0;
+            if (existing != null) {
+                popularity = existing.suggestion.popularity;
+                PrefixTrie trie = tries.get(existing.language);
+                trie.remove(existing.suggestion.word, change.id());
+                if (trie.isEmpty()) {
+                    tries.remove(existing.language);
+                }
+            }
+            if (!change.removed()) {
+                Suggestion suggestion = new Suggestion(change.id(), WordNormalizer.normalize(change.word()), popularity);
+                trie(change.language()).insert(suggestion, true);
+                entries.put(change.id(), new Entry(suggestion, change.language()));
+            }
+        }
+
+        private PrefixTrie trie(String language) {
+            return tries.computeIfAbsent(language, l -> new PrefixTrie(topK));
+        }
+
+        private record Entry(Suggestion suggestion, String language) {
+        }
+    }
+
+    /**
+     * Radix trie whose edges carry whole substrings, so chains of single
+     * children collapse into one node. Each node holds the words ending at
+     * it and the best {@code topK} words of its subtree.
+     */
+    static final class PrefixTrie {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+        private final int topK;
+        private final Node root = new Node("");
+
+        PrefixTrie(int topK) {
+            this.topK = topK;
+        }
+
+        boolean isEmpty() {
+            return root.children.length == 0 && root.terminals.length == 0;
+        }
+
+        /**
+         * Inserts the word, splitting an edge where it diverges. With
+         * {@code maintainTops} the best lists along the path are updated in
+         * place; bulk loads skip this and call {@link #computeTops()} once.
+         */
+        void insert(Suggestion suggestion, boolean maintainTops) {
+            String key = suggestion.word;
+            List<Node> path = new ArrayList<>();
+            path.add(root);
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                int index = childIndex(node, key.charAt(i));
+                if (index < 0) {
+                    Node leaf = new Node(key.substring(i));
+                    node.children = insertChild(node.children, -index - 1, leaf);
+                    node = leaf;
+                    path.add(leaf);
+                    i = key.length();
+                    break;
+                }
+                Node child = node.children[index];
+                int common = commonLength(child.edge, key, i);
+                if (common < child.edge.length()) {
+                    Node middle = new Node(child.edge.substring(0, common));
+                    child.edge = child.edge.substring(common);
+                    middle.children = new Node[]{child};
+                    middle.top = child.top;
+                    node.children[index] = middle;
+                    child = middle;
+                }
+                node = child;
+                path.add(child);
+                i += common;
+            }
+            node.terminals = append(node.terminals, suggestion);
+
+            if (maintainTops) {
+                for (Node onPath : path) {
+                    onPath.top = offer(onPath.top, suggestion);
+                }
+            }
+        }
+
+        void remove(String key, long id) {
+            remove(root, key, 0, id);
+        }
+
+        private boolean remove(Node node, String key, int i, long id) {
+            boolean removed;
+            if (i == key.length()) {
+                int before = node.terminals.length;
+                node.terminals = Arrays.stream(node.terminals)
+                    .filter(suggestion -> suggestion.id != id)
+                    .toArray(Suggestion[]::new);
+                removed = node.terminals.length < before;
+            } else {
+                int index = childIndex(node, key.charAt(i));
+                if (index < 0 || !key.startsWith(node.children[index].edge, i)) {
+                    return false;
+                }
+                Node child = node.children[index];
+                removed = remove(child, key, i + child.edge.length(), id);
+                if (removed && child.terminals.length == 0) {
+                    if (child.children.length == 0) {
+                        node.children = removeChild(node.children, index);
+                    } else if (child.children.length == 1) {
+                        Node grandchild = child.children[0];
+                        grandchild.edge = child.edge + grandchild.edge;
+                        node.children[index] = grandchild;
+                    }
+                }
+            }
+            if (removed) {
+                node.top = bestOf(node);
+            }
+            return removed;
+        }
+
+        /**
+         * Up to {@code limit} words starting with the prefix, best first.
+         * Served from the node's best list when it is long enough, otherwise
+         * by collecting the whole subtree.
+         */
+        List<Suggestion> complete(String prefix, int limit) {
+            Node node = root;
+            int i = 0;
+            while (i < prefix.length()) {
+                int index = childIndex(node, prefix.charAt(i));
+                if (index < 0) {
+                    return List.of();
+                }
+                Node child = node.children[index];
+                int length = Math.min(child.edge.length(), prefix.length() - i);
+                if (!prefix.regionMatches(i, child.edge, 0, length)) {
+                    return List.of();
+                }
+                node = child;
+                i += length;
+            }
+
+            if (limit <= node.top.length || node.top.length < topK) {
+                return List.of(node.top).subList(0, Math.min(limit, node.top.length));
+            }
+            List<Suggestion> all = new ArrayList<>();
+            collect(node, all);
+            all.sort(Suggestion.BEST_FIRST);
+            return all.subList(0, Math.min(limit, all.size()));
+        }
+
+        void computeTops() {
+            computeTops(root);
+        }
+
+        private void computeTops(Node node) {
+            for (Node child : node.children) {
+                computeTops(child);
+            }
+            node.top = bestOf(node);
+        }
+
+        private Suggestion[] bestOf(Node node) {
+            List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(Suggestion.BEST_FIRST);
+            return candidates.subList(0, Math.min(topK, candidates.size())).toArray(NO_SUGGESTIONS);
+        }
+
+        private Suggestion[] offer(Suggestion[] top, Suggestion suggestion) {
+            int position = Arrays.binarySearch(top, suggestion, Suggestion.BEST_FIRST);
+            if (position >= 0) {
+                return top;
+            }
+            position = -position - 1;
+            if (position >= topK) {
+                return top;
+            }
+            Suggestion[] updated = new Suggestion[Math.min(topK, top.length + 1)];
+            System.arraycopy(top, 0, updated, 0, position);
+            updated[position] = suggestion;
+            System.arraycopy(top, position, updated, position + 1, updated.length - position - 1);
+            return updated;
+        }
+
+        private static void collect(Node node, List<Suggestion> into) {
+            into.addAll(Arrays.asList(node.terminals));
+            for (Node child : node.children) {
+                collect(child, into);
+            }
+        }
+
+        private static int childIndex(Node node, char first) {
+            int low = 0;
+            int high = node.children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = node.children[mid].edge.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+
+        private static int commonLength(String edge, String key, int offset) {
+            int length = Math.min(edge.length(), key.length() - offset);
+            int i = 0;
+            while (i < length && edge.charAt(i) == key.charAt(offset + i)) {
+                i++;
+            }
+            return i;
+        }
+
+        private static Node[] insertChild(Node[] children, int position, Node child) {
+            Node[] updated = new Node[children.length + 1];
+            System.arraycopy(children, 0, updated, 0, position);
+            updated[position] = child;
+            System.arraycopy(children, position, updated, position + 1, children.length - position);
+            return updated;
+        }
+
+        private static Node[] removeChild(Node[] children, int position) {
+            Node[] updated = new Node[children.length - 1];
+            System.arraycopy(children, 0, updated, 0, position);
+            System.arraycopy(children, position + 1, updated, position, children.length - position - 1);
+            return updated;
+        }
+
+        private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+            Suggestion[] updated = Arrays.copyOf(suggestions, suggestions.length + 1);
+            updated[suggestions.length] = suggestion;
+            return updated;
+        }
+
+        private static final class Node {
+
+            String edge;
+            Node[] children = NO_CHILDREN;
+            Suggestion[] terminals = NO_SUGGESTIONS;
+            Suggestion[] top = NO_SUGGESTIONS;
+
+            Node(String edge) {
+                this.edge = edge;
+            }
+        }
+    }
+}
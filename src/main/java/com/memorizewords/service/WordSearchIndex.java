@@ -0,0 +1,597 @@
+package com.memorizewords.service;
+
+import com.memorizewords.dto.request.WordSearchCriteria;
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.Word;
+import com.memorizewords.enums.DifficultyLevel;
+import com.memorizewords.enums.WordCategory;
+import com.memorizewords.repository.WordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over words for full-text search.
+ *
+ * Word, definition, example, tags and categories are tokenized into one
+ * posting list per term, and matches are ranked with BM25, with terms from
+ * the word itself weighted above labels and labels above free text. A query
+ * touches only the postings of its own terms, so its cost does not grow
+ * with the size of the words table. Every query term must match; terms of
+ * three or more characters also match longer terms they are a prefix of.
+ *
+ * The index is loaded once the application is ready and kept current by
+ * word changes applied after their transaction commits, so a rollback never
+ * leaves the index ahead of the database. Until loading finishes, callers
+ * fall back to querying the database.
+ */
+@Component
+@Slf4j
+public class WordSearchIndex {
+
+    static final int WORD_WEIGHT = 3;
+    static final int LABEL_WEIGHT = 2;
+    static final int TEXT_WEIGHT = 1;
+
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+    private final WordRepository wordRepository;
+    private final boolean enabled;
+    private final int loadPageSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final InvertedIndex index = new InvertedIndex();
+    // Words removed while loading, so a page read before the delete is not indexed afterwards
+    private final Set<Long> removedWhileLoading = new HashSet<>();
+    private volatile boolean ready;
+
+    public WordSearchIndex(WordRepository wordRepository,
+                           @Value("${search.index.enabled:true}") boolean enabled,
+                           @Value("${search.index.load-page-size:1000}") int loadPageSize) {
+        this.wordRepository = wordRepository;
+        this.enabled = enabled;
+        this.loadPageSize = loadPageSize;
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Whether every filter of the criteria can be answered from the index.
+     * Matching on part of a creator's username is left to the database.
+     */
+    public boolean supports(WordSearchCriteria criteria) {
+        return !StringUtils.hasText(criteria.getCreatedBy()) || criteria.getCreatedBy().equalsIgnoreCase("me");
+    }
+
+    /**
+     * Returns one page of ids of the words matching the criteria's search
+     * term and filters, best match first, among the public words and those
+     * created by {@code user}.
+     */
+    public Hits search(WordSearchCriteria criteria, User user, long offset, int limit) {
+        List<String> terms = queryTerms(criteria.getSearchTerm());
+        Predicate<Entry> filter = filter(criteria, user);
+        if (terms.isEmpty() || filter == null) {
+            return new Hits(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(terms, filter, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes the word's current fields once the current transaction commits.
+     */
+    public void index(Word word) {
+        if (!enabled || word.getId() == null) {
+            return;
+        }
+        Document document = Document.of(word);
+        TransactionCallbacks.afterCommit(() -> write(() -> index.upsert(document)));
+    }
+
+    public void indexAll(Collection<Word> words) {
+        if (!enabled) {
+            return;
+        }
+        List<Document> documents = new ArrayList<>(words.size());
+        for (Word word : words) {
+            if (word.getId() != null) {
+                documents.add(Document.of(word));
+            }
+        }
+        TransactionCallbacks.afterCommit(() -> write(() -> documents.forEach(index::upsert)));
+    }
+
+    public void remove(Long wordId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> write(() -> {
+            index.remove(wordId);
+            if (!ready) {
+                removedWhileLoading.add(wordId);
+            }
+        }));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Loads every word a page at a time, in id order. Words indexed by a
+     * concurrent change while loading are newer than the page and kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Loading word search index");
+
+        long afterId = 0L;
+        int loaded = 0;
+        while (true) {
+            List<WordRepository.WordSearchRow> rows = wordRepository.findSearchRows(afterId, PageRequest.of(0, loadPageSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = rows.stream().map(WordRepository.WordSearchRow::getId).toList();
+            Map<Long, Set<String>> tags = new HashMap<>();
+            for (WordRepository.WordTagRow row : wordRepository.findTagsByWordIdIn(ids)) {
+                tags.computeIfAbsent(row.getWordId(), id -> new HashSet<>()).add(row.getTag());
+            }
+            Map<Long, Set<WordCategory>> categories = new HashMap<>();
+            for (WordRepository.WordCategoryRow row : wordRepository.findCategoriesByWordIdIn(ids)) {
+                categories.computeIfAbsent(row.getWordId(), id -> EnumSet.noneOf(WordCategory.class)).add(row.getCategory());
+            }
+
+            List<Document> documents = new ArrayList<>(rows.size());
+            for (WordRepository.WordSearchRow row : rows) {
+                documents.add(Document.of(row, tags.getOrDefault(row.getId(), Set.of()),
+                    categories.getOrDefault(row.getId(), Set.of())));
+            }
+            write(() -> {
+                for (Document document : documents) {
+                    if (!index.contains(document.id()) && !removedWhileLoading.contains(document.id())) {
+                        index.upsert(document);
+                    }
+                }
+            });
+
+            loaded += rows.size();
+            afterId = rows.get(rows.size() - 1).getId();
+        }
+
+        write(() -> {
+            ready = true;
+            removedWhileLoading.clear();
+        });
+        log.info("Loaded word search index with {} words", loaded);
+    }
+
+    /**
+     * Lowercased runs of letters and digits, in order of appearance.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> queryTerms(String searchTerm) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(searchTerm)));
+        return terms.size() > MAX_QUERY_TERMS ? terms.subList(0, MAX_QUERY_TERMS) : terms;
+    }
+
+    /**
+     * Visibility and criteria filters over indexed entries, or null when the
+     * criteria cannot match any word.
+     */
+    private static Predicate<Entry> filter(WordSearchCriteria criteria, User user) {
+        Long userId = user != null ? user.getId() : null;
+        Predicate<Entry> filter = entry -> entry.isPublic || (userId != null && userId.equals(entry.ownerId));
+
+        if (StringUtils.hasText(criteria.getLanguage())) {
+            String language = criteria.getLanguage();
+            filter = filter.and(entry -> language.equals(entry.language));
+        }
+        if (criteria.getDifficulty() != null) {
+            DifficultyLevel difficulty = criteria.getDifficulty();
+            filter = filter.and(entry -> entry.difficulty == difficulty);
+        }
+        if (StringUtils.hasText(criteria.getCategory())) {
+            WordCategory category;
+            try {
+                category = WordCategory.valueOf(criteria.getCategory().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            int bit = 1 << category.ordinal();
+            filter = filter.and(entry -> (entry.categoryMask & bit) != 0);
+        }
+        if (StringUtils.hasText(criteria.getTag())) {
+            String tag = criteria.getTag();
+            filter = filter.and(entry -> Arrays.asList(entry.tags).contains(tag));
+        }
+        if (criteria.getIsPublic() != null) {
+            boolean isPublic = criteria.getIsPublic();
+            filter = filter.and(entry -> entry.isPublic == isPublic);
+        }
+        Long ownerId = criteria.getCreatedByUserId();
+        if (ownerId == null && userId != null && "me".equalsIgnoreCase(criteria.getCreatedBy())) {
+            ownerId = userId;
+        }
+        if (ownerId != null) {
+            Long owner = ownerId;
+            filter = filter.and(entry -> owner.equals(entry.ownerId));
+        }
+        return filter;
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * One page of matching word ids and the total number of matches.
+     */
+    public record Hits(List<Long> ids, long total) {
+    }
+
+    /**
+     * Searchable fields of a word, captured inside the transaction that
+     * changed it.
+     */
+    record Document(long id, String word, String language, String definition, String example,
+                    DifficultyLevel difficulty, Set<WordCategory> categories, Set<String> tags,
+                    boolean isPublic, Long ownerId) {
+
+        static Document of(Word word) {
+            return new Document(word.getId(), word.getWord(), word.getLanguage(), word.getDefinition(),
+                word.getExample(), word.getDifficulty(),
+                word.getCategories() != null ? Set.copyOf(word.getCategories()) : Set.of(),
+                word.getTags() != null ? Set.copyOf(word.getTags()) : Set.of(),
+                Boolean.TRUE.equals(word.getIsPublic()),
+                word.getCreatedBy() != null ? word.getCreatedBy().getId() : null);
+        }
+
+        static Document of(WordRepository.WordSearchRow row, Set<String> tags, Set<WordCategory> categories) {
+            return new Document(row.getId(), row.getWord(), row.getLanguage(), row.getDefinition(),
+                row.getExample(), row.getDifficulty(), categories, tags,
+                Boolean.TRUE.equals(row.getIsPublic()), row.getCreatedById());
+        }
+
+        /**
+         * Weighted frequency of each term across the searchable fields.
+         */
+        Map<String, Integer> termFrequencies() {
+            Map<String, Integer> frequencies = new LinkedHashMap<>();
+            count(frequencies, word, WORD_WEIGHT);
+            for (String tag : tags) {
+                count(frequencies, tag, LABEL_WEIGHT);
+            }
+            for (WordCategory category : categories) {
+                count(frequencies, category.name(), LABEL_WEIGHT);
+            }
+            count(frequencies, definition, TEXT_WEIGHT);
+            count(frequencies, example, TEXT_WEIGHT);
+            return frequencies;
+        }
+
+        private static void count(Map<String, Integer> frequencies, String text, int weight) {
+            for (String token : tokenize(text)) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Filterable fields of an indexed word and the posting lists it appears in.
+     */
+    static final class Entry {
+
+        final long id;
+        final String language;
+        final DifficultyLevel difficulty;
+        final int categoryMask;
+        final String[] tags;
+        final boolean isPublic;
+        final Long ownerId;
+        final int length;
+        final Postings[] postings;
+
+        Entry(Document document, int length, Postings[] postings) {
+            this.id = document.id();
+            this.language = document.language();
+            this.difficulty = document.difficulty();
+            int mask = 0;
+            for (WordCategory category : document.categories()) {
+                mask |= 1 << category.ordinal();
+            }
+            this.categoryMask = mask;
+            this.tags = document.tags().toArray(new String[0]);
+            this.isPublic = document.isPublic();
+            this.ownerId = document.ownerId();
+            this.length = length;
+            this.postings = postings;
+        }
+    }
+
+    /**
+     * Documents containing one term, as parallel arrays of document ordinal
+     * and weighted term frequency in no particular order.
+     */
+    static final class Postings {
+
+        final String term;
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Term dictionary and documents addressed by dense ordinals, which are
+     * reused after removal so per-query scratch arrays stay compact.
+     */
+    static final class InvertedIndex {
+
+        private static final float K1 = 1.2f;
+        private static final float B = 0.75f;
+
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private Entry[] entries = new Entry[64];
+        private int[] free = new int[16];
+        private int freeCount;
+        private int highWater;
+        private int liveCount;
+        private long totalLength;
+
+        boolean contains(long wordId) {
+            return ordinals.containsKey(wordId);
+        }
+
+        void upsert(Document document) {
+            remove(document.id());
+
+            Map<String, Integer> frequencies = document.termFrequencies();
+            int ordinal = allocate();
+            Postings[] postings = new Postings[frequencies.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                Postings list = terms.computeIfAbsent(frequency.getKey(), Postings::new);
+                list.add(ordinal, frequency.getValue());
+                postings[i++] = list;
+                length += frequency.getValue();
+            }
+
+            entries[ordinal] = new Entry(document, length, postings);
+            ordinals.put(document.id(), ordinal);
+            liveCount++;
+            totalLength += length;
+        }
+
+        void remove(long wordId) {
+            Integer ordinal = ordinals.remove(wordId);
+            if (ordinal == null) {
+                return;
+            }
+            Entry entry = entries[ordinal];
+            for (Postings list : entry.postings) {
+                list.remove(ordinal);
+                if (list.size == 0) {
+                    terms.remove(list.term);
+                }
+            }
+            entries[ordinal] = null;
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = ordinal;
+            liveCount--;
+            totalLength -= entry.length;
+        }
+
+        /**
+         * Scores the documents in the postings of the query terms, keeps
+         * those matching every term and the filter, and selects the requested
+         * page with a bounded heap instead of sorting all matches.
+         */
+        Hits search(List<String> queryTerms, Predicate<Entry> filter, long offset, int limit) {
+            if (liveCount == 0 || limit <= 0) {
+                return new Hits(List.of(), 0);
+            }
+
+            float[] scores = new float[highWater];
+            int[] matched = new int[highWater];
+            float averageLength = (float) totalLength / liveCount;
+            List<Postings> rarest = null;
+            int rarestCount = Integer.MAX_VALUE;
+
+            for (int t = 0; t < queryTerms.size(); t++) {
+                List<Postings> expansions = expand(queryTerms.get(t));
+                if (expansions.isEmpty()) {
+                    return new Hits(List.of(), 0);
+                }
+                int bit = 1 << t;
+                int count = 0;
+                for (int e = 0; e < expansions.size(); e++) {
+                    Postings list = expansions.get(e);
+                    float weight = idf(list.size) * (e == 0 && list.term.equals(queryTerms.get(t)) ? 1f : PREFIX_MATCH_FACTOR);
+                    for (int p = 0; p < list.size; p++) {
+                        int ordinal = list.ordinals[p];
+                        float frequency = list.frequencies[p];
+                        float norm = 1 - B + B * entries[ordinal].length / averageLength;
+                        scores[ordinal] += weight * frequency * (K1 + 1) / (frequency + K1 * norm);
+                        matched[ordinal] |= bit;
+                    }
+                    count += list.size;
+                }
+                if (count < rarestCount) {
+                    rarestCount = count;
+                    rarest = expansions;
+                }
+            }
+
+            int allTerms = (1 << queryTerms.size()) - 1;
+            int pageEnd = (int) Math.min(Integer.MAX_VALUE - 1, offset + limit);
+            PriorityQueue<Integer> best = new PriorityQueue<>(
+                (a, b) -> compare(scores, b, a));
+            long total = 0;
+
+            // Every match is in the postings of the rarest term
+            for (Postings list : rarest) {
+                for (int p = 0; p < list.size; p++) {
+                    int ordinal = list.ordinals[p];
+                    if (matched[ordinal] != allTerms) {
+                        continue;
+                    }
+                    matched[ordinal] = 0; // visit each document once
+                    if (!filter.test(entries[ordinal])) {
+                        continue;
+                    }
+                    total++;
+                    if (best.size() < pageEnd) {
+                        best.add(ordinal);
+                    } else if (compare(scores, ordinal, best.peek()) < 0) {
+                        best.poll();
+                        best.add(ordinal);
+                    }
+                }
+            }
+
+            Integer[] ranked = best.toArray(new Integer[0]);
+            Arrays.sort(ranked, (a, b) -> compare(scores, a, b));
+            List<Long> ids = new ArrayList<>(Math.max(0, ranked.length - (int) Math.min(offset, ranked.length)));
+            for (int i = (int) Math.min(offset, ranked.length); i < ranked.length; i++) {
+                ids.add(entries[ranked[i]].id);
+            }
+            return new Hits(ids, total);
+        }
+
+        /**
+         * The term's own postings first, followed by those of longer terms it
+         * is a prefix of.
+         */
+        private List<Postings> expand(String term) {
+            List<Postings> expansions = new ArrayList<>();
+            Postings exact = terms.get(term);
+            if (exact != null) {
+                expansions.add(exact);
+            }
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                NavigableMap<String, Postings> longer = terms.subMap(term, false, term + Character.MAX_VALUE, false);
+                for (Postings list : longer.values()) {
+                    if (expansions.size() > MAX_PREFIX_EXPANSIONS) {
+                        break;
+                    }
+                    expansions.add(list);
+                }
+            }
+            return expansions;
+        }
+
+        private float idf(int documentFrequency) {
+            return (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        /**
+         * Orders by score descending, then word id ascending.
+         */
+        private int compare(float[] scores, int a, int b) {
+            int byScore = Float.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Long.compare(entries[a].id, entries[b].id);
+        }
+
+        private int allocate() {
+            if (freeCount > 0) {
+                return free[--freeCount];
+            }
+            if (highWater == entries.length) {
+                entries = Arrays.copyOf(entries, highWater * 2);
+            }
+            return highWater++;
+        }
+    }
+}
@@ -16,14 +16,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for word management operations.
@@ -37,6 +43,10 @@ public class WordService {
     private final WordRepository wordRepository;
     private final DuplicateDetectionService duplicateDetectionService;
     private final ImportExportService importExportService;
+    private final WordSearchIndex searchIndex;
+    private final WordPrefixIndex prefixIndex;
+    private final NearDuplicateIndex nearDuplicateIndex;
+    private final WordExistenceFilter existenceFilter;
 
     public WordDto createWord(CreateWordRequest request, User user) {
         log.info("Creating new word: {} for user: {}", request.getWord(), user.getUsername());
@@ -47,8 +57,8 @@ public class WordService {
         }
 
         Word word = new Word();
-        word.setWord(request.getWord().toLowerCase().trim());
-        word.setLanguage(request.getLanguage());
+        word.setWord(WordNormalizer.normalize(request.getWord()));
+        word.setLanguage(WordNormalizer.normalizeLanguage(request.getLanguage()));
         word.setDefinition(request.getDefinition());
         word.setPronunciation(request.getPronunciation());
         word.setExample(request.getExample());
@@ -59,6 +69,10 @@ public class WordService {
         word.setIsPublic(request.getIsPublic());
 
         Word savedWord = wordRepository.save(word);
+        existenceFilter.put(savedWord);
+        searchIndex.index(savedWord);
+        prefixIndex.add(savedWord);
+        nearDuplicateIndex.add(savedWord);
         log.info("Successfully created word with ID: {}", savedWord.getId());
 
         return mapToDto(savedWord);
@@ -68,6 +82,10 @@ public class WordService {
     public Page<WordDto> searchWords(WordSearchCriteria criteria, User user, Pageable pageable) {
         log.debug("Searching words with criteria: {}", criteria);
 
+        if (StringUtils.hasText(criteria.getSearchTerm()) && searchIndex.isReady() && searchIndex.supports(criteria)) {
+            return searchIndexedWords(criteria, user, pageable);
+        }
+
         Specification<Word> spec = WordSpecifications.buildSpecification(criteria, user);
         Page<Word> words = wordRepository.findAll(spec, pageable);
 
@@ -75,6 +93,28 @@ public class WordService {
         return words.map(this::mapToDto);
     }
 
+    /**
+     * Ranks matches in the search index and loads only the requested page,
+     * keeping the index's best-first order. The pageable's sort is ignored
+     * in favour of relevance.
+     */
+    private Page<WordDto> searchIndexedWords(WordSearchCriteria criteria, User user, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        WordSearchIndex.Hits hits = searchIndex.search(criteria, user, offset, limit);
+
+        Map<Long, Word> words = wordRepository.findByIdIn(hits.ids()).stream()
+            .collect(Collectors.toMap(Word::getId, Function.identity()));
+        List<WordDto> page = hits.ids().stream()
+            .map(words::get)
+            .filter(Objects::nonNull)
+            .map(this::mapToDto)
+            .toList();
+
+        log.debug("Found {} indexed words matching '{}'", hits.total(), criteria.getSearchTerm());
+        return new PageImpl<>(page, pageable, hits.total());
+    }
+
     @Transactional(readOnly = true)
     public WordDto getWordById(Long wordId) {
         log.debug("Getting word by ID: {}", wordId);
@@ -116,6 +156,7 @@ public class WordService {
         }
 
         Word updatedWord = wordRepository.save(word);
+        searchIndex.index(updatedWord);
         log.info("Successfully updated word with ID: {}", updatedWord.getId());
 
         return mapToDto(updatedWord);
@@ -129,6 +170,9 @@ public class WordService {
 
         validateWordOwnership(word, user);
         wordRepository.delete(word);
+        searchIndex.remove(wordId);
+        prefixIndex.remove(wordId);
+        nearDuplicateIndex.remove(wordId);
 
         log.info("Successfully deleted word with ID: {}", wordId);
     }
@@ -0,0 +1,206 @@
+package com.memorizewords.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.memorizewords.algorithm.FixedPoint;
+import com.memorizewords.algorithm.WorkloadProjection;
+import com.memorizewords.dto.response.DailyForecastDTO;
+import com.memorizewords.dto.response.ReviewForecastDTO;
+import com.memorizewords.entity.User;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Predicts review load per day for the next 1 to 90 days.
+ *
+ * A user's forecast reads one grouped row per (due day, interval, ease
+ * factor) and rolls the groups forward in memory with
+ * {@link WorkloadProjection}. The system-wide forecast reads the same
+ * groups a page of users at a time, in user id order, so only one user's
+ * projection is held at a time. Each page is read in a short transaction of
+ * its own, so no connection or cursor stays open while results are written
+ * to a slow client.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class WorkloadForecastService {
+
+    private static final int USER_PAGE_SIZE = 200;
+
+    private final SpacedRepetitionCardRepository cardRepository;
+    private final ObjectMapper objectMapper;
+
+    public ReviewForecastDTO forecastForUser(User user, int days) {
+        LocalDate start = LocalDate.now();
+        WorkloadProjection projection = new WorkloadProjection(days);
+
+        for (SpacedRepetitionCardRepository.ForecastGroup group :
+                cardRepository.aggregateForecastGroups(user, horizon(start, days))) {
+            add(projection, group, start);
+        }
+
+        return toForecast(user.getId(), 1, start, projection.getScheduled(), projection.project(), projection.getLapseRate());
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReviewForecastDTO forecastSystem(int days) {
+        return forecastSystem(days, forecast -> { });
+    }
+
+    /**
+     * Builds the system-wide forecast, handing each user's forecast to
+     * {@code perUser} as soon as that user's groups have been read.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ReviewForecastDTO forecastSystem(int days, Consumer<ReviewForecastDTO> perUser) {
+        LocalDate start = LocalDate.now();
+        WorkloadProjection system = new WorkloadProjection(days);
+        double[] scheduled = new double[days];
+        double[] load = new double[days];
+        int users = 0;
+
+        LocalDateTime horizon = horizon(start, days);
+        long afterUserId = 0L;
+        while (true) {
+            List<Long> userIds = cardRepository.findForecastUserIds(afterUserId, horizon, PageRequest.of(0, USER_PAGE_SIZE));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            Long currentUserId = null;
+            WorkloadProjection current = null;
+
+            for (SpacedRepetitionCardRepository.UserForecastGroup group :
+                    cardRepository.aggregateForecastGroupsForUsers(userIds, horizon)) {
+                if (!group.getUserId().equals(currentUserId)) {
+                    if (current != null) {
+                        finishUser(currentUserId, current, start, scheduled, load, perUser);
+                        users++;
+                    }
+                    currentUserId = group.getUserId();
+                    current = new WorkloadProjection(days);
+                }
+                add(current, group, start);
+                system.addHistory(nullToZero(group.getLapses()), nullToZero(group.getReviews()));
+            }
+            if (current != null) {
+                finishUser(currentUserId, current, start, scheduled, load, perUser);
+                users++;
+            }
+            afterUserId = userIds.get(userIds.size() - 1);
+        }
+
+        log.info("Forecast {} days of review load for {} users", days, users);
+        return toForecast(null, users, start, scheduled, load, system.getLapseRate());
+    }
+
+    /**
+     * Writes one NDJSON line per user as the forecast is computed, followed by
+     * a line with the system-wide totals.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamSystemForecast(int days, OutputStream output) throws IOException {
+        // Validate before anything is written to the response
+        new WorkloadProjection(days);
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        try {
+            ReviewForecastDTO system = forecastSystem(days, forecast -> writeLine(generator, forecast));
+            writeLine(generator, system);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            generator.close();
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, ReviewForecastDTO forecast) {
+        try {
+            objectMapper.writeValue(generator, forecast);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void finishUser(Long userId, WorkloadProjection projection, LocalDate start,
+                            double[] scheduled, double[] load, Consumer<ReviewForecastDTO> perUser) {
+        double[] userScheduled = projection.getScheduled();
+        double[] userLoad = projection.project();
+        for (int day = 0; day < userLoad.length; day++) {
+            scheduled[day] += userScheduled[day];
+            load[day] += userLoad[day];
+        }
+        perUser.accept(toForecast(userId, 1, start, userScheduled, userLoad, projection.getLapseRate()));
+    }
+
+    private void add(WorkloadProjection projection, SpacedRepetitionCardRepository.ForecastGroup group, LocalDate start) {
+        int dayOffset = (int) ChronoUnit.DAYS.between(start, group.getDueDay());
+        int ease = (int) FixedPoint.toHundredths(group.getEaseFactor());
+        projection.addCards(dayOffset, group.getIntervalDays(), ease, group.getCards());
+        projection.addHistory(nullToZero(group.getLapses()), nullToZero(group.getReviews()));
+    }
+
+    private ReviewForecastDTO toForecast(Long userId, int users, LocalDate start, double[] scheduled,
+                                         double[] load, double lapseRate) {
+        List<DailyForecastDTO> daily = new ArrayList<>(load.length);
+        double total = 0.0;
+        int peakDay = 0;
+        for (int day = 0; day < load.length; day++) {
+            daily.add(DailyForecastDTO.builder()
+                .date(start.plusDays(day))
+                .scheduledCards((int) scheduled[day])
+                .predictedReviews(roundToTenth(load[day]))
+                .build());
+            total += load[day];
+            if (load[day] > load[peakDay]) {
+                peakDay = day;
+            }
+        }
+        double average = total / load.length;
+
+        return ReviewForecastDTO.builder()
+            .userId(userId)
+            .users(users)
+            .startDate(start)
+            .days(load.length)
+            .lapseRate(roundToTenth(lapseRate * 100.0) / 100.0)
+            .totalPredictedReviews(roundToTenth(total))
+            .averageDailyReviews(roundToTenth(average))
+            .peakDailyReviews(roundToTenth(load[peakDay]))
+            .peakDate(start.plusDays(peakDay))
+            .suggestedDailyReviewLimit((int) Math.ceil(average))
+            .dailyForecast(daily)
+            .build();
+    }
+
+    private static LocalDateTime horizon(LocalDate start, int days) {
+        return start.plusDays(days).atStartOfDay();
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static double roundToTenth(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -7,6 +7,8 @@ import com.memorizewords.enums.DifficultyLevel;
 import com.memorizewords.enums.WordCategory;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
@@ -19,7 +21,8 @@ import java.util.Set;
 public class WordSpecifications {
 
     public static Specification<Word> buildSpecification(WordSearchCriteria criteria, User user) {
-        return Specification.where(withWord(criteria.getWord()))
+        return Specification.where(withSearchTerm(criteria.getSearchTerm()))
+                .and(withWord(criteria.getWord()))
                 .and(withLanguage(criteria.getLanguage()))
                 .and(withDifficulty(criteria.getDifficulty()))
                 .and(withCategory(criteria.getCategory()))
@@ -28,6 +31,30 @@ public class WordSpecifications {
                 .and(withCreatedBy(criteria.getCreatedBy(), user));
     }
 
+    /**
+     * Database fallback for full-text search, used while the in-memory
+     * search index is unavailable.
+     */
+    private static Specification<Word> withSearchTerm(String searchTerm) {
+        return (root, query, cb) -> {
+            if (!StringUtils.hasText(searchTerm)) {
+                return cb.conjunction();
+            }
+
+            String pattern = "%" + searchTerm.toLowerCase() + "%";
+            Subquery<Long> taggedWords = query.subquery(Long.class);
+            Root<Word> tagged = taggedWords.from(Word.class);
+            Join<Word, String> tags = tagged.join("tags");
+            taggedWords.select(tagged.get("id")).where(cb.like(cb.lower(tags), pattern));
+
+            return cb.or(
+                cb.like(cb.lower(root.get("word")), pattern),
+                cb.like(cb.lower(root.get("definition")), pattern),
+                cb.like(cb.lower(root.get("example")), pattern),
+                root.get("id").in(taggedWords));
+        };
+    }
+
     private static Specification<Word> withWord(String word) {
         return (root, query, cb) -> {
             if (!StringUtils.hasText(word)) {
@@ -0,0 +1,11 @@
+-- Per-user review performance by day of week and hour of day, one fixed-size row per user
+-- buckets holds the PerformanceHistogram encoding: a format version byte followed by 168 buckets
+-- Existing users are filled by PerformanceHistogramService.backfill (review.histograms.backfill-on-startup)
+
+CREATE TABLE user_performance_histograms (
+    user_id BIGINT NOT NULL,
+    buckets VARBINARY(3361) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_performance_histograms_user FOREIGN KEY (user_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,29 @@
+-- Composite and covering indexes for the spaced repetition tables
+-- Column order follows the predicates used by SpacedRepetitionCardRepository and
+-- ReviewSessionRepository: equality columns first, then the range or ORDER BY column.
+-- The same indexes are declared on the entities so Hibernate-managed schemas match.
+
+-- Due, active and new-card queries: user_id = ? AND is_active AND NOT is_suspended [AND due_date <= ?] ORDER BY due_date
+-- Also covers the due-card index load (id, due_date) without touching the table rows
+CREATE INDEX idx_src_user_active_due ON spaced_repetition_cards(user_id, is_active, is_suspended, due_date);
+
+-- New and random card queries and counts: user_id = ? AND total_reviews = 0 / > 0 AND is_active AND NOT is_suspended
+CREATE INDEX idx_src_user_total_reviews ON spaced_repetition_cards(user_id, total_reviews, is_active, is_suspended);
+
+-- Review activity ranges: user_id = ? AND last_reviewed BETWEEN ? AND ?
+CREATE INDEX idx_src_user_last_reviewed ON spaced_repetition_cards(user_id, last_reviewed);
+
+-- Card lookup for a word when a user adds or reviews it
+CREATE INDEX idx_src_user_word ON spaced_repetition_cards(user_id, word_id);
+
+-- Session history and statistics: user_id = ? AND is_completed = ? [AND start_time range] ORDER BY start_time
+CREATE INDEX idx_review_sessions_user_completed_start ON review_sessions(user_id, is_completed, start_time);
+
+-- Expired session sweep across all users: is_completed = false AND start_time < ?
+CREATE INDEX idx_review_sessions_completed_start ON review_sessions(is_completed, start_time);
+
+-- Loading a session with its cards joins on session_id and then card_id
+CREATE INDEX idx_review_session_cards_session_card ON review_session_cards(session_id, card_id);
+
+-- spaced_repetition_review_history is only read by card, in review order, which its
+-- (card_id, review_number) primary key already covers
@@ -0,0 +1,50 @@
+-- Move spaced repetition review history to an append-only event table
+-- Each review inserts one row; the card keeps a ring of its last 10 outcomes for retention
+
+CREATE TABLE card_review_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    card_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    review_number INT NOT NULL,
+    outcome VARCHAR(20) NOT NULL,
+    response_time INT,
+    reviewed_at TIMESTAMP NOT NULL,
+    interval_before_review INT,
+    ease_factor_before_review DECIMAL(10,2),
+    INDEX idx_card_review_events_card_number (card_id, review_number),
+    INDEX idx_card_review_events_user_reviewed (user_id, reviewed_at),
+    CONSTRAINT fk_card_review_events_card FOREIGN KEY (card_id) REFERENCES spaced_repetition_cards(id),
+    CONSTRAINT fk_card_review_events_user FOREIGN KEY (user_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Copy existing history in review order
+INSERT INTO card_review_events (card_id, user_id, review_number, outcome, response_time, reviewed_at,
+                                interval_before_review, ease_factor_before_review)
+SELECT h.card_id, c.user_id, h.review_number, h.outcome, h.response_time, COALESCE(h.reviewed_at, c.last_reviewed, c.created_at),
+       h.interval_before_review, h.ease_factor_before_review
+FROM spaced_repetition_review_history h
+JOIN spaced_repetition_cards c ON c.id = h.card_id
+ORDER BY h.card_id, h.review_number;
+
+-- Recent-outcome ring: bit 0 is the newest review, a set bit is a correct answer
+ALTER TABLE spaced_repetition_cards ADD COLUMN recent_outcomes INT NOT NULL DEFAULT 0;
+ALTER TABLE spaced_repetition_cards ADD COLUMN recent_outcome_count INT NOT NULL DEFAULT 0;
+
+-- Seed the ring from each card's last 10 reviews
+UPDATE spaced_repetition_cards c
+JOIN (
+    SELECT card_id,
+           SUM(CASE WHEN outcome <> 'AGAIN' THEN 1 << (rn - 1) ELSE 0 END) AS outcomes,
+           COUNT(*) AS outcome_count
+    FROM (
+        SELECT card_id, outcome,
+               ROW_NUMBER() OVER (PARTITION BY card_id ORDER BY review_number DESC) AS rn
+        FROM card_review_events
+    ) recent
+    WHERE rn <= 10
+    GROUP BY card_id
+) r ON r.card_id = c.id
+SET c.recent_outcomes = r.outcomes,
+    c.recent_outcome_count = r.outcome_count;
+
+DROP TABLE spaced_repetition_review_history;
@@ -0,0 +1,9 @@
+-- FSRS scheduler state on spaced repetition cards
+-- Both columns stay NULL until a card is first reviewed by a user on the FSRS engine,
+-- which seeds them from the card's SM-2 interval and ease factor
+
+-- Days until predicted recall falls to 90%
+ALTER TABLE spaced_repetition_cards ADD COLUMN memory_stability DECIMAL(10,2) NULL;
+
+-- Card difficulty on the FSRS 1-10 scale
+ALTER TABLE spaced_repetition_cards ADD COLUMN memory_difficulty DECIMAL(4,2) NULL;
@@ -0,0 +1,51 @@
+-- Per-user daily review totals, read by statistics instead of scanning review sessions
+-- Incremented as answers are submitted and sessions complete; activity belongs to the day its session started
+
+CREATE TABLE user_daily_review_rollup (
+    user_id BIGINT NOT NULL,
+    review_date DATE NOT NULL,
+    sessions INT NOT NULL DEFAULT 0,
+    reviews INT NOT NULL DEFAULT 0,
+    correct_answers INT NOT NULL DEFAULT 0,
+    new_cards INT NOT NULL DEFAULT 0,
+    study_seconds BIGINT NOT NULL DEFAULT 0,
+    response_time_sum BIGINT NOT NULL DEFAULT 0,
+    response_count INT NOT NULL DEFAULT 0,
+    session_score_sum DECIMAL(12,2) NOT NULL DEFAULT 0,
+    best_session_accuracy DECIMAL(5,2) NOT NULL DEFAULT 0,
+    difficult_cards_mastered INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, review_date),
+    INDEX idx_user_daily_review_rollup_date (review_date),
+    CONSTRAINT fk_user_daily_review_rollup_user FOREIGN KEY (user_id) REFERENCES users(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from session history, with the same rules as ReviewRollupService.rebuild
+INSERT INTO user_daily_review_rollup (user_id, review_date, sessions, reviews, correct_answers, new_cards,
+                                      study_seconds, response_time_sum, response_count, session_score_sum,
+                                      best_session_accuracy, difficult_cards_mastered, updated_at)
+SELECT s.user_id, s.review_date, s.sessions, s.reviews, s.correct_answers,
+       COALESCE(a.new_cards, 0), s.study_seconds, COALESCE(a.response_time_sum, 0), COALESCE(a.response_count, 0),
+       s.session_score_sum, s.best_session_accuracy, s.difficult_cards_mastered, CURRENT_TIMESTAMP
+FROM (
+    SELECT user_id, DATE(start_time) AS review_date,
+           SUM(CASE WHEN is_completed THEN 1 ELSE 0 END) AS sessions,
+           SUM(completed_cards) AS reviews,
+           SUM(correct_answers) AS correct_answers,
+           SUM(CASE WHEN is_completed THEN COALESCE(session_duration, 0) ELSE 0 END) AS study_seconds,
+           SUM(CASE WHEN is_completed THEN COALESCE(total_session_score, 0) ELSE 0 END) AS session_score_sum,
+           MAX(CASE WHEN is_completed THEN COALESCE(session_accuracy, 0) ELSE 0 END) AS best_session_accuracy,
+           SUM(CASE WHEN is_completed THEN COALESCE(difficult_cards_mastered, 0) ELSE 0 END) AS difficult_cards_mastered
+    FROM review_sessions
+    GROUP BY user_id, DATE(start_time)
+) s
+LEFT JOIN (
+    SELECT rs.user_id, DATE(rs.start_time) AS review_date,
+           SUM(CASE WHEN sc.review_number = 1 THEN 1 ELSE 0 END) AS new_cards,
+           SUM(CASE WHEN sc.response_time > 0 THEN sc.response_time ELSE 0 END) AS response_time_sum,
+           SUM(CASE WHEN sc.response_time > 0 THEN 1 ELSE 0 END) AS response_count
+    FROM review_session_cards sc
+    JOIN review_sessions rs ON rs.id = sc.session_id
+    WHERE sc.outcome IS NOT NULL
+    GROUP BY rs.user_id, DATE(rs.start_time)
+) a ON a.user_id = s.user_id AND a.review_date = s.review_date;
@@ -0,0 +1,88 @@
+package com.memorizewords.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadBalancerTest {
+
+    @Test
+    void fuzzRange_GrowsWithIntervalAndSkipsShortOnes() {
+        assertEquals(0, LoadBalancer.fuzzRange(1));
+        assertEquals(0, LoadBalancer.fuzzRange(2));
+        assertEquals(1, LoadBalancer.fuzzRange(3));
+        assertEquals(2, LoadBalancer.fuzzRange(7));
+        assertEquals(3, LoadBalancer.fuzzRange(20));
+        assertEquals(7, LoadBalancer.fuzzRange(100));
+        assertEquals(20, LoadBalancer.fuzzRange(ReviewScheduler.MAXIMUM_INTERVAL));
+    }
+
+    @Test
+    void window_StaysWithinBounds() {
+        assertEquals(2, LoadBalancer.earliest(3));
+        assertEquals(4, LoadBalancer.latest(3));
+        assertEquals(ReviewScheduler.MAXIMUM_INTERVAL, LoadBalancer.latest(ReviewScheduler.MAXIMUM_INTERVAL));
+        assertEquals(ReviewScheduler.MAXIMUM_INTERVAL - 20, LoadBalancer.earliest(ReviewScheduler.MAXIMUM_INTERVAL));
+    }
+
+    @Test
+    void place_ShortIntervalIsExact() {
+        assertEquals(2, LoadBalancer.place(2, new int[0], 5));
+    }
+
+    @Test
+    void place_ChoosesLeastLoadedDay() {
+        // Window for 10 days is 8..12
+        assertEquals(11, LoadBalancer.place(10, new int[] {5, 4, 6, 1, 3}, 0));
+        assertEquals(8, LoadBalancer.place(10, new int[] {0, 4, 6, 1, 3}, 7));
+    }
+
+    @Test
+    void place_BreaksTiesByRoll() {
+        int[] loads = {2, 0, 3, 0, 0};
+        assertEquals(9, LoadBalancer.place(10, loads, 0));
+        assertEquals(11, LoadBalancer.place(10, loads, 1));
+        assertEquals(12, LoadBalancer.place(10, loads, 2));
+        assertEquals(9, LoadBalancer.place(10, loads, 3));
+    }
+
+    @Test
+    void place_RejectsShortLoadWindow() {
+        assertThrows(IllegalArgumentException.class, () -> LoadBalancer.place(10, new int[3], 0));
+    }
+
+    @Test
+    void simulate_BalancingFlattensDailyReviews() {
+        for (ReviewScheduler scheduler : new ReviewScheduler[] {new Sm2ReviewScheduler(), new FsrsReviewScheduler(0.9)}) {
+            SimulationResult exact = ReviewSimulator.simulate(scheduler, 1000, 20, 365, 42L, false);
+            SimulationResult balanced = ReviewSimulator.simulate(scheduler, 1000, 20, 365, 42L, true);
+
+            // Skip the introduction period, where new cards dominate the load
+            double exactRoughness = roughness(exact.reviewsPerDay(), 60);
+            double balancedRoughness = roughness(balanced.reviewsPerDay(), 60);
+            assertTrue(balancedRoughness < exactRoughness * 0.6,
+                scheduler.name() + ": " + balancedRoughness + " vs " + exactRoughness);
+            assertTrue(balanced.peakDailyReviews() < exact.peakDailyReviews());
+            assertEquals(exact.retentionRate(), balanced.retentionRate(), 0.03);
+        }
+    }
+
+    /**
+     * Standard deviation of each day's reviews from the centred 7-day mean,
+     * which ignores the slow growth of the total load.
+     */
+    private static double roughness(int[] reviewsPerDay, int from) {
+        double squares = 0.0;
+        int count = 0;
+        for (int day = Math.max(from, 3); day < reviewsPerDay.length - 3; day++) {
+            double mean = 0.0;
+            for (int offset = -3; offset <= 3; offset++) {
+                mean += reviewsPerDay[day + offset];
+            }
+            mean /= 7.0;
+            squares += (reviewsPerDay[day] - mean) * (reviewsPerDay[day] - mean);
+            count++;
+        }
+        return Math.sqrt(squares / count);
+    }
+}
@@ -0,0 +1,68 @@
+package com.memorizewords.algorithm;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerformanceHistogramTest {
+
+    // A Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 3, 3, 0, 0);
+
+    @Test
+    void record_BucketsByDayOfWeekAndHour() {
+        PerformanceHistogram histogram = new PerformanceHistogram();
+        histogram.record(MONDAY.withHour(9).withMinute(45), 10, 8, 20_000L);
+        histogram.record(MONDAY.plusDays(7).withHour(9), 10, 10, 10_000L);
+        histogram.record(MONDAY.plusDays(2).withHour(9), 5, 1, 5_000L);
+
+        assertEquals(2, histogram.getSessions(DayOfWeek.MONDAY, 9));
+        assertEquals(20, histogram.getReviews(DayOfWeek.MONDAY, 9));
+        assertEquals(90.0, histogram.getAccuracy(DayOfWeek.MONDAY, 9), 1e-9);
+        assertEquals(1_500.0, histogram.getAverageResponseTime(DayOfWeek.MONDAY, 9), 1e-9);
+        assertEquals(1, histogram.getSessions(DayOfWeek.WEDNESDAY, 9));
+        assertTrue(Double.isNaN(histogram.getAccuracy(DayOfWeek.MONDAY, 10)));
+    }
+
+    @Test
+    void accuracyByHour_CombinesDaysWeightedByReviews() {
+        PerformanceHistogram histogram = new PerformanceHistogram();
+        histogram.record(MONDAY.withHour(9), 10, 8, 0L);
+        histogram.record(MONDAY.plusDays(6).withHour(9), 30, 30, 0L);
+        histogram.record(MONDAY.withHour(23), 4, 1, 0L);
+
+        Map<Integer, Double> byHour = histogram.accuracyByHour();
+
+        assertEquals(2, byHour.size());
+        assertEquals(95.0, byHour.get(9), 1e-9);
+        assertEquals(25.0, byHour.get(23), 1e-9);
+    }
+
+    @Test
+    void bytes_RoundTripAtFixedSize() {
+        PerformanceHistogram histogram = new PerformanceHistogram();
+        histogram.record(MONDAY.plusDays(4).withHour(18), 12, 7, 36_000L);
+        histogram.record(MONDAY.plusDays(6).withHour(0), 3, 3, 4_500L);
+
+        byte[] bytes = histogram.toBytes();
+        PerformanceHistogram decoded = PerformanceHistogram.fromBytes(bytes);
+
+        assertEquals(PerformanceHistogram.ENCODED_SIZE, bytes.length);
+        assertEquals(PerformanceHistogram.ENCODED_SIZE, new PerformanceHistogram().toBytes().length);
+        assertEquals(1, decoded.getSessions(DayOfWeek.FRIDAY, 18));
+        assertEquals(7.0 / 12 * 100, decoded.getAccuracy(DayOfWeek.FRIDAY, 18), 1e-9);
+        assertEquals(1_500.0, decoded.getAverageResponseTime(DayOfWeek.SUNDAY, 0), 1e-9);
+        assertEquals(histogram.accuracyByHour(), decoded.accuracyByHour());
+    }
+
+    @Test
+    void fromBytes_EmptyIsEmptyAndForeignEncodingIsRejected() {
+        assertTrue(PerformanceHistogram.fromBytes(null).isEmpty());
+        assertTrue(PerformanceHistogram.fromBytes(new PerformanceHistogram().toBytes()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> PerformanceHistogram.fromBytes(new byte[16]));
+    }
+}
@@ -0,0 +1,103 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scheduling engines on synthetic learners.
+ *
+ * {@link #main} first prints the review load each engine produces over a year
+ * of 1000 words across several seeds: total reviews, peak reviews per day,
+ * final retention and reviews per retained word. It then runs the JMH
+ * benchmarks, which time a single {@link ReviewScheduler#review} call with
+ * the GC profiler enabled to confirm it does not allocate.
+ *
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:<test classpath> com.memorizewords.algorithm.ReviewSchedulerBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReviewSchedulerBenchmark {
+
+    private static final long[] SEEDS = {1L, 7L, 42L, 1234L, 98765L};
+
+    @Param({Sm2ReviewScheduler.NAME, FsrsReviewScheduler.NAME})
+    public String engine;
+
+    private ReviewScheduler scheduler;
+    private final SchedulingState state = new SchedulingState();
+    private final ReviewOutcome[] outcomes = ReviewOutcome.values();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        scheduler = create(engine);
+        scheduler.review(state, ReviewOutcome.GOOD, 0);
+    }
+
+    @Benchmark
+    public int review() {
+        int i = next++;
+        // Restart the card periodically so intervals stay in a realistic range
+        if ((i & 15) == 0) {
+            state.reset();
+        }
+        state.previousReviews++;
+        scheduler.review(state, outcomes[i & 3], state.intervalDays);
+        return state.intervalDays;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        printReviewLoad(1000, 20, 365);
+
+        new Runner(new OptionsBuilder()
+            .include(ReviewSchedulerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+
+    static void printReviewLoad(int cards, int newCardsPerDay, int days) {
+        System.out.printf("Review load for %d words, %d new per day, over %d days%n", cards, newCardsPerDay, days);
+        System.out.printf("%-6s %10s %10s %10s %12s%n", "engine", "reviews", "peak/day", "retention", "per retained");
+        for (String name : new String[] {Sm2ReviewScheduler.NAME, FsrsReviewScheduler.NAME}) {
+            ReviewScheduler scheduler = create(name);
+            long reviews = 0;
+            int peak = 0;
+            double retention = 0.0;
+            double perRetained = 0.0;
+            for (long seed : SEEDS) {
+                SimulationResult result = scheduler.simulate(cards, newCardsPerDay, days, seed);
+                reviews += result.reviews();
+                peak = Math.max(peak, result.peakDailyReviews());
+                retention += result.retentionRate();
+                perRetained += result.reviewsPerRetainedWord();
+            }
+            System.out.printf("%-6s %10d %10d %9.1f%% %12.2f%n", name, reviews / SEEDS.length, peak,
+                retention / SEEDS.length * 100.0, perRetained / SEEDS.length);
+        }
+    }
+
+    private static ReviewScheduler create(String name) {
+        return FsrsReviewScheduler.NAME.equals(name) ? new FsrsReviewScheduler(0.9) : new Sm2ReviewScheduler();
+    }
+}
@@ -0,0 +1,129 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewSchedulerTest {
+
+    private final Sm2ReviewScheduler sm2 = new Sm2ReviewScheduler();
+    private final FsrsReviewScheduler fsrs = new FsrsReviewScheduler(0.9);
+
+    @Test
+    void sm2_DelegatesToFixedPointCore() {
+        SchedulingState state = new SchedulingState();
+        state.previousReviews = 3;
+        state.intervalDays = 12;
+        state.easeHundredths = 236;
+        state.stabilityHundredths = 175;
+
+        sm2.review(state, ReviewOutcome.EASY, 12);
+
+        assertEquals(Sm2Scheduler.nextInterval(ReviewOutcome.EASY, 12, 236), state.intervalDays);
+        assertEquals(Sm2Scheduler.nextEase(ReviewOutcome.EASY, 236), state.easeHundredths);
+        assertEquals(Sm2Scheduler.nextStability(ReviewOutcome.EASY, 175), state.stabilityHundredths);
+        assertEquals(0, state.memoryStabilityHundredths);
+    }
+
+    @Test
+    void fsrs_NewCardStartsFromGradeDependentState() {
+        SchedulingState again = new SchedulingState();
+        SchedulingState easy = new SchedulingState();
+
+        fsrs.review(again, ReviewOutcome.AGAIN, 0);
+        fsrs.review(easy, ReviewOutcome.EASY, 0);
+
+        assertEquals(49, again.memoryStabilityHundredths);
+        assertEquals(1382, easy.memoryStabilityHundredths);
+        assertTrue(again.memoryDifficultyHundredths > easy.memoryDifficultyHundredths);
+        assertEquals(1, again.intervalDays);
+        assertEquals(14, easy.intervalDays);
+        // SM-2 factors are left alone
+        assertEquals(Sm2Scheduler.INITIAL_EASE, easy.easeHundredths);
+        assertEquals(FixedPoint.ONE, easy.stabilityHundredths);
+    }
+
+    @Test
+    void fsrs_IntervalIsTimeToDesiredRetention() {
+        assertEquals(0.9, FsrsReviewScheduler.retrievability(30, 30), 1e-12);
+        assertEquals(30, fsrs.nextInterval(30.0));
+        assertTrue(new FsrsReviewScheduler(0.8).nextInterval(30.0) > 30);
+        assertTrue(new FsrsReviewScheduler(0.95).nextInterval(30.0) < 30);
+        assertEquals(ReviewScheduler.MAXIMUM_INTERVAL, fsrs.nextInterval(10_000.0));
+    }
+
+    @Test
+    void fsrs_RecallGrowsStabilityAndLapseNeverDoes() {
+        SchedulingState state = new SchedulingState();
+        fsrs.review(state, ReviewOutcome.GOOD, 0);
+        state.previousReviews = 1;
+
+        long before = state.memoryStabilityHundredths;
+        fsrs.review(state, ReviewOutcome.GOOD, state.intervalDays);
+        assertTrue(state.memoryStabilityHundredths > before);
+
+        before = state.memoryStabilityHundredths;
+        int difficultyBefore = state.memoryDifficultyHundredths;
+        fsrs.review(state, ReviewOutcome.AGAIN, state.intervalDays);
+        assertTrue(state.memoryStabilityHundredths <= before);
+        assertTrue(state.memoryDifficultyHundredths > difficultyBefore);
+    }
+
+    @Test
+    void fsrs_SeedsStateFromSm2Card() {
+        SchedulingState state = new SchedulingState();
+        state.previousReviews = 6;
+        state.intervalDays = 40;
+        state.easeHundredths = 190;
+
+        fsrs.review(state, ReviewOutcome.GOOD, 40);
+
+        assertTrue(state.memoryStabilityHundredths > 4000);
+        assertTrue(state.memoryDifficultyHundredths >= 100 && state.memoryDifficultyHundredths <= 1000);
+        assertTrue(state.intervalDays > 40);
+    }
+
+    @Test
+    void review_DoesNotAllocate() {
+        SchedulingState state = new SchedulingState();
+        ReviewOutcome[] outcomes = ReviewOutcome.values();
+        for (ReviewScheduler scheduler : new ReviewScheduler[] {sm2, fsrs}) {
+            // Warm up so the measured loop runs compiled code
+            for (int i = 0; i < 50_000; i++) {
+                scheduler.review(state.reset(), outcomes[i & 3], i & 31);
+            }
+            long allocated = allocatedBytes();
+            for (int i = 0; i < 10_000; i++) {
+                scheduler.review(state, outcomes[i & 3], i & 31);
+            }
+            assertTrue(allocatedBytes() - allocated < 1024, scheduler.name() + " allocated on review");
+        }
+    }
+
+    @Test
+    void simulate_IsDeterministicForSeed() {
+        SimulationResult first = fsrs.simulate(200, 10, 60, 7L);
+        SimulationResult second = fsrs.simulate(200, 10, 60, 7L);
+
+        assertEquals(first.reviews(), second.reviews());
+        assertEquals(first.retainedWords(), second.retainedWords());
+        assertEquals(200, first.cards());
+        assertEquals(60, first.reviewsPerDay().length);
+    }
+
+    @Test
+    void simulate_FsrsNeedsFewerReviewsPerRetainedWord() {
+        SimulationResult sm2Result = sm2.simulate(1000, 20, 365, 42L);
+        SimulationResult fsrsResult = fsrs.simulate(1000, 20, 365, 42L);
+
+        assertTrue(fsrsResult.reviews() < sm2Result.reviews());
+        assertTrue(fsrsResult.reviewsPerRetainedWord() < sm2Result.reviewsPerRetainedWord());
+        assertEquals(sm2Result.retentionRate(), fsrsResult.retentionRate(), 0.02);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
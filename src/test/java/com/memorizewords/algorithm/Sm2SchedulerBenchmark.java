@@ -0,0 +1,96 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scheduling one review: the previous {@code BigDecimal} arithmetic
+ * against {@link Sm2Scheduler}, each including the conversions from and to
+ * the card's {@code BigDecimal} columns and the performance metric rounding.
+ *
+ * The GC profiler is enabled, so {@code gc.alloc.rate.norm} reports bytes
+ * allocated per review. Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:<test classpath> com.memorizewords.algorithm.Sm2SchedulerBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Sm2SchedulerBenchmark {
+
+    private static final int REVIEWS = 1024;
+
+    private final ReviewOutcome[] outcomes = new ReviewOutcome[REVIEWS];
+    private final double[] accuracies = new double[REVIEWS];
+    private int next;
+
+    private int interval;
+    private BigDecimal ease;
+    private BigDecimal stability;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ReviewOutcome[] values = ReviewOutcome.values();
+        for (int i = 0; i < REVIEWS; i++) {
+            outcomes[i] = values[random.nextInt(values.length)];
+            accuracies[i] = random.nextDouble();
+        }
+        interval = 1;
+        ease = new BigDecimal("2.50");
+        stability = new BigDecimal("1.00");
+    }
+
+    @Benchmark
+    public void legacyBigDecimal(Blackhole blackhole) {
+        int i = next++ & (REVIEWS - 1);
+        Sm2SchedulerTest.LegacySm2.Result result = Sm2SchedulerTest.LegacySm2.update(outcomes[i], interval, ease, stability);
+        interval = result.interval();
+        ease = result.ease();
+        // Keep stability bounded so both variants stay inside the same value range
+        stability = result.stability().min(new BigDecimal("50.00"));
+        blackhole.consume(new BigDecimal(accuracies[i]).setScale(2, RoundingMode.HALF_UP));
+        blackhole.consume(new BigDecimal(accuracies[i] * 100.0).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Benchmark
+    public void fixedPoint(Blackhole blackhole) {
+        int i = next++ & (REVIEWS - 1);
+        ReviewOutcome outcome = outcomes[i];
+        int currentEase = (int) FixedPoint.toHundredths(ease);
+        long currentStability = FixedPoint.toHundredths(stability);
+        interval = Sm2Scheduler.nextInterval(outcome, interval, currentEase);
+        ease = FixedPoint.toBigDecimal(Sm2Scheduler.nextEase(outcome, currentEase));
+        stability = FixedPoint.toBigDecimal(Math.min(Sm2Scheduler.nextStability(outcome, currentStability), 5000));
+        blackhole.consume(FixedPoint.toBigDecimal(FixedPoint.roundHalfUp(accuracies[i])));
+        blackhole.consume(FixedPoint.toBigDecimal(FixedPoint.roundHalfUp(accuracies[i] * 100.0)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(Sm2SchedulerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
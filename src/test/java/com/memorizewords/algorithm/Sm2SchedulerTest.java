@@ -0,0 +1,193 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property checks that the fixed-point scheduler reproduces the previous
+ * {@code BigDecimal} implementation, which {@link LegacySm2} keeps verbatim.
+ * Inputs are drawn from a seeded generator so failures are reproducible.
+ */
+class Sm2SchedulerTest {
+
+    private static final long SEED = 0x5EED_5A2L;
+    private static final int SAMPLES = 200_000;
+    private static final ReviewOutcome[] OUTCOMES = ReviewOutcome.values();
+
+    @Test
+    void nextInterval_MatchesLegacyForEveryIntervalAndEase() {
+        for (ReviewOutcome outcome : OUTCOMES) {
+            for (int interval = 1; interval <= Sm2Scheduler.MAXIMUM_INTERVAL; interval++) {
+                for (int ease = 100; ease <= 300; ease++) {
+                    LegacySm2.Result expected = LegacySm2.update(outcome, interval, BigDecimal.valueOf(ease, 2), BigDecimal.ONE);
+                    assertEquals(expected.interval(), Sm2Scheduler.nextInterval(outcome, interval, ease),
+                        () -> outcome + " interval mismatch");
+                }
+            }
+        }
+    }
+
+    @Test
+    void reviewSequences_MatchLegacy() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int sample = 0; sample < SAMPLES / 100; sample++) {
+            int interval = random.nextInt(1, Sm2Scheduler.MAXIMUM_INTERVAL + 1);
+            int ease = random.nextInt(Sm2Scheduler.MINIMUM_EASE, Sm2Scheduler.MAXIMUM_EASE + 1);
+            long stability = random.nextLong(1, 20_000);
+
+            BigDecimal legacyEase = BigDecimal.valueOf(ease, 2);
+            BigDecimal legacyStability = BigDecimal.valueOf(stability, 2);
+            int legacyInterval = interval;
+
+            for (int review = 0; review < 100; review++) {
+                ReviewOutcome outcome = OUTCOMES[random.nextInt(OUTCOMES.length)];
+
+                LegacySm2.Result expected = LegacySm2.update(outcome, legacyInterval, legacyEase, legacyStability);
+                int nextInterval = Sm2Scheduler.nextInterval(outcome, interval, ease);
+                int nextEase = Sm2Scheduler.nextEase(outcome, ease);
+                long nextStability = Sm2Scheduler.nextStability(outcome, stability);
+
+                assertEquals(expected.interval(), nextInterval);
+                assertEquals(0, expected.ease().compareTo(FixedPoint.toBigDecimal(nextEase)));
+                assertEquals(0, expected.stability().compareTo(FixedPoint.toBigDecimal(nextStability)));
+
+                legacyInterval = expected.interval();
+                legacyEase = expected.ease();
+                legacyStability = expected.stability();
+                interval = nextInterval;
+                ease = nextEase;
+                stability = nextStability;
+            }
+        }
+    }
+
+    @Test
+    void adjustedEase_MatchesLegacy() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            int ease = random.nextInt(100, 300);
+            long performance = random.nextLong(0, 10_001);
+
+            BigDecimal expected = LegacySm2.adjust(BigDecimal.valueOf(performance, 2), BigDecimal.valueOf(ease, 2));
+            int actual = Sm2Scheduler.adjustedEase(performance, ease);
+            assertEquals(0, expected.compareTo(FixedPoint.toBigDecimal(actual)),
+                () -> "performance " + performance + " ease " + ease);
+        }
+    }
+
+    @Test
+    void roundHalfUp_MatchesBigDecimalOfDouble() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            double value = switch (sample % 4) {
+                case 0 -> random.nextDouble();
+                case 1 -> random.nextDouble(0, 100);
+                // Ratios and midpoints are where a naive Math.round(value * 100) goes wrong
+                case 2 -> (double) random.nextInt(0, 1000) / random.nextInt(1, 1000);
+                default -> (random.nextInt(0, 10_000) + 0.5) / 100;
+            };
+            assertRoundsLikeBigDecimal(value);
+        }
+        for (double value : new double[] {0.0, 0.005, 0.015, 0.125, 0.285, 1.005, 2.675, 99.995, 100.0}) {
+            assertRoundsLikeBigDecimal(value);
+        }
+    }
+
+    @Test
+    void toHundredths_RoundTripsCachedAndUncachedValues() {
+        assertEquals(250, FixedPoint.toHundredths(new BigDecimal("2.5")));
+        assertEquals(250, FixedPoint.toHundredths(new BigDecimal("2.50")));
+        assertEquals(100, FixedPoint.toHundredths(BigDecimal.ONE));
+        assertEquals(0, FixedPoint.toHundredths(BigDecimal.ZERO));
+        assertEquals(10_000, FixedPoint.toHundredths(new BigDecimal("100.00")));
+        assertEquals(12_345, FixedPoint.toHundredths(new BigDecimal("123.45")));
+        assertEquals(13, FixedPoint.toHundredths(new BigDecimal("0.125")));
+        assertEquals(-150, FixedPoint.toHundredths(new BigDecimal("-1.5")));
+
+        assertSame(FixedPoint.toBigDecimal(250), FixedPoint.toBigDecimal(250));
+        assertEquals(new BigDecimal("123.45"), FixedPoint.toBigDecimal(12_345));
+    }
+
+    private static void assertRoundsLikeBigDecimal(double value) {
+        BigDecimal expected = new BigDecimal(value).setScale(2, RoundingMode.HALF_UP);
+        assertEquals(expected, BigDecimal.valueOf(FixedPoint.roundHalfUp(value), 2), () -> "value " + value);
+    }
+
+    /**
+     * The scheduling arithmetic as it was implemented on {@code BigDecimal}.
+     */
+    static final class LegacySm2 {
+
+        private static final BigDecimal MINIMUM_EASE_FACTOR = new BigDecimal("1.3");
+        private static final BigDecimal MAXIMUM_EASE_FACTOR = new BigDecimal("2.5");
+        private static final int MAXIMUM_INTERVAL = 365;
+
+        record Result(int interval, BigDecimal ease, BigDecimal stability) {
+        }
+
+        static Result update(ReviewOutcome outcome, int intervalDays, BigDecimal currentEaseFactor, BigDecimal currentStability) {
+            int interval = intervalDays;
+            BigDecimal newEaseFactor = currentEaseFactor;
+
+            switch (outcome) {
+                case AGAIN:
+                    interval = 1;
+                    newEaseFactor = currentEaseFactor.subtract(new BigDecimal("0.2"));
+                    break;
+                case HARD:
+                    interval = (int) (interval * 1.2);
+                    newEaseFactor = currentEaseFactor.subtract(new BigDecimal("0.15"));
+                    break;
+                case GOOD:
+                    interval = (int) (interval * currentEaseFactor.doubleValue());
+                    newEaseFactor = currentEaseFactor;
+                    break;
+                case EASY:
+                    interval = (int) (interval * currentEaseFactor.doubleValue() * 1.3);
+                    newEaseFactor = currentEaseFactor.add(new BigDecimal("0.1"));
+                    break;
+            }
+
+            newEaseFactor = newEaseFactor.max(MINIMUM_EASE_FACTOR);
+            newEaseFactor = newEaseFactor.min(MAXIMUM_EASE_FACTOR);
+
+            interval = Math.min(interval, MAXIMUM_INTERVAL);
+            interval = Math.max(interval, 1);
+
+            BigDecimal newStability = currentStability;
+            switch (outcome) {
+                case AGAIN:
+                    newStability = currentStability.multiply(new BigDecimal("0.5"));
+                    break;
+                case HARD:
+                    newStability = currentStability.multiply(new BigDecimal("0.8"));
+                    break;
+                case GOOD:
+                    newStability = currentStability.multiply(new BigDecimal("1.1"));
+                    break;
+                case EASY:
+                    newStability = currentStability.multiply(new BigDecimal("1.3"));
+                    break;
+            }
+            newStability = newStability.max(new BigDecimal("0.1"));
+
+            return new Result(interval, newEaseFactor, newStability.setScale(2, RoundingMode.HALF_UP));
+        }
+
+        static BigDecimal adjust(BigDecimal performanceIndex, BigDecimal easeFactor) {
+            double performance = performanceIndex.doubleValue();
+            if (performance < 30.0) {
+                return easeFactor.subtract(new BigDecimal("0.1")).max(MINIMUM_EASE_FACTOR);
+            } else if (performance > 80.0) {
+                return easeFactor.add(new BigDecimal("0.05")).min(MAXIMUM_EASE_FACTOR);
+            }
+            return easeFactor;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.memorizewords.algorithm;
+
+import com.memorizewords.enums.ReviewOutcome;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadProjectionTest {
+
+    @Test
+    void constructor_RejectsDaysOutsideHorizon() {
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadProjection(0));
+        assertThrows(IllegalArgumentException.class, () -> new WorkloadProjection(WorkloadProjection.MAXIMUM_DAYS + 1));
+        assertEquals(WorkloadProjection.MAXIMUM_DAYS, new WorkloadProjection(WorkloadProjection.MAXIMUM_DAYS).getDays());
+    }
+
+    @Test
+    void addCards_OverdueCountOnFirstDayAndBeyondHorizonIgnored() {
+        WorkloadProjection projection = new WorkloadProjection(7);
+        projection.addCards(-3, 6, 250, 4);
+        projection.addCards(2, 6, 250, 5);
+        projection.addCards(7, 6, 250, 100);
+
+        double[] scheduled = projection.getScheduled();
+        assertEquals(4.0, scheduled[0]);
+        assertEquals(5.0, scheduled[2]);
+        assertEquals(9.0, sum(scheduled));
+    }
+
+    @Test
+    void lapseRate_DefaultsWithoutHistoryAndIsCapped() {
+        WorkloadProjection projection = new WorkloadProjection(7);
+        assertEquals(WorkloadProjection.DEFAULT_LAPSE_RATE, projection.getLapseRate());
+
+        projection.addHistory(20, 100);
+        assertEquals(0.2, projection.getLapseRate(), 1e-12);
+
+        projection.addHistory(980, 900);
+        assertEquals(0.9, projection.getLapseRate(), 1e-12);
+    }
+
+    @Test
+    void project_NoLapsesFollowsSm2Intervals() {
+        WorkloadProjection projection = new WorkloadProjection(30);
+        projection.addHistory(0, 50);
+        projection.addCards(0, 6, 250, 10);
+
+        double[] load = projection.project();
+
+        int next = Sm2Scheduler.nextInterval(ReviewOutcome.GOOD, 6, 250);
+        int ease = Sm2Scheduler.nextEase(ReviewOutcome.GOOD, 250);
+        int after = Sm2Scheduler.nextInterval(ReviewOutcome.GOOD, next, ease);
+        assertEquals(10.0, load[0], 1e-9);
+        assertEquals(10.0, load[next], 1e-9);
+        assertEquals(next + after < 30 ? 30.0 : 20.0, sum(load), 1e-9);
+    }
+
+    @Test
+    void project_LapsedShareReturnsNextDay() {
+        WorkloadProjection projection = new WorkloadProjection(10);
+        projection.addHistory(25, 100);
+        projection.addCards(0, 20, 250, 100);
+
+        double[] load = projection.project();
+
+        assertEquals(100.0, load[0], 1e-9);
+        // A quarter lapses and is relearned the next day
+        assertEquals(25.0, load[1], 1e-9);
+        assertTrue(load[2] > 0.0);
+    }
+
+    @Test
+    void project_DoesNotConsumePendingCards() {
+        WorkloadProjection projection = new WorkloadProjection(14);
+        projection.addCards(0, 1, 250, 3);
+        projection.addCards(4, 3, 180, 2);
+
+        double[] first = projection.project();
+        double[] second = projection.project();
+
+        assertArrayEquals(first, second, 1e-12);
+        assertTrue(sum(first) > 5.0);
+    }
+
+    private static double sum(double[] values) {
+        double total = 0.0;
+        for (double value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
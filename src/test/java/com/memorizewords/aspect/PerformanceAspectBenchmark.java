@@ -0,0 +1,162 @@
+package com.memorizewords.aspect;
+
+import com.memorizewords.service.ImportExportService;
+import com.memorizewords.service.PerformanceMonitoringService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-call overhead of {@link PerformanceAspect} on a cheap service method.
+ *
+ * {@code legacyAspect} reproduces the previous advice, which built and
+ * registered its meters and allocated {@link Instant}s on every call;
+ * {@code cachedAspect} and {@code sampledAspect} go through the current
+ * aspect. Each call passes both the service and database pointcuts, as
+ * service calls do in the application.
+ *
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:<test classpath> com.memorizewords.aspect.PerformanceAspectBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class PerformanceAspectBenchmark {
+
+    private ImportExportService direct;
+    private ImportExportService legacy;
+    private ImportExportService cached;
+    private ImportExportService sampled;
+
+    @Setup
+    public void setUp() {
+        direct = new ImportExportService(null, null, null, null);
+        legacy = proxy(new LegacyPerformanceAspect(new SimpleMeterRegistry()));
+        cached = proxy(aspect(1.0));
+        sampled = proxy(aspect(0.01));
+    }
+
+    @Benchmark
+    public boolean directCall() {
+        return direct.supportsImportFormat("csv");
+    }
+
+    @Benchmark
+    public boolean legacyAspect() {
+        return legacy.supportsImportFormat("csv");
+    }
+
+    @Benchmark
+    public boolean cachedAspect() {
+        return cached.supportsImportFormat("csv");
+    }
+
+    @Benchmark
+    public boolean sampledAspect() {
+        return sampled.supportsImportFormat("csv");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(PerformanceAspectBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    private PerformanceAspect aspect(double sampleRate) {
+        return new PerformanceAspect(Mockito.mock(PerformanceMonitoringService.class), new SimpleMeterRegistry(),
+            new double[] {0.5, 0.99, 0.999}, false,
+            sampleRate, sampleRate, sampleRate, sampleRate, sampleRate, sampleRate);
+    }
+
+    private ImportExportService proxy(Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ImportExportService(null, null, null, null));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    /**
+     * The service and database advice as they were before meters were cached.
+     */
+    @Aspect
+    static class LegacyPerformanceAspect {
+
+        private final MeterRegistry meterRegistry;
+        private final ConcurrentHashMap<String, AtomicLong> methodCallCounts = new ConcurrentHashMap<>();
+        private final AtomicLong slowCalls = new AtomicLong();
+
+        LegacyPerformanceAspect(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Around("within(@org.springframework.stereotype.Service *)")
+        public Object monitorServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
+            String className = joinPoint.getTarget().getClass().getSimpleName();
+            String methodName = joinPoint.getSignature().getName();
+            String fullMethodName = className + "." + methodName;
+
+            Timer.Sample sample = Timer.start();
+            Instant startTime = Instant.now();
+
+            Object result = joinPoint.proceed();
+            Duration duration = Duration.between(startTime, Instant.now());
+
+            sample.stop(Timer.builder("service.method.execution")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("status", "success")
+                .register(meterRegistry));
+            methodCallCounts.computeIfAbsent(fullMethodName, k -> new AtomicLong(0)).incrementAndGet();
+
+            if (duration.toMillis() > 500) {
+                slowCalls.incrementAndGet();
+            }
+            return result;
+        }
+
+        @Around("execution(* com.memorizewords.service.*.*(..))")
+        public Object monitorDatabaseOperations(ProceedingJoinPoint joinPoint) throws Throwable {
+            String operationName = joinPoint.getSignature().toShortString();
+            Instant startTime = Instant.now();
+
+            Object result = joinPoint.proceed();
+            Duration duration = Duration.between(startTime, Instant.now());
+
+            Timer.builder("database.operation.duration")
+                .tag("operation", operationName)
+                .tag("status", "success")
+                .register(meterRegistry)
+                .record(duration);
+            return result;
+        }
+    }
+}
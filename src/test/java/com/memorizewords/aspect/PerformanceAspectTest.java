@@ -0,0 +1,97 @@
+package com.memorizewords.aspect;
+
+import com.memorizewords.service.PerformanceMonitoringService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceAspectTest {
+
+    @Mock
+    private PerformanceMonitoringService monitoringService;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private MethodSignature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(joinPoint.getTarget()).thenReturn(new SampleService());
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(signature.getMethod()).thenReturn(SampleService.class.getMethod("findAll"));
+    }
+
+    @Test
+    void monitorServiceMethods_ReusesMetersAcrossCalls() throws Throwable {
+        PerformanceAspect aspect = aspect(1.0);
+        when(joinPoint.proceed()).thenReturn(List.of("a", "b"));
+
+        aspect.monitorServiceMethods(joinPoint);
+        int meters = meterRegistry.getMeters().size();
+        aspect.monitorServiceMethods(joinPoint);
+
+        Timer timer = meterRegistry.get("service.method.execution")
+            .tags("class", "SampleService", "method", "findAll", "status", "success")
+            .timer();
+        assertEquals(2, timer.count());
+        assertEquals(meters, meterRegistry.getMeters().size());
+        assertEquals(4.0, meterRegistry.get("service.method.result.size").summary().totalAmount());
+        assertEquals(2, aspect.getMethodCallCount("SampleService.findAll"));
+    }
+
+    @Test
+    void monitorServiceMethods_RecordsErrorsByExceptionType() throws Throwable {
+        PerformanceAspect aspect = aspect(1.0);
+        when(joinPoint.proceed()).thenReturn(List.of()).thenThrow(new IllegalStateException("boom"));
+
+        aspect.monitorServiceMethods(joinPoint);
+        assertThrows(IllegalStateException.class, () -> aspect.monitorServiceMethods(joinPoint));
+
+        Timer errors = meterRegistry.get("service.method.execution")
+            .tags("status", "error", "exception", "IllegalStateException")
+            .timer();
+        assertEquals(1, errors.count());
+        assertEquals(50.0, aspect.getMethodErrorRate("SampleService.findAll"));
+    }
+
+    @Test
+    void monitorServiceMethods_SkipsUnsampledCalls() throws Throwable {
+        PerformanceAspect aspect = aspect(0.0);
+        when(joinPoint.proceed()).thenReturn(List.of("a"));
+
+        assertEquals(List.of("a"), aspect.monitorServiceMethods(joinPoint));
+
+        assertTrue(meterRegistry.getMeters().isEmpty());
+        assertEquals(0, aspect.getMethodCallCount("SampleService.findAll"));
+        verify(joinPoint, never()).getSignature();
+    }
+
+    private PerformanceAspect aspect(double sampleRate) {
+        return new PerformanceAspect(monitoringService, meterRegistry, new double[] {0.5, 0.99}, false,
+            sampleRate, sampleRate, sampleRate, sampleRate, sampleRate, sampleRate);
+    }
+
+    static class SampleService {
+
+        public List<String> findAll() {
+            return List.of();
+        }
+    }
+}
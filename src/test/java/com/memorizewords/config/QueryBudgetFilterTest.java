@@ -0,0 +1,98 @@
+package com.memorizewords.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryBudgetFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void doFilter_CountsStatementsOfTheRequestOnly() throws Exception {
+        StatementCounter inspector = new StatementCounter();
+        inspector.inspect("select 1 from words");
+
+        QueryBudgetFilter filter = new QueryBudgetFilter(3, true, List.of("/actuator"), meterRegistry);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/words"), new MockHttpServletResponse(), statements(3));
+
+        assertEquals(0, StatementCounter.current());
+        assertEquals(0.0, meterRegistry.counter("http.server.requests.query_budget_exceeded").count());
+    }
+
+    @Test
+    void doFilter_LogsRequestsOverBudget() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(3, false, List.of("/actuator"), meterRegistry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/words"), response, statements(4));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1.0, meterRegistry.counter("http.server.requests.query_budget_exceeded").count());
+    }
+
+    @Test
+    void doFilter_ReplacesResponsesOverBudgetWithServerErrorWhenConfigured() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(3, true, List.of("/actuator"), meterRegistry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/vocabulary-lists/public"), response, statements(51));
+
+        assertEquals(500, response.getStatus());
+        assertEquals("GET /api/vocabulary-lists/public ran 51 SQL statements, over the budget of 3", response.getErrorMessage());
+        assertEquals("", response.getContentAsString());
+        assertNull(response.getHeader("X-Handled"));
+        assertEquals(0, StatementCounter.current());
+    }
+
+    @Test
+    void doFilter_PassesBufferedResponsesWithinBudgetThrough() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(3, true, List.of("/actuator"), meterRegistry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/words"), response, statements(2));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("[]", response.getContentAsString());
+        assertEquals("yes", response.getHeader("X-Handled"));
+    }
+
+    @Test
+    void doFilter_DoesNotCountExcludedPaths() throws Exception {
+        QueryBudgetFilter filter = new QueryBudgetFilter(3, true, List.of("/actuator", "/api/words/bulk-import"), meterRegistry);
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/words/bulk-import"), new MockHttpServletResponse(), statements(100));
+
+        assertEquals(0.0, meterRegistry.counter("http.server.requests.query_budget_exceeded").count());
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveBudget() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new QueryBudgetFilter(0, false, List.of(), meterRegistry));
+    }
+
+    private static FilterChain statements(int count) {
+        StatementCounter inspector = new StatementCounter();
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                inspector.inspect("select * from words where id = ?");
+            }
+            ((HttpServletResponse) response).setHeader("X-Handled", "yes");
+            response.getWriter().write("[]");
+        };
+    }
+}
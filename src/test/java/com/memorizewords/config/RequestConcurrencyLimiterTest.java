@@ -0,0 +1,61 @@
+package com.memorizewords.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new RequestConcurrencyLimiter(1, 10, new ObjectMapper(), meterRegistry);
+    }
+
+    @Test
+    void doFilter_RejectsRequestsBeyondLimitWith503() throws Exception {
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        MockHttpServletResponse first = new MockHttpServletResponse();
+
+        // The second request arrives while the first still holds the only slot
+        limiter.doFilter(new MockHttpServletRequest("GET", "/api/words"), first, (request, response) -> {
+            assertEquals(1, limiter.inFlight());
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            limiter.doFilter(new MockHttpServletRequest("GET", "/api/words"), second, (r, s) -> fail("should be rejected"));
+            nested.set(second);
+        });
+
+        assertEquals(200, first.getStatus());
+        assertEquals(503, nested.get().getStatus());
+        assertEquals("1", nested.get().getHeader("Retry-After"));
+        assertTrue(nested.get().getContentAsString().contains("\"success\":false"));
+        assertEquals(0, limiter.inFlight());
+        assertEquals(1.0, meterRegistry.counter("http.server.requests.rejected").count());
+    }
+
+    @Test
+    void doFilter_DoesNotLimitHealthChecks() throws Exception {
+        MockHttpServletResponse health = new MockHttpServletResponse();
+
+        limiter.doFilter(new MockHttpServletRequest("GET", "/api/words"), new MockHttpServletResponse(), (request, response) ->
+            limiter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, (r, s) -> { }));
+
+        assertEquals(200, health.getStatus());
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new RequestConcurrencyLimiter(0, 10, new ObjectMapper(), meterRegistry));
+    }
+}
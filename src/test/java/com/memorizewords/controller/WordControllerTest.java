@@ -47,7 +47,7 @@ class WordControllerTest {
 
     @BeforeEach
     void setUp() {
-        wordController = new WordController(wordService, null, null);
+        wordController = new WordController(wordService, null, null, null);
         mockMvc = MockMvcBuilders.standaloneSetup(wordController).build();
         objectMapper = new ObjectMapper();
     }
@@ -0,0 +1,181 @@
+package com.memorizewords.repository;
+
+import com.memorizewords.config.StatementCounter;
+import com.memorizewords.entity.BaseEntity;
+import com.memorizewords.entity.SpacedRepetitionCard;
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.VocabularyList;
+import com.memorizewords.entity.Word;
+import com.memorizewords.enums.WordCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the fetch plans behind the listing endpoints. Mapping a listing to
+ * DTOs touches the same associations as the services do and must run in a
+ * constant number of statements however many rows it returns; an N+1 load
+ * fails the build.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.memorizewords.config.StatementCounter")
+@ActiveProfiles("test")
+class FetchPlanTest {
+
+    private static final int WORDS_PER_USER = 15;
+    private static final int LISTS_PER_USER = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private WordRepository wordRepository;
+
+    @Autowired
+    private VocabularyListRepository listRepository;
+
+    @Autowired
+    private SpacedRepetitionCardRepository cardRepository;
+
+    private User learner;
+
+    @BeforeEach
+    void setUp() {
+        learner = persist(user("learner"));
+        User author = persist(user("author"));
+
+        List<Word> words = new ArrayList<>();
+        for (User owner : List.of(learner, author)) {
+            for (int i = 0; i < WORDS_PER_USER; i++) {
+                words.add(persist(word(owner.getUsername() + i, owner)));
+            }
+            for (int i = 0; i < LISTS_PER_USER; i++) {
+                VocabularyList list = new VocabularyList();
+                list.setName(owner.getUsername() + " list " + i);
+                list.setOwner(owner);
+                list.setIsPublic(true);
+                list.setTags(Set.of("shared", "list" + i));
+                list.getWords().addAll(words.subList(i, i + 5));
+                list.setCreatedAt(LocalDateTime.now());
+                persist(list);
+            }
+        }
+        for (Word word : words) {
+            SpacedRepetitionCard card = new SpacedRepetitionCard();
+            card.setUser(learner);
+            card.setWord(word);
+            card.setDueDate(LocalDateTime.now().minusDays(1));
+            card.setCreatedAt(LocalDateTime.now());
+            persist(card);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        StatementCounter.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        StatementCounter.stop();
+    }
+
+    @Test
+    void wordSearch_LoadsCreatorsWithTheWordsAndBatchesCollections() {
+        List<Word> words = wordRepository.findAll(Specification.where(null), PageRequest.of(0, 50)).getContent();
+        for (Word word : words) {
+            word.getCreatedBy().getUsername();
+            word.getTags().size();
+            word.getCategories().size();
+        }
+
+        assertEquals(2 * WORDS_PER_USER, words.size());
+        assertStatementsAtMost(3);
+    }
+
+    @Test
+    void wordsById_LoadsCreatorsWithTheWords() {
+        List<Long> ids = wordRepository.findAll().stream().map(Word::getId).toList();
+        entityManager.clear();
+        StatementCounter.start();
+
+        List<Word> words = wordRepository.findByIdIn(ids);
+        words.forEach(word -> word.getCreatedBy().getUsername());
+
+        assertEquals(ids.size(), words.size());
+        assertStatementsAtMost(1);
+    }
+
+    @Test
+    void publicLists_LoadOwnersWithTheListsAndBatchWordsAndTags() {
+        List<VocabularyList> lists = listRepository.findByIsPublicTrueOrderByCreatedAtDesc();
+        for (VocabularyList list : lists) {
+            list.getOwner().getUsername();
+            list.getTags().size();
+            list.getWords().forEach(Word::getDifficulty);
+        }
+
+        assertEquals(2 * LISTS_PER_USER, lists.size());
+        assertStatementsAtMost(3);
+    }
+
+    @Test
+    void dueCards_LoadWordsWithTheCards() {
+        List<SpacedRepetitionCard> cards = cardRepository
+            .findDueCardsForUser(learner, LocalDateTime.now(), PageRequest.of(0, 50)).getContent();
+        cards.forEach(card -> card.getWord().getWord());
+
+        assertEquals(2 * WORDS_PER_USER, cards.size());
+        assertStatementsAtMost(1);
+    }
+
+    @Test
+    void activeCards_LoadWordsWithTheCards() {
+        List<SpacedRepetitionCard> cards = cardRepository.findActiveCardsForUser(learner);
+        cards.forEach(card -> card.getWord().getWord());
+
+        assertEquals(2 * WORDS_PER_USER, cards.size());
+        assertStatementsAtMost(1);
+    }
+
+    private static void assertStatementsAtMost(int expected) {
+        int statements = StatementCounter.current();
+        assertTrue(statements <= expected, "ran " + statements + " statements, expected at most " + expected);
+    }
+
+    private <T extends BaseEntity> T persist(T entity) {
+        return entityManager.persist(entity);
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+
+    private static Word word(String text, User owner) {
+        Word word = new Word();
+        word.setWord(text);
+        word.setLanguage("english");
+        word.setCreatedBy(owner);
+        word.setIsPublic(true);
+        word.setTags(Set.of("common", text));
+        word.setCategories(Set.of(WordCategory.NOUN));
+        word.setCreatedAt(LocalDateTime.now());
+        return word;
+    }
+}
@@ -0,0 +1,78 @@
+package com.memorizewords.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the indexes behind the hottest spaced repetition queries. Each query
+ * mirrors the predicates of a repository method and must be answered from
+ * the named index; a plan that falls back to a table scan fails the build.
+ *
+ * The schema is generated from the entity mappings, which declare the same
+ * indexes as the V6 migration. Repositories are not needed to inspect plans.
+ */
+@DataJpaTest(properties = "spring.data.jpa.repositories.enabled=false")
+@ActiveProfiles("test")
+class HotQueryIndexTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+            Arguments.of("SpacedRepetitionCardRepository.findDueCardsForUser",
+                "SELECT c.id FROM spaced_repetition_cards c WHERE c.user_id = 1 AND c.due_date <= CURRENT_TIMESTAMP " +
+                "AND c.is_active = TRUE AND c.is_suspended = FALSE ORDER BY c.due_date",
+                "idx_src_user_active_due"),
+            Arguments.of("SpacedRepetitionCardRepository.findDueIndexEntriesForUser",
+                "SELECT c.id, c.due_date FROM spaced_repetition_cards c WHERE c.user_id = 1 " +
+                "AND c.is_active = TRUE AND c.is_suspended = FALSE",
+                "idx_src_user_active_due"),
+            Arguments.of("SpacedRepetitionCardRepository.countNewCardsForUser",
+                "SELECT COUNT(c.id) FROM spaced_repetition_cards c WHERE c.user_id = 1 AND c.total_reviews = 0 " +
+                "AND c.is_active = TRUE AND c.is_suspended = FALSE",
+                "idx_src_user_total_reviews"),
+            Arguments.of("SpacedRepetitionCardRepository.findByUserAndLastReviewedBetween",
+                "SELECT c.id FROM spaced_repetition_cards c WHERE c.user_id = 1 " +
+                "AND c.last_reviewed >= CURRENT_TIMESTAMP AND c.last_reviewed <= CURRENT_TIMESTAMP",
+                "idx_src_user_last_reviewed"),
+            Arguments.of("SpacedRepetitionCardRepository.findByUserAndWordId",
+                "SELECT c.id FROM spaced_repetition_cards c WHERE c.user_id = 1 AND c.word_id = 2",
+                "idx_src_user_word"),
+            Arguments.of("ReviewSessionRepository.findCompletedSessionsByUser",
+                "SELECT s.id FROM review_sessions s WHERE s.user_id = 1 AND s.is_completed = TRUE ORDER BY s.start_time DESC",
+                "idx_review_sessions_user_completed_start"),
+            Arguments.of("ReviewSessionRepository.countCompletedSessionsByUserInPeriod",
+                "SELECT COUNT(s.id) FROM review_sessions s WHERE s.user_id = 1 AND s.is_completed = TRUE " +
+                "AND s.start_time >= CURRENT_TIMESTAMP AND s.start_time <= CURRENT_TIMESTAMP",
+                "idx_review_sessions_user_completed_start"),
+            Arguments.of("ReviewSessionRepository.findExpiredSessionKeys",
+                "SELECT s.id, s.start_time FROM review_sessions s WHERE s.is_completed = FALSE " +
+                "AND s.start_time < CURRENT_TIMESTAMP ORDER BY s.start_time, s.id",
+                "idx_review_sessions_completed_start"),
+            Arguments.of("ReviewSessionRepository.findByIdWithCards",
+                "SELECT sc.card_id FROM review_session_cards sc WHERE sc.session_id = 1",
+                "idx_review_session_cards_session_card")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesIndex(String query, String sql, String expectedIndex) {
+        String plan = ((String) entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult())
+            .toLowerCase(Locale.ROOT);
+
+        assertFalse(plan.contains("tablescan"), query + " falls back to a full scan: " + plan);
+        assertTrue(plan.contains(expectedIndex), query + " does not use " + expectedIndex + ": " + plan);
+    }
+}
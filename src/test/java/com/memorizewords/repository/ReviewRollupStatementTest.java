@@ -0,0 +1,65 @@
+package com.memorizewords.repository;
+
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.UserDailyReviewRollup;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the rollup insert and increment statements against the test schema,
+ * so they stay portable beyond MySQL.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ReviewRollupStatementTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserDailyReviewRollupRepository rollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void insertEmptyDay_ThenIncrementsAddToTheRow() {
+        User user = new User();
+        user.setUsername("learner");
+        user.setEmail("learner@example.com");
+        user.setPassword("secret");
+        user.setCreatedAt(LocalDateTime.now());
+        Long userId = entityManager.persistAndFlush(user).getId();
+
+        assertFalse(rollupRepository.existsByUserIdNotNull());
+        assertEquals(0, rollupRepository.addReviews(userId, DAY, 3, 2, 1, 5000L, 2, LocalDateTime.now()));
+        assertTrue(userRepository.findByIdForUpdate(userId).isPresent());
+        assertEquals(1, rollupRepository.insertEmptyDay(userId, DAY, LocalDateTime.now()));
+        assertEquals(1, rollupRepository.addReviews(userId, DAY, 3, 2, 1, 5000L, 2, LocalDateTime.now()));
+        assertEquals(1, rollupRepository.addCompletedSession(userId, DAY, 300L, new BigDecimal("80.00"),
+            new BigDecimal("66.67"), 1, LocalDateTime.now()));
+        entityManager.clear();
+
+        List<UserDailyReviewRollup> rows = rollupRepository.findByUserIdAndDateRange(userId, DAY, DAY);
+        assertEquals(1, rows.size());
+        UserDailyReviewRollup rollup = rows.get(0);
+        assertEquals(1, rollup.getSessions());
+        assertEquals(3, rollup.getReviews());
+        assertEquals(2, rollup.getCorrectAnswers());
+        assertEquals(5000L, rollup.getResponseTimeSum());
+        assertEquals(0, new BigDecimal("66.67").compareTo(rollup.getBestSessionAccuracy()));
+        assertTrue(rollupRepository.existsByUserIdNotNull());
+    }
+}
@@ -0,0 +1,158 @@
+package com.memorizewords.repository;
+
+import com.memorizewords.entity.ReviewSession;
+import com.memorizewords.entity.ReviewSessionCard;
+import com.memorizewords.entity.SpacedRepetitionCard;
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.Word;
+import com.memorizewords.enums.ReviewMode;
+import com.memorizewords.enums.ReviewOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the grouped daily queries behind the review rollups: one row per
+ * user and day with sessions, and no rows for days without any.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ReviewSessionAggregationTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReviewSessionRepository sessionRepository;
+
+    private User learner;
+    private User other;
+    private SpacedRepetitionCard card;
+
+    @BeforeEach
+    void setUp() {
+        learner = entityManager.persist(user("learner"));
+        other = entityManager.persist(user("other"));
+
+        Word word = new Word();
+        word.setWord("harbour");
+        word.setLanguage("english");
+        word.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(word);
+
+        card = new SpacedRepetitionCard();
+        card.setUser(learner);
+        card.setWord(word);
+        card.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(card);
+
+        // Two sessions on Monday, none on Tuesday, one on Wednesday
+        session(learner, MONDAY.atTime(8, 0), 10, 8, 600L, true, ReviewOutcome.GOOD, 2000);
+        session(learner, MONDAY.atTime(20, 30), 5, 5, 300L, true, ReviewOutcome.EASY, 4000);
+        session(learner, MONDAY.plusDays(2).atTime(9, 0), 4, 1, 200L, false, ReviewOutcome.AGAIN, 0);
+        session(other, MONDAY.atTime(12, 0), 3, 3, 100L, true, ReviewOutcome.GOOD, 1000);
+        // Outside the queried range
+        session(learner, MONDAY.plusDays(7).atTime(9, 0), 6, 6, 300L, true, ReviewOutcome.GOOD, 1000);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void aggregateDailySessionTotals_OneRowPerUserAndActiveDay() {
+        List<ReviewSessionRepository.DailySessionTotals> rows = sessionRepository
+            .aggregateDailySessionTotals(MONDAY.atStartOfDay(), MONDAY.plusDays(7).atStartOfDay())
+            .stream()
+            .sorted(Comparator.comparing(ReviewSessionRepository.DailySessionTotals::getUserId)
+                .thenComparing(ReviewSessionRepository.DailySessionTotals::getDay))
+            .toList();
+
+        assertEquals(3, rows.size());
+
+        ReviewSessionRepository.DailySessionTotals monday = rows.get(0);
+        assertEquals(learner.getId(), monday.getUserId());
+        assertEquals(MONDAY, monday.getDay());
+        assertEquals(2L, monday.getSessions().longValue());
+        assertEquals(15L, monday.getReviews().longValue());
+        assertEquals(13L, monday.getCorrectAnswers().longValue());
+        assertEquals(900L, monday.getStudySeconds().longValue());
+
+        // Tuesday has no sessions and no row; the open session counts reviews but not sessions
+        ReviewSessionRepository.DailySessionTotals wednesday = rows.get(1);
+        assertEquals(MONDAY.plusDays(2), wednesday.getDay());
+        assertEquals(0L, wednesday.getSessions().longValue());
+        assertEquals(4L, wednesday.getReviews().longValue());
+        assertEquals(0L, wednesday.getStudySeconds().longValue());
+
+        assertEquals(other.getId(), rows.get(2).getUserId());
+        assertEquals(MONDAY, rows.get(2).getDay());
+    }
+
+    @Test
+    void aggregateDailyAnswerTotals_OneRowPerUserAndActiveDay() {
+        List<ReviewSessionRepository.DailyAnswerTotals> rows = sessionRepository
+            .aggregateDailyAnswerTotals(MONDAY.atStartOfDay(), MONDAY.plusDays(7).atStartOfDay())
+            .stream()
+            .filter(row -> row.getUserId().equals(learner.getId()))
+            .sorted(Comparator.comparing(ReviewSessionRepository.DailyAnswerTotals::getDay))
+            .toList();
+
+        assertEquals(List.of(MONDAY, MONDAY.plusDays(2)),
+            rows.stream().map(ReviewSessionRepository.DailyAnswerTotals::getDay).toList());
+        assertEquals(6000L, rows.get(0).getResponseTimeSum().longValue());
+        assertEquals(2L, rows.get(0).getResponseCount().longValue());
+        assertEquals(2L, rows.get(0).getNewCards().longValue());
+        // A zero response time is left out of the average
+        assertEquals(0L, rows.get(1).getResponseCount().longValue());
+    }
+
+    private void session(User user, LocalDateTime start, int reviews, int correct, long seconds,
+                         boolean completed, ReviewOutcome outcome, int responseTime) {
+        ReviewSession session = new ReviewSession();
+        session.setUser(user);
+        session.setMode(ReviewMode.DUE_CARDS);
+        session.setStartTime(start);
+        session.setTotalCards(reviews);
+        session.setCompletedCards(reviews);
+        session.setCorrectAnswers(correct);
+        session.setIsCompleted(completed);
+        session.setSessionDuration(seconds);
+        session.setTotalSessionScore(new BigDecimal("80.00"));
+        session.setCreatedAt(start);
+        if (completed) {
+            session.setEndTime(start.plusSeconds(seconds));
+        }
+        entityManager.persist(session);
+
+        ReviewSessionCard answer = new ReviewSessionCard();
+        answer.setSession(session);
+        answer.setCard(card);
+        answer.setOutcome(outcome);
+        answer.setResponseTime(responseTime);
+        answer.setReviewNumber(1);
+        answer.setCreatedAt(start);
+        entityManager.persist(answer);
+    }
+
+    private static User user(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("secret");
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+}
@@ -0,0 +1,197 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.SpacedRepetitionCard;
+import com.memorizewords.entity.User;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DueCardIndexTest {
+
+    @Mock
+    private SpacedRepetitionCardRepository cardRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DueCardIndex dueCardIndex;
+    private User testUser;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        dueCardIndex = new DueCardIndex(cardRepository, transactionManager, true, 2);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+
+        now = LocalDateTime.of(2024, 1, 15, 12, 0);
+    }
+
+    @Test
+    void findDueCardIds_ReturnsEarliestFirstAndLoadsOnce() {
+        when(cardRepository.findDueIndexEntriesForUser(testUser)).thenReturn(List.of(
+            new Object[]{3L, now.minusHours(1)},
+            new Object[]{1L, now.minusDays(2)},
+            new Object[]{2L, now.plusDays(1)},
+            new Object[]{4L, now.minusHours(1)}
+        ));
+
+        List<Long> ids = dueCardIndex.findDueCardIds(testUser, now, 10);
+        long count = dueCardIndex.countDue(testUser, now);
+
+        assertEquals(List.of(1L, 3L, 4L), ids);
+        assertEquals(3, count);
+        assertEquals(List.of(1L), dueCardIndex.findDueCardIds(testUser, now, 1));
+        verify(cardRepository, times(1)).findDueIndexEntriesForUser(testUser);
+    }
+
+    @Test
+    void update_ReschedulesSuspendsAndRemovesCards() {
+        when(cardRepository.findDueIndexEntriesForUser(testUser)).thenReturn(List.of(
+            new Object[]{1L, now.minusDays(1)},
+            new Object[]{2L, now.minusDays(2)}
+        ));
+        dueCardIndex.countDue(testUser, now);
+
+        SpacedRepetitionCard reviewed = card(1L, now.plusDays(3));
+        dueCardIndex.update(reviewed);
+        assertEquals(List.of(2L), dueCardIndex.findDueCardIds(testUser, now, 10));
+
+        SpacedRepetitionCard added = card(5L, now.minusMinutes(5));
+        dueCardIndex.update(added);
+        assertEquals(List.of(2L, 5L), dueCardIndex.findDueCardIds(testUser, now, 10));
+
+        added.setIsSuspended(true);
+        dueCardIndex.update(added);
+        assertEquals(1, dueCardIndex.countDue(testUser, now));
+
+        dueCardIndex.remove(card(2L, now.minusDays(2)));
+        assertEquals(0, dueCardIndex.countDue(testUser, now));
+        assertEquals(1, dueCardIndex.countDue(testUser, now.plusDays(4)));
+    }
+
+    @Test
+    void countDueByDay_TracksUpdatesAndRemovals() {
+        when(cardRepository.findDueIndexEntriesForUser(testUser)).thenReturn(List.of(
+            new Object[]{1L, now.plusDays(1)},
+            new Object[]{2L, now.plusDays(1).plusHours(3)},
+            new Object[]{3L, now.plusDays(3)}
+        ));
+        LocalDate today = now.toLocalDate();
+
+        assertArrayEquals(new int[]{0, 2, 0, 1}, dueCardIndex.countDueByDay(testUser, today, 4));
+
+        dueCardIndex.update(card(1L, now.plusDays(2)));
+        dueCardIndex.update(card(2L, now.plusDays(1).plusHours(5)));
+        dueCardIndex.remove(card(3L, now.plusDays(3)));
+
+        assertArrayEquals(new int[]{1, 1, 0}, dueCardIndex.countDueByDay(testUser, today.plusDays(1), 3));
+    }
+
+    @Test
+    void heapFor_ReadsInItsOwnTransactionAndReplaysChangesCommittedMeanwhile() {
+        when(cardRepository.findDueIndexEntriesForUser(testUser)).thenAnswer(invocation -> {
+            // Committed by another request after the read's snapshot was taken
+            dueCardIndex.update(card(1L, now.plusDays(3)));
+            dueCardIndex.update(card(7L, now.minusHours(2)));
+            return List.<Object[]>of(
+                new Object[]{1L, now.minusDays(1)},
+                new Object[]{2L, now.minusDays(2)});
+        });
+
+        assertEquals(List.of(2L, 7L), dueCardIndex.findDueCardIds(testUser, now, 10));
+        verify(transactionManager).getTransaction(argThat(definition ->
+            definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW && definition.isReadOnly()));
+    }
+
+    @Test
+    void update_IgnoresUsersNotLoaded() {
+        dueCardIndex.update(card(1L, now));
+
+        assertEquals(0, dueCardIndex.cachedUserCount());
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void heapFor_EvictsLeastRecentlyUsedUser() {
+        User second = new User();
+        second.setId(2L);
+        User third = new User();
+        third.setId(3L);
+        when(cardRepository.findDueIndexEntriesForUser(any())).thenReturn(List.of());
+
+        dueCardIndex.countDue(testUser, now);
+        dueCardIndex.countDue(second, now);
+        dueCardIndex.countDue(testUser, now);
+        dueCardIndex.countDue(third, now);
+        dueCardIndex.countDue(testUser, now);
+
+        assertEquals(2, dueCardIndex.cachedUserCount());
+        verify(cardRepository, times(1)).findDueIndexEntriesForUser(testUser);
+
+        dueCardIndex.countDue(second, now);
+        verify(cardRepository, times(2)).findDueIndexEntriesForUser(second);
+    }
+
+    @Test
+    void userDueHeap_MatchesSortedReferenceUnderRandomUpdates() {
+        DueCardIndex.UserDueHeap heap = new DueCardIndex.UserDueHeap();
+        long[] dues = new long[500];
+        boolean[] present = new boolean[500];
+        Random random = new Random(42);
+
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(dues.length);
+            if (random.nextInt(4) == 0) {
+                heap.remove(id);
+                present[id] = false;
+            } else {
+                dues[id] = random.nextInt(1000);
+                heap.upsert(id, dues[id]);
+                present[id] = true;
+            }
+        }
+
+        long cutoff = 400;
+        List<Long> expected = new ArrayList<>();
+        for (int id = 0; id < dues.length; id++) {
+            if (present[id] && dues[id] <= cutoff) {
+                expected.add((long) id);
+            }
+        }
+        expected.sort((a, b) -> dues[a.intValue()] != dues[b.intValue()]
+            ? Long.compare(dues[a.intValue()], dues[b.intValue()])
+            : Long.compare(a, b));
+
+        assertEquals(expected, heap.peekDue(cutoff, Integer.MAX_VALUE));
+        assertEquals(expected.subList(0, 20), heap.peekDue(cutoff, 20));
+        assertEquals(expected.size(), heap.countDue(cutoff));
+    }
+
+    private SpacedRepetitionCard card(Long id, LocalDateTime dueDate) {
+        SpacedRepetitionCard card = new SpacedRepetitionCard();
+        card.setId(id);
+        card.setUser(testUser);
+        card.setDueDate(dueDate);
+        card.setIsActive(true);
+        card.setIsSuspended(false);
+        return card;
+    }
+}
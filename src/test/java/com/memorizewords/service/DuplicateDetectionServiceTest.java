@@ -1,5 +1,6 @@
 package com.memorizewords.service;
 
+import com.memorizewords.dto.response.DuplicateCheckDto;
 import com.memorizewords.entity.User;
 import com.memorizewords.entity.Word;
 import com.memorizewords.repository.WordRepository;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +18,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +28,15 @@ class DuplicateDetectionServiceTest {
     @Mock
     private WordRepository wordRepository;
 
+    @Mock
+    private WordPrefixIndex prefixIndex;
+
+    @Mock
+    private NearDuplicateIndex nearDuplicateIndex;
+
+    @Mock
+    private WordExistenceFilter existenceFilter;
+
     @InjectMocks
     private DuplicateDetectionService duplicateDetectionService;
 
@@ -54,6 +66,7 @@ class DuplicateDetectionServiceTest {
 
     @Test
     void isDuplicateWord_True() {
+        when(existenceFilter.mightContain("test", "english")).thenReturn(true);
         when(wordRepository.findByWordAndLanguage("test", "english")).thenReturn(Optional.of(testWord));
 
         boolean result = duplicateDetectionService.isDuplicateWord("test", "english");
@@ -65,6 +78,7 @@ class DuplicateDetectionServiceTest {
 
     @Test
     void isDuplicateWord_False() {
+        when(existenceFilter.mightContain("test", "english")).thenReturn(true);
         when(wordRepository.findByWordAndLanguage("test", "english")).thenReturn(Optional.empty());
 
         boolean result = duplicateDetectionService.isDuplicateWord("test", "english");
@@ -74,8 +88,28 @@ class DuplicateDetectionServiceTest {
         verify(wordRepository).findByWordAndLanguage("test", "english");
     }
 
+    @Test
+    void isDuplicateWord_DefinitelyNewSkipsQuery() {
+        when(existenceFilter.mightContain("test", "english")).thenReturn(false);
+
+        assertFalse(duplicateDetectionService.isDuplicateWord("test", "english"));
+
+        verify(wordRepository, never()).findByWordAndLanguage(any(), any());
+    }
+
+    @Test
+    void isDuplicateWord_NormalizesAndRecordsFalsePositive() {
+        when(existenceFilter.mightContain(" Test ", "english")).thenReturn(true);
+        when(wordRepository.findByWordAndLanguage("test", "english")).thenReturn(Optional.empty());
+
+        assertFalse(duplicateDetectionService.isDuplicateWord(" Test ", "english"));
+
+        verify(existenceFilter).recordFalsePositives(1);
+    }
+
     @Test
     void isDuplicateWordForUser_True() {
+        when(existenceFilter.mightContain("test", "english")).thenReturn(true);
         when(wordRepository.findByWordAndLanguage("test", "english")).thenReturn(Optional.of(testWord));
 
         boolean result = duplicateDetectionService.isDuplicateWordForUser("test", "english", testUser);
@@ -91,6 +125,8 @@ class DuplicateDetectionServiceTest {
         otherUser.setId(2L);
         otherUser.setUsername("otheruser");
 
+        when(existenceFilter.mightContain("test", "english")).thenReturn(true);
+
         when(wordRepository.findByWordAndLanguage("test", "english")).thenReturn(Optional.of(testWord));
 
         boolean result = duplicateDetectionService.isDuplicateWordForUser("test", "english", otherUser);
@@ -102,6 +138,7 @@ class DuplicateDetectionServiceTest {
 
     @Test
     void isDuplicateWordForUser_False_NoWord() {
+        when(existenceFilter.mightContain("test", "english")).thenReturn(true);
         when(wordRepository.findByWordAndLanguage("test", "english")).thenReturn(Optional.empty());
 
         boolean result = duplicateDetectionService.isDuplicateWordForUser("test", "english", testUser);
@@ -112,59 +149,76 @@ class DuplicateDetectionServiceTest {
     }
 
     @Test
-    void findSimilarWords_Success() {
-        List<Word> similarWords = List.of(testWord, similarWord);
-
-        when(wordRepository.findByWordContainingIgnoreCase("tes")).thenReturn(similarWords);
+    void checkDuplicates_ReportsNearDuplicatesExceptTheCheckedWord() {
+        when(existenceFilter.mightContain("recieve", "english")).thenReturn(true);
+        when(wordRepository.findByWordAndLanguage("recieve", "english")).thenReturn(Optional.empty());
+        when(nearDuplicateIndex.find(eq("recieve"), eq("english"), anyInt())).thenReturn(List.of(
+            new NearDuplicateIndex.Match(7L, "recieve", 0),
+            new NearDuplicateIndex.Match(3L, "receive", 1)));
+
+        DuplicateCheckDto result = duplicateDetectionService.checkDuplicates(7L, "recieve", "english", testUser);
+
+        assertFalse(result.isDuplicate());
+        assertEquals(1, result.getNearDuplicates().size());
+        DuplicateCheckDto.NearDuplicate nearDuplicate = result.getNearDuplicates().get(0);
+        assertEquals(3L, nearDuplicate.getWordId().longValue());
+        assertEquals("receive", nearDuplicate.getWord());
+        assertEquals(1, nearDuplicate.getDistance());
+    }
 
-        List<Word> result = duplicateDetectionService.findSimilarWords("tes", "english", 5);
+    @Test
+    void checkDuplicates_ExactDuplicateOfTheUser() {
+        when(existenceFilter.mightContain("test", "english")).thenReturn(true);
+        when(wordRepository.findByWordAndLanguage("test", "english")).thenReturn(Optional.of(testWord));
+        when(nearDuplicateIndex.find(eq("test"), eq("english"), anyInt()))
+            .thenReturn(List.of(new NearDuplicateIndex.Match(1L, "test", 0)));
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("test", result.get(0).getWord());
-        assertEquals("testament", result.get(1).getWord());
+        DuplicateCheckDto result = duplicateDetectionService.checkDuplicates(9L, "test", "english", testUser);
 
-        verify(wordRepository).findByWordContainingIgnoreCase("tes");
+        assertTrue(result.isDuplicate());
+        assertEquals(List.of(new DuplicateCheckDto.NearDuplicate(1L, "test", 0)), result.getNearDuplicates());
     }
 
     @Test
-    void findSimilarWords_WithLanguageFilter() {
-        Word spanishWord = new Word();
-        spanishWord.setId(3L);
-        spanishWord.setWord("prueba");
-        spanishWord.setLanguage("spanish");
+    void findSimilarWords_ServedFromPrefixIndexInRankedOrder() {
+        when(prefixIndex.isReady()).thenReturn(true);
+        when(prefixIndex.complete("tes", "english", 5)).thenReturn(List.of(2L, 1L));
+        when(wordRepository.findByIdIn(List.of(2L, 1L))).thenReturn(List.of(testWord, similarWord));
 
-        List<Word> allSimilarWords = List.of(testWord, similarWord, spanishWord);
+        List<Word> result = duplicateDetectionService.findSimilarWords("tes", "english", 5);
 
-        when(wordRepository.findByWordContainingIgnoreCase("tes")).thenReturn(allSimilarWords);
+        assertEquals(List.of("testament", "test"), result.stream().map(Word::getWord).toList());
+        verify(wordRepository, never()).findByWordStartingWithAndLanguageOrderByWord(any(), any(), any());
+    }
 
-        List<Word> result = duplicateDetectionService.findSimilarWords("tes", "english", 5);
+    @Test
+    void findSimilarWords_NoPrefixMatchSkipsLookup() {
+        when(prefixIndex.isReady()).thenReturn(true);
+        when(prefixIndex.complete("xyz", "english", 5)).thenReturn(List.of());
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertTrue(result.stream().allMatch(w -> "english".equals(w.getLanguage())));
+        assertTrue(duplicateDetectionService.findSimilarWords("xyz", "english", 5).isEmpty());
 
-        verify(wordRepository).findByWordContainingIgnoreCase("tes");
+        verify(wordRepository, never()).findByIdIn(any());
     }
 
     @Test
-    void findSimilarWords_WithLimit() {
-        List<Word> manySimilarWords = List.of(
-            testWord, similarWord,
-            new Word(3L, "testing", "english"),
-            new Word(4L, "tester", "english"),
-            new Word(5L, "testify", "english"),
-            new Word(6L, "testamentary", "english")
-        );
+    void findSimilarWords_FallsBackToLimitedPrefixQuery() {
+        when(wordRepository.findByWordStartingWithAndLanguageOrderByWord("tes", "english", PageRequest.of(0, 3)))
+            .thenReturn(List.of(testWord, similarWord));
 
-        when(wordRepository.findByWordContainingIgnoreCase("tes")).thenReturn(manySimilarWords);
+        List<Word> result = duplicateDetectionService.findSimilarWords("Tes", "english", 3);
 
-        List<Word> result = duplicateDetectionService.findSimilarWords("tes", "english", 3);
+        assertEquals(2, result.size());
+        verify(prefixIndex, never()).complete(any(), any(), anyInt());
+    }
 
-        assertNotNull(result);
-        assertEquals(3, result.size());
+    @Test
+    void findSimilarWords_FallbackWithoutLanguageSearchesAllLanguages() {
+        when(wordRepository.findByWordStartingWithOrderByWord("tes", PageRequest.of(0, 5))).thenReturn(List.of(testWord));
+
+        List<Word> result = duplicateDetectionService.findSimilarWords("tes", null, 5);
 
-        verify(wordRepository).findByWordContainingIgnoreCase("tes");
+        assertEquals(List.of(testWord), result);
     }
 
     @Test
@@ -225,7 +279,7 @@ class DuplicateDetectionServiceTest {
     void suggestAlternativeWords_Success() {
         List<Word> similarWords = List.of(testWord, similarWord);
 
-        when(wordRepository.findByWordContainingIgnoreCase("tes")).thenReturn(similarWords);
+        when(wordRepository.findByWordStartingWithAndLanguageOrderByWord("tes", "english", PageRequest.of(0, 5))).thenReturn(similarWords);
 
         List<String> result = duplicateDetectionService.suggestAlternativeWords("test", "english");
 
@@ -233,31 +287,31 @@ class DuplicateDetectionServiceTest {
         assertEquals(1, result.size());
         assertEquals("testament", result.get(0));
 
-        verify(wordRepository).findByWordContainingIgnoreCase("tes");
+        verify(wordRepository).findByWordStartingWithAndLanguageOrderByWord("tes", "english", PageRequest.of(0, 5));
     }
 
     @Test
     void suggestAlternativeWords_NoSimilarWords() {
-        when(wordRepository.findByWordContainingIgnoreCase("xyz")).thenReturn(List.of());
+        when(wordRepository.findByWordStartingWithAndLanguageOrderByWord("xyz", "english", PageRequest.of(0, 5))).thenReturn(List.of());
 
         List<String> result = duplicateDetectionService.suggestAlternativeWords("xyz", "english");
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(wordRepository).findByWordContainingIgnoreCase("xyz");
+        verify(wordRepository).findByWordStartingWithAndLanguageOrderByWord("xyz", "english", PageRequest.of(0, 5));
     }
 
     @Test
     void suggestAlternativeWords_OnlyExactMatch() {
-        when(wordRepository.findByWordContainingIgnoreCase("test")).thenReturn(List.of(testWord));
+        when(wordRepository.findByWordStartingWithAndLanguageOrderByWord("tes", "english", PageRequest.of(0, 5))).thenReturn(List.of(testWord));
 
         List<String> result = duplicateDetectionService.suggestAlternativeWords("test", "english");
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
 
-        verify(wordRepository).findByWordContainingIgnoreCase("test");
+        verify(wordRepository).findByWordStartingWithAndLanguageOrderByWord("tes", "english", PageRequest.of(0, 5));
     }
 
     @Test
@@ -265,32 +319,36 @@ class DuplicateDetectionServiceTest {
         List<Word> manySimilarWords = List.of(
             testWord,
             similarWord,
-            new Word(3L, "testing", "english"),
-            new Word(4L, "tester", "english"),
-            new Word(5L, "testify", "english")
+            word(3L, "testing"),
+            word(4L, "tester"),
+            word(5L, "testify")
         );
 
-        when(wordRepository.findByWordContainingIgnoreCase("tes")).thenReturn(manySimilarWords);
+        when(wordRepository.findByWordStartingWithAndLanguageOrderByWord("tes", "english", PageRequest.of(0, 5))).thenReturn(manySimilarWords);
 
         List<String> result = duplicateDetectionService.suggestAlternativeWords("test", "english");
 
         assertNotNull(result);
         assertEquals(3, result.size());
 
-        verify(wordRepository).findByWordContainingIgnoreCase("tes");
+        verify(wordRepository).findByWordStartingWithAndLanguageOrderByWord("tes", "english", PageRequest.of(0, 5));
     }
 
     @Test
     void suggestAlternativeWords_ShortWord() {
-        List<Word> similarWords = List.of(testWord, similarWord);
-
-        when(wordRepository.findByWordContainingIgnoreCase("a")).thenReturn(similarWords);
-
         List<String> result = duplicateDetectionService.suggestAlternativeWords("a", "english");
 
         assertNotNull(result);
         assertTrue(result.isEmpty()); // Should be empty since word length < 3
 
-        verify(wordRepository, never()).findByWordContainingIgnoreCase(any());
+        verify(wordRepository, never()).findByWordStartingWithAndLanguageOrderByWord(any(), any(), any());
+    }
+
+    private static Word word(Long id, String text) {
+        Word word = new Word();
+        word.setId(id);
+        word.setWord(text);
+        word.setLanguage("english");
+        return word;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.memorizewords.service;
+
+import com.memorizewords.repository.ReviewSessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExpiredSessionSweeperTest {
+
+    @Mock
+    private ReviewSessionRepository sessionRepository;
+
+    @Mock
+    private ReviewSessionService sessionService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExpiredSessionSweeper sweeper;
+    private LocalDateTime timeoutDate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new ExpiredSessionSweeper(sessionRepository, sessionService, meterRegistry, 2, 2, false);
+        timeoutDate = LocalDateTime.now().minusHours(24);
+        when(sessionService.getSessionTimeoutDate()).thenReturn(timeoutDate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sweeper.shutdown();
+    }
+
+    @Test
+    void sweep_WalksKeysetPagesAndTimesOutEachBatch() {
+        LocalDateTime start = timeoutDate.minusHours(1);
+        when(sessionRepository.countExpiredSessions(timeoutDate)).thenReturn(5L);
+        when(sessionRepository.findExpiredSessionKeys(eq(timeoutDate), any(Pageable.class)))
+            .thenReturn(List.of(key(1L, start), key(2L, start)));
+        when(sessionRepository.findExpiredSessionKeysAfter(eq(timeoutDate), eq(start), eq(2L), any(Pageable.class)))
+            .thenReturn(List.of(key(3L, start), key(4L, start.plusMinutes(1))));
+        when(sessionRepository.findExpiredSessionKeysAfter(eq(timeoutDate), eq(start.plusMinutes(1)), eq(4L), any(Pageable.class)))
+            .thenReturn(List.of(key(5L, start.plusMinutes(2))));
+        when(sessionService.timeoutSessions(anyCollection(), eq(timeoutDate)))
+            .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+
+        int timedOut = sweeper.sweep();
+
+        assertEquals(5, timedOut);
+        verify(sessionService).timeoutSessions(List.of(1L, 2L), timeoutDate);
+        verify(sessionService).timeoutSessions(List.of(3L, 4L), timeoutDate);
+        verify(sessionService).timeoutSessions(List.of(5L), timeoutDate);
+        assertEquals(5.0, meterRegistry.get("review.sessions.timed_out.total").counter().count());
+        assertEquals(3L, meterRegistry.get("review.session_sweeper.batch.duration").timer().count());
+        assertEquals(0.0, meterRegistry.get("review.session_sweeper.backlog").gauge().value());
+    }
+
+    @Test
+    void sweep_ContinuesAfterFailedBatch() {
+        LocalDateTime start = timeoutDate.minusHours(1);
+        when(sessionRepository.countExpiredSessions(timeoutDate)).thenReturn(3L);
+        when(sessionRepository.findExpiredSessionKeys(eq(timeoutDate), any(Pageable.class)))
+            .thenReturn(List.of(key(1L, start), key(2L, start)));
+        when(sessionRepository.findExpiredSessionKeysAfter(eq(timeoutDate), eq(start), eq(2L), any(Pageable.class)))
+            .thenReturn(List.of(key(3L, start)));
+        when(sessionService.timeoutSessions(List.of(1L, 2L), timeoutDate)).thenThrow(new IllegalStateException("boom"));
+        when(sessionService.timeoutSessions(List.of(3L), timeoutDate)).thenReturn(1);
+
+        int timedOut = sweeper.sweep();
+
+        assertEquals(1, timedOut);
+        assertEquals(1.0, meterRegistry.get("review.session_sweeper.failed_batches.total").counter().count());
+    }
+
+    @Test
+    void sweep_SkipsScanWhenNothingExpired() {
+        when(sessionRepository.countExpiredSessions(timeoutDate)).thenReturn(0L);
+
+        assertEquals(0, sweeper.sweep());
+
+        verify(sessionRepository, never()).findExpiredSessionKeys(any(), any());
+        verify(sessionService, never()).timeoutSessions(anyCollection(), any());
+    }
+
+    private ReviewSessionRepository.ExpiredSessionKey key(Long id, LocalDateTime startTime) {
+        return new ReviewSessionRepository.ExpiredSessionKey() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return startTime;
+            }
+        };
+    }
+}
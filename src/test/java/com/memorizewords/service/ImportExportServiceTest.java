@@ -4,26 +4,26 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.memorizewords.dto.request.BulkImportOptions;
 import com.memorizewords.dto.request.CreateWordRequest;
 import com.memorizewords.dto.response.BulkImportResult;
-import com.memorizewords.dto.response.WordDto;
 import com.memorizewords.dto.response.WordImportDto;
 import com.memorizewords.entity.User;
 import com.memorizewords.entity.Word;
 import com.memorizewords.enums.DifficultyLevel;
-import com.memorizewords.exception.DuplicateWordException;
 import com.memorizewords.exception.ImportException;
 import com.memorizewords.repository.WordRepository;
-import com.opencsv.exceptions.CsvValidationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -33,6 +33,7 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,10 +43,13 @@ class ImportExportServiceTest {
     private WordRepository wordRepository;
 
     @Mock
-    private WordService wordService;
+    private WordImportWriter importWriter;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private NearDuplicateIndex nearDuplicateIndex;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     @InjectMocks
     private ImportExportService importExportService;
@@ -85,11 +89,7 @@ class ImportExportServiceTest {
                            "example,english,An example word,BEGINNER";
 
         when(mockFile.getInputStream()).thenReturn(new java.io.ByteArrayInputStream(csvContent.getBytes()));
-        when(mockFile.getOriginalFilename()).thenReturn("test.csv");
-
-        // Mock word service behavior
-        when(wordService.createWord(any(CreateWordRequest.class), eq(testUser)))
-            .thenReturn(new WordDto(1L, "test", "english", "A test word", null, null, DifficultyLevel.BEGINNER, null, null, true, 1L, "testuser", null, null));
+        when(importWriter.writeChunk(anyList(), eq(testUser))).thenReturn(List.of());
 
         BulkImportResult result = importExportService.bulkImportWords(mockFile, importOptions, testUser);
 
@@ -97,8 +97,9 @@ class ImportExportServiceTest {
         assertEquals(2, result.getTotalWords());
         assertEquals(2, result.getSuccessCount());
         assertEquals(0, result.getErrorCount());
+        assertEquals(1, result.getChunksCommitted());
 
-        verify(wordService, times(2)).createWord(any(CreateWordRequest.class), eq(testUser));
+        verify(importWriter, times(1)).writeChunk(anyList(), eq(testUser));
     }
 
     @Test
@@ -108,11 +109,10 @@ class ImportExportServiceTest {
                            "test,english,A test word,BEGINNER";
 
         when(mockFile.getInputStream()).thenReturn(new java.io.ByteArrayInputStream(csvContent.getBytes()));
-        when(mockFile.getOriginalFilename()).thenReturn("test.csv");
 
-        // Mock word service to throw exception for duplicate
-        when(wordService.createWord(any(CreateWordRequest.class), eq(testUser)))
-            .thenThrow(new DuplicateWordException("test", "english"));
+        // Mock writer to report the row as an existing word
+        when(importWriter.writeChunk(anyList(), eq(testUser)))
+            .thenAnswer(invocation -> List.copyOf(invocation.<List<CreateWordRequest>>getArgument(0)));
 
         BulkImportResult result = importExportService.bulkImportWords(mockFile, importOptions, testUser);
 
@@ -122,7 +122,33 @@ class ImportExportServiceTest {
         assertEquals(0, result.getErrorCount());
         assertEquals(1, result.getSkippedCount());
 
-        verify(wordService, times(1)).createWord(any(CreateWordRequest.class), eq(testUser));
+        verify(importWriter, times(1)).writeChunk(anyList(), eq(testUser));
+    }
+
+    @Test
+    void bulkImportWords_SkipsNearDuplicatesWithoutWritingThem() throws Exception {
+        importOptions.setSkipNearDuplicates(true);
+        String csvContent = "word,language\n" +
+                           "receive,english\n" +
+                           "recieve,english\n" +
+                           "harbour,english";
+
+        when(mockFile.getInputStream()).thenReturn(new java.io.ByteArrayInputStream(csvContent.getBytes()));
+        when(nearDuplicateIndex.screen()).thenReturn(new NearDuplicateIndex(wordRepository, true, 2, 100).screen());
+        when(importWriter.writeChunk(anyList(), eq(testUser))).thenReturn(List.of());
+
+        BulkImportResult result = importExportService.bulkImportWords(mockFile, importOptions, testUser);
+
+        assertEquals(3, result.getTotalWords());
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(1, result.getSkippedCount());
+        assertEquals("recieve", result.getSkipped().get(0).getWord());
+        assertEquals("Near duplicate of 'receive'", result.getSkipped().get(0).getReason());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateWordRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importWriter).writeChunk(captor.capture(), eq(testUser));
+        assertEquals(List.of("receive", "harbour"), captor.getValue().stream().map(CreateWordRequest::getWord).toList());
     }
 
     @Test
@@ -132,7 +158,6 @@ class ImportExportServiceTest {
                            ",english,A test word,BEGINNER";
 
         when(mockFile.getInputStream()).thenReturn(new java.io.ByteArrayInputStream(csvContent.getBytes()));
-        when(mockFile.getOriginalFilename()).thenReturn("test.csv");
 
         BulkImportResult result = importExportService.bulkImportWords(mockFile, importOptions, testUser);
 
@@ -141,7 +166,49 @@ class ImportExportServiceTest {
         assertEquals(0, result.getSuccessCount());
         assertEquals(1, result.getErrorCount());
 
-        verify(wordService, never()).createWord(any(CreateWordRequest.class), eq(testUser));
+        verify(importWriter, never()).writeChunk(anyList(), any(User.class));
+    }
+
+    @Test
+    void bulkImportWords_CommitsInChunks() throws Exception {
+        ReflectionTestUtils.setField(importExportService, "chunkSize", 2);
+        String csvContent = "word,language\n" +
+                           "one,english\n" +
+                           "two,english\n" +
+                           "three,english\n" +
+                           "four,english\n" +
+                           "five,english";
+
+        when(mockFile.getInputStream()).thenReturn(new java.io.ByteArrayInputStream(csvContent.getBytes()));
+        when(importWriter.writeChunk(anyList(), eq(testUser))).thenReturn(List.of());
+
+        BulkImportResult result = importExportService.bulkImportWords(mockFile, importOptions, testUser);
+
+        assertEquals(5, result.getTotalWords());
+        assertEquals(5, result.getSuccessCount());
+        assertEquals(3, result.getChunksCommitted());
+        verify(importWriter, times(3)).writeChunk(anyList(), eq(testUser));
+    }
+
+    @Test
+    void bulkImportWords_FailedChunkRecordsErrorsAndContinues() throws Exception {
+        ReflectionTestUtils.setField(importExportService, "chunkSize", 2);
+        String csvContent = "word,language\n" +
+                           "one,english\n" +
+                           "two,english\n" +
+                           "three,english";
+
+        when(mockFile.getInputStream()).thenReturn(new java.io.ByteArrayInputStream(csvContent.getBytes()));
+        when(importWriter.writeChunk(anyList(), eq(testUser)))
+            .thenThrow(new IllegalStateException("Deadlock"))
+            .thenReturn(List.of());
+
+        BulkImportResult result = importExportService.bulkImportWords(mockFile, importOptions, testUser);
+
+        assertEquals(3, result.getTotalWords());
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(2, result.getErrorCount());
+        assertEquals(1, result.getChunksCommitted());
     }
 
     @Test
@@ -149,23 +216,26 @@ class ImportExportServiceTest {
         importOptions.setFormat("json");
 
         // Mock JSON content
-        String jsonContent = "[{\"word\":\"test\",\"language\":\"english\",\"definition\":\"A test word\",\"difficulty\":\"BEGINNER\"}]";
+        String jsonContent = "[{\"word\":\"test\",\"language\":\"english\",\"definition\":\"A test word\",\"difficulty\":\"BEGINNER\"}," +
+                            "{\"word\":\"example\",\"tags\":[\"a\",\"b\"],\"isPublic\":true}]";
 
         when(mockFile.getInputStream()).thenReturn(new java.io.ByteArrayInputStream(jsonContent.getBytes()));
-        when(mockFile.getOriginalFilename()).thenReturn("test.json");
-
-        // Mock word service behavior
-        when(wordService.createWord(any(CreateWordRequest.class), eq(testUser)))
-            .thenReturn(new WordDto(1L, "test", "english", "A test word", null, null, DifficultyLevel.BEGINNER, null, null, true, 1L, "testuser", null, null));
+        when(importWriter.writeChunk(anyList(), eq(testUser))).thenReturn(List.of());
 
         BulkImportResult result = importExportService.bulkImportWords(mockFile, importOptions, testUser);
 
         assertNotNull(result);
-        assertEquals(1, result.getTotalWords());
-        assertEquals(1, result.getSuccessCount());
+        assertEquals(2, result.getTotalWords());
+        assertEquals(2, result.getSuccessCount());
         assertEquals(0, result.getErrorCount());
 
-        verify(wordService, times(1)).createWord(any(CreateWordRequest.class), eq(testUser));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CreateWordRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importWriter, times(1)).writeChunk(captor.capture(), eq(testUser));
+        CreateWordRequest second = captor.getValue().get(1);
+        assertEquals("example", second.getWord());
+        assertEquals("english", second.getLanguage());
+        assertTrue(second.getIsPublic());
     }
 
     @Test
@@ -176,7 +246,7 @@ class ImportExportServiceTest {
             importExportService.bulkImportWords(mockFile, importOptions, testUser);
         });
 
-        verify(wordService, never()).createWord(any(CreateWordRequest.class), eq(testUser));
+        verify(importWriter, never()).writeChunk(anyList(), any(User.class));
     }
 
     @Test
@@ -254,6 +324,55 @@ class ImportExportServiceTest {
         verify(wordRepository).findAccessibleWords(eq(testUser), any(Pageable.class));
     }
 
+    @Test
+    void streamExport_NDJSON_WritesOneObjectPerLineWithBatchedCollections() throws IOException {
+        when(wordRepository.findAccessibleExportRows(eq(testUser), eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(exportRow(1L, "test"), exportRow(2L, "example")));
+        when(wordRepository.findCategoriesByWordIdIn(List.of(1L, 2L))).thenReturn(List.of());
+        when(wordRepository.findTagsByWordIdIn(List.of(1L, 2L))).thenReturn(List.of(tagRow(1L, "basic"), tagRow(1L, "noun")));
+
+        java.io.ByteArrayOutputStream output = new java.io.ByteArrayOutputStream();
+        importExportService.streamExport("ndjson", null, testUser, output, false);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        com.fasterxml.jackson.databind.JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("test", first.get("word").asText());
+        assertEquals("noun", first.get("tags").get(1).asText());
+        assertEquals(0, first.get("categories").size());
+        assertEquals(0, objectMapper.readTree(lines[1]).get("tags").size());
+    }
+
+    @Test
+    void streamExport_CSV_Gzip_ReadsKeysetPages() throws IOException {
+        ReflectionTestUtils.setField(importExportService, "exportPageSize", 2);
+        when(wordRepository.findExportRowsByIdIn(eq(Set.of(1L, 2L, 3L)), eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(exportRow(1L, "one"), exportRow(2L, "two")));
+        when(wordRepository.findExportRowsByIdIn(eq(Set.of(1L, 2L, 3L)), eq(2L), any(Pageable.class)))
+            .thenReturn(List.of(exportRow(3L, "three")));
+
+        java.io.ByteArrayOutputStream output = new java.io.ByteArrayOutputStream();
+        importExportService.streamExport("csv", Set.of(1L, 2L, 3L), testUser, output, true);
+
+        String csv;
+        try (java.util.zip.GZIPInputStream input = new java.util.zip.GZIPInputStream(
+                new java.io.ByteArrayInputStream(output.toByteArray()))) {
+            csv = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals(4, csv.split("\n").length);
+        assertTrue(csv.contains("\"three\""));
+        verify(wordRepository, times(2)).findTagsByWordIdIn(any());
+        verify(wordRepository, never()).findAccessibleExportRows(any(), any(), any());
+    }
+
+    @Test
+    void streamExport_UnsupportedFormat_ThrowsException() {
+        assertThrows(ImportException.class, () ->
+            importExportService.streamExport("xml", null, testUser, new java.io.ByteArrayOutputStream(), false));
+
+        verifyNoInteractions(wordRepository);
+    }
+
     @Test
     void mapImportToRequest_MissingWord_ThrowsException() {
         WordImportDto importDto = new WordImportDto();
@@ -289,4 +408,26 @@ class ImportExportServiceTest {
         assertNotNull(result);
         assertEquals(DifficultyLevel.BEGINNER, result.getDifficulty()); // Default difficulty
     }
-}
\ No newline at end of file
+
+    private WordRepository.WordExportRow exportRow(Long id, String word) {
+        return new WordRepository.WordExportRow() {
+            public Long getId() { return id; }
+            public String getWord() { return word; }
+            public String getLanguage() { return "english"; }
+            public String getDefinition() { return "Definition of " + word; }
+            public String getPronunciation() { return null; }
+            public String getExample() { return null; }
+            public DifficultyLevel getDifficulty() { return DifficultyLevel.BEGINNER; }
+            public Boolean getIsPublic() { return true; }
+            public String getCreatedBy() { return "testuser"; }
+            public java.time.LocalDateTime getCreatedAt() { return null; }
+        };
+    }
+
+    private WordRepository.WordTagRow tagRow(Long wordId, String tag) {
+        return new WordRepository.WordTagRow() {
+            public Long getWordId() { return wordId; }
+            public String getTag() { return tag; }
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package com.memorizewords.service;
+
+import com.memorizewords.dto.request.BulkImportOptions;
+import com.memorizewords.dto.response.BulkImportResult;
+import com.memorizewords.dto.response.ImportJobDto;
+import com.memorizewords.entity.User;
+import com.memorizewords.enums.ImportJobStatus;
+import com.memorizewords.exception.ImportException;
+import com.memorizewords.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportExportService importExportService;
+
+    private ImportJobService importJobService;
+    private User testUser;
+    private BulkImportOptions options;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        importJobService = new ImportJobService(importExportService, 1, 1, 60, false);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+
+        options = new BulkImportOptions();
+        options.setFormat("csv");
+
+        file = new MockMultipartFile("file", "words.csv", "text/csv",
+            "word,language\ntest,english".getBytes(StandardCharsets.UTF_8));
+
+        lenient().when(importExportService.supportsImportFormat(anyString())).thenCallRealMethod();
+    }
+
+    @AfterEach
+    void tearDown() {
+        importJobService.shutdown();
+    }
+
+    @Test
+    void submit_RunsImportInBackgroundAndRetainsResult() throws Exception {
+        doAnswer(invocation -> {
+            BulkImportResult result = invocation.getArgument(3);
+            ImportExportService.ImportListener listener = invocation.getArgument(4);
+            result.setTotalWords(1);
+            result.addSuccesses(1);
+            listener.chunkCompleted(result);
+            return null;
+        }).when(importExportService).importWords(any(InputStream.class), eq(options), eq(testUser), any(), any());
+
+        ImportJobDto submitted = importJobService.submit(file, options, testUser);
+        ImportJobDto finished = awaitFinished(submitted.getJobId());
+
+        assertEquals(ImportJobStatus.COMPLETED, finished.getStatus());
+        assertEquals("words.csv", finished.getFileName());
+        assertEquals(1, finished.getRowsParsed());
+        assertEquals(1, finished.getInserted());
+        assertNotNull(finished.getResult());
+        assertNotNull(finished.getFinishedAt());
+    }
+
+    @Test
+    void cancel_StopsRunningJobAndSkipsQueuedJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            BulkImportResult result = invocation.getArgument(3);
+            ImportExportService.ImportListener listener = invocation.getArgument(4);
+            started.countDown();
+            while (!listener.isCancelled()) {
+                Thread.sleep(5);
+            }
+            result.setCancelled(true);
+            return null;
+        }).when(importExportService).importWords(any(InputStream.class), any(), any(), any(), any());
+
+        ImportJobDto running = importJobService.submit(file, options, testUser);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ImportJobDto queued = importJobService.submit(file, options, testUser);
+
+        ImportJobDto cancelledQueued = importJobService.cancel(queued.getJobId(), testUser);
+        importJobService.cancel(running.getJobId(), testUser);
+
+        assertEquals(ImportJobStatus.CANCELLED, cancelledQueued.getStatus());
+        assertEquals(ImportJobStatus.CANCELLED, awaitFinished(running.getJobId()).getStatus());
+        verify(importExportService, times(1)).importWords(any(InputStream.class), any(), any(), any(), any());
+    }
+
+    @Test
+    void cancel_DeletesUploadOfQueuedJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(importExportService).importWords(any(InputStream.class), any(), any(), any(), any());
+        Set<Path> before = spooledUploads();
+
+        ImportJobDto running = importJobService.submit(file, options, testUser);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ImportJobDto queued = importJobService.submit(file, options, testUser);
+        assertEquals(2, newUploads(before).size());
+
+        importJobService.cancel(queued.getJobId(), testUser);
+        assertEquals(1, newUploads(before).size());
+
+        release.countDown();
+        awaitFinished(running.getJobId());
+        // The worker deletes its upload just after publishing the result
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!newUploads(before).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(newUploads(before).isEmpty());
+    }
+
+    @Test
+    void evictExpiredJobs_DropsFinishedJobsPastRetention() throws Exception {
+        importJobService.shutdown();
+        importJobService = new ImportJobService(importExportService, 1, 1, 0, false);
+
+        ImportJobDto submitted = importJobService.submit(file, options, testUser);
+        int evicted = 0;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (evicted == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            evicted = importJobService.evictExpiredJobs();
+        }
+
+        assertEquals(1, evicted);
+        assertThrows(ResourceNotFoundException.class, () -> importJobService.getJob(submitted.getJobId(), testUser));
+    }
+
+    @Test
+    void submit_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(importExportService).importWords(any(InputStream.class), any(), any(), any(), any());
+
+        importJobService.submit(file, options, testUser);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        importJobService.submit(file, options, testUser);
+
+        assertThrows(ImportException.class, () -> importJobService.submit(file, options, testUser));
+        release.countDown();
+    }
+
+    @Test
+    void getJob_HidesOtherUsersJobs() {
+        ImportJobDto submitted = importJobService.submit(file, options, testUser);
+        User otherUser = new User();
+        otherUser.setId(2L);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> importJobService.getJob(submitted.getJobId(), otherUser));
+    }
+
+    @Test
+    void submit_RejectsUnsupportedFormat() throws Exception {
+        options.setFormat("xml");
+
+        assertThrows(ImportException.class, () -> importJobService.submit(file, options, testUser));
+        verify(importExportService, never()).importWords(any(), any(), any(), any(), any());
+    }
+
+    private static Set<Path> spooledUploads() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files
+                .filter(path -> path.getFileName().toString().startsWith("word-import-"))
+                .collect(Collectors.toCollection(HashSet::new));
+        }
+    }
+
+    private static Set<Path> newUploads(Set<Path> before) throws IOException {
+        Set<Path> uploads = spooledUploads();
+        uploads.removeAll(before);
+        return uploads;
+    }
+
+    private ImportJobDto awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ImportJobDto job = importJobService.getJob(jobId, testUser);
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = importJobService.getJob(jobId, testUser);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,150 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.Word;
+import com.memorizewords.repository.WordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NearDuplicateIndexTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    private NearDuplicateIndex nearDuplicateIndex;
+
+    @BeforeEach
+    void setUp() {
+        nearDuplicateIndex = new NearDuplicateIndex(wordRepository, true, 2, 2);
+    }
+
+    @Test
+    void distance_CountsAdjacentSwapsAsOneEditAndStopsAtTheBound() {
+        assertEquals(0, NearDuplicateIndex.distance("receive", "receive", 2));
+        assertEquals(1, NearDuplicateIndex.distance("recieve", "receive", 2));
+        assertEquals(1, NearDuplicateIndex.distance("colour", "color", 2));
+        assertEquals(2, NearDuplicateIndex.distance("acommodaton", "accommodation", 2));
+        assertEquals(3, NearDuplicateIndex.distance("kitten", "sitting", 2));
+        assertEquals(2, NearDuplicateIndex.distance("ab", "abcdef", 1));
+    }
+
+    @Test
+    void allowedDistance_GrowsWithWordLength() {
+        assertEquals(0, nearDuplicateIndex.allowedDistance(4));
+        assertEquals(1, nearDuplicateIndex.allowedDistance(5));
+        assertEquals(1, nearDuplicateIndex.allowedDistance(8));
+        assertEquals(2, nearDuplicateIndex.allowedDistance(9));
+        assertEquals(1, new NearDuplicateIndex(wordRepository, true, 1, 2).allowedDistance(12));
+    }
+
+    @Test
+    void find_ReturnsTyposOfIndexedWordsClosestFirst() {
+        loadIndex(row(1L, "receive", "english"), row(2L, "color", "english"), row(3L, "cat", "english"),
+            row(4L, "accommodation", "english"), row(5L, "accommodations", "english"), row(6L, "receive", "french"));
+
+        assertEquals(List.of(new NearDuplicateIndex.Match(1L, "receive", 1)), nearDuplicateIndex.find("Recieve", "english", 10));
+        assertEquals(List.of(new NearDuplicateIndex.Match(2L, "color", 1)), nearDuplicateIndex.find("colour", "english", 10));
+        assertEquals(List.of(new NearDuplicateIndex.Match(3L, "cat", 0)), nearDuplicateIndex.find("cat", "english", 10));
+        assertTrue(nearDuplicateIndex.find("car", "english", 10).isEmpty());
+        assertEquals(List.of(
+            new NearDuplicateIndex.Match(5L, "accommodations", 1),
+            new NearDuplicateIndex.Match(4L, "accommodation", 2)),
+            nearDuplicateIndex.find("accomodations", "english", 10));
+        assertEquals(List.of(1L, 6L), nearDuplicateIndex.find("recieve", null, 10).stream()
+            .map(NearDuplicateIndex.Match::wordId).toList());
+        assertEquals(1, nearDuplicateIndex.find("recieve", null, 1).size());
+    }
+
+    @Test
+    void addAndRemove_UpdateMatches() {
+        loadIndex(row(1L, "receive", "english"));
+
+        nearDuplicateIndex.add(word(2L, "harbour"));
+        assertEquals(List.of(new NearDuplicateIndex.Match(2L, "harbour", 1)), nearDuplicateIndex.find("harbor", "english", 10));
+
+        nearDuplicateIndex.remove(2L);
+        assertTrue(nearDuplicateIndex.find("harbor", "english", 10).isEmpty());
+
+        nearDuplicateIndex.add(word(3L, "harbour"));
+        nearDuplicateIndex.remove(1L);
+        assertEquals(List.of(new NearDuplicateIndex.Match(3L, "harbour", 1)), nearDuplicateIndex.find("harbor", "english", 10));
+        assertTrue(nearDuplicateIndex.find("recieve", "english", 10).isEmpty());
+    }
+
+    @Test
+    void screen_ReportsNearDuplicatesOfIndexedAndEarlierWords() {
+        loadIndex(row(1L, "receive", "english"));
+        NearDuplicateIndex.Screen screen = nearDuplicateIndex.screen();
+
+        assertEquals(Optional.of(new NearDuplicateIndex.Match(1L, "receive", 1)), screen.check("recieve", "english"));
+        assertEquals(Optional.empty(), screen.check("receive", "english"));
+        assertEquals(Optional.empty(), screen.check("harbour", "english"));
+        assertEquals(Optional.of(new NearDuplicateIndex.Match(null, "harbour", 1)), screen.check("harbor", "english"));
+        assertEquals(Optional.empty(), screen.check("harbor", "french"));
+    }
+
+    @Test
+    void rebuild_LoadsKeysetPagesAndBecomesReady() {
+        when(wordRepository.findPrefixRows(eq(0L), any()))
+            .thenReturn(List.of(row(1L, "separate", "english"), row(2L, "definitely", "english")));
+        when(wordRepository.findPrefixRows(eq(2L), any())).thenReturn(List.of(row(3L, "necessary", "english")));
+        when(wordRepository.findPrefixRows(eq(3L), any())).thenReturn(List.of());
+
+        assertFalse(nearDuplicateIndex.isReady());
+        assertTrue(nearDuplicateIndex.find("seperate", "english", 10).isEmpty());
+
+        assertEquals(3, nearDuplicateIndex.rebuild());
+
+        assertTrue(nearDuplicateIndex.isReady());
+        assertEquals(1L, nearDuplicateIndex.find("seperate", "english", 10).get(0).wordId().longValue());
+        assertEquals(2L, nearDuplicateIndex.find("definately", "english", 10).get(0).wordId().longValue());
+        assertEquals(3L, nearDuplicateIndex.find("neccessary", "english", 10).get(0).wordId().longValue());
+        verify(wordRepository, times(3)).findPrefixRows(anyLong(), any());
+    }
+
+    @Test
+    void disabled_IsNeverReadyAndIgnoresChanges() {
+        NearDuplicateIndex disabled = new NearDuplicateIndex(wordRepository, false, 2, 2);
+
+        disabled.add(word(1L, "ignored"));
+
+        assertFalse(disabled.isReady());
+        assertTrue(disabled.find("ignored", "english", 10).isEmpty());
+        verifyNoInteractions(wordRepository);
+    }
+
+    private void loadIndex(WordRepository.WordPrefixRow... rows) {
+        when(wordRepository.findPrefixRows(eq(0L), any())).thenReturn(List.of(rows));
+        when(wordRepository.findPrefixRows(eq(rows[rows.length - 1].getId()), any())).thenReturn(List.of());
+        nearDuplicateIndex = new NearDuplicateIndex(wordRepository, true, 2, rows.length);
+        nearDuplicateIndex.rebuild();
+    }
+
+    private static Word word(Long id, String text) {
+        Word word = new Word();
+        word.setId(id);
+        word.setWord(text);
+        word.setLanguage("english");
+        return word;
+    }
+
+    private static WordRepository.WordPrefixRow row(Long id, String word, String language) {
+        return new WordRepository.WordPrefixRow() {
+            public Long getId() { return id; }
+            public String getWord() { return word; }
+            public String getLanguage() { return language; }
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.memorizewords.service;
+
+import com.memorizewords.algorithm.PerformanceHistogram;
+import com.memorizewords.entity.ReviewSession;
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.UserPerformanceHistogram;
+import com.memorizewords.repository.ReviewSessionRepository;
+import com.memorizewords.repository.UserPerformanceHistogramRepository;
+import com.memorizewords.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PerformanceHistogramServiceTest {
+
+    // A Tuesday
+    private static final LocalDateTime TUESDAY = LocalDateTime.of(2025, 3, 4, 0, 0);
+
+    @Mock
+    private UserPerformanceHistogramRepository histogramRepository;
+
+    @Mock
+    private ReviewSessionRepository sessionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private PerformanceHistogramService histogramService;
+
+    @Test
+    void recordSession_AddsSessionToExistingHistogram() {
+        UserPerformanceHistogram row = new UserPerformanceHistogram(1L);
+        PerformanceHistogram histogram = new PerformanceHistogram();
+        histogram.record(TUESDAY.withHour(8), 10, 5, 10_000L);
+        row.setHistogram(histogram);
+        when(histogramRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(row));
+
+        histogramService.recordSession(session(TUESDAY.plusDays(7).withHour(8).withMinute(30), 10, 9, 1_500));
+
+        ArgumentCaptor<UserPerformanceHistogram> saved = ArgumentCaptor.forClass(UserPerformanceHistogram.class);
+        verify(histogramRepository).save(saved.capture());
+        PerformanceHistogram updated = saved.getValue().getHistogram();
+        assertEquals(2, updated.getSessions(DayOfWeek.TUESDAY, 8));
+        assertEquals(70.0, updated.getAccuracy(DayOfWeek.TUESDAY, 8), 1e-9);
+        assertEquals(1_250.0, updated.getAverageResponseTime(DayOfWeek.TUESDAY, 8), 1e-9);
+    }
+
+    @Test
+    void recordSession_LocksUserBeforeCreatingFirstRow() {
+        when(histogramRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty(), Optional.empty());
+
+        histogramService.recordSession(session(TUESDAY.withHour(8), 4, 3, 1_000));
+
+        InOrder inOrder = inOrder(userRepository, histogramRepository);
+        inOrder.verify(userRepository).findByIdForUpdate(1L);
+        inOrder.verify(histogramRepository).findByIdForUpdate(1L);
+        ArgumentCaptor<UserPerformanceHistogram> saved = ArgumentCaptor.forClass(UserPerformanceHistogram.class);
+        inOrder.verify(histogramRepository).save(saved.capture());
+        assertEquals(1L, saved.getValue().getUserId());
+        assertTrue(saved.getValue().isNew());
+        assertEquals(1, saved.getValue().getHistogram().getSessions(DayOfWeek.TUESDAY, 8));
+    }
+
+    @Test
+    void recordSession_UpdatesRowCreatedWhileWaitingForUserLock() {
+        UserPerformanceHistogram created = new UserPerformanceHistogram(1L);
+        when(histogramRepository.findByIdForUpdate(1L)).thenReturn(Optional.empty(), Optional.of(created));
+
+        histogramService.recordSession(session(TUESDAY.withHour(8), 4, 3, 1_000));
+
+        verify(histogramRepository).save(created);
+        assertEquals(1, created.getHistogram().getSessions(DayOfWeek.TUESDAY, 8));
+    }
+
+    @Test
+    void recordSession_SkipsSessionWithoutReviews() {
+        histogramService.recordSession(session(TUESDAY, 0, 0, null));
+
+        verifyNoInteractions(histogramRepository);
+    }
+
+    @Test
+    void backfill_FoldsSessionsPerUserInOnePass() {
+        when(sessionRepository.streamCompletedSessionPerformance()).thenReturn(Stream.of(
+            performance(1L, TUESDAY.withHour(20), 10, 8, 2_000),
+            performance(1L, TUESDAY.plusDays(1).withHour(7), 5, 5, null),
+            performance(2L, TUESDAY.withHour(20), 4, 1, 3_000)));
+        when(histogramRepository.findByUserIdIn(any())).thenReturn(List.of());
+        List<UserPerformanceHistogram> saved = new ArrayList<>();
+        when(histogramRepository.saveAll(any())).thenAnswer(invocation -> {
+            saved.addAll(invocation.<Collection<UserPerformanceHistogram>>getArgument(0));
+            return List.of();
+        });
+
+        int users = histogramService.backfill();
+
+        assertEquals(2, users);
+        assertEquals(2, saved.size());
+        PerformanceHistogram first = saved.stream().filter(row -> row.getUserId() == 1L).findFirst().orElseThrow().getHistogram();
+        assertEquals(80.0, first.getAccuracy(DayOfWeek.TUESDAY, 20), 1e-9);
+        assertEquals(100.0, first.getAccuracy(DayOfWeek.WEDNESDAY, 7), 1e-9);
+        assertEquals(0.0, first.getAverageResponseTime(DayOfWeek.WEDNESDAY, 7), 1e-9);
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    private static ReviewSession session(LocalDateTime startTime, int reviews, int correctAnswers, Integer averageResponseTime) {
+        User user = new User();
+        user.setId(1L);
+        ReviewSession session = new ReviewSession();
+        session.setUser(user);
+        session.setStartTime(startTime);
+        session.setCompletedCards(reviews);
+        session.setCorrectAnswers(correctAnswers);
+        session.setAverageResponseTime(averageResponseTime);
+        return session;
+    }
+
+    private static ReviewSessionRepository.SessionPerformance performance(Long userId, LocalDateTime startTime, int reviews,
+                                                                          int correctAnswers, Integer averageResponseTime) {
+        return new ReviewSessionRepository.SessionPerformance() {
+            public Long getUserId() { return userId; }
+            public LocalDateTime getStartTime() { return startTime; }
+            public Integer getReviews() { return reviews; }
+            public Integer getCorrectAnswers() { return correctAnswers; }
+            public Integer getAverageResponseTime() { return averageResponseTime; }
+        };
+    }
+}
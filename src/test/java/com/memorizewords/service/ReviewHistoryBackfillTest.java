@@ -0,0 +1,104 @@
+package com.memorizewords.service;
+
+import com.memorizewords.enums.ReviewOutcome;
+import com.memorizewords.repository.CardReviewEventRepository;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewHistoryBackfillTest {
+
+    @Mock
+    private CardReviewEventRepository eventRepository;
+
+    @Mock
+    private SpacedRepetitionCardRepository cardRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReviewHistoryBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        backfill = new ReviewHistoryBackfill(eventRepository, cardRepository, dataSource, transactionManager, 2);
+    }
+
+    @Test
+    void backfill_CopiesWindowsSeedsRingsAndDropsLegacyTable() {
+        when(eventRepository.findLegacyHistoryCardIds(eq(0L), any())).thenReturn(List.of(1L, 2L));
+        when(eventRepository.findLegacyHistoryCardIds(eq(2L), any())).thenReturn(List.of(3L));
+        when(eventRepository.findLegacyHistoryCardIds(eq(3L), any())).thenReturn(List.of());
+        when(eventRepository.copyLegacyHistory(List.of(1L, 2L))).thenReturn(14);
+        when(eventRepository.copyLegacyHistory(List.of(3L))).thenReturn(2);
+
+        // Card 1: twelve reviews, newest first; only the newest ten count
+        List<CardReviewEventRepository.CardOutcomeRow> firstWindow = new ArrayList<>();
+        firstWindow.add(row(1L, ReviewOutcome.GOOD));
+        firstWindow.add(row(1L, ReviewOutcome.AGAIN));
+        for (int i = 0; i < 10; i++) {
+            firstWindow.add(row(1L, ReviewOutcome.EASY));
+        }
+        firstWindow.add(row(2L, ReviewOutcome.AGAIN));
+        firstWindow.add(row(2L, ReviewOutcome.HARD));
+        when(eventRepository.findOutcomesNewestFirst(List.of(1L, 2L))).thenReturn(firstWindow);
+        when(eventRepository.findOutcomesNewestFirst(List.of(3L)))
+            .thenReturn(List.of(row(3L, ReviewOutcome.GOOD), row(3L, ReviewOutcome.GOOD)));
+
+        int copied = backfill.backfill();
+
+        assertEquals(16, copied);
+        verify(cardRepository).updateRecentOutcomes(1L, 0b1111111101, 10);
+        verify(cardRepository).updateRecentOutcomes(2L, 0b10, 2);
+        verify(cardRepository).updateRecentOutcomes(3L, 0b11, 2);
+        InOrder inOrder = inOrder(eventRepository);
+        inOrder.verify(eventRepository).copyLegacyHistory(List.of(3L));
+        inOrder.verify(eventRepository).dropLegacyHistory();
+    }
+
+    @Test
+    void backfillOnStartup_DoesNothingWithoutLegacyTable() throws Exception {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        ResultSet tables = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.storesUpperCaseIdentifiers()).thenReturn(true);
+        when(metaData.getTables(any(), any(), eq("SPACED_REPETITION_REVIEW_HISTORY"), any())).thenReturn(tables);
+
+        backfill.backfillOnStartup();
+
+        verifyNoInteractions(eventRepository);
+        verify(cardRepository, never()).updateRecentOutcomes(anyLong(), anyInt(), anyInt());
+    }
+
+    private static CardReviewEventRepository.CardOutcomeRow row(Long cardId, ReviewOutcome outcome) {
+        return new CardReviewEventRepository.CardOutcomeRow() {
+            public Long getCardId() { return cardId; }
+            public ReviewOutcome getOutcome() { return outcome; }
+        };
+    }
+}
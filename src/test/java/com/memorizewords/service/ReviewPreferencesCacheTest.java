@@ -0,0 +1,103 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.UserReviewPreferences;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewPreferencesCacheTest {
+
+    @Mock
+    private PerformanceMonitoringService monitoringService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReviewPreferencesCache cache;
+    private AtomicInteger loads;
+    private Supplier<ReviewPreferencesSnapshot> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReviewPreferencesCache(monitoringService, transactionManager, true, 2, 600, 0);
+        loads = new AtomicInteger();
+        loader = () -> {
+            UserReviewPreferences preferences = new UserReviewPreferences();
+            preferences.setDailyReviewLimit(40 + loads.incrementAndGet());
+            return ReviewPreferencesSnapshot.from(preferences);
+        };
+    }
+
+    @Test
+    void get_LoadsOnceAndReportsHitsAndMisses() {
+        ReviewPreferencesSnapshot first = cache.get(1L, loader);
+        ReviewPreferencesSnapshot second = cache.get(1L, loader);
+
+        assertSame(first, second);
+        assertEquals(41, second.getDailyReviewLimit());
+        assertEquals(1, loads.get());
+        verify(monitoringService).recordCacheOperation(ReviewPreferencesCache.CACHE_NAME, "miss");
+        verify(monitoringService).recordCacheOperation(ReviewPreferencesCache.CACHE_NAME, "hit");
+    }
+
+    @Test
+    void invalidate_ForcesReload() {
+        cache.get(1L, loader);
+        cache.invalidate(1L);
+
+        assertEquals(42, cache.get(1L, loader).getDailyReviewLimit());
+        assertEquals(2, loads.get());
+        verify(monitoringService).recordCacheOperation(ReviewPreferencesCache.CACHE_NAME, "evict");
+    }
+
+    @Test
+    void invalidate_DuringLoadDiscardsStaleResult() {
+        Supplier<ReviewPreferencesSnapshot> racingLoader = () -> {
+            ReviewPreferencesSnapshot snapshot = loader.get();
+            cache.invalidate(1L);
+            return snapshot;
+        };
+
+        cache.get(1L, racingLoader);
+
+        assertEquals(0, cache.size());
+        assertEquals(42, cache.get(1L, loader).getDailyReviewLimit());
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsedUser() {
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+        cache.get(1L, loader);
+        cache.get(3L, loader);
+
+        assertEquals(2, cache.size());
+        cache.get(1L, loader);
+        assertEquals(3, loads.get());
+        cache.get(2L, loader);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void snapshot_IsImmutableCopy() {
+        UserReviewPreferences preferences = new UserReviewPreferences();
+        preferences.addPreferredMode(com.memorizewords.enums.ReviewMode.DUE_CARDS);
+        ReviewPreferencesSnapshot snapshot = ReviewPreferencesSnapshot.from(preferences);
+
+        preferences.addPreferredMode(com.memorizewords.enums.ReviewMode.NEW_CARDS);
+
+        assertEquals(1, snapshot.getPreferredModes().size());
+        assertThrows(UnsupportedOperationException.class,
+            () -> snapshot.getPreferredModes().add(com.memorizewords.enums.ReviewMode.NEW_CARDS));
+    }
+}
@@ -0,0 +1,150 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.ReviewSession;
+import com.memorizewords.entity.ReviewSessionCard;
+import com.memorizewords.entity.User;
+import com.memorizewords.enums.ReviewOutcome;
+import com.memorizewords.repository.ReviewSessionRepository;
+import com.memorizewords.repository.UserDailyReviewRollupRepository;
+import com.memorizewords.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewRollupServiceTest {
+
+    @Mock
+    private UserDailyReviewRollupRepository rollupRepository;
+
+    @Mock
+    private ReviewSessionRepository sessionRepository;
+
+    @Mock
+    private ReviewRollupWriter rollupWriter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ReviewRollupService rollupService;
+
+    private ReviewSession session;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+
+        day = LocalDate.now().minusDays(1);
+        session = new ReviewSession();
+        session.setUser(user);
+        // Late-night session: activity counts towards the day it started
+        session.setStartTime(day.atTime(23, 50));
+    }
+
+    @Test
+    void recordReviews_FirstActivityOfDayCreatesRowThenIncrements() {
+        when(rollupRepository.addReviews(eq(1L), eq(day), anyInt(), anyInt(), anyInt(), anyLong(), anyInt(), any()))
+            .thenReturn(0, 0, 1);
+
+        rollupService.recordReviews(session, List.of(
+            answer(ReviewOutcome.GOOD, 1, 2000),
+            answer(ReviewOutcome.HARD, 4, 3000),
+            answer(ReviewOutcome.EASY, 7, null)));
+
+        InOrder inOrder = inOrder(userRepository, rollupRepository);
+        inOrder.verify(userRepository).findByIdForUpdate(1L);
+        inOrder.verify(rollupRepository).insertEmptyDay(eq(1L), eq(day), any());
+        verify(rollupRepository, times(3)).addReviews(eq(1L), eq(day), eq(3), eq(2), eq(1), eq(5000L), eq(2), any());
+    }
+
+    @Test
+    void recordCompletedSession_UpdatesRowCreatedWhileWaitingForUserLock() {
+        when(rollupRepository.addCompletedSession(eq(1L), eq(day), anyLong(), any(), any(), anyInt(), any()))
+            .thenReturn(0, 1);
+
+        rollupService.recordCompletedSession(session);
+
+        verify(userRepository).findByIdForUpdate(1L);
+        verify(rollupRepository, never()).insertEmptyDay(any(), any(), any());
+    }
+
+    @Test
+    void recordCompletedSession_IncrementsExistingRow() {
+        session.setSessionDuration(420L);
+        session.setTotalSessionScore(new BigDecimal("88.50"));
+        session.setSessionAccuracy(new BigDecimal("92.00"));
+        when(rollupRepository.addCompletedSession(eq(1L), eq(day), eq(420L), eq(new BigDecimal("88.50")),
+            eq(new BigDecimal("92.00")), eq(0), any())).thenReturn(1);
+
+        rollupService.recordCompletedSession(session);
+
+        verify(rollupRepository, never()).insertEmptyDay(any(), any(), any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void rebuildOnStartup_RebuildsEmptyTableEvenWhenDisabled() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        when(rollupRepository.existsByUserIdNotNull()).thenReturn(false);
+        when(sessionRepository.findEarliestStartTime()).thenReturn(yesterday.atTime(9, 0));
+
+        rollupService.rebuildOnStartup();
+
+        verify(rollupWriter).rebuildWindow(yesterday, yesterday);
+    }
+
+    @Test
+    void rebuildOnStartup_SkipsPopulatedTableWhenDisabled() {
+        when(rollupRepository.existsByUserIdNotNull()).thenReturn(true);
+
+        rollupService.rebuildOnStartup();
+
+        verifyNoInteractions(sessionRepository, rollupWriter);
+    }
+
+    @Test
+    void rebuild_WritesOneWeekAtATime() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 10);
+        when(rollupWriter.rebuildWindow(from, from.plusDays(6))).thenReturn(3);
+        when(rollupWriter.rebuildWindow(from.plusDays(7), to)).thenReturn(2);
+
+        assertEquals(5, rollupService.rebuild(from, to));
+    }
+
+    @Test
+    void rebuildAll_StopsAtYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        when(sessionRepository.findEarliestStartTime()).thenReturn(yesterday.minusDays(3).atTime(9, 0));
+        when(rollupWriter.rebuildWindow(yesterday.minusDays(3), yesterday)).thenReturn(4);
+
+        assertEquals(4, rollupService.rebuildAll());
+        verify(rollupWriter, never()).rebuildWindow(any(), eq(LocalDate.now()));
+    }
+
+    private static ReviewSessionCard answer(ReviewOutcome outcome, int reviewNumber, Integer responseTime) {
+        ReviewSessionCard sessionCard = new ReviewSessionCard();
+        sessionCard.setOutcome(outcome);
+        sessionCard.setReviewNumber(reviewNumber);
+        sessionCard.setResponseTime(responseTime);
+        return sessionCard;
+    }
+}
@@ -0,0 +1,90 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.UserDailyReviewRollup;
+import com.memorizewords.repository.ReviewSessionRepository;
+import com.memorizewords.repository.UserDailyReviewRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewRollupWriterTest {
+
+    @Mock
+    private UserDailyReviewRollupRepository rollupRepository;
+
+    @Mock
+    private ReviewSessionRepository sessionRepository;
+
+    @InjectMocks
+    private ReviewRollupWriter rollupWriter;
+
+    @Test
+    void rebuildWindow_MergesSessionAndAnswerTotals() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = from.plusDays(6);
+        when(sessionRepository.aggregateDailySessionTotals(from.atStartOfDay(), to.plusDays(1).atStartOfDay()))
+            .thenReturn(List.of(sessionTotals(1L, from.plusDays(2), 2, 30, 24)));
+        when(sessionRepository.aggregateDailyAnswerTotals(from.atStartOfDay(), to.plusDays(1).atStartOfDay()))
+            .thenReturn(List.of(answerTotals(1L, from.plusDays(2), 6, 90_000L, 30)));
+
+        List<UserDailyReviewRollup> saved = new ArrayList<>();
+        when(rollupRepository.saveAll(any())).thenAnswer(invocation -> {
+            saved.addAll(invocation.<Collection<UserDailyReviewRollup>>getArgument(0));
+            return List.of();
+        });
+
+        int rows = rollupWriter.rebuildWindow(from, to);
+
+        assertEquals(1, rows);
+        verify(rollupRepository).deleteByDateRange(from, to);
+
+        UserDailyReviewRollup rollup = saved.get(0);
+        assertEquals(from.plusDays(2), rollup.getReviewDate());
+        assertEquals(2, rollup.getSessions());
+        assertEquals(30, rollup.getReviews());
+        assertEquals(24, rollup.getCorrectAnswers());
+        assertEquals(6, rollup.getNewCards());
+        assertEquals(90_000L, rollup.getResponseTimeSum());
+        assertEquals(30, rollup.getResponseCount());
+        assertTrue(rollup.isNew());
+    }
+
+    private static ReviewSessionRepository.DailySessionTotals sessionTotals(Long userId, LocalDate day, long sessions,
+                                                                           long reviews, long correctAnswers) {
+        return new ReviewSessionRepository.DailySessionTotals() {
+            public Long getUserId() { return userId; }
+            public LocalDate getDay() { return day; }
+            public Long getSessions() { return sessions; }
+            public Long getReviews() { return reviews; }
+            public Long getCorrectAnswers() { return correctAnswers; }
+            public Long getStudySeconds() { return 900L; }
+            public BigDecimal getSessionScoreSum() { return new BigDecimal("150.00"); }
+            public BigDecimal getBestSessionAccuracy() { return new BigDecimal("85.00"); }
+            public Long getDifficultCardsMastered() { return 0L; }
+        };
+    }
+
+    private static ReviewSessionRepository.DailyAnswerTotals answerTotals(Long userId, LocalDate day, long newCards,
+                                                                         long responseTimeSum, long responseCount) {
+        return new ReviewSessionRepository.DailyAnswerTotals() {
+            public Long getUserId() { return userId; }
+            public LocalDate getDay() { return day; }
+            public Long getNewCards() { return newCards; }
+            public Long getResponseTimeSum() { return responseTimeSum; }
+            public Long getResponseCount() { return responseCount; }
+        };
+    }
+}
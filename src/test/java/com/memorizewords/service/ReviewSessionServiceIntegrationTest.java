@@ -59,6 +59,9 @@ public class ReviewSessionServiceIntegrationTest {
     @Autowired
     private ReviewSessionRepository sessionRepository;
 
+    @Autowired
+    private ExpiredSessionSweeper expiredSessionSweeper;
+
     private User testUser;
     private List<Word> testWords;
     private List<SpacedRepetitionCard> testCards;
@@ -287,7 +290,7 @@ public class ReviewSessionServiceIntegrationTest {
             testUser, ReviewMode.DUE_CARDS, 3);
 
         // When
-        reviewSessionService.timeoutExpiredSessions();
+        expiredSessionSweeper.sweep();
 
         // Then
         // Session should be completed after timeout
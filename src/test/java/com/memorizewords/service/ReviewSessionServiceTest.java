@@ -0,0 +1,175 @@
+package com.memorizewords.service;
+
+import com.memorizewords.dto.request.BatchSubmitReviewRequest;
+import com.memorizewords.entity.ReviewSession;
+import com.memorizewords.entity.ReviewSessionCard;
+import com.memorizewords.entity.SpacedRepetitionCard;
+import com.memorizewords.entity.User;
+import com.memorizewords.enums.ReviewMode;
+import com.memorizewords.enums.ReviewOutcome;
+import com.memorizewords.exception.ResourceNotFoundException;
+import com.memorizewords.repository.ReviewSessionRepository;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import com.memorizewords.repository.UserReviewPreferencesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewSessionServiceTest {
+
+    @Mock
+    private SpacedRepetitionCardRepository cardRepository;
+
+    @Mock
+    private ReviewSessionRepository sessionRepository;
+
+    @Mock
+    private SpacedRepetitionService spacedRepetitionService;
+
+    @Mock
+    private ReviewStatisticsService statisticsService;
+
+    @Mock
+    private UserReviewPreferencesService preferencesService;
+
+    @Mock
+    private UserReviewPreferencesRepository userReviewPreferencesRepository;
+
+    @Mock
+    private UserStreakService streakService;
+
+    @Mock
+    private ReviewRollupService rollupService;
+
+    @Mock
+    private PerformanceHistogramService histogramService;
+
+    @InjectMocks
+    private ReviewSessionService reviewSessionService;
+
+    private User user;
+    private ReviewSession session;
+    private List<SpacedRepetitionCard> cards;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+
+        session = new ReviewSession();
+        session.setId(10L);
+        session.setUser(user);
+        session.setMode(ReviewMode.DUE_CARDS);
+        session.setStartTime(LocalDateTime.now().minusMinutes(5));
+        cards = List.of(card(101L), card(102L), card(103L));
+        for (SpacedRepetitionCard card : cards) {
+            ReviewSessionCard sessionCard = new ReviewSessionCard();
+            sessionCard.setCard(card);
+            session.addCard(sessionCard);
+        }
+        session.setTotalCards(cards.size());
+    }
+
+    @Test
+    void submitReviews_AppliesMixedOutcomesOnce() {
+        when(sessionRepository.findByIdWithCards(10L)).thenReturn(Optional.of(session));
+        when(spacedRepetitionService.getCardsForReview(eq(user), eq(Set.of(101L, 102L))))
+            .thenReturn(List.of(cards.get(0), cards.get(1)));
+        when(sessionRepository.save(session)).thenReturn(session);
+
+        ReviewSession result = reviewSessionService.submitReviews(10L,
+            List.of(answer(101L, ReviewOutcome.GOOD), answer(102L, ReviewOutcome.AGAIN)), user);
+
+        assertEquals(2, result.getCompletedCards());
+        assertEquals(1, result.getCorrectAnswers());
+        assertFalse(result.getIsCompleted());
+        assertEquals(ReviewOutcome.GOOD, session.getCards().get(0).getOutcome());
+        assertEquals(ReviewOutcome.AGAIN, session.getCards().get(1).getOutcome());
+        assertNull(session.getCards().get(2).getOutcome());
+        verify(spacedRepetitionService).applyOutcome(cards.get(0), ReviewOutcome.GOOD, 2000);
+        verify(spacedRepetitionService).applyOutcome(cards.get(1), ReviewOutcome.AGAIN, 2000);
+        verify(rollupService).recordReviews(session, List.of(session.getCards().get(0), session.getCards().get(1)));
+    }
+
+    @Test
+    void submitReviews_RejectsDuplicateCardIds() {
+        when(sessionRepository.findByIdWithCards(10L)).thenReturn(Optional.of(session));
+
+        assertThrows(IllegalArgumentException.class, () -> reviewSessionService.submitReviews(10L,
+            List.of(answer(101L, ReviewOutcome.GOOD), answer(101L, ReviewOutcome.EASY)), user));
+
+        verify(spacedRepetitionService, never()).applyOutcome(any(), any(), anyInt());
+        verifyNoInteractions(rollupService);
+        assertEquals(0, session.getCompletedCards());
+    }
+
+    @Test
+    void submitReviews_RejectsCardsAlreadyAnswered() {
+        session.getCards().get(0).setReviewOutcome(ReviewOutcome.GOOD, 1500);
+        when(sessionRepository.findByIdWithCards(10L)).thenReturn(Optional.of(session));
+        when(spacedRepetitionService.getCardsForReview(eq(user), eq(Set.of(102L, 101L))))
+            .thenReturn(List.of(cards.get(0), cards.get(1)));
+
+        assertThrows(IllegalStateException.class, () -> reviewSessionService.submitReviews(10L,
+            List.of(answer(102L, ReviewOutcome.GOOD), answer(101L, ReviewOutcome.HARD)), user));
+
+        verify(spacedRepetitionService, never()).applyOutcome(any(), any(), anyInt());
+        verify(spacedRepetitionService, never()).saveReviewedCards(anyList());
+        assertNull(session.getCards().get(1).getOutcome());
+    }
+
+    @Test
+    void submitReviews_RejectsSessionOfAnotherUser() {
+        User other = new User();
+        other.setId(2L);
+        when(sessionRepository.findByIdWithCards(10L)).thenReturn(Optional.of(session));
+
+        assertThrows(ResourceNotFoundException.class, () -> reviewSessionService.submitReviews(10L,
+            List.of(answer(101L, ReviewOutcome.GOOD)), other));
+
+        verifyNoInteractions(spacedRepetitionService);
+    }
+
+    @Test
+    void submitReviews_RejectsCardsOfAnotherUser() {
+        when(sessionRepository.findByIdWithCards(10L)).thenReturn(Optional.of(session));
+        // Cards are loaded by owner, so another user's card is not found
+        when(spacedRepetitionService.getCardsForReview(eq(user), eq(Set.of(101L, 999L))))
+            .thenReturn(List.of(cards.get(0)));
+
+        assertThrows(ResourceNotFoundException.class, () -> reviewSessionService.submitReviews(10L,
+            List.of(answer(101L, ReviewOutcome.GOOD), answer(999L, ReviewOutcome.GOOD)), user));
+
+        verify(spacedRepetitionService, never()).applyOutcome(any(), any(), anyInt());
+    }
+
+    private static SpacedRepetitionCard card(Long id) {
+        SpacedRepetitionCard card = new SpacedRepetitionCard();
+        card.setId(id);
+        return card;
+    }
+
+    private static BatchSubmitReviewRequest.ReviewAnswer answer(Long cardId, ReviewOutcome outcome) {
+        return BatchSubmitReviewRequest.ReviewAnswer.builder()
+            .cardId(cardId)
+            .outcome(outcome)
+            .responseTime(2000)
+            .build();
+    }
+}
@@ -0,0 +1,221 @@
+package com.memorizewords.service;
+
+import com.memorizewords.algorithm.PerformanceHistogram;
+import com.memorizewords.dto.response.DailyMetricDTO;
+import com.memorizewords.dto.response.ReviewInsightsDTO;
+import com.memorizewords.dto.response.ReviewStatisticsDTO;
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.UserDailyReviewRollup;
+import com.memorizewords.entity.UserPerformanceHistogram;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import com.memorizewords.repository.UserDailyReviewRollupRepository;
+import com.memorizewords.repository.UserPerformanceHistogramRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewStatisticsServiceTest {
+
+    @Mock
+    private SpacedRepetitionCardRepository cardRepository;
+
+    @Mock
+    private UserDailyReviewRollupRepository rollupRepository;
+
+    @Mock
+    private UserPerformanceHistogramRepository histogramRepository;
+
+    @Mock
+    private UserStreakService streakService;
+
+    private ReviewStatisticsService statisticsService;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService = new ReviewStatisticsService(cardRepository, rollupRepository, histogramRepository,
+            streakService, 4, 16, 300, false);
+
+        testUser = new User();
+        testUser.setId(1L);
+
+        when(rollupRepository.findByUserIdAndDateRange(eq(1L), any(), any()))
+            .thenReturn(List.of(rollup(LocalDate.now().minusDays(1), 20, 18)));
+        when(cardRepository.findByUserAndLastReviewedBetween(eq(testUser), any(), any())).thenReturn(List.of());
+        when(histogramRepository.findById(1L)).thenReturn(Optional.of(histogram()));
+        when(streakService.getCurrentStreak(testUser)).thenReturn(4);
+        when(streakService.getLongestStreak(testUser)).thenReturn(12);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statisticsService.shutdown();
+    }
+
+    @Test
+    void generateReviewInsights_LoadsEachDatasetOnce() {
+        when(cardRepository.countActiveCardsByPerformanceBand(testUser)).thenReturn(null);
+
+        ReviewInsightsDTO insights = statisticsService.generateReviewInsights(testUser);
+
+        assertFalse(insights.getPartial());
+        assertTrue(insights.getUnavailableSections().isEmpty());
+        assertEquals(90.0, insights.getAverageAccuracy(), 1e-9);
+        assertEquals("EXCELLENT", insights.getOverallPerformance());
+        assertEquals(4, insights.getCurrentStreak());
+        assertEquals(12, insights.getLongestStreak());
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(22, 0)), insights.getOptimalStudyTimes());
+        assertNotNull(insights.getBestPerformanceTime());
+        assertNotNull(insights.getWorstPerformanceTime());
+        assertEquals("BALANCED", insights.getDifficultyDistribution());
+        assertEquals("SLOW", insights.getLearningVelocity());
+
+        verify(rollupRepository, times(1)).findByUserIdAndDateRange(eq(1L), any(), any());
+        verify(cardRepository, times(1)).findByUserAndLastReviewedBetween(eq(testUser), any(), any());
+        verify(histogramRepository, times(1)).findById(1L);
+        verify(cardRepository, times(1)).countActiveCardsByPerformanceBand(testUser);
+    }
+
+    @Test
+    void generateReviewInsights_SlowSectionDegradesWithoutBlockingOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(cardRepository.countActiveCardsByPerformanceBand(testUser)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        long start = System.nanoTime();
+        ReviewInsightsDTO insights = statisticsService.generateReviewInsights(testUser);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertTrue(elapsedMillis < 2000, "took " + elapsedMillis + " ms");
+        assertTrue(insights.getPartial());
+        assertEquals(List.of("difficultyDistribution"), insights.getUnavailableSections());
+        assertNull(insights.getDifficultyDistribution());
+        assertEquals(90.0, insights.getAverageAccuracy(), 1e-9);
+        assertEquals(4, insights.getCurrentStreak());
+    }
+
+    @Test
+    void generateReviewInsights_FailedQueryOnlyDropsDependentSections() {
+        when(cardRepository.countActiveCardsByPerformanceBand(testUser)).thenReturn(null);
+        when(streakService.getLongestStreak(testUser)).thenThrow(new IllegalStateException("statistics unavailable"));
+
+        ReviewInsightsDTO insights = statisticsService.generateReviewInsights(testUser);
+
+        assertTrue(insights.getPartial());
+        assertTrue(insights.getUnavailableSections().containsAll(List.of("recommendations", "streaks")));
+        assertNull(insights.getCurrentStreak());
+        assertNull(insights.getLongestStreak());
+        assertEquals(90.0, insights.getAverageAccuracy(), 1e-9);
+        assertEquals(LocalTime.of(9, 0), insights.getOptimalStudyTimes().get(0));
+    }
+
+    @Test
+    void calculateReviewStatistics_ReadsRollupsForPeriodAndTrend() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(6);
+        UserDailyReviewRollup monday = rollup(from, 40, 36);
+        monday.setSessions(2);
+        monday.setStudySeconds(600L);
+        monday.setNewCards(5);
+        monday.setResponseTimeSum(120_000L);
+        monday.setResponseCount(40);
+        monday.setSessionScoreSum(new BigDecimal("170.00"));
+        monday.setBestSessionAccuracy(new BigDecimal("95.00"));
+        UserDailyReviewRollup friday = rollup(from.plusDays(4), 10, 9);
+        friday.setStudySeconds(300L);
+        // Previous week, read by the same query for the trend
+        UserDailyReviewRollup previous = rollup(from.minusDays(3), 50, 35);
+        when(rollupRepository.findByUserIdAndDateRange(1L, from.minusDays(7), to))
+            .thenReturn(List.of(previous, monday, friday));
+
+        ReviewStatisticsDTO statistics = statisticsService.calculateReviewStatistics(testUser, from, to);
+
+        assertEquals(50, statistics.getTotalReviews());
+        assertEquals(45, statistics.getCorrectReviews());
+        assertEquals(90.0, statistics.getAverageAccuracy(), 1e-9);
+        assertEquals(900L, statistics.getTotalStudyTime().getSeconds());
+        assertEquals(3, statistics.getTotalSessions());
+        assertEquals(5, statistics.getNewCardsLearned());
+        assertEquals(95, statistics.getBestSessionAccuracy());
+
+        List<DailyMetricDTO> daily = statistics.getDailyMetrics();
+        assertEquals(7, daily.size());
+        assertEquals(40, daily.get(0).getReviewsCompleted());
+        assertEquals(3000, daily.get(0).getAverageResponseTime());
+        assertEquals(85.0, daily.get(0).getSessionScore(), 1e-9);
+        assertFalse(daily.get(1).getIsActiveDay());
+        assertTrue(daily.get(4).getIsActiveDay());
+
+        // 90% this week against 70% the week before
+        assertEquals("IMPROVING", statistics.getReviewTrend().getOverallTrend());
+        assertEquals(0, new BigDecimal("20.00").compareTo(statistics.getReviewTrend().getAccuracyTrend()));
+
+    }
+
+    @Test
+    void calculateReviewStatistics_FillsDaysWithoutRollupsWithZeroes() {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(4);
+        when(rollupRepository.findByUserIdAndDateRange(1L, from.minusDays(5), to))
+            .thenReturn(List.of(rollup(from.plusDays(2), 12, 9)));
+
+        List<DailyMetricDTO> daily = statisticsService.calculateReviewStatistics(testUser, from, to).getDailyMetrics();
+
+        assertEquals(5, daily.size());
+        for (int i = 0; i < daily.size(); i++) {
+            DailyMetricDTO day = daily.get(i);
+            assertEquals(from.plusDays(i), day.getDate());
+            assertEquals(i + 1, day.getStreakDay());
+            if (i == 2) {
+                assertEquals(12, day.getReviewsCompleted());
+                assertEquals(9, day.getCorrectAnswers());
+                assertEquals(75.0, day.getAccuracy(), 1e-9);
+                continue;
+            }
+            assertEquals(0, day.getReviewsCompleted());
+            assertEquals(0, day.getCorrectAnswers());
+            assertEquals(0.0, day.getAccuracy(), 1e-9);
+            assertEquals(0, day.getStudyTimeMinutes());
+            assertEquals(0, day.getNewCardsLearned());
+            assertEquals(0, day.getAverageResponseTime());
+            assertFalse(day.getIsActiveDay());
+        }
+    }
+
+    private static UserDailyReviewRollup rollup(LocalDate day, int reviews, int correctAnswers) {
+        UserDailyReviewRollup rollup = new UserDailyReviewRollup(1L, day);
+        rollup.setSessions(1);
+        rollup.setReviews(reviews);
+        rollup.setCorrectAnswers(correctAnswers);
+        return rollup;
+    }
+
+    private static UserPerformanceHistogram histogram() {
+        PerformanceHistogram histogram = new PerformanceHistogram();
+        histogram.record(LocalDate.now().minusDays(1).atTime(9, 15), 20, 19, 30_000L);
+        histogram.record(LocalDate.now().minusDays(2).atTime(22, 40), 10, 6, 25_000L);
+        UserPerformanceHistogram row = new UserPerformanceHistogram(1L);
+        row.setHistogram(histogram);
+        return row;
+    }
+}
@@ -0,0 +1,152 @@
+package com.memorizewords.service;
+
+import com.memorizewords.algorithm.FsrsReviewScheduler;
+import com.memorizewords.algorithm.Sm2ReviewScheduler;
+import com.memorizewords.entity.CardReviewEvent;
+import com.memorizewords.entity.SpacedRepetitionCard;
+import com.memorizewords.entity.User;
+import com.memorizewords.enums.ReviewOutcome;
+import com.memorizewords.repository.CardReviewEventRepository;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import com.memorizewords.repository.UserRepository;
+import com.memorizewords.repository.WordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SpacedRepetitionServiceTest {
+
+    @Mock
+    private SpacedRepetitionCardRepository cardRepository;
+
+    @Mock
+    private CardReviewEventRepository reviewEventRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private DueCardIndex dueCardIndex;
+
+    @Mock
+    private ReviewSchedulerRegistry schedulers;
+
+    @InjectMocks
+    private SpacedRepetitionService spacedRepetitionService;
+
+    private User testUser;
+    private SpacedRepetitionCard card;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+
+        card = new SpacedRepetitionCard();
+        card.setId(10L);
+        card.setUser(testUser);
+    }
+
+    @Test
+    void applyOutcome_AppendsOneEventWithPreReviewSchedule() {
+        card.setIntervalDays(4);
+        card.setEaseFactor(new BigDecimal("2.30"));
+        when(schedulers.forUser(testUser)).thenReturn(new Sm2ReviewScheduler());
+
+        spacedRepetitionService.applyOutcome(card, ReviewOutcome.GOOD, 1200);
+
+        ArgumentCaptor<CardReviewEvent> captor = ArgumentCaptor.forClass(CardReviewEvent.class);
+        verify(reviewEventRepository).save(captor.capture());
+        CardReviewEvent event = captor.getValue();
+        assertSame(card, event.getCard());
+        assertSame(testUser, event.getUser());
+        assertEquals(1, event.getReviewNumber());
+        assertEquals(ReviewOutcome.GOOD, event.getOutcome());
+        assertEquals(1200, event.getResponseTime());
+        assertEquals(4, event.getIntervalBeforeReview());
+        assertEquals(new BigDecimal("2.30"), event.getEaseFactorBeforeReview());
+        assertEquals(card.getLastReviewed(), event.getReviewedAt());
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void applyOutcome_RetentionUsesOnlyLastTenOutcomes() {
+        // Five misses followed by ten reviews with two misses among them
+        List<ReviewOutcome> outcomes = List.of(
+            ReviewOutcome.AGAIN, ReviewOutcome.AGAIN, ReviewOutcome.AGAIN, ReviewOutcome.AGAIN, ReviewOutcome.AGAIN,
+            ReviewOutcome.GOOD, ReviewOutcome.AGAIN, ReviewOutcome.EASY, ReviewOutcome.GOOD, ReviewOutcome.HARD,
+            ReviewOutcome.GOOD, ReviewOutcome.AGAIN, ReviewOutcome.GOOD, ReviewOutcome.GOOD, ReviewOutcome.EASY);
+        when(schedulers.forUser(testUser)).thenReturn(new Sm2ReviewScheduler());
+
+        outcomes.forEach(outcome -> spacedRepetitionService.applyOutcome(card, outcome, 1000));
+
+        assertEquals(15, card.getTotalReviews());
+        assertEquals(SpacedRepetitionCard.RECENT_OUTCOME_WINDOW, card.getRecentOutcomeCount());
+        assertEquals(0b1011110111, card.getRecentOutcomes());
+        assertEquals(new BigDecimal("0.80"), card.getRetentionRate());
+        verify(reviewEventRepository, times(15)).save(any(CardReviewEvent.class));
+    }
+
+    @Test
+    void applyOutcome_UsesUsersSchedulerAndKeepsSm2FactorsUnderFsrs() {
+        when(schedulers.forUser(testUser)).thenReturn(new FsrsReviewScheduler(0.9));
+
+        spacedRepetitionService.applyOutcome(card, ReviewOutcome.GOOD, 1000);
+
+        assertEquals(0, new BigDecimal("3.71").compareTo(card.getMemoryStability()));
+        assertNotNull(card.getMemoryDifficulty());
+        assertEquals(4, card.getIntervalDays());
+        assertEquals(0, new BigDecimal("2.5").compareTo(card.getEaseFactor()));
+        assertEquals(0, BigDecimal.ONE.compareTo(card.getStabilityFactor()));
+    }
+
+    @Test
+    void applyOutcome_PlacesIntervalOnLeastLoadedDay() {
+        card.setIntervalDays(6);
+        card.setEaseFactor(new BigDecimal("2.50"));
+        card.setTotalReviews(2);
+        when(schedulers.forUser(testUser)).thenReturn(new Sm2ReviewScheduler());
+        when(dueCardIndex.isEnabled()).thenReturn(true);
+        // SM-2 schedules 15 days; the window is 13..17 and day 16 is the quietest
+        when(dueCardIndex.countDueByDay(eq(testUser), eq(LocalDate.now().plusDays(13)), eq(5)))
+            .thenReturn(new int[]{9, 7, 8, 2, 6});
+
+        spacedRepetitionService.applyOutcome(card, ReviewOutcome.GOOD, 1000);
+
+        assertEquals(16, card.getIntervalDays());
+        assertEquals(LocalDate.now().plusDays(16), card.getDueDate().toLocalDate());
+    }
+
+    @Test
+    void resetCard_ClearsRingAndDeletesEvents() {
+        card.setRecentOutcomes(0b111);
+        card.setRecentOutcomeCount(3);
+        card.setMemoryStability(new BigDecimal("12.00"));
+        card.setMemoryDifficulty(new BigDecimal("5.00"));
+        when(cardRepository.findById(10L)).thenReturn(Optional.of(card));
+
+        spacedRepetitionService.resetCard(10L);
+
+        assertEquals(0, card.getRecentOutcomes());
+        assertEquals(0, card.getRecentOutcomeCount());
+        assertNull(card.getMemoryStability());
+        verify(reviewEventRepository).deleteByCard(card);
+        verify(cardRepository).save(card);
+    }
+}
@@ -0,0 +1,159 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.UserStatistics;
+import com.memorizewords.repository.UserDailyReviewRollupRepository;
+import com.memorizewords.repository.UserRepository;
+import com.memorizewords.repository.UserStatisticsRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStreakServiceTest {
+
+    @Mock
+    private UserStatisticsRepository statisticsRepository;
+
+    @Mock
+    private UserDailyReviewRollupRepository rollupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private UserStreakService streakService;
+
+    private User testUser;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+
+        today = LocalDate.now();
+    }
+
+    @Test
+    void recordActivity_ExtendsAndBreaksStreak() {
+        UserStatistics statistics = new UserStatistics(testUser);
+        when(statisticsRepository.findByUserForUpdate(testUser)).thenReturn(Optional.of(statistics));
+        when(statisticsRepository.findByUser(testUser)).thenReturn(Optional.of(statistics));
+
+        streakService.recordActivity(testUser, today.minusDays(5));
+        streakService.recordActivity(testUser, today.minusDays(4));
+        streakService.recordActivity(testUser, today.minusDays(3));
+        streakService.recordActivity(testUser, today.minusDays(3));
+        streakService.recordActivity(testUser, today.minusDays(1));
+        streakService.recordActivity(testUser, today);
+
+        assertEquals(2, statistics.getCurrentStreak());
+        assertEquals(3, statistics.getLongestStreak());
+        assertEquals(today, statistics.getLastActivityDate());
+        assertEquals(2, streakService.getCurrentStreak(testUser));
+        assertEquals(3, streakService.getLongestStreak(testUser));
+    }
+
+    @Test
+    void recordActivity_LocksUserBeforeCreatingFirstRow() {
+        when(statisticsRepository.findByUserForUpdate(testUser)).thenReturn(Optional.empty());
+
+        streakService.recordActivity(testUser, today);
+
+        verify(statisticsRepository, times(2)).findByUserForUpdate(testUser);
+        InOrder order = inOrder(userRepository, statisticsRepository);
+        order.verify(userRepository).findByIdForUpdate(testUser.getId());
+        ArgumentCaptor<UserStatistics> saved = ArgumentCaptor.forClass(UserStatistics.class);
+        order.verify(statisticsRepository).save(saved.capture());
+        assertEquals(1, saved.getValue().getCurrentStreak());
+    }
+
+    @Test
+    void getCurrentStreak_ExpiresAfterMissedDay() {
+        UserStatistics statistics = new UserStatistics(testUser);
+        statistics.recordActivityOn(today.minusDays(3));
+        statistics.recordActivityOn(today.minusDays(2));
+        when(statisticsRepository.findByUser(testUser)).thenReturn(Optional.of(statistics));
+
+        assertEquals(0, streakService.getCurrentStreak(testUser));
+        assertEquals(2, streakService.getLongestStreak(testUser));
+    }
+
+    @Test
+    void rebuildStreaks_FoldsOrderedActiveDaysPerUser() {
+        User otherUser = new User();
+        otherUser.setId(2L);
+        UserStatistics existing = new UserStatistics(testUser);
+        existing.setCurrentStreak(9);
+        existing.setLongestStreak(9);
+
+        when(rollupRepository.streamActiveDays()).thenReturn(Stream.of(
+            activeDay(1L, today.minusDays(10)),
+            activeDay(1L, today.minusDays(9)),
+            activeDay(1L, today.minusDays(8)),
+            activeDay(1L, today.minusDays(1)),
+            activeDay(2L, today.minusDays(2)),
+            activeDay(2L, today.minusDays(1)),
+            activeDay(2L, today)
+        ));
+        when(statisticsRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(existing));
+        when(userRepository.getReferenceById(2L)).thenReturn(otherUser);
+
+        int users = streakService.rebuildStreaks();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserStatistics>> captor = ArgumentCaptor.forClass(List.class);
+        verify(statisticsRepository).saveAll(captor.capture());
+        Map<Long, UserStatistics> saved = captor.getValue().stream()
+            .collect(Collectors.toMap(statistics -> statistics.getUser().getId(), Function.identity()));
+
+        assertEquals(2, users);
+        assertSame(existing, saved.get(1L));
+        assertEquals(1, saved.get(1L).getCurrentStreak());
+        assertEquals(3, saved.get(1L).getLongestStreak());
+        assertEquals(today.minusDays(1), saved.get(1L).getLastActivityDate());
+        assertEquals(3, saved.get(2L).getCurrentStreak());
+        assertEquals(3, saved.get(2L).getLongestStreak());
+        verify(statisticsRepository, never()).save(any());
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    private UserDailyReviewRollupRepository.ActiveDay activeDay(Long userId, LocalDate day) {
+        return new UserDailyReviewRollupRepository.ActiveDay() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public LocalDate getDay() {
+                return day;
+            }
+        };
+    }
+}
@@ -0,0 +1,151 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.Word;
+import com.memorizewords.repository.WordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WordExistenceFilterTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private WordExistenceFilter existenceFilter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        existenceFilter = new WordExistenceFilter(wordRepository, meterRegistry, true, 1000, 0.01, 2);
+    }
+
+    @Test
+    void mightContain_EveryWordIsAPossibleHitUntilBuilt() {
+        assertFalse(existenceFilter.isReady());
+        assertTrue(existenceFilter.mightContain("anything", "english"));
+        assertEquals(0.0, meterRegistry.get("words.existence_filter.checks.total").tag("result", "possible_hit").counter().count());
+    }
+
+    @Test
+    void rebuild_LoadsKeysetPagesAndAnswersDefinitelyNew() {
+        when(wordRepository.count()).thenReturn(3L);
+        when(wordRepository.findPrefixRows(eq(0L), any()))
+            .thenReturn(List.of(row(1L, "harbour", "english"), row(2L, "port", "english")));
+        when(wordRepository.findPrefixRows(eq(2L), any())).thenReturn(List.of(row(3L, "port", "french")));
+        when(wordRepository.findPrefixRows(eq(3L), any())).thenReturn(List.of());
+
+        assertEquals(3, existenceFilter.rebuild());
+
+        assertTrue(existenceFilter.isReady());
+        assertTrue(existenceFilter.mightContain(" Harbour ", "english"));
+        assertTrue(existenceFilter.mightContain("port", "french"));
+        assertFalse(existenceFilter.mightContain("harbour", "french"));
+        assertFalse(existenceFilter.mightContain("anchor", "english"));
+        assertEquals(2.0, meterRegistry.get("words.existence_filter.checks.total").tag("result", "possible_hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("words.existence_filter.checks.total").tag("result", "definitely_new").counter().count());
+        assertEquals(3.0, meterRegistry.get("words.existence_filter.words").gauge().value());
+        verify(wordRepository, times(3)).findPrefixRows(anyLong(), any());
+    }
+
+    @Test
+    void put_MakesNewWordsPossibleHitsImmediately() {
+        buildEmpty();
+
+        existenceFilter.put(word("anchor", "english"));
+        existenceFilter.putAll(List.of(word("dock", "english"), word("quai", "french")));
+
+        assertTrue(existenceFilter.mightContain("anchor", "english"));
+        assertTrue(existenceFilter.mightContain("dock", "english"));
+        assertTrue(existenceFilter.mightContain("quai", "french"));
+        assertEquals(3, existenceFilter.size());
+    }
+
+    @Test
+    void mightContain_NeverRulesOutWordsTheCollationMatches() {
+        buildEmpty();
+
+        existenceFilter.put(word("café", "English"));
+
+        // The database compares case- and accent-insensitively
+        assertTrue(existenceFilter.mightContain("cafe", "english"));
+        assertTrue(existenceFilter.mightContain("CAFÉ", " ENGLISH "));
+    }
+
+    @Test
+    void falsePositiveRate_IsMeasuredAndStaysNearTheConfiguredRate() {
+        buildEmpty();
+        for (int i = 0; i < 1000; i++) {
+            existenceFilter.put(word("word" + i, "english"));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (existenceFilter.mightContain("other" + i, "english")) {
+                falsePositives++;
+            }
+        }
+        existenceFilter.recordFalsePositives(falsePositives);
+
+        double observed = existenceFilter.observedFalsePositiveRate();
+        assertEquals(falsePositives / 10000.0, observed, 1e-9);
+        assertTrue(observed < 0.03, "observed false positive rate " + observed);
+        assertEquals(observed, meterRegistry.get("words.existence_filter.false_positive_rate").gauge().value(), 1e-9);
+        assertEquals(falsePositives, meterRegistry.get("words.existence_filter.false_positives.total").counter().count());
+        assertTrue(existenceFilter.expectedFalsePositiveRate() > 0.0);
+        assertTrue(existenceFilter.expectedFalsePositiveRate() < 0.03);
+    }
+
+    @Test
+    void bloomFilter_IsSizedForCapacityAndRate() {
+        WordExistenceFilter.BloomFilter filter = new WordExistenceFilter.BloomFilter(1000, 0.01);
+
+        assertEquals(9600, filter.bitSize);
+        assertEquals(7, filter.hashCount);
+        assertEquals(0.0, filter.expectedFalsePositiveRate());
+    }
+
+    @Test
+    void disabled_IsNeverReadyAndNeverRulesWordsOut() {
+        WordExistenceFilter disabled = new WordExistenceFilter(wordRepository, meterRegistry, false, 1000, 0.01, 2);
+
+        disabled.put(word("anchor", "english"));
+
+        assertFalse(disabled.isReady());
+        assertTrue(disabled.mightContain("anything", "english"));
+        verifyNoInteractions(wordRepository);
+    }
+
+    private void buildEmpty() {
+        when(wordRepository.count()).thenReturn(0L);
+        when(wordRepository.findPrefixRows(eq(0L), any())).thenReturn(List.of());
+        existenceFilter.rebuild();
+    }
+
+    private static Word word(String text, String language) {
+        Word word = new Word();
+        word.setWord(text);
+        word.setLanguage(language);
+        return word;
+    }
+
+    private static WordRepository.WordPrefixRow row(Long id, String word, String language) {
+        return new WordRepository.WordPrefixRow() {
+            public Long getId() { return id; }
+            public String getWord() { return word; }
+            public String getLanguage() { return language; }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.memorizewords.service;
+
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import com.memorizewords.repository.WordRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WordIndexLoaderTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private SpacedRepetitionCardRepository cardRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void buildOnStartup_FeedsEveryIndexFromOneScan() {
+        when(wordRepository.findPrefixRows(eq(0L), any()))
+            .thenReturn(List.of(row(1L, "harbour", "english"), row(2L, "receive", "english")));
+        when(wordRepository.findPrefixRows(eq(2L), any())).thenReturn(List.of(row(3L, "port", "french")));
+        when(wordRepository.findPrefixRows(eq(3L), any())).thenReturn(List.of());
+        when(cardRepository.countCardsByWordIdIn(any())).thenReturn(List.of());
+
+        WordPrefixIndex prefixIndex = new WordPrefixIndex(wordRepository, cardRepository, true, 3, 500);
+        NearDuplicateIndex nearDuplicateIndex = new NearDuplicateIndex(wordRepository, true, 2, 500);
+        WordExistenceFilter existenceFilter = new WordExistenceFilter(wordRepository, meterRegistry, true, 1000, 0.01, 500);
+        new WordIndexLoader(wordRepository, prefixIndex, nearDuplicateIndex, existenceFilter, 2).buildOnStartup();
+
+        verify(wordRepository, times(3)).findPrefixRows(anyLong(), any());
+        assertEquals(List.of(1L), prefixIndex.complete("har", "english", 10));
+        assertEquals(List.of(new NearDuplicateIndex.Match(2L, "receive", 1)), nearDuplicateIndex.find("recieve", "english", 10));
+        assertTrue(existenceFilter.mightContain("port", "french"));
+        assertFalse(existenceFilter.mightContain("port", "english"));
+    }
+
+    @Test
+    void buildOnStartup_SkipsDisabledIndexes() {
+        when(wordRepository.findPrefixRows(eq(0L), any())).thenReturn(List.of(row(1L, "harbour", "english")));
+        when(wordRepository.findPrefixRows(eq(1L), any())).thenReturn(List.of());
+
+        WordPrefixIndex prefixIndex = new WordPrefixIndex(wordRepository, cardRepository, false, 3, 500);
+        NearDuplicateIndex nearDuplicateIndex = new NearDuplicateIndex(wordRepository, true, 2, 500);
+        WordExistenceFilter existenceFilter = new WordExistenceFilter(wordRepository, meterRegistry, false, 1000, 0.01, 500);
+        new WordIndexLoader(wordRepository, prefixIndex, nearDuplicateIndex, existenceFilter, 2).buildOnStartup();
+
+        assertFalse(prefixIndex.isReady());
+        assertTrue(nearDuplicateIndex.isReady());
+        assertFalse(existenceFilter.isReady());
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void buildOnStartup_LeavesEveryIndexUnbuiltWhenTheScanFails() {
+        when(wordRepository.findPrefixRows(eq(0L), any())).thenReturn(List.of(row(1L, "harbour", "english")));
+        when(wordRepository.findPrefixRows(eq(1L), any())).thenThrow(new QueryTimeoutException("timeout"));
+        when(cardRepository.countCardsByWordIdIn(any())).thenReturn(List.of());
+
+        WordPrefixIndex prefixIndex = new WordPrefixIndex(wordRepository, cardRepository, true, 3, 500);
+        NearDuplicateIndex nearDuplicateIndex = new NearDuplicateIndex(wordRepository, true, 2, 500);
+        WordExistenceFilter existenceFilter = new WordExistenceFilter(wordRepository, meterRegistry, true, 1000, 0.01, 500);
+        WordIndexLoader loader = new WordIndexLoader(wordRepository, prefixIndex, nearDuplicateIndex, existenceFilter, 1);
+
+        assertThrows(QueryTimeoutException.class, loader::buildOnStartup);
+        assertFalse(prefixIndex.isReady());
+        assertFalse(nearDuplicateIndex.isReady());
+        assertFalse(existenceFilter.isReady());
+    }
+
+    private static WordRepository.WordPrefixRow row(Long id, String word, String language) {
+        return new WordRepository.WordPrefixRow() {
+            public Long getId() { return id; }
+            public String getWord() { return word; }
+            public String getLanguage() { return language; }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.memorizewords.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordNormalizerTest {
+
+    @Test
+    void normalize_IgnoresTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            // A Turkish default locale would lower-case the I to a dotless ı
+            assertEquals("title", WordNormalizer.normalize("  TITLE "));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void normalize_MapsNullToEmpty() {
+        assertEquals("", WordNormalizer.normalize(null));
+    }
+
+    @Test
+    void matchKey_FoldsCaseAndAccentsOfWordAndLanguage() {
+        assertEquals(WordNormalizer.matchKey("cafe", "english"), WordNormalizer.matchKey(" Café ", "English"));
+        assertNotEquals(WordNormalizer.matchKey("cafe", "english"), WordNormalizer.matchKey("cafe", "french"));
+    }
+
+    @Test
+    void normalizeLanguage_KeepsNullForAnyLanguage() {
+        assertEquals("english", WordNormalizer.normalizeLanguage(" English "));
+        assertNull(WordNormalizer.normalizeLanguage(null));
+    }
+}
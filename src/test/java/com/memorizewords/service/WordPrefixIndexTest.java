@@ -0,0 +1,154 @@
+package com.memorizewords.service;
+
+import com.memorizewords.entity.Word;
+import com.memorizewords.repository.SpacedRepetitionCardRepository;
+import com.memorizewords.repository.WordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WordPrefixIndexTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    @Mock
+    private SpacedRepetitionCardRepository cardRepository;
+
+    private WordPrefixIndex prefixIndex;
+
+    @BeforeEach
+    void setUp() {
+        prefixIndex = new WordPrefixIndex(wordRepository, cardRepository, true, 3, 2);
+    }
+
+    @Test
+    void complete_RanksByPopularityThenAlphabetically() {
+        loadIndex(
+            List.of(row(1L, "test", "english"), row(2L, "testament", "english"), row(3L, "tester", "english"),
+                row(4L, "team", "english"), row(5L, "Tesla", "english")),
+            List.of(count(2L, 7L), count(3L, 2L)));
+
+        assertEquals(List.of(2L, 3L, 5L, 1L), prefixIndex.complete("tes", "english", 10));
+        assertEquals(List.of(2L, 3L), prefixIndex.complete("TES", "english", 2));
+        assertEquals(List.of(2L, 3L, 4L), prefixIndex.complete("te", "english", 3));
+        assertEquals(List.of(2L), prefixIndex.complete("testam", "english", 10));
+        assertTrue(prefixIndex.complete("tex", "english", 10).isEmpty());
+    }
+
+    @Test
+    void complete_CollectsSubtreeWhenLimitExceedsTopK() {
+        loadIndex(
+            List.of(row(1L, "cat", "english"), row(2L, "catch", "english"), row(3L, "cater", "english"),
+                row(4L, "cattle", "english"), row(5L, "catalog", "english")),
+            List.of());
+
+        assertEquals(List.of(1L, 5L, 2L), prefixIndex.complete("cat", "english", 3));
+        assertEquals(List.of(1L, 5L, 2L, 3L, 4L), prefixIndex.complete("cat", "english", 10));
+    }
+
+    @Test
+    void complete_KeepsLanguagesApartUnlessNoneIsGiven() {
+        loadIndex(
+            List.of(row(1L, "chat", "english"), row(2L, "chat", "french"), row(3L, "chateau", "french")),
+            List.of(count(3L, 4L)));
+
+        assertEquals(List.of(1L), prefixIndex.complete("cha", "english", 10));
+        assertEquals(List.of(3L, 2L), prefixIndex.complete("cha", "french", 10));
+        assertEquals(List.of(3L, 1L, 2L), prefixIndex.complete("cha", null, 10));
+        assertTrue(prefixIndex.complete("cha", "german", 10).isEmpty());
+    }
+
+    @Test
+    void addAndRemove_UpdateCompletionsAndKeepPopularityOnRename() {
+        loadIndex(
+            List.of(row(1L, "river", "english"), row(2L, "rivet", "english")),
+            List.of(count(2L, 3L)));
+
+        prefixIndex.add(word(3L, "riverbank"));
+        assertEquals(List.of(2L, 1L, 3L), prefixIndex.complete("riv", "english", 10));
+
+        prefixIndex.remove(1L);
+        assertEquals(List.of(2L, 3L), prefixIndex.complete("riv", "english", 10));
+        assertEquals(List.of(3L), prefixIndex.complete("river", "english", 10));
+
+        prefixIndex.add(word(2L, "ravine"));
+        assertEquals(List.of(3L), prefixIndex.complete("riv", "english", 10));
+        assertEquals(List.of(2L), prefixIndex.complete("rav", "english", 10));
+
+        prefixIndex.remove(3L);
+        prefixIndex.remove(2L);
+        assertTrue(prefixIndex.complete("r", "english", 10).isEmpty());
+    }
+
+    @Test
+    void rebuild_LoadsKeysetPagesAndBecomesReady() {
+        when(wordRepository.findPrefixRows(eq(0L), any()))
+            .thenReturn(List.of(row(1L, "harbour", "english"), row(2L, "harp", "english")));
+        when(wordRepository.findPrefixRows(eq(2L), any())).thenReturn(List.of(row(3L, "hare", "english")));
+        when(wordRepository.findPrefixRows(eq(3L), any())).thenReturn(List.of());
+        when(cardRepository.countCardsByWordIdIn(any())).thenReturn(List.of());
+
+        assertFalse(prefixIndex.isReady());
+        assertTrue(prefixIndex.complete("har", "english", 10).isEmpty());
+
+        assertEquals(3, prefixIndex.rebuild());
+
+        assertTrue(prefixIndex.isReady());
+        assertEquals(List.of(1L, 3L, 2L), prefixIndex.complete("har", "english", 10));
+        verify(cardRepository).countCardsByWordIdIn(List.of(1L, 2L));
+        verify(cardRepository).countCardsByWordIdIn(List.of(3L));
+    }
+
+    @Test
+    void disabled_IsNeverReadyAndIgnoresChanges() {
+        WordPrefixIndex disabled = new WordPrefixIndex(wordRepository, cardRepository, false, 3, 2);
+
+        disabled.add(word(1L, "ignored"));
+
+        assertFalse(disabled.isReady());
+        assertTrue(disabled.complete("ign", "english", 10).isEmpty());
+        verifyNoInteractions(wordRepository, cardRepository);
+    }
+
+    private void loadIndex(List<WordRepository.WordPrefixRow> rows, List<SpacedRepetitionCardRepository.WordCardCount> counts) {
+        when(wordRepository.findPrefixRows(eq(0L), any())).thenReturn(rows);
+        when(wordRepository.findPrefixRows(eq(rows.get(rows.size() - 1).getId()), any())).thenReturn(List.of());
+        when(cardRepository.countCardsByWordIdIn(any())).thenReturn(counts);
+        prefixIndex = new WordPrefixIndex(wordRepository, cardRepository, true, 3, rows.size());
+        prefixIndex.rebuild();
+    }
+
+    private static Word word(Long id, String text) {
+        Word word = new Word();
+        word.setId(id);
+        word.setWord(text);
+        word.setLanguage("english");
+        return word;
+    }
+
+    private static WordRepository.WordPrefixRow row(Long id, String word, String language) {
+        return new WordRepository.WordPrefixRow() {
+            public Long getId() { return id; }
+            public String getWord() { return word; }
+            public String getLanguage() { return language; }
+        };
+    }
+
+    private static SpacedRepetitionCardRepository.WordCardCount count(Long wordId, Long cards) {
+        return new SpacedRepetitionCardRepository.WordCardCount() {
+            public Long getWordId() { return wordId; }
+            public Long getCards() { return cards; }
+        };
+    }
+}
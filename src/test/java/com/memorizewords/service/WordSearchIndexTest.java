@@ -0,0 +1,213 @@
+package com.memorizewords.service;
+
+import com.memorizewords.dto.request.WordSearchCriteria;
+import com.memorizewords.entity.User;
+import com.memorizewords.entity.Word;
+import com.memorizewords.enums.DifficultyLevel;
+import com.memorizewords.enums.WordCategory;
+import com.memorizewords.repository.WordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WordSearchIndexTest {
+
+    @Mock
+    private WordRepository wordRepository;
+
+    private WordSearchIndex searchIndex;
+    private User owner;
+    private User otherUser;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new WordSearchIndex(wordRepository, true, 2);
+
+        owner = new User();
+        owner.setId(1L);
+        otherUser = new User();
+        otherUser.setId(2L);
+    }
+
+    @Test
+    void tokenize_SplitsOnNonLetterOrDigitAndLowercases() {
+        assertEquals(List.of("don", "t", "stop", "caf\u00e9", "42"), WordSearchIndex.tokenize("Don't STOP -- caf\u00e9, 42!"));
+        assertTrue(WordSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void search_RanksWordMatchesAboveDefinitionMatches() {
+        searchIndex.index(word(1L, "bank", "the land beside a river", true));
+        searchIndex.index(word(2L, "shore", "land along the edge of a sea, lake or river bank", true));
+        searchIndex.index(word(3L, "river", "a large natural stream of water", true));
+
+        WordSearchIndex.Hits hits = searchIndex.search(criteria("river"), owner, 0, 10);
+
+        assertEquals(3, hits.total());
+        assertEquals(3L, hits.ids().get(0).longValue());
+        assertEquals(Set.of(1L, 2L), Set.copyOf(hits.ids().subList(1, 3)));
+    }
+
+    @Test
+    void search_RequiresEveryTermAndExpandsPrefixes() {
+        searchIndex.index(word(1L, "run", "to move swiftly on foot", true));
+        searchIndex.index(word(2L, "sprint", "running at full speed", true));
+        searchIndex.index(word(3L, "walk", "to move on foot at a regular pace", true));
+
+        assertEquals(List.of(1L, 3L), sorted(searchIndex.search(criteria("move foot"), owner, 0, 10).ids()));
+        assertEquals(List.of(1L), searchIndex.search(criteria("move swiftly"), owner, 0, 10).ids());
+        // "run" matches the word itself exactly and "running" as a prefix
+        assertEquals(List.of(1L, 2L), searchIndex.search(criteria("run"), owner, 0, 10).ids());
+        assertEquals(0, searchIndex.search(criteria("fly"), owner, 0, 10).total());
+    }
+
+    @Test
+    void search_OnlyReturnsPublicWordsAndTheUsersOwn() {
+        searchIndex.index(word(1L, "apple", "a fruit", true));
+        searchIndex.index(word(2L, "pear", "a fruit", false));
+
+        assertEquals(List.of(1L, 2L), sorted(searchIndex.search(criteria("fruit"), owner, 0, 10).ids()));
+        assertEquals(List.of(1L), searchIndex.search(criteria("fruit"), otherUser, 0, 10).ids());
+
+        WordSearchCriteria mine = criteria("fruit");
+        mine.setCreatedBy("me");
+        mine.setIsPublic(false);
+        assertEquals(List.of(2L), searchIndex.search(mine, owner, 0, 10).ids());
+    }
+
+    @Test
+    void search_AppliesCriteriaFiltersAndPages() {
+        for (long id = 1; id <= 5; id++) {
+            Word word = word(id, "word" + id, "common definition", true);
+            word.setDifficulty(id % 2 == 0 ? DifficultyLevel.ADVANCED : DifficultyLevel.BEGINNER);
+            word.setCategories(Set.of(id == 3 ? WordCategory.VERB : WordCategory.NOUN));
+            word.setTags(Set.of(id == 4 ? "travel" : "home"));
+            searchIndex.index(word);
+        }
+
+        WordSearchIndex.Hits page = searchIndex.search(criteria("common"), owner, 2, 2);
+        assertEquals(5, page.total());
+        assertEquals(List.of(3L, 4L), page.ids());
+
+        WordSearchCriteria advanced = criteria("common");
+        advanced.setDifficulty(DifficultyLevel.ADVANCED);
+        assertEquals(List.of(2L, 4L), searchIndex.search(advanced, owner, 0, 10).ids());
+
+        WordSearchCriteria verbs = criteria("common");
+        verbs.setCategory("verb");
+        assertEquals(List.of(3L), searchIndex.search(verbs, owner, 0, 10).ids());
+
+        WordSearchCriteria tagged = criteria("travel");
+        tagged.setTag("travel");
+        assertEquals(List.of(4L), searchIndex.search(tagged, owner, 0, 10).ids());
+
+        WordSearchCriteria unknownCategory = criteria("common");
+        unknownCategory.setCategory("nonsense");
+        assertEquals(0, searchIndex.search(unknownCategory, owner, 0, 10).total());
+    }
+
+    @Test
+    void indexAndRemove_ReplaceAndDropPostings() {
+        Word word = word(1L, "colour", "the appearance of things", true);
+        searchIndex.index(word);
+        word.setDefinition("a visual property");
+        searchIndex.index(word);
+
+        assertEquals(1, searchIndex.size());
+        assertEquals(0, searchIndex.search(criteria("appearance"), owner, 0, 10).total());
+        assertEquals(List.of(1L), searchIndex.search(criteria("visual"), owner, 0, 10).ids());
+
+        searchIndex.remove(1L);
+        searchIndex.index(word(2L, "hue", "a visual shade", true));
+
+        assertEquals(1, searchIndex.size());
+        assertEquals(List.of(2L), searchIndex.search(criteria("visual"), owner, 0, 10).ids());
+    }
+
+    @Test
+    void supports_LeavesUsernameMatchingToTheDatabase() {
+        WordSearchCriteria byUsername = criteria("river");
+        byUsername.setCreatedBy("ali");
+        WordSearchCriteria mine = criteria("river");
+        mine.setCreatedBy("me");
+
+        assertFalse(searchIndex.supports(byUsername));
+        assertTrue(searchIndex.supports(mine));
+        assertTrue(searchIndex.supports(criteria("river")));
+    }
+
+    @Test
+    void load_IndexesPagesWithTagsAndCategoriesThenBecomesReady() {
+        WordRepository.WordSearchRow first = row(1L, "harbour", "a sheltered port");
+        WordRepository.WordSearchRow second = row(2L, "anchor", "holds a ship in a port");
+        WordRepository.WordSearchRow third = row(3L, "dock", "a place for ships");
+        when(wordRepository.findSearchRows(eq(0L), any())).thenReturn(List.of(first, second));
+        when(wordRepository.findSearchRows(eq(2L), any())).thenReturn(List.of(third));
+        when(wordRepository.findSearchRows(eq(3L), any())).thenReturn(List.of());
+        when(wordRepository.findTagsByWordIdIn(any())).thenReturn(List.of());
+        when(wordRepository.findTagsByWordIdIn(List.of(3L))).thenReturn(List.of(tag(3L, "maritime")));
+        when(wordRepository.findCategoriesByWordIdIn(any())).thenReturn(List.of());
+
+        assertFalse(searchIndex.isReady());
+        searchIndex.load();
+
+        assertTrue(searchIndex.isReady());
+        assertEquals(3, searchIndex.size());
+        assertEquals(List.of(1L, 2L), sorted(searchIndex.search(criteria("port"), owner, 0, 10).ids()));
+        assertEquals(List.of(3L), searchIndex.search(criteria("maritime"), owner, 0, 10).ids());
+        verify(wordRepository, times(3)).findSearchRows(anyLong(), any());
+    }
+
+    private Word word(Long id, String text, String definition, boolean isPublic) {
+        Word word = new Word();
+        word.setId(id);
+        word.setWord(text);
+        word.setLanguage("english");
+        word.setDefinition(definition);
+        word.setIsPublic(isPublic);
+        word.setCreatedBy(owner);
+        return word;
+    }
+
+    private static WordSearchCriteria criteria(String searchTerm) {
+        WordSearchCriteria criteria = new WordSearchCriteria();
+        criteria.setSearchTerm(searchTerm);
+        return criteria;
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+
+    private static WordRepository.WordSearchRow row(Long id, String word, String definition) {
+        return new WordRepository.WordSearchRow() {
+            public Long getId() { return id; }
+            public String getWord() { return word; }
+            public String getLanguage() { return "english"; }
+            public String getDefinition() { return definition; }
+            public String getExample() { return null; }
+            public DifficultyLevel getDifficulty() { return DifficultyLevel.BEGINNER; }
+            public Boolean getIsPublic() { return true; }
+            public Long getCreatedById() { return 1L; }
+        };
+    }
+
+    private static WordRepository.WordTagRow tag(Long wordId, String tag) {
+        return new WordRepository.WordTagRow() {
+            public Long getWordId() { return wordId; }
+            public String getTag() { return tag; }
+        };
+    }
+}
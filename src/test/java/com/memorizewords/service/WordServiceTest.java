@@ -21,6 +21,7 @@ import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 
@@ -46,6 +47,18 @@ class WordServiceTest {
     @Mock
     private ImportExportService importExportService;
 
+    @Mock
+    private WordSearchIndex searchIndex;
+
+    @Mock
+    private WordPrefixIndex prefixIndex;
+
+    @Mock
+    private NearDuplicateIndex nearDuplicateIndex;
+
+    @Mock
+    private WordExistenceFilter existenceFilter;
+
     @InjectMocks
     private WordService wordService;
 
@@ -100,6 +113,7 @@ class WordServiceTest {
 
         verify(duplicateDetectionService).isDuplicateWord("test", "english");
         verify(wordRepository).save(any(Word.class));
+        verify(existenceFilter).put(testWord);
     }
 
     @Test
@@ -173,6 +187,7 @@ class WordServiceTest {
 
         verify(wordRepository).findById(1L);
         verify(wordRepository).delete(testWord);
+        verify(searchIndex).remove(1L);
     }
 
     @Test
@@ -210,6 +225,27 @@ class WordServiceTest {
         }
     }
 
+    @Test
+    void searchWords_RanksWithIndexAndKeepsItsOrder() {
+        WordSearchCriteria criteria = new WordSearchCriteria();
+        criteria.setSearchTerm("test");
+        Word other = new Word();
+        other.setId(2L);
+        other.setWord("testing");
+        Pageable pageable = PageRequest.of(1, 2);
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.supports(criteria)).thenReturn(true);
+        when(searchIndex.search(criteria, testUser, 2L, 2)).thenReturn(new WordSearchIndex.Hits(List.of(2L, 1L), 5));
+        when(wordRepository.findByIdIn(List.of(2L, 1L))).thenReturn(List.of(testWord, other));
+
+        Page<WordDto> result = wordService.searchWords(criteria, testUser, pageable);
+
+        assertEquals(5, result.getTotalElements());
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(WordDto::getId).toList());
+        verify(wordRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void bulkImportWords_Success() {
         org.springframework.web.multipart.MultipartFile mockFile = mock(org.springframework.web.multipart.MultipartFile.class);